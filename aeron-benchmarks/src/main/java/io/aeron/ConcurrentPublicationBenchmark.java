@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.YieldingIdleStrategy;
+import org.agrona.hints.ThreadHints;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Throughput of publishers contending to offer to the same {@link Publication} over IPC with an embedded media
+ * driver and a subscriber draining the stream on its own thread. Each operation is a successful offer, retried
+ * while back pressured, so the score reflects the rate the contended publication sustains.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ConcurrentPublicationBenchmark
+{
+    private static final int STREAM_ID = 1001;
+    private static final int FRAGMENT_LIMIT = 256;
+
+    @Param({ "32", "288", "1344" })
+    private int messageLength;
+
+    @Param({ "65536", "1048576", "16777216" })
+    private int termLength;
+
+    private volatile boolean running;
+    private MediaDriver mediaDriver;
+    private Aeron aeron;
+    private Publication publication;
+    private Subscription subscription;
+    private Thread subscriberThread;
+
+    @State(Scope.Thread)
+    public static class PublisherState
+    {
+        UnsafeBuffer buffer;
+
+        @Setup
+        public void setup(final ConcurrentPublicationBenchmark benchmark)
+        {
+            buffer = new UnsafeBuffer(allocateDirectAligned(benchmark.messageLength, 64));
+        }
+    }
+
+    @Setup
+    public void setup()
+    {
+        final String aeronDirectoryName =
+            CommonContext.getAeronDirectoryName() + "-benchmark-" + System.nanoTime();
+
+        mediaDriver = MediaDriver.launchEmbedded(new MediaDriver.Context()
+            .aeronDirectoryName(aeronDirectoryName)
+            .threadingMode(ThreadingMode.SHARED)
+            .dirDeleteOnStart(true));
+
+        aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()));
+
+        final String channel = new ChannelUriStringBuilder()
+            .media(CommonContext.IPC_MEDIA)
+            .termLength(termLength)
+            .build();
+
+        subscription = aeron.addSubscription(channel, STREAM_ID);
+        publication = aeron.addPublication(channel, STREAM_ID);
+
+        while (!publication.isConnected())
+        {
+            Thread.yield();
+        }
+
+        running = true;
+        subscriberThread = new Thread(this::drain, "subscriber");
+        subscriberThread.setDaemon(true);
+        subscriberThread.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException
+    {
+        running = false;
+        subscriberThread.join();
+
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+        mediaDriver.context().deleteAeronDirectory();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long offerOnePublisher(final PublisherState state)
+    {
+        return offer(state.buffer);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public long offerTwoPublishers(final PublisherState state)
+    {
+        return offer(state.buffer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long offerFourPublishers(final PublisherState state)
+    {
+        return offer(state.buffer);
+    }
+
+    private long offer(final UnsafeBuffer buffer)
+    {
+        long result;
+        while ((result = publication.offer(buffer, 0, messageLength)) < 0)
+        {
+            ThreadHints.onSpinWait();
+        }
+
+        return result;
+    }
+
+    private void drain()
+    {
+        final FragmentHandler fragmentHandler = (buffer, offset, length, header) -> {};
+        final YieldingIdleStrategy idleStrategy = new YieldingIdleStrategy();
+
+        while (running)
+        {
+            idleStrategy.idle(subscription.poll(fragmentHandler, FRAGMENT_LIMIT));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import org.agrona.CloseHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for a client to add and then remove, in reverse order, a large number of counters or IPC subscriptions so the
+ * cost of the media driver finding resources by registration id shows as the number of resources grows. The driver
+ * is invoked by the client while awaiting each response so the time is not dominated by the client sleeping.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, batchSize = 1)
+@Measurement(iterations = 10, batchSize = 1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class DriverResourcesBenchmark
+{
+    private static final int RESOURCE_COUNT = 10_000;
+    private static final int COUNTER_TYPE_ID = 1001;
+    private static final int STREAM_ID = 1;
+
+    @Param({ "counter", "subscription" })
+    private String resourceType;
+
+    private MediaDriver mediaDriver;
+    private Aeron aeron;
+    private final AutoCloseable[] resources = new AutoCloseable[RESOURCE_COUNT];
+
+    @Setup
+    public void setup()
+    {
+        final String aeronDirectoryName =
+            CommonContext.getAeronDirectoryName() + "-benchmark-" + System.nanoTime();
+
+        mediaDriver = MediaDriver.launchEmbedded(new MediaDriver.Context()
+            .aeronDirectoryName(aeronDirectoryName)
+            .threadingMode(ThreadingMode.INVOKER)
+            .counterValuesBufferLength(RESOURCE_COUNT * 2 * 128)
+            .dirDeleteOnStart(true));
+
+        aeron = Aeron.connect(new Aeron.Context()
+            .aeronDirectoryName(mediaDriver.aeronDirectoryName())
+            .useConductorAgentInvoker(true)
+            .driverAgentInvoker(mediaDriver.sharedAgentInvoker()));
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+        mediaDriver.context().deleteAeronDirectory();
+    }
+
+    @Benchmark
+    public int addAndRemoveResources() throws Exception
+    {
+        final boolean isCounter = "counter".equals(resourceType);
+
+        for (int i = 0; i < RESOURCE_COUNT; i++)
+        {
+            resources[i] = isCounter ?
+                aeron.addCounter(COUNTER_TYPE_ID, "benchmark") :
+                aeron.addSubscription(CommonContext.IPC_CHANNEL, STREAM_ID);
+        }
+
+        for (int i = RESOURCE_COUNT - 1; i >= 0; i--)
+        {
+            resources[i].close();
+            resources[i] = null;
+        }
+
+        return RESOURCE_COUNT;
+    }
+}
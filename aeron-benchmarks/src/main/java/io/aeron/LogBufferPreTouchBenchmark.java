@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.hints.ThreadHints;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Time for the first pass of messages through the first term of a newly created IPC {@link Publication} backed by
+ * sparse log files, with and without the media driver touching the log pages or advising the OS they will be needed
+ * ahead of use. Without either the publisher takes a page fault for each new page of the term.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 5, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LogBufferPreTouchBenchmark
+{
+    private static final int TERM_LENGTH = 16 * 1024 * 1024;
+    private static final int MESSAGE_LENGTH = 1024 - 32;
+    private static final int MESSAGES_PER_TERM = TERM_LENGTH / 1024;
+    private static final int FRAGMENT_LIMIT = 256;
+    private static final long PRE_TOUCH_SETTLE_MS = 200;
+
+    @Param({ "false", "true" })
+    private boolean termBufferPreTouch;
+
+    @Param({ "false", "true" })
+    private boolean termBufferPreFaultRead;
+
+    private int streamId;
+    private MediaDriver mediaDriver;
+    private Aeron aeron;
+    private Publication publication;
+    private Subscription subscription;
+    private final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirectAligned(MESSAGE_LENGTH, 64));
+    private final FragmentHandler fragmentHandler = (buffer, offset, length, header) -> {};
+    private final String channel = new ChannelUriStringBuilder()
+        .media(CommonContext.IPC_MEDIA)
+        .termLength(TERM_LENGTH)
+        .build();
+
+    @Setup
+    public void setup()
+    {
+        final String aeronDirectoryName =
+            CommonContext.getAeronDirectoryName() + "-benchmark-" + System.nanoTime();
+
+        mediaDriver = MediaDriver.launchEmbedded(new MediaDriver.Context()
+            .aeronDirectoryName(aeronDirectoryName)
+            .threadingMode(ThreadingMode.SHARED)
+            .termBufferSparseFile(true)
+            .termBufferPreTouch(termBufferPreTouch)
+            .termBufferPreFaultRead(termBufferPreFaultRead)
+            .dirDeleteOnStart(true));
+
+        aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()));
+    }
+
+    @Setup(Level.Invocation)
+    public void newPublication() throws InterruptedException
+    {
+        streamId++;
+        subscription = aeron.addSubscription(channel, streamId);
+        publication = aeron.addPublication(channel, streamId);
+
+        while (!publication.isConnected())
+        {
+            Thread.yield();
+        }
+
+        Thread.sleep(PRE_TOUCH_SETTLE_MS);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closePublication()
+    {
+        CloseHelper.close(publication);
+        CloseHelper.close(subscription);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(mediaDriver);
+        mediaDriver.context().deleteAeronDirectory();
+    }
+
+    @Benchmark
+    public int firstTerm()
+    {
+        int received = 0;
+        for (int i = 0; i < MESSAGES_PER_TERM; i++)
+        {
+            while (publication.offer(buffer, 0, MESSAGE_LENGTH) < 0)
+            {
+                received += subscription.poll(fragmentHandler, FRAGMENT_LIMIT);
+                ThreadHints.onSpinWait();
+            }
+        }
+
+        while (received < MESSAGES_PER_TERM)
+        {
+            received += subscription.poll(fragmentHandler, FRAGMENT_LIMIT);
+        }
+
+        return received;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.SessionStreamMap;
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.collections.BiInt2ObjectMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of dispatching a data frame to the interest for its session and stream as the number of streams on an
+ * endpoint grows, plus the raw lookup of the session and stream table against the {@link BiInt2ObjectMap} it
+ * replaced on the control path.
+ * <p>
+ * Sessions are registered without interest so dispatch stops after the lookup rather than measuring the insertion
+ * of the frame into an image.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DataPacketDispatcherBenchmark
+{
+    private static final int SESSION_ID_BASE = 0x5EED;
+    private static final int STREAM_ID_BASE = 1001;
+    private static final int FRAME_LENGTH = DataHeaderFlyweight.HEADER_LENGTH + 64;
+
+    @Param({ "1", "16", "1024" })
+    private int streamCount;
+
+    private int index;
+    private int mask;
+    private DataPacketDispatcher dispatcher;
+    private DataHeaderFlyweight[] headers;
+    private UnsafeBuffer[] buffers;
+    private int[] sessionIds;
+    private int[] streamIds;
+    private final SessionStreamMap<Object> sessionStreamMap = new SessionStreamMap<>();
+    private final BiInt2ObjectMap<Object> biInt2ObjectMap = new BiInt2ObjectMap<>();
+    private final InetSocketAddress srcAddress = new InetSocketAddress("localhost", 40123);
+
+    @Setup
+    public void setup()
+    {
+        final int length = Integer.highestOneBit(streamCount);
+        mask = length - 1;
+        dispatcher = new DataPacketDispatcher(null, null);
+        headers = new DataHeaderFlyweight[length];
+        buffers = new UnsafeBuffer[length];
+        sessionIds = new int[length];
+        streamIds = new int[length];
+
+        for (int i = 0; i < length; i++)
+        {
+            final int sessionId = SESSION_ID_BASE + i;
+            final int streamId = STREAM_ID_BASE + i;
+            final UnsafeBuffer buffer = new UnsafeBuffer(new byte[FRAME_LENGTH]);
+            final DataHeaderFlyweight header = new DataHeaderFlyweight(buffer);
+
+            header
+                .sessionId(sessionId)
+                .streamId(streamId)
+                .termId(0)
+                .termOffset(0)
+                .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                .headerType(DataHeaderFlyweight.HDR_TYPE_DATA)
+                .frameLength(FRAME_LENGTH);
+
+            dispatcher.addSubscription(streamId, sessionId - 1);
+            dispatcher.onDataPacket(null, header, buffer, FRAME_LENGTH, srcAddress, 0);
+
+            sessionStreamMap.put(sessionId, streamId, header);
+            biInt2ObjectMap.put(sessionId, streamId, header);
+
+            headers[i] = header;
+            buffers[i] = buffer;
+            sessionIds[i] = sessionId;
+            streamIds[i] = streamId;
+        }
+    }
+
+    @Benchmark
+    public int dispatchSameStream()
+    {
+        return dispatcher.onDataPacket(null, headers[0], buffers[0], FRAME_LENGTH, srcAddress, 0);
+    }
+
+    @Benchmark
+    public int dispatchRoundRobin()
+    {
+        final int i = index++ & mask;
+
+        return dispatcher.onDataPacket(null, headers[i], buffers[i], FRAME_LENGTH, srcAddress, 0);
+    }
+
+    @Benchmark
+    public Object sessionStreamMapRoundRobin()
+    {
+        final int i = index++ & mask;
+
+        return sessionStreamMap.get(sessionIds[i], streamIds[i]);
+    }
+
+    @Benchmark
+    public Object biInt2ObjectMapRoundRobin()
+    {
+        final int i = index++ & mask;
+
+        return biInt2ObjectMap.get(sessionIds[i], streamIds[i]);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.logbuffer.TermFiller;
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.logbuffer.LogBufferDescriptor.positionBitsToShift;
+import static org.agrona.BitUtil.align;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Cost of the {@link LossDetector} scanning a term from the rebuild position to a gap which sits a receiver window
+ * in, with the high-water mark at the end of the term, as happens on every receiver duty cycle while loss is
+ * outstanding.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class LossDetectorBenchmark
+{
+    private static final int TERM_ID = 0;
+    private static final int WINDOW_LENGTH = 128 * 1024;
+
+    @Param({ "32", "288", "1344" })
+    private int messageLength;
+
+    @Param({ "65536", "1048576", "16777216" })
+    private int termLength;
+
+    private int termLengthMask;
+    private int positionBitsToShift;
+    private long gapCount;
+    private UnsafeBuffer termBuffer;
+    private LossDetector lossDetector;
+
+    @Setup
+    public void setup()
+    {
+        termLengthMask = termLength - 1;
+        positionBitsToShift = positionBitsToShift(termLength);
+        termBuffer = new UnsafeBuffer(allocateDirectAligned(termLength, 64));
+        TermFiller.fill(termBuffer, 0, 0, TERM_ID, messageLength);
+
+        final int alignedFrameLength = align(DataHeaderFlyweight.HEADER_LENGTH + messageLength, FRAME_ALIGNMENT);
+        final int gapOffset = (Math.min(WINDOW_LENGTH, termLength / 2) / alignedFrameLength) * alignedFrameLength;
+        termBuffer.putInt(gapOffset, 0);
+
+        lossDetector = new LossDetector(
+            new StaticDelayGenerator(TimeUnit.MILLISECONDS.toNanos(60), false), this::onGapDetected);
+    }
+
+    @Benchmark
+    public long scan()
+    {
+        return lossDetector.scan(termBuffer, 0, termLength, 0, termLengthMask, positionBitsToShift, TERM_ID);
+    }
+
+    private void onGapDetected(final int termId, final int termOffset, final int length)
+    {
+        gapCount++;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.positionBitsToShift;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Cost to a sender of the {@link MinMulticastFlowControl} processing a Status Message from one of a set of multicast
+ * receivers, and of the idle check for timed out receivers, as the number of receivers grows.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class MulticastFlowControlBenchmark
+{
+    private static final int INITIAL_TERM_ID = 0;
+    private static final int TERM_LENGTH = 64 * 1024 * 1024;
+    private static final int WINDOW_LENGTH = 128 * 1024;
+    private static final int STEP_LENGTH = 1024;
+
+    @Param({ "10", "100", "1000" })
+    private int receiverCount;
+
+    private int positionBitsToShift;
+    private int nextReceiverIndex;
+    private long timeNs;
+    private long[] receiverPositions;
+    private InetSocketAddress receiverAddress;
+    private StatusMessageFlyweight statusMessage;
+    private MinMulticastFlowControl flowControl;
+
+    @Setup
+    public void setup()
+    {
+        positionBitsToShift = positionBitsToShift(TERM_LENGTH);
+        receiverPositions = new long[receiverCount];
+        receiverAddress = new InetSocketAddress("localhost", 40123);
+        statusMessage = new StatusMessageFlyweight(
+            new UnsafeBuffer(allocateDirectAligned(StatusMessageFlyweight.HEADER_LENGTH, 64)));
+        statusMessage.receiverWindowLength(WINDOW_LENGTH);
+
+        flowControl = new MinMulticastFlowControl();
+        flowControl.initialize(INITIAL_TERM_ID, TERM_LENGTH);
+
+        for (int i = 0; i < receiverCount; i++)
+        {
+            receiverPositions[i] = (long)i * STEP_LENGTH;
+            sendStatusMessage(i);
+        }
+    }
+
+    @Benchmark
+    public long onStatusMessage()
+    {
+        final int receiverIndex = nextReceiverIndex;
+        nextReceiverIndex = receiverIndex + 1 == receiverCount ? 0 : receiverIndex + 1;
+
+        receiverPositions[receiverIndex] += (long)receiverCount * STEP_LENGTH;
+        if (receiverPositions[receiverIndex] >= TERM_LENGTH)
+        {
+            receiverPositions[receiverIndex] -= TERM_LENGTH;
+        }
+
+        return sendStatusMessage(receiverIndex);
+    }
+
+    @Benchmark
+    public long onIdle()
+    {
+        return flowControl.onIdle(timeNs, 0, 0, false);
+    }
+
+    private long sendStatusMessage(final int receiverIndex)
+    {
+        final long position = receiverPositions[receiverIndex];
+        statusMessage
+            .receiverId(receiverIndex)
+            .consumptionTermId(INITIAL_TERM_ID)
+            .consumptionTermOffset((int)position);
+
+        return flowControl.onStatusMessage(
+            statusMessage, receiverAddress, 0, INITIAL_TERM_ID, positionBitsToShift, ++timeNs);
+    }
+}
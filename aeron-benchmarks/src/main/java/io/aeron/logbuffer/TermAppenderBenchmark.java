@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.LOG_META_DATA_LENGTH;
+import static io.aeron.logbuffer.LogBufferDescriptor.initialiseTailWithTermId;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Cost of appending unfragmented messages to a term with the {@link TermAppender} used by concurrent publications.
+ * The tail is reset to the start of the term whenever it fills so each operation is a successful append.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TermAppenderBenchmark
+{
+    private static final int PARTITION_INDEX = 0;
+    private static final int TERM_ID = 7;
+
+    @Param({ "32", "288", "1344" })
+    private int messageLength;
+
+    @Param({ "65536", "1048576", "16777216" })
+    private int termLength;
+
+    private UnsafeBuffer metaDataBuffer;
+    private UnsafeBuffer srcBuffer;
+    private HeaderWriter headerWriter;
+    private TermAppender termAppender;
+
+    @Setup
+    public void setup()
+    {
+        final UnsafeBuffer termBuffer = new UnsafeBuffer(allocateDirectAligned(termLength, 64));
+        metaDataBuffer = new UnsafeBuffer(allocateDirectAligned(LOG_META_DATA_LENGTH, 64));
+        srcBuffer = new UnsafeBuffer(allocateDirectAligned(messageLength, 64));
+        headerWriter = HeaderWriter.newInstance(DataHeaderFlyweight.createDefaultHeader(0, 0, TERM_ID));
+        termAppender = new TermAppender(termBuffer, metaDataBuffer, PARTITION_INDEX);
+        initialiseTailWithTermId(metaDataBuffer, PARTITION_INDEX, TERM_ID);
+    }
+
+    @Benchmark
+    public int appendUnfragmentedMessage()
+    {
+        final int resultingOffset = termAppender.appendUnfragmentedMessage(
+            headerWriter, srcBuffer, 0, messageLength, null, TERM_ID);
+
+        if (TermAppender.FAILED == resultingOffset)
+        {
+            initialiseTailWithTermId(metaDataBuffer, PARTITION_INDEX, TERM_ID);
+        }
+
+        return resultingOffset;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.LOG_META_DATA_LENGTH;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Fills terms with messages of a fixed length for benchmarks which consume them.
+ */
+public final class TermFiller
+{
+    private TermFiller()
+    {
+    }
+
+    /**
+     * Fill a term with unfragmented messages, padding the remainder of the term after the last message that fits.
+     *
+     * @param termBuffer    to be filled.
+     * @param sessionId     for the frame headers.
+     * @param streamId      for the frame headers.
+     * @param termId        for the frame headers.
+     * @param messageLength of the message payload in each frame.
+     * @return the number of messages appended.
+     */
+    public static int fill(
+        final UnsafeBuffer termBuffer,
+        final int sessionId,
+        final int streamId,
+        final int termId,
+        final int messageLength)
+    {
+        final UnsafeBuffer metaDataBuffer = new UnsafeBuffer(allocateDirectAligned(LOG_META_DATA_LENGTH, 64));
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[messageLength]);
+        final HeaderWriter headerWriter = HeaderWriter.newInstance(
+            DataHeaderFlyweight.createDefaultHeader(sessionId, streamId, termId));
+        final ExclusiveTermAppender termAppender = new ExclusiveTermAppender(termBuffer, metaDataBuffer, 0);
+
+        int messageCount = 0;
+        int termOffset = 0;
+        while (true)
+        {
+            termOffset = termAppender.appendUnfragmentedMessage(
+                termId, termOffset, headerWriter, srcBuffer, 0, messageLength, null);
+
+            if (ExclusiveTermAppender.FAILED == termOffset)
+            {
+                break;
+            }
+
+            messageCount++;
+
+            if (termOffset == termBuffer.capacity())
+            {
+                break;
+            }
+        }
+
+        return messageCount;
+    }
+}
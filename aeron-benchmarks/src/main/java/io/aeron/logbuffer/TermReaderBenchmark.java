@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Cost of reading a batch of fragments from a full term with the {@link TermReader} used by subscriptions. The read
+ * offset wraps to the start of the term once the end is reached.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TermReaderBenchmark
+{
+    private static final int FRAGMENT_LIMIT = 10;
+
+    @Param({ "32", "288", "1344" })
+    private int messageLength;
+
+    @Param({ "65536", "1048576", "16777216" })
+    private int termLength;
+
+    private int termOffset;
+    private long bytesRead;
+    private UnsafeBuffer termBuffer;
+    private final Header header = new Header(0, 0);
+    private final FragmentHandler fragmentHandler = this::onFragment;
+
+    @Setup
+    public void setup()
+    {
+        termBuffer = new UnsafeBuffer(allocateDirectAligned(termLength, 64));
+        TermFiller.fill(termBuffer, 0, 0, 0, messageLength);
+    }
+
+    @Benchmark
+    public long read()
+    {
+        final long readOutcome = TermReader.read(
+            termBuffer, termOffset, fragmentHandler, FRAGMENT_LIMIT, header, Throwable::printStackTrace);
+
+        final int offset = TermReader.offset(readOutcome);
+        termOffset = offset < termLength ? offset : 0;
+
+        return bytesRead;
+    }
+
+    private void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        bytesRead += length;
+    }
+}
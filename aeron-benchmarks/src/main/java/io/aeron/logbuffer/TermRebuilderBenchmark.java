@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static org.agrona.BitUtil.align;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Cost of inserting received frames into a term with the {@link TermRebuilder} used by publication images. The
+ * frame length word is cleared after each insert so the next pass over the term inserts again rather than taking
+ * the already inserted path.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TermRebuilderBenchmark
+{
+    @Param({ "32", "288", "1344" })
+    private int messageLength;
+
+    @Param({ "65536", "1048576", "16777216" })
+    private int termLength;
+
+    private int termOffset;
+    private int frameLength;
+    private int alignedFrameLength;
+    private UnsafeBuffer termBuffer;
+    private UnsafeBuffer packet;
+
+    @Setup
+    public void setup()
+    {
+        frameLength = DataHeaderFlyweight.HEADER_LENGTH + messageLength;
+        alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        termBuffer = new UnsafeBuffer(allocateDirectAligned(termLength, 64));
+        packet = new UnsafeBuffer(allocateDirectAligned(alignedFrameLength, 64));
+
+        final DataHeaderFlyweight header = new DataHeaderFlyweight(packet);
+        header
+            .sessionId(0)
+            .streamId(0)
+            .termId(0)
+            .termOffset(0)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(DataHeaderFlyweight.HDR_TYPE_DATA)
+            .frameLength(frameLength);
+    }
+
+    @Benchmark
+    public int insert()
+    {
+        final int termOffset = this.termOffset;
+        TermRebuilder.insert(termBuffer, termOffset, packet, frameLength);
+        termBuffer.putInt(termOffset, 0);
+
+        final int nextOffset = termOffset + alignedFrameLength;
+        this.termOffset = nextOffset + alignedFrameLength <= termLength ? nextOffset : 0;
+
+        return termOffset;
+    }
+}
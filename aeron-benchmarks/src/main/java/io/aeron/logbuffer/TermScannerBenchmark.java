@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Cost of scanning a full term for frames available to send with the {@link TermScanner} used by network
+ * publications, taking up to an MTU worth of frames per scan. The scan offset wraps to the start of the term once
+ * the end is reached.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TermScannerBenchmark
+{
+    private static final int MTU_LENGTH = 1408;
+
+    @Param({ "32", "288", "1344" })
+    private int messageLength;
+
+    @Param({ "65536", "1048576", "16777216" })
+    private int termLength;
+
+    private int termOffset;
+    private UnsafeBuffer termBuffer;
+
+    @Setup
+    public void setup()
+    {
+        termBuffer = new UnsafeBuffer(allocateDirectAligned(termLength, 64));
+        TermFiller.fill(termBuffer, 0, 0, 0, messageLength);
+    }
+
+    @Benchmark
+    public long scanForAvailability()
+    {
+        final long scanOutcome = TermScanner.scanForAvailability(termBuffer, termOffset, MTU_LENGTH);
+
+        final int offset = termOffset + TermScanner.available(scanOutcome) + TermScanner.padding(scanOutcome);
+        termOffset = offset < termLength ? offset : 0;
+
+        return scanOutcome;
+    }
+}
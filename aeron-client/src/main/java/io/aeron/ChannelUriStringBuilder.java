@@ -54,6 +54,15 @@ public class ChannelUriStringBuilder
     private Boolean sparse;
     private Boolean eos;
     private Boolean tether;
+    private Integer receiveBatchLength;
+    private Integer sendBatchLength;
+    private Boolean gso;
+    private Integer receiverIndex;
+    private Integer senderIndex;
+    private Integer fecGroupSize;
+    private Long pacingRate;
+    private String flowControl;
+    private Long groupTag;
     private boolean isSessionIdTagged;
 
     /**
@@ -83,6 +92,15 @@ public class ChannelUriStringBuilder
         sparse = null;
         eos = null;
         tether = null;
+        receiveBatchLength = null;
+        sendBatchLength = null;
+        gso = null;
+        receiverIndex = null;
+        senderIndex = null;
+        fecGroupSize = null;
+        pacingRate = null;
+        flowControl = null;
+        groupTag = null;
         isSessionIdTagged = false;
 
         return this;
@@ -641,6 +659,222 @@ public class ChannelUriStringBuilder
         return tether;
     }
 
+    /**
+     * Set the max number of datagrams to be drained from the transport in one batch by a receiver.
+     *
+     * @param receiveBatchLength max number of datagrams drained in one batch, 1 disables batching.
+     * @return this for a fluent API.
+     * @see CommonContext#RECEIVE_BATCH_LENGTH_PARAM_NAME
+     */
+    public ChannelUriStringBuilder receiveBatchLength(final Integer receiveBatchLength)
+    {
+        this.receiveBatchLength = receiveBatchLength;
+        return this;
+    }
+
+    /**
+     * Get the max number of datagrams to be drained from the transport in one batch by a receiver.
+     *
+     * @return max number of datagrams drained in one batch.
+     * @see CommonContext#RECEIVE_BATCH_LENGTH_PARAM_NAME
+     */
+    public Integer receiveBatchLength()
+    {
+        return receiveBatchLength;
+    }
+
+    /**
+     * Set the max number of datagrams to be gathered from a publication and sent in one batch by a sender.
+     *
+     * @param sendBatchLength max number of datagrams sent in one batch, 1 disables batching.
+     * @return this for a fluent API.
+     * @see CommonContext#SEND_BATCH_LENGTH_PARAM_NAME
+     */
+    public ChannelUriStringBuilder sendBatchLength(final Integer sendBatchLength)
+    {
+        this.sendBatchLength = sendBatchLength;
+        return this;
+    }
+
+    /**
+     * Get the max number of datagrams to be gathered from a publication and sent in one batch by a sender.
+     *
+     * @return max number of datagrams sent in one batch.
+     * @see CommonContext#SEND_BATCH_LENGTH_PARAM_NAME
+     */
+    public Integer sendBatchLength()
+    {
+        return sendBatchLength;
+    }
+
+    /**
+     * Set if generic segmentation offload should be used for sending or receiving on the channel.
+     *
+     * @param gso true if generic segmentation offload should be used.
+     * @return this for a fluent API.
+     * @see CommonContext#GSO_PARAM_NAME
+     */
+    public ChannelUriStringBuilder gso(final Boolean gso)
+    {
+        this.gso = gso;
+        return this;
+    }
+
+    /**
+     * Get if generic segmentation offload should be used for sending or receiving on the channel.
+     *
+     * @return true if generic segmentation offload should be used.
+     * @see CommonContext#GSO_PARAM_NAME
+     */
+    public Boolean gso()
+    {
+        return gso;
+    }
+
+    /**
+     * Set the index of the receiver agent which should own the channel endpoint of a subscription.
+     *
+     * @param receiverIndex of the receiver agent which should own the channel endpoint.
+     * @return this for a fluent API.
+     * @see CommonContext#RECEIVER_INDEX_PARAM_NAME
+     */
+    public ChannelUriStringBuilder receiverIndex(final Integer receiverIndex)
+    {
+        this.receiverIndex = receiverIndex;
+        return this;
+    }
+
+    /**
+     * Get the index of the receiver agent which should own the channel endpoint of a subscription.
+     *
+     * @return index of the receiver agent which should own the channel endpoint.
+     * @see CommonContext#RECEIVER_INDEX_PARAM_NAME
+     */
+    public Integer receiverIndex()
+    {
+        return receiverIndex;
+    }
+
+    /**
+     * Set the index of the sender agent which should own the channel endpoint of a publication.
+     *
+     * @param senderIndex of the sender agent which should own the channel endpoint.
+     * @return this for a fluent API.
+     * @see CommonContext#SENDER_INDEX_PARAM_NAME
+     */
+    public ChannelUriStringBuilder senderIndex(final Integer senderIndex)
+    {
+        this.senderIndex = senderIndex;
+        return this;
+    }
+
+    /**
+     * Get the index of the sender agent which should own the channel endpoint of a publication.
+     *
+     * @return index of the sender agent which should own the channel endpoint.
+     * @see CommonContext#SENDER_INDEX_PARAM_NAME
+     */
+    public Integer senderIndex()
+    {
+        return senderIndex;
+    }
+
+    /**
+     * Set the number of datagrams in each group covered by a forward error correction parity frame for a publication.
+     *
+     * @param fecGroupSize number of datagrams in each group, or 0 to disable FEC.
+     * @return this for a fluent API.
+     * @see CommonContext#FEC_GROUP_SIZE_PARAM_NAME
+     */
+    public ChannelUriStringBuilder fecGroupSize(final Integer fecGroupSize)
+    {
+        this.fecGroupSize = fecGroupSize;
+        return this;
+    }
+
+    /**
+     * Get the number of datagrams in each group covered by a forward error correction parity frame for a publication.
+     *
+     * @return number of datagrams in each group, or 0 to disable FEC.
+     * @see CommonContext#FEC_GROUP_SIZE_PARAM_NAME
+     */
+    public Integer fecGroupSize()
+    {
+        return fecGroupSize;
+    }
+
+    /**
+     * Set the rate in bytes per second to which a publication should pace the sending of data.
+     *
+     * @param pacingRate in bytes per second, or 0 to disable pacing.
+     * @return this for a fluent API.
+     * @see CommonContext#PACING_RATE_PARAM_NAME
+     */
+    public ChannelUriStringBuilder pacingRate(final Long pacingRate)
+    {
+        this.pacingRate = pacingRate;
+        return this;
+    }
+
+    /**
+     * Get the rate in bytes per second to which a publication should pace the sending of data.
+     *
+     * @return rate in bytes per second, or 0 to disable pacing.
+     * @see CommonContext#PACING_RATE_PARAM_NAME
+     */
+    public Long pacingRate()
+    {
+        return pacingRate;
+    }
+
+    /**
+     * Set the flow control strategy for a publication.
+     *
+     * @param flowControl strategy and its options for a publication.
+     * @return this for a fluent API.
+     * @see CommonContext#FLOW_CONTROL_PARAM_NAME
+     */
+    public ChannelUriStringBuilder flowControl(final String flowControl)
+    {
+        this.flowControl = flowControl;
+        return this;
+    }
+
+    /**
+     * Get the flow control strategy for a publication.
+     *
+     * @return flow control strategy and its options for a publication.
+     * @see CommonContext#FLOW_CONTROL_PARAM_NAME
+     */
+    public String flowControl()
+    {
+        return flowControl;
+    }
+
+    /**
+     * Set the group tag a receiver sends in its status messages for a subscription.
+     *
+     * @param groupTag a receiver sends in its status messages.
+     * @return this for a fluent API.
+     * @see CommonContext#GROUP_TAG_PARAM_NAME
+     */
+    public ChannelUriStringBuilder groupTag(final Long groupTag)
+    {
+        this.groupTag = groupTag;
+        return this;
+    }
+
+    /**
+     * Get the group tag a receiver sends in its status messages for a subscription.
+     *
+     * @return group tag a receiver sends in its status messages.
+     * @see CommonContext#GROUP_TAG_PARAM_NAME
+     */
+    public Long groupTag()
+    {
+        return groupTag;
+    }
+
     /**
      * Set the tags for a channel used by a publication or subscription. Tags can be used to identify or tag a
      * channel so that a configuration can be referenced and reused.
@@ -851,6 +1085,51 @@ public class ChannelUriStringBuilder
             sb.append(TETHER_PARAM_NAME).append('=').append(tether).append('|');
         }
 
+        if (null != receiveBatchLength)
+        {
+            sb.append(RECEIVE_BATCH_LENGTH_PARAM_NAME).append('=').append(receiveBatchLength.intValue()).append('|');
+        }
+
+        if (null != sendBatchLength)
+        {
+            sb.append(SEND_BATCH_LENGTH_PARAM_NAME).append('=').append(sendBatchLength.intValue()).append('|');
+        }
+
+        if (null != gso)
+        {
+            sb.append(GSO_PARAM_NAME).append('=').append(gso).append('|');
+        }
+
+        if (null != receiverIndex)
+        {
+            sb.append(RECEIVER_INDEX_PARAM_NAME).append('=').append(receiverIndex.intValue()).append('|');
+        }
+
+        if (null != senderIndex)
+        {
+            sb.append(SENDER_INDEX_PARAM_NAME).append('=').append(senderIndex.intValue()).append('|');
+        }
+
+        if (null != fecGroupSize)
+        {
+            sb.append(FEC_GROUP_SIZE_PARAM_NAME).append('=').append(fecGroupSize.intValue()).append('|');
+        }
+
+        if (null != pacingRate)
+        {
+            sb.append(PACING_RATE_PARAM_NAME).append('=').append(pacingRate.longValue()).append('|');
+        }
+
+        if (null != flowControl)
+        {
+            sb.append(FLOW_CONTROL_PARAM_NAME).append('=').append(flowControl).append('|');
+        }
+
+        if (null != groupTag)
+        {
+            sb.append(GROUP_TAG_PARAM_NAME).append('=').append(groupTag.longValue()).append('|');
+        }
+
         final char lastChar = sb.charAt(sb.length() - 1);
         if (lastChar == '|' || lastChar == '?')
         {
@@ -215,6 +215,67 @@ public class CommonContext implements Cloneable
      */
     public static final String TETHER_PARAM_NAME = "tether";
 
+    /**
+     * Parameter name for channel URI param to indicate the max number of datagrams a receiver should drain from a
+     * transport in one batch before dispatching them. Value is an integer where 1 disables batching.
+     */
+    public static final String RECEIVE_BATCH_LENGTH_PARAM_NAME = "rcv-batch";
+
+    /**
+     * Parameter name for channel URI param to indicate the max number of datagrams a sender should gather from a
+     * publication and flush to the transport in one batch. Value is an integer where 1 disables batching.
+     */
+    public static final String SEND_BATCH_LENGTH_PARAM_NAME = "snd-batch";
+
+    /**
+     * Parameter name for channel URI param to indicate if generic segmentation offload should be used. Value is
+     * boolean. On a publication runs of equal length frames are handed to the transport as one segmented send, and
+     * on a subscription coalesced receives are split back into runs of contiguous frames before being inserted.
+     */
+    public static final String GSO_PARAM_NAME = "gso";
+
+    /**
+     * Parameter name for channel URI param to indicate which of the receiver agents in the driver should own the
+     * channel endpoint of a subscription and all its images. Value is an integer index from 0 to the receiver count
+     * minus 1, and when not provided the index is chosen by hashing the channel.
+     */
+    public static final String RECEIVER_INDEX_PARAM_NAME = "rcv-index";
+
+    /**
+     * Parameter name for channel URI param to indicate which of the sender agents in the driver should own the
+     * channel endpoint of a publication and all the publications on it. Value is an integer index from 0 to the
+     * sender count minus 1, and when not provided the index is chosen by hashing the channel.
+     */
+    public static final String SENDER_INDEX_PARAM_NAME = "snd-index";
+
+    /**
+     * Parameter name for channel URI param to indicate that a publication should send a forward error correction
+     * parity frame after each group of the given number of datagrams so a receiver can recover the loss of one datagram
+     * in a group without a NAK. Value is an integer where 0 disables FEC.
+     */
+    public static final String FEC_GROUP_SIZE_PARAM_NAME = "fec-group";
+
+    /**
+     * Parameter name for channel URI param to indicate the rate in bytes per second to which a publication should pace
+     * the sending of data, e.g. "100m". A value of 0 disables pacing so data is sent as fast as the flow control
+     * window allows.
+     */
+    public static final String PACING_RATE_PARAM_NAME = "pacing-rate";
+
+    /**
+     * Parameter name for channel URI param to select the flow control strategy for a publication. Values are "max",
+     * "min", or "tagged" followed by the groups of receivers to track, e.g. "tagged,g:100/3,g:200,t:5s" for the
+     * slowest member of the receivers tagged 100, of which at least 3 must be present, and those tagged 200, with
+     * receivers no longer tracked after 5 seconds without a status message.
+     */
+    public static final String FLOW_CONTROL_PARAM_NAME = "fc";
+
+    /**
+     * Parameter name for channel URI param to set the group tag a subscription's receiver sends in its status messages
+     * so it can be tracked by tagged flow control on the publication. Value is a long.
+     */
+    public static final String GROUP_TAG_PARAM_NAME = "gtag";
+
     /**
      * Using an integer because there is no support for boolean. 1 is concluded, 0 is not concluded.
      */
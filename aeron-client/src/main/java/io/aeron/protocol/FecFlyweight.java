@@ -0,0 +1,283 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.protocol;
+
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+
+/**
+ * Flyweight for a forward error correction parity frame which covers a group of contiguous datagrams of a term.
+ * <p>
+ * The header is followed by the length of each datagram in the group and then the payload which is the XOR of the
+ * datagrams, each padded with zeros to the length of the longest. A receiver missing one datagram of the group can
+ * recover it by XOR of the payload with the datagrams it has.
+ * <pre>
+ *    0                   1                   2                   3
+ *    0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *   +---------------------------------------------------------------+
+ *   |                          Frame Length                         |
+ *   +---------------+---------------+-------------------------------+
+ *   |    Version    |     Flags     |          Type (=0x07)         |
+ *   +---------------+---------------+-------------------------------+
+ *   |                          Term Offset                          |
+ *   +---------------------------------------------------------------+
+ *   |                          Session ID                           |
+ *   +---------------------------------------------------------------+
+ *   |                           Stream ID                           |
+ *   +---------------------------------------------------------------+
+ *   |                            Term ID                            |
+ *   +---------------------------------------------------------------+
+ *   |                         Datagram Count                        |
+ *   +---------------------------------------------------------------+
+ *   |                         Payload Length                        |
+ *   +---------------------------------------------------------------+
+ *   |                       Datagram Lengths                       ...
+ *  ...                                                              |
+ *   +---------------------------------------------------------------+
+ *   |                        Parity Payload                        ...
+ *  ...                                                              |
+ *   +---------------------------------------------------------------+
+ * </pre>
+ */
+public class FecFlyweight extends HeaderFlyweight
+{
+    /**
+     * Length of the header up to the datagram lengths.
+     */
+    public static final int HEADER_LENGTH = 32;
+
+    /**
+     * Max number of datagrams which can be covered by a parity frame.
+     */
+    public static final int MAX_GROUP_SIZE = 64;
+
+    private static final int TERM_OFFSET_FIELD_OFFSET = 8;
+    private static final int SESSION_ID_FIELD_OFFSET = 12;
+    private static final int STREAM_ID_FIELD_OFFSET = 16;
+    private static final int TERM_ID_FIELD_OFFSET = 20;
+    private static final int DATAGRAM_COUNT_FIELD_OFFSET = 24;
+    private static final int PAYLOAD_LENGTH_FIELD_OFFSET = 28;
+
+    public FecFlyweight()
+    {
+    }
+
+    public FecFlyweight(final ByteBuffer buffer)
+    {
+        super(buffer);
+    }
+
+    public FecFlyweight(final UnsafeBuffer buffer)
+    {
+        super(buffer);
+    }
+
+    /**
+     * Length of a parity frame before the payload for a group size, which is aligned so the payload is aligned.
+     *
+     * @param groupSize number of datagrams covered by the parity frame.
+     * @return length of a parity frame before the payload.
+     */
+    public static int payloadOffset(final int groupSize)
+    {
+        return BitUtil.align(HEADER_LENGTH + (groupSize * SIZE_OF_INT), FRAME_ALIGNMENT);
+    }
+
+    /**
+     * return term offset field
+     *
+     * @return term offset field
+     */
+    public int termOffset()
+    {
+        return getInt(TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set term offset field
+     *
+     * @param termOffset field value
+     * @return flyweight
+     */
+    public FecFlyweight termOffset(final int termOffset)
+    {
+        putInt(TERM_OFFSET_FIELD_OFFSET, termOffset, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return session id field
+     *
+     * @return session id field
+     */
+    public int sessionId()
+    {
+        return getInt(SESSION_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set session id field
+     *
+     * @param sessionId field value
+     * @return flyweight
+     */
+    public FecFlyweight sessionId(final int sessionId)
+    {
+        putInt(SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return stream id field
+     *
+     * @return stream id field
+     */
+    public int streamId()
+    {
+        return getInt(STREAM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set stream id field
+     *
+     * @param streamId field value
+     * @return flyweight
+     */
+    public FecFlyweight streamId(final int streamId)
+    {
+        putInt(STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return term id field
+     *
+     * @return term id field
+     */
+    public int termId()
+    {
+        return getInt(TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set term id field
+     *
+     * @param termId field value
+     * @return flyweight
+     */
+    public FecFlyweight termId(final int termId)
+    {
+        putInt(TERM_ID_FIELD_OFFSET, termId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return datagram count field
+     *
+     * @return datagram count field
+     */
+    public int datagramCount()
+    {
+        return getInt(DATAGRAM_COUNT_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set datagram count field
+     *
+     * @param datagramCount field value
+     * @return flyweight
+     */
+    public FecFlyweight datagramCount(final int datagramCount)
+    {
+        putInt(DATAGRAM_COUNT_FIELD_OFFSET, datagramCount, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return payload length field
+     *
+     * @return payload length field
+     */
+    public int payloadLength()
+    {
+        return getInt(PAYLOAD_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set payload length field
+     *
+     * @param payloadLength field value
+     * @return flyweight
+     */
+    public FecFlyweight payloadLength(final int payloadLength)
+    {
+        putInt(PAYLOAD_LENGTH_FIELD_OFFSET, payloadLength, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * Length of a datagram in the group.
+     *
+     * @param index of the datagram in the group.
+     * @return length of the datagram.
+     */
+    public int datagramLength(final int index)
+    {
+        return getInt(HEADER_LENGTH + (index * SIZE_OF_INT), LITTLE_ENDIAN);
+    }
+
+    /**
+     * Set the length of a datagram in the group.
+     *
+     * @param index  of the datagram in the group.
+     * @param length of the datagram.
+     * @return flyweight
+     */
+    public FecFlyweight datagramLength(final int index, final int length)
+    {
+        putInt(HEADER_LENGTH + (index * SIZE_OF_INT), length, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    public String toString()
+    {
+        return "FEC{" +
+            "frame-length=" + frameLength() +
+            " version=" + version() +
+            " flags=" + String.valueOf(flagsToChars(flags())) +
+            " type=" + headerType() +
+            " term-offset=" + termOffset() +
+            " session-id=" + sessionId() +
+            " stream-id=" + streamId() +
+            " term-id=" + termId() +
+            " datagram-count=" + datagramCount() +
+            " payload-length=" + payloadLength() +
+            "}";
+    }
+}
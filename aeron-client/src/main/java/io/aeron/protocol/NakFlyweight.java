@@ -24,6 +24,10 @@ import static java.nio.ByteOrder.LITTLE_ENDIAN;
 /**
  * Flyweight for a NAK Message Frame.
  * <p>
+ * A NAK may carry more than one range of missing data for the same term. The term offset and length fields hold the
+ * first range and any further ranges follow the header as pairs of term offset and length, with the frame length
+ * covering them. Receivers of a NAK which do not understand the extra ranges will act on the first range only.
+ * <p>
  * <a target="_blank"
  *    href="https://github.com/real-logic/aeron/wiki/Protocol-Specification#data-recovery-via-retransmit-request">
  * Data Recovery</a> wiki page.
@@ -32,11 +36,17 @@ public class NakFlyweight extends HeaderFlyweight
 {
     public static final int HEADER_LENGTH = 28;
 
+    /**
+     * Length of each range after the first which follows the header.
+     */
+    public static final int RANGE_LENGTH = 8;
+
     private static final int SESSION_ID_FIELD_OFFSET = 8;
     private static final int STREAM_ID_FIELD_OFFSET = 12;
     private static final int TERM_ID_FIELD_OFFSET = 16;
     private static final int TERM_OFFSET_FIELD_OFFSET = 20;
     private static final int LENGTH_FIELD_OFFSET = 24;
+    private static final int RANGE_LENGTH_FIELD_OFFSET = 4;
 
     public NakFlyweight()
     {
@@ -167,6 +177,86 @@ public class NakFlyweight extends HeaderFlyweight
         return this;
     }
 
+    /**
+     * Number of ranges of missing data covered by a frame length.
+     *
+     * @param frameLength of the NAK frame.
+     * @return number of ranges of missing data covered by the frame length.
+     */
+    public static int rangeCount(final int frameLength)
+    {
+        return 1 + (Math.max(frameLength, HEADER_LENGTH) - HEADER_LENGTH) / RANGE_LENGTH;
+    }
+
+    /**
+     * Length of a NAK frame which carries a number of ranges.
+     *
+     * @param rangeCount of missing data carried by the frame.
+     * @return length of the frame.
+     */
+    public static int frameLengthForRanges(final int rangeCount)
+    {
+        return HEADER_LENGTH + ((rangeCount - 1) * RANGE_LENGTH);
+    }
+
+    /**
+     * Number of ranges of missing data carried by the frame based on its frame length.
+     *
+     * @return number of ranges of missing data carried by the frame.
+     */
+    public int rangeCount()
+    {
+        return rangeCount(frameLength());
+    }
+
+    /**
+     * Term offset of a range of missing data.
+     *
+     * @param index of the range with 0 being the first range.
+     * @return term offset of the range.
+     */
+    public int rangeTermOffset(final int index)
+    {
+        return 0 == index ? termOffset() : getInt(rangeOffset(index), LITTLE_ENDIAN);
+    }
+
+    /**
+     * Length of a range of missing data.
+     *
+     * @param index of the range with 0 being the first range.
+     * @return length of the range.
+     */
+    public int rangeLength(final int index)
+    {
+        return 0 == index ? length() : getInt(rangeOffset(index) + RANGE_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * Set a range of missing data. The frame length must be set to cover the ranges separately.
+     *
+     * @param index      of the range with 0 being the first range.
+     * @param termOffset of the range.
+     * @param length     of the range.
+     * @return flyweight
+     * @see #frameLength(int)
+     */
+    public NakFlyweight range(final int index, final int termOffset, final int length)
+    {
+        if (0 == index)
+        {
+            termOffset(termOffset);
+            length(length);
+        }
+        else
+        {
+            final int offset = rangeOffset(index);
+            putInt(offset, termOffset, LITTLE_ENDIAN);
+            putInt(offset + RANGE_LENGTH_FIELD_OFFSET, length, LITTLE_ENDIAN);
+        }
+
+        return this;
+    }
+
     public String toString()
     {
         return "NAK{" +
@@ -179,6 +269,12 @@ public class NakFlyweight extends HeaderFlyweight
             " stream-id=" + streamId() +
             " term-id=" + termId() +
             " length=" + length() +
+            " range-count=" + rangeCount() +
             "}";
     }
+
+    private static int rangeOffset(final int index)
+    {
+        return HEADER_LENGTH + ((index - 1) * RANGE_LENGTH);
+    }
 }
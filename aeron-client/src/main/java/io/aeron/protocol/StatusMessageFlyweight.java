@@ -41,6 +41,16 @@ public class StatusMessageFlyweight extends HeaderFlyweight
      */
     public static final short SEND_SETUP_FLAG = 0x80;
 
+    /**
+     * Application Specific Feedback of the Status Message is a group tag
+     */
+    public static final short GROUP_TAG_FLAG = 0x40;
+
+    /**
+     * Length of the group tag which is carried as the Application Specific Feedback of a Status Message.
+     */
+    public static final int GROUP_TAG_FIELD_LENGTH = 8;
+
     private static final int SESSION_ID_FIELD_OFFSET = 8;
     private static final int STREAM_ID_FIELD_OFFSET = 12;
     private static final int CONSUMPTION_TERM_ID_FIELD_OFFSET = 16;
@@ -297,6 +307,42 @@ public class StatusMessageFlyweight extends HeaderFlyweight
         return this;
     }
 
+    /**
+     * Is the Application Specific Feedback of the Status Message a group tag as marked by {@link #GROUP_TAG_FLAG}?
+     *
+     * @return true if the Application Specific Feedback of the Status Message is a group tag.
+     */
+    public boolean hasGroupTag()
+    {
+        return (flags() & GROUP_TAG_FLAG) == GROUP_TAG_FLAG && frameLength() == HEADER_LENGTH + GROUP_TAG_FIELD_LENGTH;
+    }
+
+    /**
+     * Group tag of the receiver carried as the Application Specific Feedback. Check {@link #hasGroupTag()} first.
+     *
+     * @return group tag of the receiver.
+     */
+    public long groupTag()
+    {
+        return getLong(APP_SPECIFIC_FEEDBACK_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * Set the group tag of the receiver as the Application Specific Feedback for the Status Message and mark it
+     * with {@link #GROUP_TAG_FLAG}. Should be called after the flags have been set.
+     *
+     * @param groupTag of the receiver.
+     * @return flyweight
+     */
+    public StatusMessageFlyweight groupTag(final long groupTag)
+    {
+        frameLength(HEADER_LENGTH + GROUP_TAG_FIELD_LENGTH);
+        flags((short)(flags() | GROUP_TAG_FLAG));
+        putLong(APP_SPECIFIC_FEEDBACK_FIELD_OFFSET, groupTag, LITTLE_ENDIAN);
+
+        return this;
+    }
+
     public String toString()
     {
         return "STATUS{" +
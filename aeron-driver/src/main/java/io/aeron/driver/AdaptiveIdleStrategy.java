@@ -0,0 +1,282 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.SystemNanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.hints.ThreadHints;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link IdleStrategy} for the driver agents which adapts to the recent pattern of work so an agent spins during
+ * bursts and parks during quiet periods.
+ * <p>
+ * A moving average of the time between duty cycles which did work is kept. When the average is within the spin
+ * threshold then the next unit of work is expected soon and an idle agent will busy spin for up to the threshold
+ * before backing off, which avoids paying the wake up cost of a park on the first message of a burst. Otherwise the
+ * agent yields briefly then parks with a period doubling from the min park period up to half the average
+ * inter-arrival time, bounded by the max park period, so it should wake in time for the expected next unit of work.
+ * <p>
+ * Samples of the inter-arrival time are capped at the max park period so a long quiet period does not take many
+ * bursts to forget.
+ * <p>
+ * The current mode and park period can be published to counters in the CnC file with {@link #counters(AtomicCounter,
+ * AtomicCounter)} so the behaviour of each agent can be observed.
+ */
+public class AdaptiveIdleStrategy implements IdleStrategy
+{
+    /**
+     * Mode when not idle, i.e. the last duty cycle did work.
+     */
+    public static final int NOT_IDLE = 0;
+
+    /**
+     * Mode when busy spinning in anticipation of work.
+     */
+    public static final int SPINNING = 1;
+
+    /**
+     * Mode when yielding the thread before parking.
+     */
+    public static final int YIELDING = 2;
+
+    /**
+     * Mode when parking the thread.
+     */
+    public static final int PARKING = 3;
+
+    private static final int EWMA_SHIFT = 3;
+
+    private final long spinThresholdNs;
+    private final long maxYields;
+    private final long minParkPeriodNs;
+    private final long maxParkPeriodNs;
+    private final NanoClock nanoClock;
+
+    private int mode = NOT_IDLE;
+    private long yields;
+    private long parkPeriodNs;
+    private long idleStartNs;
+    private long lastWorkNs;
+    private long interArrivalNs;
+    private AtomicCounter modeCounter;
+    private AtomicCounter parkPeriodCounter;
+
+    /**
+     * Construct with the defaults from {@link Configuration}.
+     */
+    public AdaptiveIdleStrategy()
+    {
+        this(
+            Configuration.adaptiveIdleSpinThresholdNs(),
+            Configuration.IDLE_MAX_YIELDS,
+            Configuration.IDLE_MIN_PARK_NS,
+            Configuration.IDLE_MAX_PARK_NS,
+            new SystemNanoClock());
+    }
+
+    /**
+     * Construct a new strategy.
+     *
+     * @param spinThresholdNs average inter-arrival time of work below which to spin, and for how long to spin.
+     * @param maxYields       number of yields before parking when not spinning.
+     * @param minParkPeriodNs period to park for when first backing off to parking.
+     * @param maxParkPeriodNs maximum period to park for.
+     * @param nanoClock       for measuring the time between units of work.
+     */
+    public AdaptiveIdleStrategy(
+        final long spinThresholdNs,
+        final long maxYields,
+        final long minParkPeriodNs,
+        final long maxParkPeriodNs,
+        final NanoClock nanoClock)
+    {
+        this.spinThresholdNs = spinThresholdNs;
+        this.maxYields = maxYields;
+        this.minParkPeriodNs = minParkPeriodNs;
+        this.maxParkPeriodNs = maxParkPeriodNs;
+        this.nanoClock = nanoClock;
+        this.interArrivalNs = maxParkPeriodNs;
+        this.parkPeriodNs = minParkPeriodNs;
+    }
+
+    /**
+     * Set the counters to which the mode and park period will be published.
+     *
+     * @param modeCounter       to publish the mode, may be null.
+     * @param parkPeriodCounter to publish the park period in nanoseconds, may be null.
+     * @return this for a fluent API.
+     */
+    public AdaptiveIdleStrategy counters(final AtomicCounter modeCounter, final AtomicCounter parkPeriodCounter)
+    {
+        this.modeCounter = modeCounter;
+        this.parkPeriodCounter = parkPeriodCounter;
+
+        return this;
+    }
+
+    public void idle(final int workCount)
+    {
+        if (workCount > 0)
+        {
+            onWork();
+        }
+        else
+        {
+            idle();
+        }
+    }
+
+    public void idle()
+    {
+        switch (mode)
+        {
+            case NOT_IDLE:
+                idleStartNs = nanoClock.nanoTime();
+                yields = 0;
+                parkPeriodNs = minParkPeriodNs;
+                if (interArrivalNs <= spinThresholdNs)
+                {
+                    mode(SPINNING);
+                    ThreadHints.onSpinWait();
+                }
+                else
+                {
+                    mode(YIELDING);
+                    Thread.yield();
+                }
+                break;
+
+            case SPINNING:
+                ThreadHints.onSpinWait();
+                if (nanoClock.nanoTime() - idleStartNs > spinThresholdNs)
+                {
+                    mode(YIELDING);
+                }
+                break;
+
+            case YIELDING:
+                if (++yields > maxYields)
+                {
+                    mode(PARKING);
+                    parkPeriod(minParkPeriodNs);
+                    LockSupport.parkNanos(parkPeriodNs);
+                }
+                else
+                {
+                    Thread.yield();
+                }
+                break;
+
+            case PARKING:
+                LockSupport.parkNanos(parkPeriodNs);
+                final long ceilingNs = Math.max(minParkPeriodNs, Math.min(interArrivalNs >> 1, maxParkPeriodNs));
+                if (parkPeriodNs < ceilingNs)
+                {
+                    parkPeriod(Math.min(parkPeriodNs << 1, ceilingNs));
+                }
+                break;
+        }
+    }
+
+    public void reset()
+    {
+        yields = 0;
+        parkPeriodNs = minParkPeriodNs;
+        mode(NOT_IDLE);
+    }
+
+    /**
+     * Current mode of the strategy.
+     *
+     * @return current mode of the strategy.
+     * @see #NOT_IDLE
+     * @see #SPINNING
+     * @see #YIELDING
+     * @see #PARKING
+     */
+    public int mode()
+    {
+        return mode;
+    }
+
+    /**
+     * Current period in nanoseconds to park for when parking.
+     *
+     * @return current period in nanoseconds to park for when parking.
+     */
+    public long parkPeriodNs()
+    {
+        return parkPeriodNs;
+    }
+
+    /**
+     * Moving average of the time in nanoseconds between duty cycles which did work.
+     *
+     * @return moving average of the time in nanoseconds between duty cycles which did work.
+     */
+    public long interArrivalNs()
+    {
+        return interArrivalNs;
+    }
+
+    public String toString()
+    {
+        return "AdaptiveIdleStrategy{" +
+            "spinThresholdNs=" + spinThresholdNs +
+            ", maxYields=" + maxYields +
+            ", minParkPeriodNs=" + minParkPeriodNs +
+            ", maxParkPeriodNs=" + maxParkPeriodNs +
+            '}';
+    }
+
+    private void onWork()
+    {
+        final long nowNs = nanoClock.nanoTime();
+        final long sampleNs = Math.min(nowNs - lastWorkNs, maxParkPeriodNs);
+
+        interArrivalNs += (sampleNs - interArrivalNs) >> EWMA_SHIFT;
+        lastWorkNs = nowNs;
+
+        if (NOT_IDLE != mode)
+        {
+            mode(NOT_IDLE);
+        }
+    }
+
+    private void mode(final int mode)
+    {
+        this.mode = mode;
+
+        if (null != modeCounter)
+        {
+            modeCounter.setOrdered(mode);
+        }
+    }
+
+    private void parkPeriod(final long parkPeriodNs)
+    {
+        this.parkPeriodNs = parkPeriodNs;
+
+        if (null != parkPeriodCounter)
+        {
+            parkPeriodCounter.setOrdered(parkPeriodNs);
+        }
+    }
+}
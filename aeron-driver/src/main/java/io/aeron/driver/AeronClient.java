@@ -15,6 +15,8 @@
  */
 package io.aeron.driver;
 
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.status.AtomicCounter;
 
 import java.util.concurrent.TimeUnit;
@@ -28,7 +30,9 @@ public class AeronClient implements DriverManagedResource
     private final long clientLivenessTimeoutMs;
     private final AtomicCounter clientTimeouts;
     private final AtomicCounter heartbeatStatus;
+    private final LongHashSet linkRegistrationIds = new LongHashSet();
     private long timeOfLastKeepaliveMs;
+    private long timerId = DeadlineTimerWheel.NULL_TIMER;
     private boolean reachedEndOfLife = false;
 
     public AeronClient(
@@ -66,6 +70,66 @@ public class AeronClient implements DriverManagedResource
         heartbeatStatus.setOrdered(nowMs);
     }
 
+    /**
+     * Time after which the client has timed out if no further keepalive is received.
+     *
+     * @return time after which the client has timed out.
+     */
+    public long livenessDeadlineMs()
+    {
+        return timeOfLastKeepaliveMs + clientLivenessTimeoutMs;
+    }
+
+    /**
+     * Id of the timer scheduled for the liveness deadline of the client.
+     *
+     * @return id of the timer scheduled for the liveness deadline of the client.
+     */
+    public long timerId()
+    {
+        return timerId;
+    }
+
+    /**
+     * Id of the timer scheduled for the liveness deadline of the client.
+     *
+     * @param timerId of the timer scheduled for the liveness deadline of the client.
+     */
+    public void timerId(final long timerId)
+    {
+        this.timerId = timerId;
+    }
+
+    /**
+     * Track a link to a resource which should be cleaned up when the client times out.
+     *
+     * @param registrationId of the link.
+     */
+    public void addLink(final long registrationId)
+    {
+        linkRegistrationIds.add(registrationId);
+    }
+
+    /**
+     * Stop tracking a link which has been closed.
+     *
+     * @param registrationId of the link.
+     */
+    public void removeLink(final long registrationId)
+    {
+        linkRegistrationIds.remove(registrationId);
+    }
+
+    /**
+     * Registration ids of the links to resources held by the client.
+     *
+     * @return registration ids of the links to resources held by the client.
+     */
+    public LongHashSet linkRegistrationIds()
+    {
+        return linkRegistrationIds;
+    }
+
     public boolean hasTimedOut()
     {
         return reachedEndOfLife;
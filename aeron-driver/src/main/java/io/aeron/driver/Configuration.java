@@ -23,8 +23,10 @@ import io.aeron.exceptions.AeronException;
 import io.aeron.exceptions.ConfigurationException;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.driver.media.UdpChannel;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import org.agrona.BitUtil;
 import org.agrona.LangUtil;
 import org.agrona.collections.ArrayUtil;
@@ -106,6 +108,46 @@ public class Configuration
      */
     public static final String PERFORM_STORAGE_CHECKS_PROP_NAME = "aeron.perform.storage.checks";
 
+    /**
+     * Property name for boolean value of term buffer pages should be touched ahead of use on a background thread so
+     * the first pass through a term does not take page faults. Most useful with sparse files.
+     */
+    public static final String TERM_BUFFER_PRE_TOUCH_PROP_NAME = "aeron.term.buffer.pre.touch";
+
+    /**
+     * Property name for boolean value of term buffer pages should be pre-faulted by reading them on a background thread
+     * when created so they are brought into memory ahead of use, in the manner of
+     * {@link java.nio.MappedByteBuffer#load()}.
+     */
+    public static final String TERM_BUFFER_PRE_FAULT_READ_PROP_NAME = "aeron.term.buffer.pre.fault.read";
+
+    /**
+     * Property name for the directory in which to create log buffers rather than the Aeron directory, e.g. a
+     * hugetlbfs mount. Each driver creates its logs in a sub-directory named after its Aeron directory and keyed by a
+     * hash of its canonical path, which is deleted on start once no active driver is detected. When on hugetlbfs
+     * then {@link #FILE_PAGE_SIZE_PROP_NAME} must be set to the huge page size.
+     */
+    public static final String LOG_BUFFER_DIR_PROP_NAME = "aeron.log.buffer.dir";
+
+    /**
+     * Property name for the number of logs to keep created and mapped in a pool for each term length so publications
+     * and images can be created without the conductor creating files. Logs are deleted when freed and the pool is
+     * refilled with newly created logs.
+     */
+    public static final String LOG_BUFFER_POOL_SIZE_PROP_NAME = "aeron.log.buffer.pool.size";
+
+    /**
+     * Default number of logs to pool for each term length which is 0 for no pooling.
+     */
+    public static final int LOG_BUFFER_POOL_SIZE_DEFAULT = 0;
+
+    /**
+     * Property name for boolean value of logs for new publications and images should be created on a background
+     * allocator thread with the conductor completing the command, or creating the image, once the log is ready, so
+     * commands from other clients are not held up behind file creation.
+     */
+    public static final String ASYNC_LOG_ALLOCATION_PROP_NAME = "aeron.async.log.allocation";
+
     /**
      * Length (in bytes) of the log buffers for publication terms.
      */
@@ -215,6 +257,22 @@ public class Configuration
      */
     public static final long STATUS_MESSAGE_TIMEOUT_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(200);
 
+    /**
+     * Property name for the {@link StatusMessageSuppression} mode of receivers.
+     */
+    public static final String STATUS_MESSAGE_SUPPRESSION_PROP_NAME = "aeron.rcv.status.message.suppression";
+
+    /**
+     * Property name for the max random delay in nanoseconds of SMs for {@link StatusMessageSuppression#DELAY}.
+     */
+    public static final String STATUS_MESSAGE_SUPPRESSION_DELAY_PROP_NAME =
+        "aeron.rcv.status.message.suppression.delay";
+
+    /**
+     * Default max random delay of SMs for {@link StatusMessageSuppression#DELAY}.
+     */
+    public static final long STATUS_MESSAGE_SUPPRESSION_DELAY_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
     /**
      * Property name for ratio of sending data to polling status messages in the Sender.
      */
@@ -353,6 +411,25 @@ public class Configuration
      */
     public static final String CONTROLLABLE_IDLE_STRATEGY = "org.agrona.concurrent.ControllableIdleStrategy";
 
+    /**
+     * {@link IdleStrategy} which adapts between spinning and parking based on the recent pattern of work.
+     *
+     * @see AdaptiveIdleStrategy
+     */
+    public static final String ADAPTIVE_IDLE_STRATEGY = "io.aeron.driver.AdaptiveIdleStrategy";
+
+    /**
+     * Property name for the average inter-arrival time of work below which an {@link AdaptiveIdleStrategy} will spin
+     * when idle, which is also how long it will spin for before backing off.
+     */
+    public static final String ADAPTIVE_IDLE_SPIN_THRESHOLD_PROP_NAME = "aeron.adaptive.idle.spin.threshold";
+
+    /**
+     * Default average inter-arrival time of work below which an {@link AdaptiveIdleStrategy} will spin. This is about
+     * the minimum time a park takes so parking between units of work arriving more often would add latency.
+     */
+    public static final long ADAPTIVE_IDLE_SPIN_THRESHOLD_DEFAULT_NS = TimeUnit.MICROSECONDS.toNanos(50);
+
     /**
      * Property name for {@link IdleStrategy} to be employed by {@link Sender} for {@link ThreadingMode#DEDICATED}.
      */
@@ -476,12 +553,23 @@ public class Configuration
      */
     public static final String RECEIVE_CHANNEL_ENDPOINT_SUPPLIER_PROP_NAME = "aeron.ReceiveChannelEndpoint.supplier";
 
+    /**
+     * Property name for {@link DatagramTransportSupplier}.
+     */
+    public static final String DATAGRAM_TRANSPORT_SUPPLIER_PROP_NAME = "aeron.DatagramTransport.supplier";
+
     /**
      * Property name for Application Specific Feedback added to Status Messages by the driver for flow control.
      */
     public static final String SM_APPLICATION_SPECIFIC_FEEDBACK_PROP_NAME =
         "aeron.flow.control.sm.applicationSpecificFeedback";
 
+    /**
+     * Property name for the default group tag receivers send in Status Messages for {@link TaggedMulticastFlowControl}
+     * when a subscription channel does not have {@link io.aeron.CommonContext#GROUP_TAG_PARAM_NAME}.
+     */
+    public static final String RECEIVER_GROUP_TAG_PROP_NAME = "aeron.receiver.group.tag";
+
     /**
      * Property name for {@link CongestionControlSupplier} to be employed for receivers.
      */
@@ -608,11 +696,166 @@ public class Configuration
      */
     public static final long UNTETHERED_RESTING_TIMEOUT_DEFAULT_NS = TimeUnit.SECONDS.toNanos(10);
 
+    /**
+     * Property name for the max number of active retransmissions per connected stream. NAKs which cannot be merged
+     * into an active retransmission are dropped when this is reached.
+     */
+    public static final String MAX_RETRANSMITS_PROP_NAME = "aeron.retransmit.max";
+
     /**
      * Default max number of active retransmissions per connected stream.
      */
     public static final int MAX_RETRANSMITS_DEFAULT = 16;
 
+    /**
+     * Max number of gaps tracked at once by the loss detector of an image, which is also the max number of ranges
+     * carried in a NAK. This is kept below {@link #MAX_RETRANSMITS_DEFAULT} so a sender can service the ranges of a
+     * NAK while retransmits for a previous NAK are lingering.
+     */
+    public static final int NAK_MAX_RANGES = 8;
+
+    /**
+     * Property name for the default max number of datagrams drained from a transport in one batch by the receiver.
+     * A value of 1 disables batching so each datagram is dispatched as it is received.
+     *
+     * @see CommonContext#RECEIVE_BATCH_LENGTH_PARAM_NAME
+     */
+    public static final String RECEIVE_BATCH_LENGTH_PROP_NAME = "aeron.rcv.batch.length";
+
+    /**
+     * Default max number of datagrams drained from a transport in one batch by the receiver.
+     */
+    public static final int RECEIVE_BATCH_LENGTH_DEFAULT = 1;
+
+    /**
+     * Max number of datagrams which can be drained from a transport in one batch by the receiver.
+     */
+    public static final int RECEIVE_BATCH_LENGTH_MAX = 64;
+
+    /**
+     * Property name for the default max number of datagrams gathered from a publication and sent in one batch by the
+     * sender. A value of 1 disables batching so a single MTU is sent per publication on each duty cycle.
+     *
+     * @see CommonContext#SEND_BATCH_LENGTH_PARAM_NAME
+     */
+    public static final String SEND_BATCH_LENGTH_PROP_NAME = "aeron.snd.batch.length";
+
+    /**
+     * Default max number of datagrams gathered from a publication and sent in one batch by the sender.
+     */
+    public static final int SEND_BATCH_LENGTH_DEFAULT = 1;
+
+    /**
+     * Max number of datagrams which can be gathered from a publication and sent in one batch by the sender.
+     */
+    public static final int SEND_BATCH_LENGTH_MAX = 64;
+
+    /**
+     * Number of power of two buckets in the histogram of datagrams sent per batch flush by the sender.
+     */
+    public static final int SEND_BATCH_HISTOGRAM_BUCKET_COUNT = 7;
+
+    /**
+     * Property name for if the driver agents should keep a histogram and the max of the time of their duty cycles
+     * which did work.
+     */
+    public static final String DUTY_CYCLE_HISTOGRAM_ENABLED_PROP_NAME = "aeron.duty.cycle.histogram.enabled";
+
+    /**
+     * Number of power of two buckets in the histogram of duty cycle times in nanoseconds, with the last bucket
+     * covering duty cycles of a second or more.
+     */
+    public static final int DUTY_CYCLE_HISTOGRAM_BUCKET_COUNT = 31;
+
+    /**
+     * Property name for if generic segmentation offload should be used by default on channels. When enabled the
+     * sender hands runs of equal length frames to the transport as one segmented send of up to
+     * {@link #MAX_UDP_PAYLOAD_LENGTH} and the receiver splits coalesced receives back into runs of contiguous frames.
+     *
+     * @see CommonContext#GSO_PARAM_NAME
+     */
+    public static final String GSO_ENABLED_PROP_NAME = "aeron.gso.enabled";
+
+    /**
+     * Property name for if heartbeats from idle network publications which share a send channel endpoint should be
+     * coalesced into one datagram, of up to the MTU of the publications, per sender duty cycle rather than each
+     * being sent in its own datagram. Receivers split such datagrams back into separate heartbeat frames so all
+     * receiving drivers must support this before it is enabled.
+     */
+    public static final String HEARTBEAT_COALESCING_ENABLED_PROP_NAME = "aeron.heartbeat.coalescing.enabled";
+
+    /**
+     * Property name for if Status Messages and NAKs from images on a receive channel endpoint to the same control
+     * address should be batched into one datagram, of up to the MTU, per receiver duty cycle rather than each being
+     * sent in its own datagram. Senders parse each frame of such datagrams so all sending drivers must support this
+     * before it is enabled. Endpoints with multiple destinations always send each message in its own datagram.
+     */
+    public static final String CONTROL_MESSAGE_BATCHING_ENABLED_PROP_NAME = "aeron.control.message.batching.enabled";
+
+    /**
+     * Property name for the default number of datagrams in each group covered by a forward error correction parity
+     * frame sent by network publications. A value of 0 disables FEC. The MTU available to the publication is reduced
+     * by the parity frame header so a parity frame fits the MTU of the channel.
+     *
+     * @see CommonContext#FEC_GROUP_SIZE_PARAM_NAME
+     */
+    public static final String FEC_GROUP_SIZE_PROP_NAME = "aeron.fec.group.size";
+
+    /**
+     * Default number of datagrams in each group covered by a forward error correction parity frame, which is disabled.
+     */
+    public static final int FEC_GROUP_SIZE_DEFAULT = 0;
+
+    /**
+     * Property name for the default rate in bytes per second to which network publications pace the sending of data.
+     * A value of 0 disables pacing.
+     *
+     * @see CommonContext#PACING_RATE_PARAM_NAME
+     */
+    public static final String PACING_RATE_PROP_NAME = "aeron.pacing.rate";
+
+    /**
+     * Default rate in bytes per second to which network publications pace the sending of data, which is disabled.
+     */
+    public static final long PACING_RATE_DEFAULT = 0;
+
+    /**
+     * Property name for the length in bytes of the burst a paced publication can send at once after being idle. The
+     * burst is at least the MTU of the publication.
+     */
+    public static final String PACING_BURST_LENGTH_PROP_NAME = "aeron.pacing.burst.length";
+
+    /**
+     * Default length in bytes of the burst a paced publication can send at once after being idle.
+     */
+    public static final int PACING_BURST_LENGTH_DEFAULT = 16 * 1024;
+
+    /**
+     * Property name for the number of receiver agents the receive channel endpoints are sharded across. Each endpoint,
+     * and the images on it, is owned by one receiver for its lifetime.
+     *
+     * @see CommonContext#RECEIVER_INDEX_PARAM_NAME
+     */
+    public static final String RECEIVER_COUNT_PROP_NAME = "aeron.receiver.count";
+
+    /**
+     * Default number of receiver agents.
+     */
+    public static final int RECEIVER_COUNT_DEFAULT = 1;
+
+    /**
+     * Property name for the number of sender agents the send channel endpoints are sharded across. Each endpoint,
+     * and the publications on it, is owned by one sender for its lifetime.
+     *
+     * @see CommonContext#SENDER_INDEX_PARAM_NAME
+     */
+    public static final String SENDER_COUNT_PROP_NAME = "aeron.sender.count";
+
+    /**
+     * Default number of sender agents.
+     */
+    public static final int SENDER_COUNT_DEFAULT = 1;
+
     /**
      * Property name for the class used to validate if a driver should terminate based on token.
      */
@@ -658,6 +901,31 @@ public class Configuration
         return "true".equalsIgnoreCase(getProperty(PERFORM_STORAGE_CHECKS_PROP_NAME, "true"));
     }
 
+    public static boolean termBufferPreTouch()
+    {
+        return "true".equalsIgnoreCase(getProperty(TERM_BUFFER_PRE_TOUCH_PROP_NAME, "false"));
+    }
+
+    public static boolean termBufferPreFaultRead()
+    {
+        return "true".equalsIgnoreCase(getProperty(TERM_BUFFER_PRE_FAULT_READ_PROP_NAME, "false"));
+    }
+
+    public static String logBufferDirectoryName()
+    {
+        return getProperty(LOG_BUFFER_DIR_PROP_NAME);
+    }
+
+    public static int logBufferPoolSize()
+    {
+        return getInteger(LOG_BUFFER_POOL_SIZE_PROP_NAME, LOG_BUFFER_POOL_SIZE_DEFAULT);
+    }
+
+    public static boolean asyncLogAllocation()
+    {
+        return "true".equalsIgnoreCase(getProperty(ASYNC_LOG_ALLOCATION_PROP_NAME, "false"));
+    }
+
     public static boolean spiesSimulateConnection()
     {
         return "true".equalsIgnoreCase(getProperty(SPIES_SIMULATE_CONNECTION_PROP_NAME, "false"));
@@ -767,6 +1035,10 @@ public class Configuration
                     IDLE_MAX_SPINS, IDLE_MAX_YIELDS, IDLE_MIN_PARK_NS, IDLE_MAX_PARK_NS);
                 break;
 
+            case ADAPTIVE_IDLE_STRATEGY:
+                idleStrategy = new AdaptiveIdleStrategy();
+                break;
+
             case CONTROLLABLE_IDLE_STRATEGY:
                 idleStrategy = new ControllableIdleStrategy(controllableStatus);
                 controllableStatus.setOrdered(ControllableIdleStrategy.PARK);
@@ -787,6 +1059,28 @@ public class Configuration
         return idleStrategy;
     }
 
+    /**
+     * Should the driver agents keep a histogram and the max of the time of their duty cycles.
+     *
+     * @return true if the driver agents should keep a histogram and the max of the time of their duty cycles.
+     * @see #DUTY_CYCLE_HISTOGRAM_ENABLED_PROP_NAME
+     */
+    public static boolean dutyCycleHistogramEnabled()
+    {
+        return "true".equalsIgnoreCase(getProperty(DUTY_CYCLE_HISTOGRAM_ENABLED_PROP_NAME, "false"));
+    }
+
+    /**
+     * Average inter-arrival time of work below which an {@link AdaptiveIdleStrategy} will spin.
+     *
+     * @return average inter-arrival time of work below which an {@link AdaptiveIdleStrategy} will spin.
+     * @see #ADAPTIVE_IDLE_SPIN_THRESHOLD_PROP_NAME
+     */
+    public static long adaptiveIdleSpinThresholdNs()
+    {
+        return getDurationInNanos(ADAPTIVE_IDLE_SPIN_THRESHOLD_PROP_NAME, ADAPTIVE_IDLE_SPIN_THRESHOLD_DEFAULT_NS);
+    }
+
     public static IdleStrategy senderIdleStrategy(final StatusIndicator controllableStatus)
     {
         return agentIdleStrategy(
@@ -877,6 +1171,23 @@ public class Configuration
         return getDurationInNanos(STATUS_MESSAGE_TIMEOUT_PROP_NAME, STATUS_MESSAGE_TIMEOUT_DEFAULT_NS);
     }
 
+    public static StatusMessageSuppression statusMessageSuppression()
+    {
+        final String propertyValue = getProperty(STATUS_MESSAGE_SUPPRESSION_PROP_NAME);
+        if (null == propertyValue)
+        {
+            return StatusMessageSuppression.NONE;
+        }
+
+        return StatusMessageSuppression.valueOf(propertyValue);
+    }
+
+    public static long statusMessageSuppressionDelayNs()
+    {
+        return getDurationInNanos(
+            STATUS_MESSAGE_SUPPRESSION_DELAY_PROP_NAME, STATUS_MESSAGE_SUPPRESSION_DELAY_DEFAULT_NS);
+    }
+
     public static int sendToStatusMessagePollRatio()
     {
         return getInteger(SEND_TO_STATUS_POLL_RATIO_PROP_NAME, SEND_TO_STATUS_POLL_RATIO_DEFAULT);
@@ -922,11 +1233,66 @@ public class Configuration
         return getDurationInNanos(RETRANSMIT_UNICAST_LINGER_PROP_NAME, RETRANSMIT_UNICAST_LINGER_DEFAULT_NS);
     }
 
+    public static int maxRetransmits()
+    {
+        return getInteger(MAX_RETRANSMITS_PROP_NAME, MAX_RETRANSMITS_DEFAULT);
+    }
+
     public static int lossReportBufferLength()
     {
         return getSizeAsInt(LOSS_REPORT_BUFFER_LENGTH_PROP_NAME, LOSS_REPORT_BUFFER_LENGTH_DEFAULT);
     }
 
+    public static int receiveBatchLength()
+    {
+        return getInteger(RECEIVE_BATCH_LENGTH_PROP_NAME, RECEIVE_BATCH_LENGTH_DEFAULT);
+    }
+
+    public static int sendBatchLength()
+    {
+        return getInteger(SEND_BATCH_LENGTH_PROP_NAME, SEND_BATCH_LENGTH_DEFAULT);
+    }
+
+    public static boolean gsoEnabled()
+    {
+        return "true".equalsIgnoreCase(getProperty(GSO_ENABLED_PROP_NAME, "false"));
+    }
+
+    public static boolean heartbeatCoalescingEnabled()
+    {
+        return "true".equalsIgnoreCase(getProperty(HEARTBEAT_COALESCING_ENABLED_PROP_NAME, "false"));
+    }
+
+    public static boolean controlMessageBatchingEnabled()
+    {
+        return "true".equalsIgnoreCase(getProperty(CONTROL_MESSAGE_BATCHING_ENABLED_PROP_NAME, "false"));
+    }
+
+    public static int fecGroupSize()
+    {
+        return getInteger(FEC_GROUP_SIZE_PROP_NAME, FEC_GROUP_SIZE_DEFAULT);
+    }
+
+    public static long pacingRate()
+    {
+        return getSizeAsLong(PACING_RATE_PROP_NAME, PACING_RATE_DEFAULT);
+    }
+
+    public static int pacingBurstLength()
+    {
+        return getSizeAsInt(PACING_BURST_LENGTH_PROP_NAME, PACING_BURST_LENGTH_DEFAULT);
+    }
+
+    public static int receiverCount()
+    {
+        return getInteger(RECEIVER_COUNT_PROP_NAME, RECEIVER_COUNT_DEFAULT);
+    }
+
+    public static int senderCount()
+    {
+        return getInteger(SENDER_COUNT_PROP_NAME, SENDER_COUNT_DEFAULT);
+    }
+
     public static ThreadingMode threadingMode()
     {
         final String propertyValue = getProperty(THREADING_MODE_PROP_NAME);
@@ -938,6 +1304,23 @@ public class Configuration
         return ThreadingMode.valueOf(propertyValue);
     }
 
+    /**
+     * Default group tag receivers send in Status Messages.
+     *
+     * @return default group tag receivers send in Status Messages or null if not set.
+     * @see #RECEIVER_GROUP_TAG_PROP_NAME
+     */
+    public static Long receiverGroupTag()
+    {
+        final String propertyValue = getProperty(RECEIVER_GROUP_TAG_PROP_NAME);
+        if (null == propertyValue)
+        {
+            return null;
+        }
+
+        return Long.parseLong(propertyValue);
+    }
+
     public static byte[] applicationSpecificFeedback()
     {
         final String propertyValue = getProperty(SM_APPLICATION_SPECIFIC_FEEDBACK_PROP_NAME);
@@ -1003,6 +1386,33 @@ public class Configuration
         return supplier;
     }
 
+    /**
+     * Get the supplier of {@link io.aeron.driver.media.DatagramTransport}s which channel endpoints use to send and
+     * receive datagrams, such as the kernel UDP stack or an in memory loopback.
+     *
+     * @return the {@link DatagramTransportSupplier}.
+     */
+    public static DatagramTransportSupplier datagramTransportSupplier()
+    {
+        DatagramTransportSupplier supplier = null;
+        try
+        {
+            final String className = getProperty(DATAGRAM_TRANSPORT_SUPPLIER_PROP_NAME);
+            if (null == className)
+            {
+                return new DefaultDatagramTransportSupplier();
+            }
+
+            supplier = (DatagramTransportSupplier)Class.forName(className).getConstructor().newInstance();
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return supplier;
+    }
+
     /**
      * Get the supplier of {@link FlowControl}s which can be used for changing behavior of flow control for unicast
      * publications.
@@ -1118,6 +1528,202 @@ public class Configuration
         }
     }
 
+    /**
+     * Validate that the receive batch length is in the range 1 to {@link #RECEIVE_BATCH_LENGTH_MAX}.
+     *
+     * @param receiveBatchLength to be validated.
+     * @throws ConfigurationException if the receive batch length is not valid.
+     */
+    public static void validateReceiveBatchLength(final int receiveBatchLength)
+    {
+        if (receiveBatchLength < 1 || receiveBatchLength > RECEIVE_BATCH_LENGTH_MAX)
+        {
+            throw new ConfigurationException(
+                "receiveBatchLength must be >= 1 and <= RECEIVE_BATCH_LENGTH_MAX: " + receiveBatchLength);
+        }
+    }
+
+    /**
+     * Validate that there is at least one receiver agent.
+     *
+     * @param receiverCount to be validated.
+     * @throws ConfigurationException if the receiver count is not valid.
+     */
+    public static void validateReceiverCount(final int receiverCount)
+    {
+        if (receiverCount < 1)
+        {
+            throw new ConfigurationException("receiverCount must be >= 1: " + receiverCount);
+        }
+    }
+
+    /**
+     * Validate that there is room for at least the ranges of one NAK in the active retransmissions.
+     *
+     * @param maxRetransmits to be validated.
+     * @throws ConfigurationException if the max retransmits is not valid.
+     */
+    public static void validateMaxRetransmits(final int maxRetransmits)
+    {
+        if (maxRetransmits < NAK_MAX_RANGES)
+        {
+            throw new ConfigurationException(
+                "maxRetransmits must be >= " + NAK_MAX_RANGES + ": " + maxRetransmits);
+        }
+    }
+
+    /**
+     * Validate that there is at least one sender agent.
+     *
+     * @param senderCount to be validated.
+     * @throws ConfigurationException if the sender count is not valid.
+     */
+    public static void validateSenderCount(final int senderCount)
+    {
+        if (senderCount < 1)
+        {
+            throw new ConfigurationException("senderCount must be >= 1: " + senderCount);
+        }
+    }
+
+    /**
+     * Index of the receiver agent which owns the endpoint for a channel. This is the value of
+     * {@link CommonContext#RECEIVER_INDEX_PARAM_NAME} if provided, otherwise a hash of the canonical form of the
+     * channel so the same channel is always owned by the same receiver.
+     *
+     * @param udpChannel    for the endpoint.
+     * @param receiverCount number of receiver agents in the driver.
+     * @return index of the receiver agent which owns the endpoint.
+     * @throws IllegalArgumentException if the index provided in the channel is not less than the receiver count.
+     */
+    public static int receiverIndex(final UdpChannel udpChannel, final int receiverCount)
+    {
+        return agentIndex(udpChannel, CommonContext.RECEIVER_INDEX_PARAM_NAME, receiverCount);
+    }
+
+    /**
+     * Index of the sender agent which owns the endpoint for a channel. This is the value of
+     * {@link CommonContext#SENDER_INDEX_PARAM_NAME} if provided, otherwise a hash of the canonical form of the
+     * channel so the same channel is always owned by the same sender.
+     *
+     * @param udpChannel  for the endpoint.
+     * @param senderCount number of sender agents in the driver.
+     * @return index of the sender agent which owns the endpoint.
+     * @throws IllegalArgumentException if the index provided in the channel is not less than the sender count.
+     */
+    public static int senderIndex(final UdpChannel udpChannel, final int senderCount)
+    {
+        return agentIndex(udpChannel, CommonContext.SENDER_INDEX_PARAM_NAME, senderCount);
+    }
+
+    private static int agentIndex(final UdpChannel udpChannel, final String paramName, final int agentCount)
+    {
+        final String agentIndexStr = udpChannel.channelUri().get(paramName);
+        if (null != agentIndexStr)
+        {
+            final int agentIndex = Integer.parseInt(agentIndexStr);
+            if (agentIndex < 0 || agentIndex >= agentCount)
+            {
+                throw new IllegalArgumentException(
+                    paramName + "=" + agentIndex + " must be >= 0 and < agent count " + agentCount);
+            }
+
+            return agentIndex;
+        }
+
+        return 1 == agentCount ? 0 : (udpChannel.canonicalForm().hashCode() & Integer.MAX_VALUE) % agentCount;
+    }
+
+    /**
+     * Validate that the send batch length is in the range 1 to {@link #SEND_BATCH_LENGTH_MAX}.
+     *
+     * @param sendBatchLength to be validated.
+     * @throws ConfigurationException if the send batch length is not valid.
+     */
+    public static void validateSendBatchLength(final int sendBatchLength)
+    {
+        if (sendBatchLength < 1 || sendBatchLength > SEND_BATCH_LENGTH_MAX)
+        {
+            throw new ConfigurationException(
+                "sendBatchLength must be >= 1 and <= SEND_BATCH_LENGTH_MAX: " + sendBatchLength);
+        }
+    }
+
+    /**
+     * Validate that the FEC group size is in the range 0 to {@link FecFlyweight#MAX_GROUP_SIZE}.
+     *
+     * @param fecGroupSize to be validated.
+     * @throws ConfigurationException if the FEC group size is not valid.
+     */
+    public static void validateFecGroupSize(final int fecGroupSize)
+    {
+        if (fecGroupSize < 0 || fecGroupSize > FecFlyweight.MAX_GROUP_SIZE)
+        {
+            throw new ConfigurationException(
+                "fecGroupSize must be >= 0 and <= " + FecFlyweight.MAX_GROUP_SIZE + ": " + fecGroupSize);
+        }
+    }
+
+    /**
+     * Validate the max random delay of SMs for {@link StatusMessageSuppression#DELAY} is less than the status message
+     * timeout so suppressed SMs are not held back longer than a receiver would go without sending one.
+     *
+     * @param statusMessageSuppressionDelayNs to be validated.
+     * @param statusMessageTimeoutNs          to be validated against.
+     */
+    public static void validateStatusMessageSuppressionDelayNs(
+        final long statusMessageSuppressionDelayNs, final long statusMessageTimeoutNs)
+    {
+        if (statusMessageSuppressionDelayNs < 0 || statusMessageSuppressionDelayNs >= statusMessageTimeoutNs)
+        {
+            throw new ConfigurationException(
+                "statusMessageSuppressionDelayNs must be >= 0 and < statusMessageTimeoutNs: " +
+                statusMessageSuppressionDelayNs);
+        }
+    }
+
+    /**
+     * Validate that the pacing rate is not negative.
+     *
+     * @param pacingRate to be validated.
+     * @throws ConfigurationException if the pacing rate is negative.
+     */
+    public static void validatePacingRate(final long pacingRate)
+    {
+        if (pacingRate < 0)
+        {
+            throw new ConfigurationException("pacingRate must be >= 0: " + pacingRate);
+        }
+    }
+
+    /**
+     * Validate that the pacing burst length is positive.
+     *
+     * @param pacingBurstLength to be validated.
+     * @throws ConfigurationException if the pacing burst length is not positive.
+     */
+    public static void validatePacingBurstLength(final int pacingBurstLength)
+    {
+        if (pacingBurstLength <= 0)
+        {
+            throw new ConfigurationException("pacingBurstLength must be > 0: " + pacingBurstLength);
+        }
+    }
+
+    /**
+     * Validate that the log buffer pool size is not negative.
+     *
+     * @param logBufferPoolSize to be validated.
+     * @throws ConfigurationException if the log buffer pool size is negative.
+     */
+    public static void validateLogBufferPoolSize(final int logBufferPoolSize)
+    {
+        if (logBufferPoolSize < 0)
+        {
+            throw new ConfigurationException("logBufferPoolSize must be >= 0: " + logBufferPoolSize);
+        }
+    }
+
     /**
      * Validate the publication linger timeout is an appropriate value.
      *
@@ -32,10 +32,12 @@ public class CounterLink implements DriverManagedResource
         this.registrationId = registrationId;
         this.counter = counter;
         this.client = client;
+        client.addLink(registrationId);
     }
 
     public void close()
     {
+        client.removeLink(registrationId);
         counter.close();
     }
 
@@ -17,7 +17,9 @@ package io.aeron.driver;
 
 import io.aeron.driver.exceptions.UnknownSubscriptionException;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
+import io.aeron.driver.media.SessionStreamMap;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import org.agrona.collections.Int2ObjectHashMap;
@@ -31,6 +33,9 @@ import static io.aeron.driver.DataPacketDispatcher.SessionState.*;
 /**
  * Handling of dispatching data packets to {@link PublicationImage}s streams.
  * <p>
+ * Interest is tracked per stream for managing subscriptions and is mirrored into a flat table keyed by session id
+ * and stream id so frames for known sessions are dispatched with a single lookup.
+ * <p>
  * All methods should be called from the {@link Receiver} thread.
  */
 public class DataPacketDispatcher
@@ -68,6 +73,7 @@ public class DataPacketDispatcher
     }
 
     private final Int2ObjectHashMap<StreamInterest> streamInterestByIdMap = new Int2ObjectHashMap<>();
+    private final SessionStreamMap<SessionInterest> sessionInterestBySessionAndStreamId = new SessionStreamMap<>();
     private final DriverConductorProxy conductorProxy;
     private final Receiver receiver;
 
@@ -94,7 +100,7 @@ public class DataPacketDispatcher
                 final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
                 if (NO_INTEREST == sessionInterest.state)
                 {
-                    streamInterest.sessionInterestByIdMap.remove(sessionId);
+                    removeSessionInterest(streamInterest, sessionId, streamId);
                 }
             }
         }
@@ -115,7 +121,7 @@ public class DataPacketDispatcher
         final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
         if (null != sessionInterest && NO_INTEREST == sessionInterest.state)
         {
-            streamInterest.sessionInterestByIdMap.remove(sessionId);
+            removeSessionInterest(streamInterest, sessionId, streamId);
         }
     }
 
@@ -138,7 +144,7 @@ public class DataPacketDispatcher
                     sessionInterest.image.ifActiveGoInactive();
                 }
 
-                streamInterest.sessionInterestByIdMap.remove(sessionId);
+                removeSessionInterest(streamInterest, sessionId, streamId);
             }
         }
 
@@ -146,7 +152,7 @@ public class DataPacketDispatcher
 
         if (streamInterest.subscribedSessionIds.isEmpty())
         {
-            streamInterestByIdMap.remove(streamId);
+            removeStreamInterest(streamInterest, streamId);
         }
     }
 
@@ -158,7 +164,7 @@ public class DataPacketDispatcher
             throw new UnknownSubscriptionException("No subscription registered on stream " + streamId);
         }
 
-        final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.remove(sessionId);
+        final SessionInterest sessionInterest = removeSessionInterest(streamInterest, sessionId, streamId);
         if (null != sessionInterest && null != sessionInterest.image)
         {
             sessionInterest.image.ifActiveGoInactive();
@@ -168,7 +174,7 @@ public class DataPacketDispatcher
 
         if (!streamInterest.isForAllSessions && streamInterest.subscribedSessionIds.isEmpty())
         {
-            streamInterestByIdMap.remove(streamId);
+            removeStreamInterest(streamInterest, streamId);
         }
     }
 
@@ -183,7 +189,7 @@ public class DataPacketDispatcher
         if (null == sessionInterest)
         {
             sessionInterest = new SessionInterest(ACTIVE);
-            streamInterest.sessionInterestByIdMap.put(sessionId, sessionInterest);
+            putSessionInterest(streamInterest, sessionId, streamId, sessionInterest);
         }
         else
         {
@@ -200,17 +206,13 @@ public class DataPacketDispatcher
         final int sessionId = image.sessionId();
         final int streamId = image.streamId();
 
-        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
-        if (null != streamInterest)
+        final SessionInterest sessionInterest = sessionInterestBySessionAndStreamId.get(sessionId, streamId);
+        if (null != sessionInterest && null != sessionInterest.image)
         {
-            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
-            if (null != sessionInterest && null != sessionInterest.image)
+            if (sessionInterest.image.correlationId() == image.correlationId())
             {
-                if (sessionInterest.image.correlationId() == image.correlationId())
-                {
-                    sessionInterest.state = ON_COOL_DOWN;
-                    sessionInterest.image = null;
-                }
+                sessionInterest.state = ON_COOL_DOWN;
+                sessionInterest.image = null;
             }
         }
 
@@ -219,27 +221,19 @@ public class DataPacketDispatcher
 
     public void removePendingSetup(final int sessionId, final int streamId)
     {
-        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
-        if (null != streamInterest)
+        final SessionInterest sessionInterest = sessionInterestBySessionAndStreamId.get(sessionId, streamId);
+        if (null != sessionInterest && PENDING_SETUP_FRAME == sessionInterest.state)
         {
-            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
-            if (null != sessionInterest && PENDING_SETUP_FRAME == sessionInterest.state)
-            {
-                streamInterest.sessionInterestByIdMap.remove(sessionId);
-            }
+            removeSessionInterest(streamInterestByIdMap.get(streamId), sessionId, streamId);
         }
     }
 
     public void removeCoolDown(final int sessionId, final int streamId)
     {
-        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
-        if (null != streamInterest)
+        final SessionInterest sessionInterest = sessionInterestBySessionAndStreamId.get(sessionId, streamId);
+        if (null != sessionInterest && ON_COOL_DOWN == sessionInterest.state)
         {
-            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
-            if (null != sessionInterest && ON_COOL_DOWN == sessionInterest.state)
-            {
-                streamInterest.sessionInterestByIdMap.remove(sessionId);
-            }
+            removeSessionInterest(streamInterestByIdMap.get(streamId), sessionId, streamId);
         }
     }
 
@@ -252,32 +246,30 @@ public class DataPacketDispatcher
         final int transportIndex)
     {
         final int streamId = header.streamId();
-        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
+        final int sessionId = header.sessionId();
+        final SessionInterest sessionInterest = sessionInterestBySessionAndStreamId.get(sessionId, streamId);
 
-        if (null != streamInterest)
+        if (null != sessionInterest)
         {
-            final int sessionId = header.sessionId();
-            final int termId = header.termId();
-            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
-
-            if (null != sessionInterest)
+            if (null != sessionInterest.image)
             {
-                if (null != sessionInterest.image)
-                {
-                    return sessionInterest.image.insertPacket(
-                        termId, header.termOffset(), buffer, length, transportIndex, srcAddress);
-                }
+                return sessionInterest.image.insertPacket(
+                    header.termId(), header.termOffset(), buffer, length, transportIndex, srcAddress);
             }
-            else if (!DataHeaderFlyweight.isEndOfStream(buffer))
+        }
+        else if (!DataHeaderFlyweight.isEndOfStream(buffer))
+        {
+            final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
+            if (null != streamInterest)
             {
                 if (streamInterest.isForAllSessions || streamInterest.subscribedSessionIds.contains(sessionId))
                 {
-                    streamInterest.sessionInterestByIdMap.put(sessionId, new SessionInterest(PENDING_SETUP_FRAME));
+                    putSessionInterest(streamInterest, sessionId, streamId, new SessionInterest(PENDING_SETUP_FRAME));
                     elicitSetupMessageFromSource(channelEndpoint, transportIndex, srcAddress, streamId, sessionId);
                 }
                 else
                 {
-                    streamInterest.sessionInterestByIdMap.put(sessionId, new SessionInterest(NO_INTEREST));
+                    putSessionInterest(streamInterest, sessionId, streamId, new SessionInterest(NO_INTEREST));
                 }
             }
         }
@@ -292,62 +284,80 @@ public class DataPacketDispatcher
         final int transportIndex)
     {
         final int streamId = header.streamId();
-        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
+        final int sessionId = header.sessionId();
+        final SessionInterest sessionInterest = sessionInterestBySessionAndStreamId.get(sessionId, streamId);
 
-        if (null != streamInterest)
+        if (null != sessionInterest)
         {
-            final int sessionId = header.sessionId();
-            final int initialTermId = header.initialTermId();
-            final int activeTermId = header.activeTermId();
-            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
+            if (null == sessionInterest.image && (PENDING_SETUP_FRAME == sessionInterest.state))
+            {
+                sessionInterest.state = INIT_IN_PROGRESS;
 
-            if (null != sessionInterest)
+                createPublicationImage(
+                    channelEndpoint,
+                    transportIndex,
+                    srcAddress,
+                    streamId,
+                    sessionId,
+                    header.initialTermId(),
+                    header.activeTermId(),
+                    header.termOffset(),
+                    header.termLength(),
+                    header.mtuLength(),
+                    header.ttl());
+            }
+            else if (null != sessionInterest.image)
+            {
+                sessionInterest.image.addDestinationConnectionIfUnknown(transportIndex, srcAddress);
+            }
+        }
+        else
+        {
+            final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
+            if (null != streamInterest)
             {
-                if (null == sessionInterest.image && (PENDING_SETUP_FRAME == sessionInterest.state))
+                if (streamInterest.isForAllSessions || streamInterest.subscribedSessionIds.contains(sessionId))
                 {
-                    sessionInterest.state = INIT_IN_PROGRESS;
-
+                    putSessionInterest(streamInterest, sessionId, streamId, new SessionInterest(INIT_IN_PROGRESS));
                     createPublicationImage(
                         channelEndpoint,
                         transportIndex,
                         srcAddress,
                         streamId,
                         sessionId,
-                        initialTermId,
-                        activeTermId,
+                        header.initialTermId(),
+                        header.activeTermId(),
                         header.termOffset(),
                         header.termLength(),
                         header.mtuLength(),
                         header.ttl());
                 }
-                else if (null != sessionInterest.image)
+                else
                 {
-                    sessionInterest.image.addDestinationConnectionIfUnknown(transportIndex, srcAddress);
+                    putSessionInterest(streamInterest, sessionId, streamId, new SessionInterest(NO_INTEREST));
                 }
             }
-            else if (streamInterest.isForAllSessions || streamInterest.subscribedSessionIds.contains(sessionId))
-            {
-                streamInterest.sessionInterestByIdMap.put(sessionId, new SessionInterest(INIT_IN_PROGRESS));
-                createPublicationImage(
-                    channelEndpoint,
-                    transportIndex,
-                    srcAddress,
-                    streamId,
-                    sessionId,
-                    initialTermId,
-                    activeTermId,
-                    header.termOffset(),
-                    header.termLength(),
-                    header.mtuLength(),
-                    header.ttl());
-            }
-            else
-            {
-                streamInterest.sessionInterestByIdMap.put(sessionId, new SessionInterest(NO_INTEREST));
-            }
         }
     }
 
+    public int onFecPacket(
+        final FecFlyweight header,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress,
+        final int transportIndex)
+    {
+        final SessionInterest sessionInterest =
+            sessionInterestBySessionAndStreamId.get(header.sessionId(), header.streamId());
+
+        if (null != sessionInterest && null != sessionInterest.image)
+        {
+            return sessionInterest.image.onFecPacket(header, buffer, length, transportIndex, srcAddress);
+        }
+
+        return 0;
+    }
+
     public void onRttMeasurement(
         final ReceiveChannelEndpoint channelEndpoint,
         final RttMeasurementFlyweight header,
@@ -355,27 +365,22 @@ public class DataPacketDispatcher
         final int transportIndex)
     {
         final int streamId = header.streamId();
-        final StreamInterest streamInterest = streamInterestByIdMap.get(streamId);
+        final int sessionId = header.sessionId();
+        final SessionInterest sessionInterest = sessionInterestBySessionAndStreamId.get(sessionId, streamId);
 
-        if (null != streamInterest)
+        if (null != sessionInterest && null != sessionInterest.image)
         {
-            final int sessionId = header.sessionId();
-            final SessionInterest sessionInterest = streamInterest.sessionInterestByIdMap.get(sessionId);
-
-            if (null != sessionInterest && null != sessionInterest.image)
+            if (RttMeasurementFlyweight.REPLY_FLAG == (header.flags() & RttMeasurementFlyweight.REPLY_FLAG))
             {
-                if (RttMeasurementFlyweight.REPLY_FLAG == (header.flags() & RttMeasurementFlyweight.REPLY_FLAG))
-                {
-                    final InetSocketAddress controlAddress = channelEndpoint.isMulticast(transportIndex) ?
-                        channelEndpoint.udpChannel(transportIndex).remoteControl() : srcAddress;
+                final InetSocketAddress controlAddress = channelEndpoint.isMulticast(transportIndex) ?
+                    channelEndpoint.udpChannel(transportIndex).remoteControl() : srcAddress;
 
-                    channelEndpoint.sendRttMeasurement(
-                        transportIndex, controlAddress, sessionId, streamId, header.echoTimestampNs(), 0, false);
-                }
-                else
-                {
-                    sessionInterest.image.onRttMeasurement(header, transportIndex, srcAddress);
-                }
+                channelEndpoint.sendRttMeasurement(
+                    transportIndex, controlAddress, sessionId, streamId, header.echoTimestampNs(), 0, false);
+            }
+            else
+            {
+                sessionInterest.image.onRttMeasurement(header, transportIndex, srcAddress);
             }
         }
     }
@@ -385,6 +390,31 @@ public class DataPacketDispatcher
         return !streamInterestByIdMap.isEmpty();
     }
 
+    private void putSessionInterest(
+        final StreamInterest streamInterest, final int sessionId, final int streamId, final SessionInterest interest)
+    {
+        streamInterest.sessionInterestByIdMap.put(sessionId, interest);
+        sessionInterestBySessionAndStreamId.put(sessionId, streamId, interest);
+    }
+
+    private SessionInterest removeSessionInterest(
+        final StreamInterest streamInterest, final int sessionId, final int streamId)
+    {
+        sessionInterestBySessionAndStreamId.remove(sessionId, streamId);
+
+        return streamInterest.sessionInterestByIdMap.remove(sessionId);
+    }
+
+    private void removeStreamInterest(final StreamInterest streamInterest, final int streamId)
+    {
+        for (final int sessionId : streamInterest.sessionInterestByIdMap.keySet())
+        {
+            sessionInterestBySessionAndStreamId.remove(sessionId, streamId);
+        }
+
+        streamInterestByIdMap.remove(streamId);
+    }
+
     private void elicitSetupMessageFromSource(
         final ReceiveChannelEndpoint channelEndpoint,
         final int transportIndex,
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.DatagramTransport;
+import io.aeron.driver.media.UdpChannel;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Supplier of the {@link DatagramTransport} which a channel endpoint uses to send and receive datagrams.
+ */
+public interface DatagramTransportSupplier
+{
+    /**
+     * Create a new unopened transport for a channel.
+     *
+     * @param udpChannel      the transport is for.
+     * @param endPointAddress to receive on when the channel is multicast.
+     * @param bindAddress     to bind to when the channel is unicast.
+     * @param connectAddress  to connect to for sending, or null if not connected.
+     * @param context         for the driver.
+     * @return a new unopened transport for the channel.
+     */
+    DatagramTransport newInstance(
+        UdpChannel udpChannel,
+        InetSocketAddress endPointAddress,
+        InetSocketAddress bindAddress,
+        InetSocketAddress connectAddress,
+        MediaDriver.Context context);
+}
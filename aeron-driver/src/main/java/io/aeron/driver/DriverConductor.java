@@ -15,6 +15,7 @@
  */
 package io.aeron.driver;
 
+import io.aeron.Aeron;
 import io.aeron.ChannelUri;
 import io.aeron.CommonContext;
 import io.aeron.driver.MediaDriver.Context;
@@ -27,9 +28,15 @@ import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.protocol.DataHeaderFlyweight;
 import io.aeron.status.ChannelEndpointStatus;
 import org.agrona.BitUtil;
+import org.agrona.CloseHelper;
+import org.agrona.DeadlineTimerWheel;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.IntHashSet;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.LongArrayList;
+import org.agrona.collections.LongHashSet;
 import org.agrona.collections.Object2ObjectHashMap;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.ringbuffer.RingBuffer;
@@ -44,7 +51,6 @@ import static io.aeron.driver.PublicationParams.*;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static io.aeron.protocol.DataHeaderFlyweight.createDefaultHeader;
-import static org.agrona.collections.ArrayListUtil.fastUnorderedRemove;
 
 /**
  * Driver Conductor that takes commands from publishers and subscribers and orchestrates the media driver.
@@ -52,6 +58,9 @@ import static org.agrona.collections.ArrayListUtil.fastUnorderedRemove;
 public class DriverConductor implements Agent
 {
     private static final long CLOCK_UPDATE_DURATION_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int TIMER_WHEEL_TICK_RESOLUTION_MS = 16;
+    private static final int TIMER_WHEEL_TICKS_PER_WHEEL = 512;
+    private static final int RESOURCE_TIMER_WHEEL_TICK_RESOLUTION_NS = 1 << 24;
 
     private final long timerIntervalNs;
     private final long clientLivenessTimeoutNs;
@@ -60,10 +69,13 @@ public class DriverConductor implements Agent
     private long timeOfLastTimerCheckNs;
     private long lastConsumerCommandPosition;
     private long clockUpdateDeadlineNs;
+    private long lastStatusMessagesReceived;
+    private long lastHeartbeatDatagramsSent;
     private int nextSessionId = BitUtil.generateRandomisedId();
 
     private final Context ctx;
     private final LogFactory logFactory;
+    private final LogAllocator logAllocator;
     private final ReceiverProxy receiverProxy;
     private final SenderProxy senderProxy;
     private final ClientProxy clientProxy;
@@ -74,20 +86,38 @@ public class DriverConductor implements Agent
         new Object2ObjectHashMap<>();
     private final Object2ObjectHashMap<String, ReceiveChannelEndpoint> receiveChannelEndpointByChannelMap =
         new Object2ObjectHashMap<>();
-    private final ArrayList<NetworkPublication> networkPublications = new ArrayList<>();
-    private final ArrayList<IpcPublication> ipcPublications = new ArrayList<>();
-    private final ArrayList<PublicationImage> publicationImages = new ArrayList<>();
-    private final ArrayList<PublicationLink> publicationLinks = new ArrayList<>();
-    private final ArrayList<SubscriptionLink> subscriptionLinks = new ArrayList<>();
-    private final ArrayList<CounterLink> counterLinks = new ArrayList<>();
-    private final ArrayList<AeronClient> clients = new ArrayList<>();
+    private final ResourceRegistry<NetworkPublication> networkPublications =
+        new ResourceRegistry<>(NetworkPublication::registrationId);
+    private final ResourceRegistry<IpcPublication> ipcPublications =
+        new ResourceRegistry<>(IpcPublication::registrationId);
+    private final ResourceRegistry<PublicationImage> publicationImages =
+        new ResourceRegistry<>(PublicationImage::correlationId);
+    private final ResourceRegistry<PublicationLink> publicationLinks =
+        new ResourceRegistry<>(PublicationLink::registrationId);
+    private final ResourceRegistry<SubscriptionLink> subscriptionLinks =
+        new ResourceRegistry<>(SubscriptionLink::registrationId);
+    private final ResourceRegistry<CounterLink> counterLinks = new ResourceRegistry<>(CounterLink::registrationId);
+    private final ResourceRegistry<AeronClient> clients = new ResourceRegistry<>(AeronClient::clientId);
+    private final Object2ObjectHashMap<SendChannelEndpoint, Int2ObjectHashMap<NetworkPublication>>
+        sharedNetworkPublicationsByEndpoint = new Object2ObjectHashMap<>();
+    private final Int2ObjectHashMap<IpcPublication> sharedIpcPublicationByStreamId = new Int2ObjectHashMap<>();
     private final IntHashSet activeSessionIds = new IntHashSet();
+    private final DeadlineTimerWheel timerWheel;
+    private final DeadlineTimerWheel.TimerHandler clientTimerHandler = this::onClientTimerExpiry;
+    private final Long2ObjectHashMap<AeronClient> clientByTimerId = new Long2ObjectHashMap<>();
+    private final DeadlineTimerWheel resourceTimerWheel;
+    private final DeadlineTimerWheel.TimerHandler resourceTimerHandler = this::onResourceTimerExpiry;
+    private final Long2ObjectHashMap<ResourceTimer<?>> resourceTimerById = new Long2ObjectHashMap<>();
+    private final ArrayList<AeronClient> expiredClientTimers = new ArrayList<>();
+    private final ArrayList<ResourceTimer<?>> expiredResourceTimers = new ArrayList<>();
+    private final LongArrayList timedOutLinkIds = new LongArrayList();
     private final EpochClock epochClock;
     private final NanoClock nanoClock;
     private final CachedEpochClock cachedEpochClock;
     private final CachedNanoClock cachedNanoClock;
     private final CountersManager countersManager;
-    private final NetworkPublicationThreadLocals networkPublicationThreadLocals = new NetworkPublicationThreadLocals();
+    private final DutyCycleTracker dutyCycleTracker;
+    private final NetworkPublicationThreadLocals[] networkPublicationThreadLocals;
     private final MutableDirectBuffer tempBuffer;
     private final DataHeaderFlyweight defaultDataHeader = new DataHeaderFlyweight(createDefaultHeader(0, 0, 0));
 
@@ -101,6 +131,7 @@ public class DriverConductor implements Agent
         receiverProxy = ctx.receiverProxy();
         senderProxy = ctx.senderProxy();
         logFactory = ctx.logFactory();
+        logAllocator = ctx.asyncLogAllocation() ? new LogAllocator() : null;
         epochClock = ctx.epochClock();
         nanoClock = ctx.nanoClock();
         cachedEpochClock = ctx.cachedEpochClock();
@@ -108,8 +139,10 @@ public class DriverConductor implements Agent
         toDriverCommands = ctx.toDriverCommands();
         clientProxy = ctx.clientProxy();
         tempBuffer = ctx.tempBuffer();
+        networkPublicationThreadLocals = new NetworkPublicationThreadLocals[ctx.senderCount()];
 
         countersManager = ctx.countersManager();
+        dutyCycleTracker = ctx.newDutyCycleTracker("conductor", 0);
 
         clientCommandAdapter = new ClientCommandAdapter(
             ctx.systemCounters().get(ERRORS),
@@ -121,6 +154,16 @@ public class DriverConductor implements Agent
         final long nowNs = nanoClock.nanoTime();
         cachedNanoClock.update(nowNs);
         cachedEpochClock.update(epochClock.time());
+        timerWheel = new DeadlineTimerWheel(
+            TimeUnit.MILLISECONDS,
+            cachedEpochClock.time(),
+            TIMER_WHEEL_TICK_RESOLUTION_MS,
+            TIMER_WHEEL_TICKS_PER_WHEEL);
+        resourceTimerWheel = new DeadlineTimerWheel(
+            TimeUnit.NANOSECONDS,
+            nowNs,
+            RESOURCE_TIMER_WHEEL_TICK_RESOLUTION_NS,
+            TIMER_WHEEL_TICKS_PER_WHEEL);
         timeOfLastTimerCheckNs = nowNs;
         timeOfLastToDriverPositionChangeNs = nowNs;
         lastConsumerCommandPosition = toDriverCommands.consumerPosition();
@@ -128,6 +171,8 @@ public class DriverConductor implements Agent
 
     public void onClose()
     {
+        CloseHelper.close(logAllocator);
+
         publicationImages.forEach(PublicationImage::free);
         networkPublications.forEach(NetworkPublication::free);
         ipcPublications.forEach(IpcPublication::free);
@@ -151,7 +196,12 @@ public class DriverConductor implements Agent
         workCount += clientCommandAdapter.receive();
         workCount += driverCmdQueue.drain(Runnable::run, Configuration.COMMAND_DRAIN_LIMIT);
 
-        final ArrayList<PublicationImage> publicationImages = this.publicationImages;
+        if (null != logAllocator)
+        {
+            workCount += logAllocator.poll();
+        }
+
+        final ResourceRegistry<PublicationImage> publicationImages = this.publicationImages;
         for (int i = 0, size = publicationImages.size(); i < size; i++)
         {
             final PublicationImage image = publicationImages.get(i);
@@ -161,7 +211,7 @@ public class DriverConductor implements Agent
             }
         }
 
-        final ArrayList<NetworkPublication> networkPublications = this.networkPublications;
+        final ResourceRegistry<NetworkPublication> networkPublications = this.networkPublications;
         for (int i = 0, size = networkPublications.size(); i < size; i++)
         {
             final NetworkPublication publication = networkPublications.get(i);
@@ -171,7 +221,7 @@ public class DriverConductor implements Agent
             }
         }
 
-        final ArrayList<IpcPublication> ipcPublications = this.ipcPublications;
+        final ResourceRegistry<IpcPublication> ipcPublications = this.ipcPublications;
         for (int i = 0, size = ipcPublications.size(); i < size; i++)
         {
             final IpcPublication publication = ipcPublications.get(i);
@@ -181,6 +231,11 @@ public class DriverConductor implements Agent
             }
         }
 
+        if (workCount > 0)
+        {
+            dutyCycleTracker.record(nanoClock.nanoTime() - nowNs);
+        }
+
         return workCount;
     }
 
@@ -200,6 +255,89 @@ public class DriverConductor implements Agent
         Configuration.validateMtuLength(senderMtuLength);
         Configuration.validateInitialWindowLength(ctx.initialWindowLength(), senderMtuLength);
 
+        if (null != logAllocator)
+        {
+            final SubscriptionLink oldestSubscription = findOldestMatchingSubscription(
+                sessionId, streamId, channelEndpoint);
+
+            if (null != oldestSubscription)
+            {
+                final long registrationId = toDriverCommands.nextCorrelationId();
+                final boolean isSparse = oldestSubscription.isSparse();
+                final String canonicalForm = channelEndpoint.udpChannel().canonicalForm();
+
+                logAllocator.allocate(
+                    () -> logFactory.newImage(
+                    canonicalForm, sessionId, streamId, registrationId, termBufferLength, isSparse),
+                    (rawLog) ->
+                    {
+                        boolean isLogTaken = false;
+                        try
+                        {
+                            isLogTaken = linkPublicationImage(
+                                sessionId,
+                                streamId,
+                                initialTermId,
+                                activeTermId,
+                                initialTermOffset,
+                                termBufferLength,
+                                senderMtuLength,
+                                transportIndex,
+                                controlAddress,
+                                sourceAddress,
+                                channelEndpoint,
+                                registrationId,
+                                rawLog);
+                        }
+                        catch (final Exception ex)
+                        {
+                            onImageLogAllocationError(ex);
+                        }
+                        finally
+                        {
+                            if (!isLogTaken)
+                            {
+                                rawLog.close();
+                            }
+                        }
+                    },
+                    this::onImageLogAllocationError);
+            }
+        }
+        else
+        {
+            linkPublicationImage(
+                sessionId,
+                streamId,
+                initialTermId,
+                activeTermId,
+                initialTermOffset,
+                termBufferLength,
+                senderMtuLength,
+                transportIndex,
+                controlAddress,
+                sourceAddress,
+                channelEndpoint,
+                Aeron.NULL_VALUE,
+                null);
+        }
+    }
+
+    private boolean linkPublicationImage(
+        final int sessionId,
+        final int streamId,
+        final int initialTermId,
+        final int activeTermId,
+        final int initialTermOffset,
+        final int termBufferLength,
+        final int senderMtuLength,
+        final int transportIndex,
+        final InetSocketAddress controlAddress,
+        final InetSocketAddress sourceAddress,
+        final ReceiveChannelEndpoint channelEndpoint,
+        final long allocatedRegistrationId,
+        final RawLog allocatedLog)
+    {
         final long joinPosition = computePosition(
             activeTermId, initialTermOffset, LogBufferDescriptor.positionBitsToShift(termBufferLength), initialTermId);
 
@@ -210,16 +348,20 @@ public class DriverConductor implements Agent
         {
             final UdpChannel udpChannel = channelEndpoint.udpChannel();
             final String channel = udpChannel.originalUriString();
-            final long registrationId = toDriverCommands.nextCorrelationId();
-            final RawLog rawLog = newPublicationImageLog(
+            final long registrationId =
+                null == allocatedLog ? toDriverCommands.nextCorrelationId() : allocatedRegistrationId;
+            final RawLog rawLog = null == allocatedLog ?
+                logFactory.newImage(
+                udpChannel.canonicalForm(),
                 sessionId,
                 streamId,
-                initialTermId,
+                registrationId,
                 termBufferLength,
-                isOldestSubscriptionSparse(subscriberPositions),
-                senderMtuLength,
-                udpChannel,
-                registrationId);
+                isOldestSubscriptionSparse(subscriberPositions)) :
+                allocatedLog;
+
+            initialisePublicationImageLog(
+                rawLog, sessionId, streamId, initialTermId, termBufferLength, senderMtuLength, registrationId);
 
             final CongestionControl congestionControl = ctx.congestionControlSupplier().newInstance(
                 registrationId,
@@ -256,9 +398,12 @@ public class DriverConductor implements Agent
                 ctx.systemCounters(),
                 sourceAddress,
                 congestionControl,
-                ctx.lossReport());
+                ctx.lossReport(),
+                udpChannel.isMulticast() ? ctx.statusMessageSuppression() : StatusMessageSuppression.NONE,
+                ctx.statusMessageSuppressionDelayNs());
 
             publicationImages.add(image);
+            scheduleResourceTimer(new ResourceTimer<>(publicationImages, image), cachedNanoClock.nanoTime());
             receiverProxy.newPublicationImage(channelEndpoint, image);
 
             final String sourceIdentity = Configuration.sourceIdentity(sourceAddress);
@@ -277,7 +422,17 @@ public class DriverConductor implements Agent
                     rawLog.fileName(),
                     sourceIdentity);
             }
+
+            return true;
         }
+
+        return false;
+    }
+
+    private void onImageLogAllocationError(final Exception ex)
+    {
+        ctx.systemCounters().get(ERRORS).increment();
+        ctx.errorHandler().onError(ex);
     }
 
     public void onChannelEndpointError(final long statusIndicatorId, final Exception error)
@@ -304,21 +459,12 @@ public class DriverConductor implements Agent
 
     IpcPublication getSharedIpcPublication(final long streamId)
     {
-        return findSharedIpcPublication(ipcPublications, streamId);
+        return findSharedIpcPublication((int)streamId);
     }
 
     IpcPublication getIpcPublication(final long registrationId)
     {
-        for (int i = 0, size = ipcPublications.size(); i < size; i++)
-        {
-            final IpcPublication publication = ipcPublications.get(i);
-            if (publication.registrationId() == registrationId)
-            {
-                return publication;
-            }
-        }
-
-        return null;
+        return ipcPublications.findById(registrationId);
     }
 
     NetworkPublication findNetworkPublicationByTag(final long tag)
@@ -363,27 +509,74 @@ public class DriverConductor implements Agent
         final PublicationParams params = getPublicationParams(ctx, channelUri, this, isExclusive, false);
         validateMtuForMaxMessage(params);
 
+        if (null != logAllocator && (isExclusive ||
+            null == findSharedNetworkPublication(streamId, findExistingSendChannelEndpoint(udpChannel))))
+        {
+            allocatePublicationLog(
+                udpChannel.canonicalForm(),
+                streamId,
+                correlationId,
+                params,
+                (sessionId, rawLog) ->
+                {
+                    final NetworkPublication publication = linkNetworkPublication(
+                        channel, streamId, correlationId, clientId, isExclusive, udpChannel, params, sessionId, rawLog);
+                    return rawLog == publication.rawLog();
+                });
+        }
+        else
+        {
+            linkNetworkPublication(
+                channel, streamId, correlationId, clientId, isExclusive, udpChannel, params, 0, null);
+        }
+    }
+
+    private NetworkPublication linkNetworkPublication(
+        final String channel,
+        final int streamId,
+        final long correlationId,
+        final long clientId,
+        final boolean isExclusive,
+        final UdpChannel udpChannel,
+        final PublicationParams params,
+        final int allocatedSessionId,
+        final RawLog allocatedLog)
+    {
         final SendChannelEndpoint channelEndpoint = getOrCreateSendChannelEndpoint(udpChannel);
 
         NetworkPublication publication = null;
         if (!isExclusive)
         {
-            publication = findPublication(networkPublications, streamId, channelEndpoint);
+            publication = findSharedNetworkPublication(streamId, channelEndpoint);
         }
 
         if (null == publication)
         {
-            if (params.hasSessionId && !params.isSessionIdTagged)
+            int sessionId = allocatedSessionId;
+            if (null == allocatedLog)
             {
-                confirmSessionIdNotInUse(params.sessionId);
+                if (params.hasSessionId && !params.isSessionIdTagged)
+                {
+                    confirmSessionIdNotInUse(params.sessionId);
+                }
+
+                sessionId = params.hasSessionId ? params.sessionId : nextAvailableSessionId();
             }
 
             publication = newNetworkPublication(
-                correlationId, streamId, channel, udpChannel, channelEndpoint, params, isExclusive);
+                correlationId,
+                sessionId,
+                streamId,
+                channel,
+                udpChannel,
+                channelEndpoint,
+                params,
+                isExclusive,
+                allocatedLog);
         }
         else
         {
-            confirmMatch(channelUri, params, publication.rawLog(), publication.sessionId());
+            confirmMatch(udpChannel.channelUri(), params, publication.rawLog(), publication.sessionId());
         }
 
         publicationLinks.add(new PublicationLink(correlationId, getOrAddClient(clientId), publication));
@@ -397,6 +590,8 @@ public class DriverConductor implements Agent
             publication.publisherLimitId(),
             channelEndpoint.statusIndicatorCounterId(),
             isExclusive);
+
+        return publication;
     }
 
     void cleanupSpies(final NetworkPublication publication)
@@ -440,8 +635,16 @@ public class DriverConductor implements Agent
         senderProxy.removeNetworkPublication(publication);
 
         final SendChannelEndpoint channelEndpoint = publication.channelEndpoint();
+        final Int2ObjectHashMap<NetworkPublication> publicationByStreamId =
+            sharedNetworkPublicationsByEndpoint.get(channelEndpoint);
+        if (null != publicationByStreamId && publicationByStreamId.get(publication.streamId()) == publication)
+        {
+            publicationByStreamId.remove(publication.streamId());
+        }
+
         if (channelEndpoint.shouldBeClosed())
         {
+            sharedNetworkPublicationsByEndpoint.remove(channelEndpoint);
             channelEndpoint.closeStatusIndicator();
             sendChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
             senderProxy.closeSendChannelEndpoint(channelEndpoint);
@@ -520,6 +723,10 @@ public class DriverConductor implements Agent
     void cleanupIpcPublication(final IpcPublication publication)
     {
         activeSessionIds.remove(publication.sessionId());
+        if (sharedIpcPublicationByStreamId.get(publication.streamId()) == publication)
+        {
+            sharedIpcPublicationByStreamId.remove(publication.streamId());
+        }
 
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
         {
@@ -539,7 +746,43 @@ public class DriverConductor implements Agent
         final long clientId,
         final boolean isExclusive)
     {
-        final IpcPublication ipcPublication = getOrAddIpcPublication(correlationId, streamId, channel, isExclusive);
+        final ChannelUri channelUri = ChannelUri.parse(channel);
+        final PublicationParams params = getPublicationParams(ctx, channelUri, this, isExclusive, true);
+
+        if (null != logAllocator && (isExclusive || null == findSharedIpcPublication(streamId)))
+        {
+            validateMtuForMaxMessage(params);
+            allocatePublicationLog(
+                CommonContext.IPC_MEDIA,
+                streamId,
+                correlationId,
+                params,
+                (sessionId, rawLog) ->
+                {
+                    final IpcPublication publication = linkIpcPublication(
+                        channel, streamId, correlationId, clientId, isExclusive, channelUri, params, sessionId, rawLog);
+                    return rawLog == publication.rawLog();
+                });
+        }
+        else
+        {
+            linkIpcPublication(channel, streamId, correlationId, clientId, isExclusive, channelUri, params, 0, null);
+        }
+    }
+
+    private IpcPublication linkIpcPublication(
+        final String channel,
+        final int streamId,
+        final long correlationId,
+        final long clientId,
+        final boolean isExclusive,
+        final ChannelUri channelUri,
+        final PublicationParams params,
+        final int allocatedSessionId,
+        final RawLog allocatedLog)
+    {
+        final IpcPublication ipcPublication = getOrAddIpcPublication(
+            correlationId, streamId, channel, isExclusive, channelUri, params, allocatedSessionId, allocatedLog);
         publicationLinks.add(new PublicationLink(correlationId, getOrAddClient(clientId), ipcPublication));
 
         final ArrayList<SubscriberPosition> subscriberPositions = linkIpcSubscriptions(ipcPublication);
@@ -567,23 +810,81 @@ public class DriverConductor implements Agent
                 ipcPublication.rawLog().fileName(),
                 channel);
         }
+
+        return ipcPublication;
     }
 
-    void onRemovePublication(final long registrationId, final long correlationId)
+    private void allocatePublicationLog(
+        final String channel,
+        final int streamId,
+        final long correlationId,
+        final PublicationParams params,
+        final AllocatedLogHandler handler)
     {
-        PublicationLink publicationLink = null;
-        final ArrayList<PublicationLink> publicationLinks = this.publicationLinks;
-        for (int i = 0, size = publicationLinks.size(); i < size; i++)
+        if (params.hasSessionId && !params.isSessionIdTagged)
         {
-            final PublicationLink publication = publicationLinks.get(i);
-            if (registrationId == publication.registrationId())
+            confirmSessionIdNotInUse(params.sessionId);
+        }
+
+        final int sessionId = params.hasSessionId ? params.sessionId : nextAvailableSessionId();
+        final boolean isSessionIdReserved = activeSessionIds.add(sessionId);
+
+        logAllocator.allocate(
+            () -> logFactory.newPublication(
+            channel, sessionId, streamId, correlationId, params.termLength, params.isSparse),
+            (rawLog) ->
             {
-                publicationLink = publication;
-                fastUnorderedRemove(publicationLinks, i);
-                break;
-            }
+                boolean isLogTaken = false;
+                try
+                {
+                    isLogTaken = handler.onAllocated(sessionId, rawLog);
+                }
+                catch (final Exception ex)
+                {
+                    onLogAllocationError(correlationId, ex);
+                }
+                finally
+                {
+                    if (!isLogTaken)
+                    {
+                        rawLog.close();
+                        releaseSessionId(sessionId, isSessionIdReserved);
+                    }
+                }
+            },
+            (ex) ->
+            {
+                releaseSessionId(sessionId, isSessionIdReserved);
+                onLogAllocationError(correlationId, ex);
+            });
+    }
+
+    private void releaseSessionId(final int sessionId, final boolean isSessionIdReserved)
+    {
+        if (isSessionIdReserved)
+        {
+            activeSessionIds.remove(sessionId);
+        }
+    }
+
+    private void onLogAllocationError(final long correlationId, final Exception ex)
+    {
+        if (ex instanceof ControlProtocolException)
+        {
+            clientProxy.onError(correlationId, ((ControlProtocolException)ex).errorCode(), ex.getMessage());
+        }
+        else
+        {
+            clientProxy.onError(correlationId, GENERIC_ERROR, ex.getClass().getSimpleName() + " : " + ex.getMessage());
         }
 
+        ctx.systemCounters().get(ERRORS).increment();
+        ctx.errorHandler().onError(ex);
+    }
+
+    void onRemovePublication(final long registrationId, final long correlationId)
+    {
+        final PublicationLink publicationLink = publicationLinks.removeById(registrationId);
         if (null == publicationLink)
         {
             throw new ControlProtocolException(UNKNOWN_PUBLICATION, "unknown publication: " + registrationId);
@@ -596,24 +897,13 @@ public class DriverConductor implements Agent
 
     void onAddDestination(final long registrationId, final String destinationChannel, final long correlationId)
     {
-        SendChannelEndpoint sendChannelEndpoint = null;
-
-        for (int i = 0, size = networkPublications.size(); i < size; i++)
-        {
-            final NetworkPublication publication = networkPublications.get(i);
-
-            if (registrationId == publication.registrationId())
-            {
-                sendChannelEndpoint = publication.channelEndpoint();
-                break;
-            }
-        }
-
-        if (null == sendChannelEndpoint)
+        final NetworkPublication publication = networkPublications.findById(registrationId);
+        if (null == publication)
         {
             throw new ControlProtocolException(UNKNOWN_PUBLICATION, "unknown publication: " + registrationId);
         }
 
+        final SendChannelEndpoint sendChannelEndpoint = publication.channelEndpoint();
         sendChannelEndpoint.validateAllowsManualControl();
 
         final ChannelUri channelUri = ChannelUri.parse(destinationChannel);
@@ -624,24 +914,13 @@ public class DriverConductor implements Agent
 
     void onRemoveDestination(final long registrationId, final String destinationChannel, final long correlationId)
     {
-        SendChannelEndpoint sendChannelEndpoint = null;
-
-        for (int i = 0, size = networkPublications.size(); i < size; i++)
-        {
-            final NetworkPublication publication = networkPublications.get(i);
-
-            if (registrationId == publication.registrationId())
-            {
-                sendChannelEndpoint = publication.channelEndpoint();
-                break;
-            }
-        }
-
-        if (null == sendChannelEndpoint)
+        final NetworkPublication publication = networkPublications.findById(registrationId);
+        if (null == publication)
         {
             throw new ControlProtocolException(UNKNOWN_PUBLICATION, "unknown publication: " + registrationId);
         }
 
+        final SendChannelEndpoint sendChannelEndpoint = publication.channelEndpoint();
         sendChannelEndpoint.validateAllowsManualControl();
 
         final ChannelUri channelUri = ChannelUri.parse(destinationChannel);
@@ -763,7 +1042,7 @@ public class DriverConductor implements Agent
 
     void onRemoveSubscription(final long registrationId, final long correlationId)
     {
-        final SubscriptionLink subscription = removeSubscriptionLink(subscriptionLinks, registrationId);
+        final SubscriptionLink subscription = subscriptionLinks.removeById(registrationId);
         if (null == subscription)
         {
             throw new ControlProtocolException(UNKNOWN_SUBSCRIPTION, "unknown subscription: " + registrationId);
@@ -803,7 +1082,7 @@ public class DriverConductor implements Agent
 
     void onClientKeepalive(final long clientId)
     {
-        final AeronClient client = findClient(clients, clientId);
+        final AeronClient client = clients.findById(clientId);
         if (null != client)
         {
             client.timeOfLastKeepaliveMs(cachedEpochClock.time());
@@ -831,19 +1110,7 @@ public class DriverConductor implements Agent
 
     void onRemoveCounter(final long registrationId, final long correlationId)
     {
-        CounterLink counterLink = null;
-        final ArrayList<CounterLink> counterLinks = this.counterLinks;
-        for (int i = 0, size = counterLinks.size(); i < size; i++)
-        {
-            final CounterLink link = counterLinks.get(i);
-            if (registrationId == link.registrationId())
-            {
-                counterLink = link;
-                fastUnorderedRemove(counterLinks, i);
-                break;
-            }
-        }
-
+        final CounterLink counterLink = counterLinks.removeById(registrationId);
         if (null == counterLink)
         {
             throw new ControlProtocolException(UNKNOWN_COUNTER, "unknown counter: " + registrationId);
@@ -857,27 +1124,19 @@ public class DriverConductor implements Agent
 
     void onClientClose(final long clientId)
     {
-        final AeronClient client = findClient(clients, clientId);
+        final AeronClient client = clients.findById(clientId);
         if (null != client)
         {
             client.timeOfLastKeepaliveMs(0);
+            scheduleClientTimer(client);
         }
     }
 
     void onAddRcvDestination(final long registrationId, final String destinationChannel, final long correlationId)
     {
-        ReceiveChannelEndpoint receiveChannelEndpoint = null;
-
-        for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
-        {
-            final SubscriptionLink subscriptionLink = subscriptionLinks.get(i);
-
-            if (registrationId == subscriptionLink.registrationId())
-            {
-                receiveChannelEndpoint = subscriptionLink.channelEndpoint();
-                break;
-            }
-        }
+        final SubscriptionLink subscriptionLink = subscriptionLinks.findById(registrationId);
+        final ReceiveChannelEndpoint receiveChannelEndpoint =
+            null != subscriptionLink ? subscriptionLink.channelEndpoint() : null;
 
         if (null == receiveChannelEndpoint)
         {
@@ -897,18 +1156,9 @@ public class DriverConductor implements Agent
 
     void onRemoveRcvDestination(final long registrationId, final String destinationChannel, final long correlationId)
     {
-        ReceiveChannelEndpoint receiveChannelEndpoint = null;
-
-        for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
-        {
-            final SubscriptionLink subscriptionLink = subscriptionLinks.get(i);
-
-            if (registrationId == subscriptionLink.registrationId())
-            {
-                receiveChannelEndpoint = subscriptionLink.channelEndpoint();
-                break;
-            }
-        }
+        final SubscriptionLink subscriptionLink = subscriptionLinks.findById(registrationId);
+        final ReceiveChannelEndpoint receiveChannelEndpoint =
+            null != subscriptionLink ? subscriptionLink.channelEndpoint() : null;
 
         if (null == receiveChannelEndpoint)
         {
@@ -935,13 +1185,133 @@ public class DriverConductor implements Agent
         final long nowMs = cachedEpochClock.time();
         toDriverCommands.consumerHeartbeatTime(nowMs);
 
-        checkManagedResources(clients, nowNs, nowMs);
-        checkManagedResources(publicationLinks, nowNs, nowMs);
-        checkManagedResources(networkPublications, nowNs, nowMs);
-        checkManagedResources(subscriptionLinks, nowNs, nowMs);
-        checkManagedResources(publicationImages, nowNs, nowMs);
-        checkManagedResources(ipcPublications, nowNs, nowMs);
-        checkManagedResources(counterLinks, nowNs, nowMs);
+        checkClientTimers(nowNs, nowMs);
+        checkResourceTimers(nowNs, nowMs);
+    }
+
+    private void checkClientTimers(final long nowNs, final long nowMs)
+    {
+        while (timerWheel.currentTickTime() <= nowMs)
+        {
+            timerWheel.poll(nowMs, clientTimerHandler, Integer.MAX_VALUE);
+        }
+
+        final ArrayList<AeronClient> expiredClientTimers = this.expiredClientTimers;
+        for (int i = 0, size = expiredClientTimers.size(); i < size; i++)
+        {
+            final AeronClient client = expiredClientTimers.get(i);
+
+            client.onTimeEvent(nowNs, nowMs, this);
+
+            if (client.hasReachedEndOfLife())
+            {
+                clients.removeById(client.clientId());
+                timeoutClientLinks(client, nowNs, nowMs);
+                client.close();
+            }
+            else
+            {
+                scheduleClientTimer(client);
+            }
+        }
+
+        expiredClientTimers.clear();
+    }
+
+    private void checkResourceTimers(final long nowNs, final long nowMs)
+    {
+        while (resourceTimerWheel.currentTickTime() <= nowNs)
+        {
+            resourceTimerWheel.poll(nowNs, resourceTimerHandler, Integer.MAX_VALUE);
+        }
+
+        final ArrayList<ResourceTimer<?>> expiredResourceTimers = this.expiredResourceTimers;
+        for (int i = 0, size = expiredResourceTimers.size(); i < size; i++)
+        {
+            checkManagedResource(expiredResourceTimers.get(i), nowNs, nowMs);
+        }
+
+        expiredResourceTimers.clear();
+    }
+
+    private boolean onClientTimerExpiry(final TimeUnit timeUnit, final long now, final long timerId)
+    {
+        final AeronClient client = clientByTimerId.remove(timerId);
+        if (null != client)
+        {
+            client.timerId(DeadlineTimerWheel.NULL_TIMER);
+            expiredClientTimers.add(client);
+        }
+
+        return true;
+    }
+
+    private boolean onResourceTimerExpiry(final TimeUnit timeUnit, final long now, final long timerId)
+    {
+        final ResourceTimer<?> resourceTimer = resourceTimerById.remove(timerId);
+        if (null != resourceTimer)
+        {
+            expiredResourceTimers.add(resourceTimer);
+        }
+
+        return true;
+    }
+
+    private void scheduleClientTimer(final AeronClient client)
+    {
+        if (DeadlineTimerWheel.NULL_TIMER != client.timerId())
+        {
+            timerWheel.cancelTimer(client.timerId());
+            clientByTimerId.remove(client.timerId());
+        }
+
+        final long timerId = timerWheel.scheduleTimer(client.livenessDeadlineMs() + 1);
+        client.timerId(timerId);
+        clientByTimerId.put(timerId, client);
+    }
+
+    private void scheduleResourceTimer(final ResourceTimer<?> resourceTimer, final long nowNs)
+    {
+        final long deadlineNs = resourceTimer.resource.timeEventDeadlineNs(nowNs, timerIntervalNs);
+        resourceTimerById.put(resourceTimerWheel.scheduleTimer(deadlineNs), resourceTimer);
+    }
+
+    private void timeoutClientLinks(final AeronClient client, final long nowNs, final long nowMs)
+    {
+        final LongArrayList linkIds = timedOutLinkIds;
+        final LongHashSet.LongIterator iterator = client.linkRegistrationIds().iterator();
+        while (iterator.hasNext())
+        {
+            linkIds.addLong(iterator.nextValue());
+        }
+
+        for (int i = 0, size = linkIds.size(); i < size; i++)
+        {
+            final long registrationId = linkIds.getLong(i);
+
+            if (!timeoutLink(publicationLinks, registrationId, nowNs, nowMs) &&
+                !timeoutLink(subscriptionLinks, registrationId, nowNs, nowMs))
+            {
+                timeoutLink(counterLinks, registrationId, nowNs, nowMs);
+            }
+        }
+
+        linkIds.clear();
+    }
+
+    private <T extends DriverManagedResource> boolean timeoutLink(
+        final ResourceRegistry<T> links, final long registrationId, final long nowNs, final long nowMs)
+    {
+        final T link = links.removeById(registrationId);
+        if (null == link)
+        {
+            return false;
+        }
+
+        link.onTimeEvent(nowNs, nowMs, this);
+        link.close();
+
+        return true;
     }
 
     private void checkForBlockedToDriverCommands(final long nowNs)
@@ -993,38 +1363,30 @@ public class DriverConductor implements Agent
         return subscriberPositions;
     }
 
-    private static NetworkPublication findPublication(
-        final ArrayList<NetworkPublication> publications,
-        final int streamId,
-        final SendChannelEndpoint channelEndpoint)
+    private NetworkPublication findSharedNetworkPublication(
+        final int streamId, final SendChannelEndpoint channelEndpoint)
     {
-        for (int i = 0, size = publications.size(); i < size; i++)
-        {
-            final NetworkPublication publication = publications.get(i);
+        final Int2ObjectHashMap<NetworkPublication> publicationByStreamId =
+            null != channelEndpoint ? sharedNetworkPublicationsByEndpoint.get(channelEndpoint) : null;
+        final NetworkPublication publication =
+            null != publicationByStreamId ? publicationByStreamId.get(streamId) : null;
 
-            if (streamId == publication.streamId() &&
-                channelEndpoint == publication.channelEndpoint() &&
-                NetworkPublication.State.ACTIVE == publication.state() &&
-                !publication.isExclusive())
-            {
-                return publication;
-            }
-        }
-
-        return null;
+        return null != publication && NetworkPublication.State.ACTIVE == publication.state() ? publication : null;
     }
 
     private NetworkPublication newNetworkPublication(
         final long registrationId,
+        final int sessionId,
         final int streamId,
         final String channel,
         final UdpChannel udpChannel,
         final SendChannelEndpoint channelEndpoint,
         final PublicationParams params,
-        final boolean isExclusive)
+        final boolean isExclusive,
+        final RawLog allocatedLog)
     {
-        final int sessionId = params.hasSessionId ? params.sessionId : nextAvailableSessionId();
         final int initialTermId = params.isReplay ? params.initialTermId : BitUtil.generateRandomisedId();
+        final FlowControl flowControl = newFlowControl(udpChannel, registrationId, sessionId, streamId, channel);
 
         final UnsafeBufferPosition publisherPosition = PublisherPos.allocate(
             tempBuffer, countersManager, registrationId, sessionId, streamId, channel);
@@ -1049,18 +1411,30 @@ public class DriverConductor implements Agent
             cachedNanoClock,
             ctx.systemCounters().get(INVALID_PACKETS),
             ctx.retransmitUnicastDelayGenerator(),
-            ctx.retransmitUnicastLingerGenerator());
+            ctx.retransmitUnicastLingerGenerator(),
+            ctx.maxRetransmits(),
+            ctx.systemCounters().get(RETRANSMITS_MERGED),
+            ctx.systemCounters().get(RETRANSMITS_DROPPED),
+            ctx.systemCounters().get(RETRANSMITS_ISSUED));
+
+        final SendPacer sendPacer = params.pacingRate > 0 ? new SendPacer(
+            params.pacingRate,
+            ctx.pacingBurstLength(),
+            params.mtuLength,
+            cachedNanoClock.nanoTime(),
+            SenderPacingDelays.allocate(tempBuffer, countersManager, registrationId, sessionId, streamId, channel),
+            ctx.systemCounters().get(SENDER_PACING_DELAYS),
+            SenderRate.allocate(tempBuffer, countersManager, registrationId, sessionId, streamId, channel)) : null;
 
-        final FlowControl flowControl = udpChannel.isMulticast() || udpChannel.hasExplicitControl() ?
-            ctx.multicastFlowControlSupplier().newInstance(udpChannel, streamId, registrationId) :
-            ctx.unicastFlowControlSupplier().newInstance(udpChannel, streamId, registrationId);
+        final RawLog rawLog = newNetworkPublicationLog(
+            sessionId, streamId, initialTermId, udpChannel, registrationId, params, allocatedLog);
 
         final NetworkPublication publication = new NetworkPublication(
             registrationId,
             params.entityTag,
             channelEndpoint,
             cachedNanoClock,
-            newNetworkPublicationLog(sessionId, streamId, initialTermId, udpChannel, registrationId, params),
+            rawLog,
             Configuration.producerWindowLength(params.termLength, ctx.publicationTermWindowLength()),
             publisherPosition,
             publisherLimit,
@@ -1071,10 +1445,15 @@ public class DriverConductor implements Agent
             streamId,
             initialTermId,
             params.mtuLength,
+            params.sendBatchLength,
+            params.isGsoEnabled,
+            params.fecGroupSize,
+            sendPacer,
             ctx.systemCounters(),
+            ctx.sendBatchHistogram(),
             flowControl,
             retransmitHandler,
-            networkPublicationThreadLocals,
+            networkPublicationThreadLocals(channelEndpoint.senderIndex()),
             ctx.publicationUnblockTimeoutNs(),
             ctx.publicationConnectionTimeoutNs(),
             params.lingerTimeoutNs,
@@ -1086,6 +1465,19 @@ public class DriverConductor implements Agent
 
         channelEndpoint.incRef();
         networkPublications.add(publication);
+        scheduleResourceTimer(new ResourceTimer<>(networkPublications, publication), cachedNanoClock.nanoTime());
+        if (!isExclusive)
+        {
+            Int2ObjectHashMap<NetworkPublication> publicationByStreamId =
+                sharedNetworkPublicationsByEndpoint.get(channelEndpoint);
+            if (null == publicationByStreamId)
+            {
+                publicationByStreamId = new Int2ObjectHashMap<>();
+                sharedNetworkPublicationsByEndpoint.put(channelEndpoint, publicationByStreamId);
+            }
+
+            publicationByStreamId.put(streamId, publication);
+        }
         senderProxy.newNetworkPublication(publication);
         linkSpies(subscriptionLinks, publication);
         activeSessionIds.add(sessionId);
@@ -1093,15 +1485,60 @@ public class DriverConductor implements Agent
         return publication;
     }
 
+    private NetworkPublicationThreadLocals networkPublicationThreadLocals(final int senderIndex)
+    {
+        NetworkPublicationThreadLocals threadLocals = networkPublicationThreadLocals[senderIndex];
+        if (null == threadLocals)
+        {
+            threadLocals = new NetworkPublicationThreadLocals();
+            networkPublicationThreadLocals[senderIndex] = threadLocals;
+        }
+
+        return threadLocals;
+    }
+
+    private FlowControl newFlowControl(
+        final UdpChannel udpChannel,
+        final long registrationId,
+        final int sessionId,
+        final int streamId,
+        final String channel)
+    {
+        final String fcValue = udpChannel.channelUri().get(CommonContext.FLOW_CONTROL_PARAM_NAME);
+        if (null != fcValue)
+        {
+            if ("max".equals(fcValue))
+            {
+                return new MaxMulticastFlowControl();
+            }
+            else if ("min".equals(fcValue))
+            {
+                return new MinMulticastFlowControl();
+            }
+            else if (fcValue.startsWith(TaggedMulticastFlowControl.FC_PARAM_VALUE))
+            {
+                return new TaggedMulticastFlowControl(
+                    fcValue, tempBuffer, countersManager, registrationId, sessionId, streamId, channel);
+            }
+
+            throw new IllegalArgumentException("unknown flow control: " + fcValue);
+        }
+
+        return udpChannel.isMulticast() || udpChannel.hasExplicitControl() ?
+            ctx.multicastFlowControlSupplier().newInstance(udpChannel, streamId, registrationId) :
+            ctx.unicastFlowControlSupplier().newInstance(udpChannel, streamId, registrationId);
+    }
+
     private RawLog newNetworkPublicationLog(
         final int sessionId,
         final int streamId,
         final int initialTermId,
         final UdpChannel udpChannel,
         final long registrationId,
-        final PublicationParams params)
+        final PublicationParams params,
+        final RawLog allocatedLog)
     {
-        final RawLog rawLog = logFactory.newPublication(
+        final RawLog rawLog = null != allocatedLog ? allocatedLog : logFactory.newPublication(
             udpChannel.canonicalForm(), sessionId, streamId, registrationId, params.termLength, params.isSparse);
 
         initPublicationMetadata(sessionId, streamId, initialTermId, registrationId, params, rawLog);
@@ -1114,9 +1551,10 @@ public class DriverConductor implements Agent
         final int streamId,
         final int initialTermId,
         final long registrationId,
-        final PublicationParams params)
+        final PublicationParams params,
+        final RawLog allocatedLog)
     {
-        final RawLog rawLog = logFactory.newPublication(
+        final RawLog rawLog = null != allocatedLog ? allocatedLog : logFactory.newPublication(
             CommonContext.IPC_MEDIA, sessionId, streamId, registrationId, params.termLength, params.isSparse);
 
         initPublicationMetadata(sessionId, streamId, initialTermId, registrationId, params, rawLog);
@@ -1177,19 +1615,15 @@ public class DriverConductor implements Agent
         }
     }
 
-    private RawLog newPublicationImageLog(
+    private void initialisePublicationImageLog(
+        final RawLog rawLog,
         final int sessionId,
         final int streamId,
         final int initialTermId,
         final int termBufferLength,
-        final boolean isSparse,
         final int senderMtuLength,
-        final UdpChannel udpChannel,
         final long correlationId)
     {
-        final RawLog rawLog = logFactory.newImage(
-            udpChannel.canonicalForm(), sessionId, streamId, correlationId, termBufferLength, isSparse);
-
         final UnsafeBuffer logMetaData = rawLog.metaData();
 
         defaultDataHeader.sessionId(sessionId).streamId(streamId).termId(initialTermId);
@@ -1201,8 +1635,6 @@ public class DriverConductor implements Agent
         pageSize(logMetaData, ctx.filePageSize());
         correlationId(logMetaData, correlationId);
         endOfStreamPosition(logMetaData, Long.MAX_VALUE);
-
-        return rawLog;
     }
 
     private SendChannelEndpoint getOrCreateSendChannelEndpoint(final UdpChannel udpChannel)
@@ -1247,7 +1679,7 @@ public class DriverConductor implements Agent
         if (null != channelEndpoint)
         {
             final boolean isReliable = params.isReliable;
-            final ArrayList<SubscriptionLink> existingLinks = subscriptionLinks;
+            final ResourceRegistry<SubscriptionLink> existingLinks = subscriptionLinks;
             for (int i = 0, size = existingLinks.size(); i < size; i++)
             {
                 final SubscriptionLink subscription = existingLinks.get(i);
@@ -1294,7 +1726,7 @@ public class DriverConductor implements Agent
 
     private ArrayList<SubscriberPosition> linkIpcSubscriptions(final IpcPublication publication)
     {
-        final ArrayList<SubscriptionLink> subscriptionLinks = this.subscriptionLinks;
+        final ResourceRegistry<SubscriptionLink> subscriptionLinks = this.subscriptionLinks;
         final ArrayList<SubscriberPosition> subscriberPositions = new ArrayList<>();
 
         for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
@@ -1351,9 +1783,10 @@ public class DriverConductor implements Agent
         ReceiveChannelEndpoint channelEndpoint = findExistingReceiveChannelEndpoint(udpChannel);
         if (null == channelEndpoint)
         {
+            final int receiverIndex = Configuration.receiverIndex(udpChannel, ctx.receiverCount());
             channelEndpoint = ctx.receiveChannelEndpointSupplier().newInstance(
                 udpChannel,
-                new DataPacketDispatcher(ctx.driverConductorProxy(), receiverProxy.receiver()),
+                new DataPacketDispatcher(ctx.driverConductorProxy(), receiverProxy.receiver(receiverIndex)),
                 ReceiveChannelStatus.allocate(tempBuffer, countersManager, udpChannel.originalUriString()),
                 ctx);
 
@@ -1382,7 +1815,7 @@ public class DriverConductor implements Agent
 
     private AeronClient getOrAddClient(final long clientId)
     {
-        AeronClient client = findClient(clients, clientId);
+        AeronClient client = clients.findById(clientId);
         if (null == client)
         {
             client = new AeronClient(
@@ -1392,32 +1825,45 @@ public class DriverConductor implements Agent
                 ctx.systemCounters().get(SystemCounterDescriptor.CLIENT_TIMEOUTS),
                 ClientHeartbeatStatus.allocate(tempBuffer, countersManager, clientId));
             clients.add(client);
+            scheduleClientTimer(client);
         }
 
         return client;
     }
 
     private IpcPublication getOrAddIpcPublication(
-        final long correlationId, final int streamId, final String channel, final boolean isExclusive)
+        final long correlationId,
+        final int streamId,
+        final String channel,
+        final boolean isExclusive,
+        final ChannelUri channelUri,
+        final PublicationParams params,
+        final int allocatedSessionId,
+        final RawLog allocatedLog)
     {
         IpcPublication publication = null;
-        final ChannelUri channelUri = ChannelUri.parse(channel);
-        final PublicationParams params = getPublicationParams(ctx, channelUri, this, isExclusive, true);
 
         if (!isExclusive)
         {
-            publication = findSharedIpcPublication(ipcPublications, streamId);
+            publication = findSharedIpcPublication(streamId);
         }
 
         if (null == publication)
         {
-            if (params.hasSessionId && !params.isSessionIdTagged)
+            int sessionId = allocatedSessionId;
+            if (null == allocatedLog)
             {
-                confirmSessionIdNotInUse(params.sessionId);
+                if (params.hasSessionId && !params.isSessionIdTagged)
+                {
+                    confirmSessionIdNotInUse(params.sessionId);
+                }
+
+                validateMtuForMaxMessage(params);
+                sessionId = params.hasSessionId ? params.sessionId : nextAvailableSessionId();
             }
 
-            validateMtuForMaxMessage(params);
-            publication = addIpcPublication(correlationId, streamId, channel, isExclusive, params);
+            publication = addIpcPublication(
+                correlationId, sessionId, streamId, channel, isExclusive, params, allocatedLog);
         }
         else
         {
@@ -1429,14 +1875,16 @@ public class DriverConductor implements Agent
 
     private IpcPublication addIpcPublication(
         final long registrationId,
+        final int sessionId,
         final int streamId,
         final String channel,
         final boolean isExclusive,
-        final PublicationParams params)
+        final PublicationParams params,
+        final RawLog allocatedLog)
     {
-        final int sessionId = params.hasSessionId ? params.sessionId : nextAvailableSessionId();
         final int initialTermId = params.isReplay ? params.initialTermId : BitUtil.generateRandomisedId();
-        final RawLog rawLog = newIpcPublicationLog(sessionId, streamId, initialTermId, registrationId, params);
+        final RawLog rawLog = newIpcPublicationLog(
+            sessionId, streamId, initialTermId, registrationId, params, allocatedLog);
 
         final UnsafeBufferPosition publisherPosition = PublisherPos.allocate(
             tempBuffer, countersManager, registrationId, sessionId, streamId, channel);
@@ -1469,65 +1917,21 @@ public class DriverConductor implements Agent
             isExclusive);
 
         ipcPublications.add(publication);
-        activeSessionIds.add(sessionId);
-
-        return publication;
-    }
-
-    private static AeronClient findClient(final ArrayList<AeronClient> clients, final long clientId)
-    {
-        AeronClient aeronClient = null;
-
-        for (int i = 0, size = clients.size(); i < size; i++)
-        {
-            final AeronClient client = clients.get(i);
-            if (client.clientId() == clientId)
-            {
-                aeronClient = client;
-                break;
-            }
-        }
-
-        return aeronClient;
-    }
-
-    private static SubscriptionLink removeSubscriptionLink(
-        final ArrayList<SubscriptionLink> subscriptionLinks, final long registrationId)
-    {
-        SubscriptionLink subscriptionLink = null;
-
-        for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
+        scheduleResourceTimer(new ResourceTimer<>(ipcPublications, publication), cachedNanoClock.nanoTime());
+        if (!isExclusive)
         {
-            final SubscriptionLink subscription = subscriptionLinks.get(i);
-            if (subscription.registrationId() == registrationId)
-            {
-                subscriptionLink = subscription;
-                fastUnorderedRemove(subscriptionLinks, i);
-                break;
-            }
+            sharedIpcPublicationByStreamId.put(streamId, publication);
         }
+        activeSessionIds.add(sessionId);
 
-        return subscriptionLink;
+        return publication;
     }
 
-    private static IpcPublication findSharedIpcPublication(
-        final ArrayList<IpcPublication> ipcPublications, final long streamId)
+    private IpcPublication findSharedIpcPublication(final int streamId)
     {
-        IpcPublication ipcPublication = null;
-
-        for (int i = 0, size = ipcPublications.size(); i < size; i++)
-        {
-            final IpcPublication publication = ipcPublications.get(i);
-            if (publication.streamId() == streamId &&
-                !publication.isExclusive() &&
-                IpcPublication.State.ACTIVE == publication.state())
-            {
-                ipcPublication = publication;
-                break;
-            }
-        }
+        final IpcPublication publication = sharedIpcPublicationByStreamId.get(streamId);
 
-        return ipcPublication;
+        return null != publication && IpcPublication.State.ACTIVE == publication.state() ? publication : null;
     }
 
     private void confirmSessionIdNotInUse(final int sessionId)
@@ -1558,31 +1962,27 @@ public class DriverConductor implements Agent
         }
     }
 
-    private <T extends DriverManagedResource> void checkManagedResources(
-        final ArrayList<T> list, final long nowNs, final long nowMs)
+    private void checkManagedResource(final ResourceTimer<?> resourceTimer, final long nowNs, final long nowMs)
     {
-        for (int lastIndex = list.size() - 1, i = lastIndex; i >= 0; i--)
-        {
-            final DriverManagedResource resource = list.get(i);
-
-            resource.onTimeEvent(nowNs, nowMs, this);
+        final DriverManagedResource resource = resourceTimer.resource;
+        resource.onTimeEvent(nowNs, nowMs, this);
 
-            if (resource.hasReachedEndOfLife())
+        if (resource.hasReachedEndOfLife())
+        {
+            if (resource.free())
             {
-                if (resource.free())
-                {
-                    fastUnorderedRemove(list, i, lastIndex--);
-                    resource.close();
-                }
-                else
-                {
-                    ctx.systemCounters().get(FREE_FAILS).incrementOrdered();
-                }
+                resourceTimer.removeFromRegistry();
+                resource.close();
+                return;
             }
+
+            ctx.systemCounters().get(FREE_FAILS).incrementOrdered();
         }
+
+        scheduleResourceTimer(resourceTimer, nowNs);
     }
 
-    private void linkSpies(final ArrayList<SubscriptionLink> links, final NetworkPublication publication)
+    private void linkSpies(final ResourceRegistry<SubscriptionLink> links, final NetworkPublication publication)
     {
         for (int i = 0, size = links.size(); i < size; i++)
         {
@@ -1611,6 +2011,37 @@ public class DriverConductor implements Agent
         }
     }
 
+    private void updateRates(final long nowNs)
+    {
+        final SystemCounters systemCounters = ctx.systemCounters();
+        final long elapsedNs = nowNs - timeOfLastTimerCheckNs;
+
+        lastStatusMessagesReceived = updateRate(
+            systemCounters.get(STATUS_MESSAGES_RECEIVED),
+            systemCounters.get(STATUS_MESSAGE_RATE),
+            lastStatusMessagesReceived,
+            elapsedNs);
+
+        lastHeartbeatDatagramsSent = updateRate(
+            systemCounters.get(HEARTBEAT_DATAGRAMS_SENT),
+            systemCounters.get(HEARTBEAT_DATAGRAM_RATE),
+            lastHeartbeatDatagramsSent,
+            elapsedNs);
+    }
+
+    private static long updateRate(
+        final AtomicCounter totalCounter, final AtomicCounter rateCounter, final long lastTotal, final long elapsedNs)
+    {
+        final long total = totalCounter.get();
+
+        if (elapsedNs > 0)
+        {
+            rateCounter.setOrdered((long)((total - lastTotal) * ((double)TimeUnit.SECONDS.toNanos(1) / elapsedNs)));
+        }
+
+        return total;
+    }
+
     private int processTimers(final long nowNs)
     {
         int workCount = 0;
@@ -1619,6 +2050,7 @@ public class DriverConductor implements Agent
         {
             heartbeatAndCheckTimers(nowNs);
             checkForBlockedToDriverCommands(nowNs);
+            updateRates(nowNs);
             timeOfLastTimerCheckNs = nowNs;
             workCount = 1;
         }
@@ -1626,6 +2058,24 @@ public class DriverConductor implements Agent
         return workCount;
     }
 
+    private SubscriptionLink findOldestMatchingSubscription(
+        final int sessionId, final int streamId, final ReceiveChannelEndpoint channelEndpoint)
+    {
+        SubscriptionLink oldestSubscription = null;
+
+        for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
+        {
+            final SubscriptionLink subscription = subscriptionLinks.get(i);
+            if (subscription.matches(channelEndpoint, streamId, sessionId) &&
+                (null == oldestSubscription || subscription.registrationId() < oldestSubscription.registrationId()))
+            {
+                oldestSubscription = subscription;
+            }
+        }
+
+        return oldestSubscription;
+    }
+
     private static boolean isOldestSubscriptionSparse(final ArrayList<SubscriberPosition> subscriberPositions)
     {
         final SubscriberPosition subscriberPosition = subscriberPositions.get(0);
@@ -1644,4 +2094,39 @@ public class DriverConductor implements Agent
 
         return isSparse;
     }
+
+    @FunctionalInterface
+    private interface AllocatedLogHandler
+    {
+        /**
+         * Complete a command with a log created on the allocator thread.
+         *
+         * @param sessionId reserved for the log.
+         * @param rawLog    created for the command.
+         * @return true if the log was taken by a new publication, otherwise it is deleted.
+         */
+        boolean onAllocated(int sessionId, RawLog rawLog);
+    }
+
+    /**
+     * Timer for a resource which keeps the registry it is held in so it can be removed at end of life.
+     *
+     * @param <T> type of resource.
+     */
+    private static final class ResourceTimer<T extends DriverManagedResource>
+    {
+        final ResourceRegistry<T> registry;
+        final T resource;
+
+        ResourceTimer(final ResourceRegistry<T> registry, final T resource)
+        {
+            this.registry = registry;
+            this.resource = resource;
+        }
+
+        void removeFromRegistry()
+        {
+            registry.remove(resource);
+        }
+    }
 }
@@ -41,6 +41,23 @@ public interface DriverManagedResource
      */
     void onTimeEvent(long timeNs, long timeMs, DriverConductor conductor);
 
+    /**
+     * Time at which the resource next has work to do in {@link #onTimeEvent(long, long, DriverConductor)} so it can be
+     * scheduled rather than checked on every timer interval.
+     * <p>
+     * Only a deadline set by the conductor itself, such as the end of linger, can be scheduled exactly. Work which is
+     * periodic, such as updating position counters, or which depends on state changed by other threads, such as
+     * draining or connection and untethered checks, is polled at the interval.
+     *
+     * @param timeNs         now in nanoseconds
+     * @param pollIntervalNs interval at which state changed by other threads should be checked
+     * @return time in nanoseconds at which the next time event is due
+     */
+    default long timeEventDeadlineNs(final long timeNs, final long pollIntervalNs)
+    {
+        return timeNs + pollIntervalNs;
+    }
+
     /**
      * Has resource reached end of its life and should be reclaimed?
      *
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.protocol.FecFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.protocol.DataHeaderFlyweight.TERM_ID_FIELD_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Encoder of forward error correction parity frames for a {@link NetworkPublication}.
+ * <p>
+ * Datagrams of data are added as they are sent and the XOR of them accumulated in the payload of a parity frame. The
+ * parity frame is sent when the group is full, when the next datagram is not contiguous with the group in the same
+ * term, or when flushed because the publication has no more data to send, so the tail of a burst is covered without
+ * waiting for more data.
+ * <p>
+ * Datagrams are made up of aligned frames so the XOR can be done a long at a time.
+ */
+final class FecEncoder
+{
+    private final int groupSize;
+    private final int payloadOffset;
+    private final int sessionId;
+    private final int streamId;
+    private final ByteBuffer parityByteBuffer;
+    private final UnsafeBuffer parityBuffer;
+    private final FecFlyweight parityHeader;
+    private final AtomicCounter paritySent;
+    private final AtomicCounter shortSends;
+    private int datagramCount;
+    private int termId;
+    private int termOffset;
+    private int nextTermOffset;
+    private int payloadLength;
+
+    FecEncoder(
+        final int groupSize,
+        final int mtuLength,
+        final int sessionId,
+        final int streamId,
+        final AtomicCounter paritySent,
+        final AtomicCounter shortSends)
+    {
+        this.groupSize = groupSize;
+        this.payloadOffset = FecFlyweight.payloadOffset(groupSize);
+        this.sessionId = sessionId;
+        this.streamId = streamId;
+        this.paritySent = paritySent;
+        this.shortSends = shortSends;
+
+        parityByteBuffer = ByteBuffer.allocateDirect(payloadOffset + mtuLength);
+        parityBuffer = new UnsafeBuffer(parityByteBuffer);
+        parityHeader = new FecFlyweight(parityBuffer);
+    }
+
+    /**
+     * Add a datagram which has been sent to the current group, sending the parity frame for the group when full.
+     *
+     * @param termBuffer      containing the datagram.
+     * @param offset          in the term of the datagram.
+     * @param length          of the datagram.
+     * @param channelEndpoint to send the parity frame on.
+     */
+    void onDatagramSent(
+        final UnsafeBuffer termBuffer, final int offset, final int length, final SendChannelEndpoint channelEndpoint)
+    {
+        final int termId = termBuffer.getInt(offset + TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+        if (datagramCount > 0 && (termId != this.termId || offset != nextTermOffset))
+        {
+            flush(channelEndpoint);
+        }
+
+        if (0 == datagramCount)
+        {
+            this.termId = termId;
+            this.termOffset = offset;
+        }
+
+        xor(parityBuffer, payloadOffset, termBuffer, offset, length);
+        parityHeader.datagramLength(datagramCount++, length);
+        payloadLength = Math.max(payloadLength, length);
+        nextTermOffset = offset + length;
+
+        if (groupSize == datagramCount)
+        {
+            flush(channelEndpoint);
+        }
+    }
+
+    /**
+     * Send the parity frame for the current group if it contains any datagrams.
+     *
+     * @param channelEndpoint to send the parity frame on.
+     * @return true if a parity frame was sent.
+     */
+    boolean flush(final SendChannelEndpoint channelEndpoint)
+    {
+        if (0 == datagramCount)
+        {
+            return false;
+        }
+
+        final int frameLength = payloadOffset + payloadLength;
+        parityHeader
+            .termOffset(termOffset)
+            .sessionId(sessionId)
+            .streamId(streamId)
+            .termId(termId)
+            .datagramCount(datagramCount)
+            .payloadLength(payloadLength)
+            .frameLength(frameLength)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags((short)0)
+            .headerType(HeaderFlyweight.HDR_TYPE_FEC);
+
+        parityByteBuffer.limit(frameLength).position(0);
+        if (frameLength == channelEndpoint.send(parityByteBuffer))
+        {
+            paritySent.increment();
+        }
+        else
+        {
+            shortSends.increment();
+        }
+
+        parityBuffer.setMemory(payloadOffset, payloadLength, (byte)0);
+        datagramCount = 0;
+        payloadLength = 0;
+
+        return true;
+    }
+
+    /**
+     * XOR a range of aligned frames into a destination buffer a long at a time.
+     *
+     * @param dstBuffer to XOR into.
+     * @param dstOffset in the destination buffer.
+     * @param srcBuffer containing the frames.
+     * @param srcOffset of the frames in the source buffer.
+     * @param length    of the frames which must be a multiple of {@link org.agrona.BitUtil#SIZE_OF_LONG}.
+     */
+    static void xor(
+        final UnsafeBuffer dstBuffer,
+        final int dstOffset,
+        final UnsafeBuffer srcBuffer,
+        final int srcOffset,
+        final int length)
+    {
+        for (int i = 0; i < length; i += SIZE_OF_LONG)
+        {
+            final int dstIndex = dstOffset + i;
+            dstBuffer.putLong(dstIndex, dstBuffer.getLong(dstIndex) ^ srcBuffer.getLong(srcOffset + i));
+        }
+    }
+}
@@ -69,4 +69,12 @@ public interface FlowControl
      * @return true to continue to linger or false to not linger
      */
     boolean shouldLinger(long timeNs);
+
+    /**
+     * Called from the {@link DriverConductor} when the {@link NetworkPublication} is closed to free any resources,
+     * such as counters, held by the strategy.
+     */
+    default void close()
+    {
+    }
 }
@@ -278,6 +278,11 @@ public final class IpcPublication implements DriverManagedResource, Subscribable
         return reachedEndOfLife;
     }
 
+    public long timeEventDeadlineNs(final long timeNs, final long pollIntervalNs)
+    {
+        return State.LINGER == state ? timeOfLastStateChangeNs + imageLivenessTimeoutNs + 1 : timeNs + pollIntervalNs;
+    }
+
     public void incRef()
     {
         ++refCount;
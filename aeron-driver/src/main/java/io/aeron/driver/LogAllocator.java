@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.buffer.RawLog;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Creates logs on a background allocator thread so the {@link DriverConductor} is not held up by file creation and
+ * mapping. Allocations are requested and completed on the conductor thread, with completions picked up by
+ * {@link #poll()} as part of the conductor duty cycle.
+ */
+final class LogAllocator implements AutoCloseable
+{
+    private static final long CLOSE_TIMEOUT_MS = 5_000;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+        (runnable) ->
+        {
+            final Thread thread = new Thread(runnable, "aeron-log-allocator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    private final OneToOneConcurrentArrayQueue<Allocation> completions =
+        new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+    private final Consumer<Allocation> completionHandler = this::complete;
+
+    /**
+     * Create a log on the allocator thread and complete on the conductor thread with it, or the error if it failed.
+     *
+     * @param allocation  which creates the log on the allocator thread.
+     * @param onAllocated to complete with the log on the conductor thread.
+     * @param onError     to complete with the error on the conductor thread if the log could not be created.
+     */
+    void allocate(
+        final Supplier<RawLog> allocation, final Consumer<RawLog> onAllocated, final Consumer<Exception> onError)
+    {
+        final Allocation entry = new Allocation(onAllocated, onError);
+
+        executor.execute(
+            () ->
+            {
+                try
+                {
+                    entry.rawLog = allocation.get();
+                }
+                catch (final Exception ex)
+                {
+                    entry.error = ex;
+                }
+
+                while (!completions.offer(entry))
+                {
+                    if (executor.isShutdown())
+                    {
+                        entry.discard();
+                        return;
+                    }
+
+                    Thread.yield();
+                }
+            });
+    }
+
+    /**
+     * Complete allocations which have finished on the allocator thread.
+     *
+     * @return the number of allocations completed.
+     */
+    int poll()
+    {
+        return completions.drain(completionHandler, Configuration.COMMAND_DRAIN_LIMIT);
+    }
+
+    /**
+     * Stop the allocator thread and delete any logs which have been created but not completed.
+     */
+    public void close()
+    {
+        executor.shutdownNow();
+        try
+        {
+            executor.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+        catch (final InterruptedException ignore)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        completions.drain(Allocation::discard);
+    }
+
+    private void complete(final Allocation entry)
+    {
+        if (null != entry.error)
+        {
+            entry.onError.accept(entry.error);
+        }
+        else
+        {
+            entry.onAllocated.accept(entry.rawLog);
+        }
+    }
+
+    private static final class Allocation
+    {
+        private final Consumer<RawLog> onAllocated;
+        private final Consumer<Exception> onError;
+        private RawLog rawLog;
+        private Exception error;
+
+        Allocation(final Consumer<RawLog> onAllocated, final Consumer<Exception> onError)
+        {
+            this.onAllocated = onAllocated;
+            this.onError = onError;
+        }
+
+        void discard()
+        {
+            if (null != rawLog)
+            {
+                rawLog.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.DatagramTransport;
+import io.aeron.driver.media.LoopbackDatagramTransport;
+import io.aeron.driver.media.UdpChannel;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Supply the in memory {@link LoopbackDatagramTransport} for testing and benchmarking drivers in the same JVM.
+ */
+public class LoopbackDatagramTransportSupplier implements DatagramTransportSupplier
+{
+    public DatagramTransport newInstance(
+        final UdpChannel udpChannel,
+        final InetSocketAddress endPointAddress,
+        final InetSocketAddress bindAddress,
+        final InetSocketAddress connectAddress,
+        final MediaDriver.Context context)
+    {
+        return new LoopbackDatagramTransport(udpChannel, endPointAddress, bindAddress, connectAddress, context);
+    }
+}
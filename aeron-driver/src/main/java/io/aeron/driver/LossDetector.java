@@ -15,7 +15,6 @@
  */
 package io.aeron.driver;
 
-import io.aeron.Aeron;
 import io.aeron.logbuffer.TermGapScanner;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -24,33 +23,59 @@ import static io.aeron.logbuffer.TermGapScanner.scanForGap;
 /**
  * Detecting and handling of gaps in a message stream.
  * <p>
- * Each detector only notifies a single run of a gap in a message stream.
+ * Each detector tracks up to a max number of gaps at once in the term being rebuilt so that a burst of loss can be
+ * recovered in a single round trip. Each gap has its own deadline for feedback which is set when it is first seen,
+ * with all gaps first seen in the same scan sharing a deadline. When deadlines expire the gaps are notified to the
+ * {@link LossHandler} in order within the same scan so they can be combined into a single NAK.
  */
 public class LossDetector implements TermGapScanner.GapHandler
 {
-    private long deadlineNs = Aeron.NULL_VALUE;
+    private final int maxGaps;
+    private int activeTermId;
+    private int activeCount;
+    private int[] activeTermOffsets;
+    private int[] activeLengths;
+    private long[] activeDeadlinesNs;
 
     private int scannedTermId;
-    private int scannedTermOffset = -1;
-    private int scannedLength;
-
-    private int activeTermId;
-    private int activeTermOffset = -1;
-    private int activeLength;
+    private int scannedCount;
+    private int[] scannedTermOffsets;
+    private int[] scannedLengths;
+    private long[] scannedDeadlinesNs;
 
     private final FeedbackDelayGenerator delayGenerator;
     private final LossHandler lossHandler;
 
     /**
-     * Create a loss detector for a channel.
+     * Create a loss detector for a channel which tracks up to {@link Configuration#NAK_MAX_RANGES} gaps at once.
      *
      * @param delayGenerator to use for delay determination
      * @param lossHandler    to call when signalling a gap
      */
     public LossDetector(final FeedbackDelayGenerator delayGenerator, final LossHandler lossHandler)
+    {
+        this(delayGenerator, lossHandler, Configuration.NAK_MAX_RANGES);
+    }
+
+    /**
+     * Create a loss detector for a channel.
+     *
+     * @param delayGenerator to use for delay determination
+     * @param lossHandler    to call when signalling a gap
+     * @param maxGaps        to track at once.
+     */
+    public LossDetector(final FeedbackDelayGenerator delayGenerator, final LossHandler lossHandler, final int maxGaps)
     {
         this.delayGenerator = delayGenerator;
         this.lossHandler = lossHandler;
+        this.maxGaps = maxGaps;
+
+        activeTermOffsets = new int[maxGaps];
+        activeLengths = new int[maxGaps];
+        activeDeadlinesNs = new long[maxGaps];
+        scannedTermOffsets = new int[maxGaps];
+        scannedLengths = new int[maxGaps];
+        scannedDeadlinesNs = new long[maxGaps];
     }
 
     /**
@@ -88,17 +113,30 @@ public class LossDetector implements TermGapScanner.GapHandler
             final int hwmTermOffset = (int)hwmPosition & termLengthMask;
             final int limitOffset = rebuildTermCount == hwmTermCount ? hwmTermOffset : termLengthMask + 1;
 
+            scannedCount = 0;
             rebuildOffset = scanForGap(termBuffer, rebuildTermId, rebuildOffset, limitOffset, this);
             if (rebuildOffset < limitOffset)
             {
-                if (scannedTermOffset != activeTermOffset || scannedTermId != activeTermId)
+                int offset = rebuildOffset + scannedLengths[0];
+                while (scannedCount < maxGaps && offset < limitOffset)
                 {
-                    activateGap(nowNs);
-                    lossFound = true;
+                    final int index = scannedCount;
+                    scanForGap(termBuffer, rebuildTermId, offset, limitOffset, this);
+                    if (index == scannedCount)
+                    {
+                        break;
+                    }
+
+                    offset = scannedTermOffsets[index] + scannedLengths[index];
                 }
 
+                lossFound = activateGaps(nowNs);
                 checkTimerExpiry(nowNs);
             }
+            else
+            {
+                activeCount = 0;
+            }
         }
 
         return pack(rebuildOffset, lossFound);
@@ -106,9 +144,21 @@ public class LossDetector implements TermGapScanner.GapHandler
 
     public void onGap(final int termId, final int offset, final int length)
     {
+        final int index = scannedCount++;
+
         scannedTermId = termId;
-        scannedTermOffset = offset;
-        scannedLength = length;
+        scannedTermOffsets[index] = offset;
+        scannedLengths[index] = length;
+    }
+
+    /**
+     * Number of gaps currently being tracked.
+     *
+     * @return number of gaps currently being tracked.
+     */
+    public int activeGapCount()
+    {
+        return activeCount;
     }
 
     /**
@@ -145,28 +195,80 @@ public class LossDetector implements TermGapScanner.GapHandler
         return (int)(scanOutcome >>> 32);
     }
 
-    private void activateGap(final long nowNs)
+    private boolean activateGaps(final long nowNs)
     {
-        activeTermId = scannedTermId;
-        activeTermOffset = scannedTermOffset;
-        activeLength = scannedLength;
+        final int[] activeTermOffsets = this.activeTermOffsets;
+        final long[] activeDeadlinesNs = this.activeDeadlinesNs;
+        final int activeCount = scannedTermId == activeTermId ? this.activeCount : 0;
+        boolean newGapFound = false;
+        long newGapDeadlineNs = 0;
 
-        if (delayGenerator.shouldFeedbackImmediately())
-        {
-            deadlineNs = nowNs;
-        }
-        else
+        for (int i = 0, activeIndex = 0; i < scannedCount; i++)
         {
-            deadlineNs = nowNs + delayGenerator.generateDelay();
+            final int termOffset = scannedTermOffsets[i];
+            while (activeIndex < activeCount && activeTermOffsets[activeIndex] < termOffset)
+            {
+                activeIndex++;
+            }
+
+            if (activeIndex < activeCount && activeTermOffsets[activeIndex] == termOffset)
+            {
+                scannedDeadlinesNs[i] = activeDeadlinesNs[activeIndex];
+            }
+            else
+            {
+                if (!newGapFound)
+                {
+                    newGapFound = true;
+                    newGapDeadlineNs = delayGenerator.shouldFeedbackImmediately() ?
+                        nowNs : nowNs + delayGenerator.generateDelay();
+                }
+
+                scannedDeadlinesNs[i] = newGapDeadlineNs;
+            }
         }
+
+        swapScannedAndActive();
+
+        return newGapFound;
+    }
+
+    private void swapScannedAndActive()
+    {
+        final int[] termOffsets = activeTermOffsets;
+        final int[] lengths = activeLengths;
+        final long[] deadlinesNs = activeDeadlinesNs;
+
+        activeTermOffsets = scannedTermOffsets;
+        activeLengths = scannedLengths;
+        activeDeadlinesNs = scannedDeadlinesNs;
+        activeTermId = scannedTermId;
+        activeCount = scannedCount;
+
+        scannedTermOffsets = termOffsets;
+        scannedLengths = lengths;
+        scannedDeadlinesNs = deadlinesNs;
     }
 
     private void checkTimerExpiry(final long nowNs)
     {
-        if (deadlineNs - nowNs <= 0)
+        long nextDeadlineNs = 0;
+        boolean isNextDeadlineGenerated = false;
+
+        for (int i = 0; i < activeCount; i++)
         {
-            lossHandler.onGapDetected(activeTermId, activeTermOffset, activeLength);
-            deadlineNs = nowNs + delayGenerator.generateDelay();
+            if (activeDeadlinesNs[i] - nowNs <= 0)
+            {
+                lossHandler.onGapDetected(activeTermId, activeTermOffsets[i], activeLengths[i]);
+
+                if (!isNextDeadlineGenerated)
+                {
+                    isNextDeadlineGenerated = true;
+                    nextDeadlineNs = nowNs + delayGenerator.generateDelay();
+                }
+
+                activeDeadlinesNs[i] = nextDeadlineNs;
+            }
         }
     }
 }
@@ -21,7 +21,11 @@ import io.aeron.driver.exceptions.ActiveDriverException;
 import io.aeron.driver.media.*;
 import io.aeron.driver.buffer.FileStoreLogFactory;
 import io.aeron.driver.reports.LossReport;
+import io.aeron.driver.status.BucketHistogram;
+import io.aeron.driver.status.DutyCycleTracker;
+import io.aeron.driver.status.PerAgentCounter;
 import io.aeron.driver.status.SystemCounters;
+import io.aeron.exceptions.ConfigurationException;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import org.agrona.*;
 import org.agrona.concurrent.*;
@@ -39,10 +43,13 @@ import java.util.Date;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static io.aeron.CncFileDescriptor.*;
 import static io.aeron.driver.Configuration.*;
 import static io.aeron.driver.reports.LossReportUtil.mapLossReport;
+import static io.aeron.driver.status.PerAgentCounter.AGENT_IDLE_MODE_TYPE_ID;
+import static io.aeron.driver.status.PerAgentCounter.AGENT_IDLE_PARK_PERIOD_TYPE_ID;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.driver.status.SystemCounterDescriptor.CONTROLLABLE_IDLE_STRATEGY;
 import static java.nio.charset.StandardCharsets.US_ASCII;
@@ -68,8 +75,8 @@ public final class MediaDriver implements AutoCloseable
     private final AgentRunner sharedRunner;
     private final AgentRunner sharedNetworkRunner;
     private final AgentRunner conductorRunner;
-    private final AgentRunner receiverRunner;
-    private final AgentRunner senderRunner;
+    private final AgentRunner[] receiverRunners;
+    private final AgentRunner[] senderRunners;
     private final AgentInvoker sharedInvoker;
     private final Context ctx;
 
@@ -112,11 +119,13 @@ public final class MediaDriver implements AutoCloseable
         ctx.conclude();
 
         final DriverConductor conductor = new DriverConductor(ctx);
-        final Receiver receiver = new Receiver(ctx);
-        final Sender sender = new Sender(ctx);
+        final Receiver[] receivers = newReceivers(ctx);
+        final Receiver receiver = receivers[0];
+        final Sender[] senders = newSenders(ctx);
+        final Sender sender = senders[0];
 
-        ctx.receiverProxy().receiver(receiver);
-        ctx.senderProxy().sender(sender);
+        ctx.receiverProxy().receivers(receivers);
+        ctx.senderProxy().senders(senders);
         ctx.driverConductorProxy().driverConductor(conductor);
 
         final AtomicCounter errorCounter = ctx.systemCounters().get(ERRORS);
@@ -126,42 +135,51 @@ public final class MediaDriver implements AutoCloseable
         {
             case INVOKER:
                 sharedInvoker = new AgentInvoker(
-                    errorHandler, errorCounter, new CompositeAgent(sender, receiver, conductor));
+                    errorHandler, errorCounter, new CompositeAgent(agents(senders, receivers, conductor)));
                 sharedRunner = null;
                 sharedNetworkRunner = null;
                 conductorRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
+                receiverRunners = null;
+                senderRunners = null;
                 break;
 
             case SHARED:
                 sharedRunner = new AgentRunner(
-                    ctx.sharedIdleStrategy(),
+                    observe(ctx, ctx.sharedIdleStrategy(), "shared", 0),
                     errorHandler,
                     errorCounter,
-                    new CompositeAgent(sender, receiver, conductor));
+                    new CompositeAgent(agents(senders, receivers, conductor)));
                 sharedNetworkRunner = null;
                 conductorRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
+                receiverRunners = null;
+                senderRunners = null;
                 sharedInvoker = null;
                 break;
 
             case SHARED_NETWORK:
                 sharedNetworkRunner = new AgentRunner(
-                    ctx.sharedNetworkIdleStrategy(), errorHandler, errorCounter, new CompositeAgent(sender, receiver));
-                conductorRunner = new AgentRunner(ctx.conductorIdleStrategy(), errorHandler, errorCounter, conductor);
+                    observe(ctx, ctx.sharedNetworkIdleStrategy(), "shared-network", 0),
+                    errorHandler,
+                    errorCounter,
+                    new CompositeAgent(sender, receiver));
+                conductorRunner = new AgentRunner(
+                    observe(ctx, ctx.conductorIdleStrategy(), "conductor", 0), errorHandler, errorCounter, conductor);
+                senderRunners = newAgentRunners(
+                    ctx, senders, 1, "sender", ctx.senderIdleStrategy(), Configuration::senderIdleStrategy);
+                receiverRunners = newAgentRunners(
+                    ctx, receivers, 1, "receiver", ctx.receiverIdleStrategy(), Configuration::receiverIdleStrategy);
                 sharedRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
                 sharedInvoker = null;
                 break;
 
             default:
             case DEDICATED:
-                senderRunner = new AgentRunner(ctx.senderIdleStrategy(), errorHandler, errorCounter, sender);
-                receiverRunner = new AgentRunner(ctx.receiverIdleStrategy(), errorHandler, errorCounter, receiver);
-                conductorRunner = new AgentRunner(ctx.conductorIdleStrategy(), errorHandler, errorCounter, conductor);
+                senderRunners = newAgentRunners(
+                    ctx, senders, 0, "sender", ctx.senderIdleStrategy(), Configuration::senderIdleStrategy);
+                receiverRunners = newAgentRunners(
+                    ctx, receivers, 0, "receiver", ctx.receiverIdleStrategy(), Configuration::receiverIdleStrategy);
+                conductorRunner = new AgentRunner(
+                    observe(ctx, ctx.conductorIdleStrategy(), "conductor", 0), errorHandler, errorCounter, conductor);
                 sharedNetworkRunner = null;
                 sharedRunner = null;
                 sharedInvoker = null;
@@ -252,8 +270,20 @@ public final class MediaDriver implements AutoCloseable
     {
         CloseHelper.close(sharedRunner);
         CloseHelper.close(sharedNetworkRunner);
-        CloseHelper.close(receiverRunner);
-        CloseHelper.close(senderRunner);
+        if (null != receiverRunners)
+        {
+            for (final AgentRunner receiverRunner : receiverRunners)
+            {
+                CloseHelper.close(receiverRunner);
+            }
+        }
+        if (null != senderRunners)
+        {
+            for (final AgentRunner senderRunner : senderRunners)
+            {
+                CloseHelper.close(senderRunner);
+            }
+        }
         CloseHelper.close(conductorRunner);
         CloseHelper.close(sharedInvoker);
 
@@ -293,14 +323,20 @@ public final class MediaDriver implements AutoCloseable
             AgentRunner.startOnThread(conductorRunner, ctx.conductorThreadFactory());
         }
 
-        if (null != senderRunner)
+        if (null != senderRunners)
         {
-            AgentRunner.startOnThread(senderRunner, ctx.senderThreadFactory());
+            for (final AgentRunner senderRunner : senderRunners)
+            {
+                AgentRunner.startOnThread(senderRunner, ctx.senderThreadFactory());
+            }
         }
 
-        if (null != receiverRunner)
+        if (null != receiverRunners)
         {
-            AgentRunner.startOnThread(receiverRunner, ctx.receiverThreadFactory());
+            for (final AgentRunner receiverRunner : receiverRunners)
+            {
+                AgentRunner.startOnThread(receiverRunner, ctx.receiverThreadFactory());
+            }
         }
 
         if (null != sharedNetworkRunner)
@@ -321,6 +357,90 @@ public final class MediaDriver implements AutoCloseable
         return this;
     }
 
+    private static Receiver[] newReceivers(final Context ctx)
+    {
+        final Receiver[] receivers = new Receiver[ctx.receiverCount()];
+        receivers[0] = new Receiver(ctx);
+
+        for (int i = 1; i < receivers.length; i++)
+        {
+            receivers[i] = new Receiver(
+                ctx, i, new DataTransportPoller(), new OneToOneConcurrentArrayQueue<>(CMD_QUEUE_CAPACITY));
+        }
+
+        return receivers;
+    }
+
+    private static Sender[] newSenders(final Context ctx)
+    {
+        final Sender[] senders = new Sender[ctx.senderCount()];
+        senders[0] = new Sender(ctx);
+
+        for (int i = 1; i < senders.length; i++)
+        {
+            senders[i] = new Sender(
+                ctx, i, new ControlTransportPoller(), new OneToOneConcurrentArrayQueue<>(CMD_QUEUE_CAPACITY));
+        }
+
+        return senders;
+    }
+
+    private static Agent[] agents(final Sender[] senders, final Receiver[] receivers, final DriverConductor conductor)
+    {
+        final Agent[] agents = new Agent[senders.length + receivers.length + 1];
+        System.arraycopy(senders, 0, agents, 0, senders.length);
+        System.arraycopy(receivers, 0, agents, senders.length, receivers.length);
+        agents[agents.length - 1] = conductor;
+
+        return agents;
+    }
+
+    private static AgentRunner[] newAgentRunners(
+        final Context ctx,
+        final Agent[] agents,
+        final int fromIndex,
+        final String roleName,
+        final IdleStrategy firstIdleStrategy,
+        final Function<StatusIndicator, IdleStrategy> idleStrategySupplier)
+    {
+        final ErrorHandler errorHandler = ctx.errorHandler();
+        final AtomicCounter errorCounter = ctx.systemCounters().get(ERRORS);
+        final AgentRunner[] runners = new AgentRunner[agents.length - fromIndex];
+
+        for (int i = fromIndex; i < agents.length; i++)
+        {
+            IdleStrategy idleStrategy = firstIdleStrategy;
+            if (i > 0)
+            {
+                final StatusIndicator indicator = new UnsafeBufferStatusIndicator(
+                    ctx.countersManager().valuesBuffer(), CONTROLLABLE_IDLE_STRATEGY.id());
+                idleStrategy = idleStrategySupplier.apply(indicator);
+            }
+
+            runners[i - fromIndex] = new AgentRunner(
+                observe(ctx, idleStrategy, roleName, i), errorHandler, errorCounter, agents[i]);
+        }
+
+        return runners;
+    }
+
+    private static IdleStrategy observe(
+        final Context ctx, final IdleStrategy idleStrategy, final String roleName, final int agentIndex)
+    {
+        if (idleStrategy instanceof AdaptiveIdleStrategy)
+        {
+            final CountersManager countersManager = ctx.countersManager();
+            final AtomicCounter modeCounter = PerAgentCounter.allocate(
+                countersManager, AGENT_IDLE_MODE_TYPE_ID, "Idle mode", roleName, agentIndex);
+            final AtomicCounter parkPeriodCounter = PerAgentCounter.allocate(
+                countersManager, AGENT_IDLE_PARK_PERIOD_TYPE_ID, "Idle park period (ns)", roleName, agentIndex);
+
+            ((AdaptiveIdleStrategy)idleStrategy).counters(modeCounter, parkPeriodCounter);
+        }
+
+        return idleStrategy;
+    }
+
     private static void ensureDirectoryIsRecreated(final Context ctx)
     {
         if (ctx.aeronDirectory().isDirectory())
@@ -352,6 +472,12 @@ public final class MediaDriver implements AutoCloseable
             ctx.deleteAeronDirectory();
         }
 
+        final File logBufferDirectory = ctx.logBufferDirectory();
+        if (null != logBufferDirectory)
+        {
+            IoUtil.delete(logBufferDirectory, true);
+        }
+
         IoUtil.ensureDirectoryExists(ctx.aeronDirectory(), "aeron");
     }
 
@@ -416,6 +542,9 @@ public final class MediaDriver implements AutoCloseable
         private boolean dirDeleteOnStart = Configuration.dirDeleteOnStart();
         private boolean termBufferSparseFile = Configuration.termBufferSparseFile();
         private boolean performStorageChecks = Configuration.performStorageChecks();
+        private boolean termBufferPreTouch = Configuration.termBufferPreTouch();
+        private boolean termBufferPreFaultRead = Configuration.termBufferPreFaultRead();
+        private boolean asyncLogAllocation = Configuration.asyncLogAllocation();
         private boolean spiesSimulateConnection = Configuration.spiesSimulateConnection();
         private boolean reliableStream = Configuration.reliableStream();
         private boolean tetherSubscriptions = Configuration.tetherSubscriptions();
@@ -430,9 +559,12 @@ public final class MediaDriver implements AutoCloseable
         private long untetheredWindowLimitTimeoutNs = Configuration.untetheredWindowLimitTimeoutNs();
         private long untetheredRestingTimeoutNs = Configuration.untetheredRestingTimeoutNs();
         private long statusMessageTimeoutNs = Configuration.statusMessageTimeoutNs();
+        private StatusMessageSuppression statusMessageSuppression = Configuration.statusMessageSuppression();
+        private long statusMessageSuppressionDelayNs = Configuration.statusMessageSuppressionDelayNs();
         private long counterFreeToReuseTimeoutNs = Configuration.counterFreeToReuseTimeoutNs();
         private long retransmitUnicastDelayNs = Configuration.retransmitUnicastDelayNs();
         private long retransmitUnicastLingerNs = Configuration.retransmitUnicastLingerNs();
+        private int maxRetransmits = Configuration.maxRetransmits();
         private long nakUnicastDelayNs = Configuration.nakUnicastDelayNs();
         private long nakMulticastMaxBackoffNs = Configuration.nakMulticastMaxBackoffNs();
         private int conductorBufferLength = Configuration.conductorBufferLength();
@@ -455,6 +587,18 @@ public final class MediaDriver implements AutoCloseable
         private int publicationReservedSessionIdHigh = Configuration.publicationReservedSessionIdHigh();
         private int lossReportBufferLength = Configuration.lossReportBufferLength();
         private int sendToStatusMessagePollRatio = Configuration.sendToStatusMessagePollRatio();
+        private int receiveBatchLength = Configuration.receiveBatchLength();
+        private int sendBatchLength = Configuration.sendBatchLength();
+        private boolean gsoEnabled = Configuration.gsoEnabled();
+        private boolean heartbeatCoalescingEnabled = Configuration.heartbeatCoalescingEnabled();
+        private boolean controlMessageBatchingEnabled = Configuration.controlMessageBatchingEnabled();
+        private int fecGroupSize = Configuration.fecGroupSize();
+        private long pacingRate = Configuration.pacingRate();
+        private int pacingBurstLength = Configuration.pacingBurstLength();
+        private boolean dutyCycleHistogramEnabled = Configuration.dutyCycleHistogramEnabled();
+        private int receiverCount = Configuration.receiverCount();
+        private int senderCount = Configuration.senderCount();
+        private int logBufferPoolSize = Configuration.logBufferPoolSize();
 
         private EpochClock epochClock;
         private NanoClock nanoClock;
@@ -472,12 +616,15 @@ public final class MediaDriver implements AutoCloseable
         private IdleStrategy sharedNetworkIdleStrategy;
         private IdleStrategy sharedIdleStrategy;
         private SendChannelEndpointSupplier sendChannelEndpointSupplier;
+        private DatagramTransportSupplier datagramTransportSupplier;
         private ReceiveChannelEndpointSupplier receiveChannelEndpointSupplier;
         private ReceiveChannelEndpointThreadLocals receiveChannelEndpointThreadLocals;
         private MutableDirectBuffer tempBuffer;
         private FlowControlSupplier unicastFlowControlSupplier;
         private FlowControlSupplier multicastFlowControlSupplier;
         private byte[] applicationSpecificFeedback;
+        private Long receiverGroupTag = Configuration.receiverGroupTag();
+        private String logBufferDirectoryName = Configuration.logBufferDirectoryName();
         private CongestionControlSupplier congestionControlSupplier;
         private FeedbackDelayGenerator unicastFeedbackDelayGenerator;
         private FeedbackDelayGenerator multicastFeedbackDelayGenerator;
@@ -491,6 +638,7 @@ public final class MediaDriver implements AutoCloseable
         private boolean useConcurrentCountersManager;
         private CountersManager countersManager;
         private SystemCounters systemCounters;
+        private BucketHistogram sendBatchHistogram;
         private LossReport lossReport;
 
         private LogFactory logFactory;
@@ -524,6 +672,8 @@ public final class MediaDriver implements AutoCloseable
          */
         public void close()
         {
+            CloseHelper.close(logFactory);
+
             final MappedByteBuffer lossReportBuffer = this.lossReportBuffer;
             this.lossReportBuffer = null;
             IoUtil.unmap(lossReportBuffer);
@@ -546,6 +696,16 @@ public final class MediaDriver implements AutoCloseable
 
                 validateMtuLength(mtuLength);
                 validateMtuLength(ipcMtuLength);
+                validateReceiveBatchLength(receiveBatchLength);
+                validateSendBatchLength(sendBatchLength);
+                validateFecGroupSize(fecGroupSize);
+                validatePacingRate(pacingRate);
+                validatePacingBurstLength(pacingBurstLength);
+                validateStatusMessageSuppressionDelayNs(statusMessageSuppressionDelayNs, statusMessageTimeoutNs);
+                validateLogBufferPoolSize(logBufferPoolSize);
+                validateReceiverCount(receiverCount);
+                validateSenderCount(senderCount);
+                validateMaxRetransmits(maxRetransmits);
                 validatePageSize(filePageSize);
                 validateSessionIdRange(publicationReservedSessionIdLow, publicationReservedSessionIdHigh);
 
@@ -872,6 +1032,159 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Should the pages of term buffers be touched ahead of use on a background thread so the first pass through a
+         * term does not take page faults.
+         *
+         * @return true if the pages of term buffers should be touched ahead of use.
+         * @see Configuration#TERM_BUFFER_PRE_TOUCH_PROP_NAME
+         */
+        public boolean termBufferPreTouch()
+        {
+            return termBufferPreTouch;
+        }
+
+        /**
+         * Should the pages of term buffers be touched ahead of use on a background thread so the first pass through a
+         * term does not take page faults.
+         *
+         * @param termBufferPreTouch true if the pages of term buffers should be touched ahead of use.
+         * @return this for a fluent API.
+         * @see Configuration#TERM_BUFFER_PRE_TOUCH_PROP_NAME
+         */
+        public Context termBufferPreTouch(final boolean termBufferPreTouch)
+        {
+            this.termBufferPreTouch = termBufferPreTouch;
+            return this;
+        }
+
+        /**
+         * Should the pages of term buffers be pre-faulted by reading them in the background when they are created.
+         *
+         * @return true if the pages of term buffers should be pre-faulted by reading them.
+         * @see Configuration#TERM_BUFFER_PRE_FAULT_READ_PROP_NAME
+         */
+        public boolean termBufferPreFaultRead()
+        {
+            return termBufferPreFaultRead;
+        }
+
+        /**
+         * Should the pages of term buffers be pre-faulted by reading them in the background when they are created.
+         *
+         * @param termBufferPreFaultRead true if the pages of term buffers should be pre-faulted by reading them.
+         * @return this for a fluent API.
+         * @see Configuration#TERM_BUFFER_PRE_FAULT_READ_PROP_NAME
+         */
+        public Context termBufferPreFaultRead(final boolean termBufferPreFaultRead)
+        {
+            this.termBufferPreFaultRead = termBufferPreFaultRead;
+            return this;
+        }
+
+        /**
+         * Should logs for new publications and images be created on a background allocator thread with the conductor
+         * completing the command, or creating the image, once the log is ready.
+         *
+         * @return true if logs for new publications and images should be created on a background allocator thread.
+         * @see Configuration#ASYNC_LOG_ALLOCATION_PROP_NAME
+         */
+        public boolean asyncLogAllocation()
+        {
+            return asyncLogAllocation;
+        }
+
+        /**
+         * Should logs for new publications and images be created on a background allocator thread with the conductor
+         * completing the command, or creating the image, once the log is ready.
+         *
+         * @param asyncLogAllocation true if logs for publications and images should be created on a background thread.
+         * @return this for a fluent API.
+         * @see Configuration#ASYNC_LOG_ALLOCATION_PROP_NAME
+         */
+        public Context asyncLogAllocation(final boolean asyncLogAllocation)
+        {
+            this.asyncLogAllocation = asyncLogAllocation;
+            return this;
+        }
+
+        /**
+         * Directory in which to create log buffers, e.g. a hugetlbfs mount, or null for the Aeron directory.
+         *
+         * @return directory in which to create log buffers or null for the Aeron directory.
+         * @see Configuration#LOG_BUFFER_DIR_PROP_NAME
+         */
+        public String logBufferDirectoryName()
+        {
+            return logBufferDirectoryName;
+        }
+
+        /**
+         * Directory in which to create log buffers, e.g. a hugetlbfs mount, or null for the Aeron directory.
+         *
+         * @param logBufferDirectoryName in which to create log buffers or null for the Aeron directory.
+         * @return this for a fluent API.
+         * @see Configuration#LOG_BUFFER_DIR_PROP_NAME
+         */
+        public Context logBufferDirectoryName(final String logBufferDirectoryName)
+        {
+            this.logBufferDirectoryName = logBufferDirectoryName;
+            return this;
+        }
+
+        /**
+         * Sub-directory of {@link #logBufferDirectoryName()} in which this driver creates its log buffers. It is keyed
+         * by a hash of the canonical path of the Aeron directory so drivers with the same Aeron directory name in
+         * different locations do not share it.
+         *
+         * @return directory in which to create log buffers or null for the Aeron directory.
+         */
+        File logBufferDirectory()
+        {
+            if (null == logBufferDirectoryName)
+            {
+                return null;
+            }
+
+            final String canonicalPath;
+            try
+            {
+                canonicalPath = aeronDirectory().getCanonicalPath();
+            }
+            catch (final IOException ex)
+            {
+                throw new IllegalStateException(ex);
+            }
+
+            return new File(
+                logBufferDirectoryName,
+                aeronDirectory().getName() + '-' + Integer.toHexString(canonicalPath.hashCode()));
+        }
+
+        /**
+         * Number of logs to keep created and mapped in a pool for each term length, or 0 for no pooling.
+         *
+         * @return number of logs to keep in a pool for each term length.
+         * @see Configuration#LOG_BUFFER_POOL_SIZE_PROP_NAME
+         */
+        public int logBufferPoolSize()
+        {
+            return logBufferPoolSize;
+        }
+
+        /**
+         * Number of logs to keep created and mapped in a pool for each term length, or 0 for no pooling.
+         *
+         * @param logBufferPoolSize number of logs to keep in a pool for each term length.
+         * @return this for a fluent API.
+         * @see Configuration#LOG_BUFFER_POOL_SIZE_PROP_NAME
+         */
+        public Context logBufferPoolSize(final int logBufferPoolSize)
+        {
+            this.logBufferPoolSize = logBufferPoolSize;
+            return this;
+        }
+
         /**
          * Get the threshold in bytes below which storage warnings are issued.
          *
@@ -1116,6 +1429,30 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * The max number of retransmits which can be active at once for a network publication.
+         *
+         * @return max number of retransmits which can be active at once for a network publication.
+         * @see Configuration#MAX_RETRANSMITS_PROP_NAME
+         */
+        public int maxRetransmits()
+        {
+            return maxRetransmits;
+        }
+
+        /**
+         * The max number of retransmits which can be active at once for a network publication.
+         *
+         * @param maxRetransmits which can be active at once for a network publication.
+         * @return this for a fluent API.
+         * @see Configuration#MAX_RETRANSMITS_PROP_NAME
+         */
+        public Context maxRetransmits(final int maxRetransmits)
+        {
+            this.maxRetransmits = maxRetransmits;
+            return this;
+        }
+
         /**
          * The delay before retransmission after an NAK on unicast.
          *
@@ -1237,6 +1574,54 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Mode by which receivers suppress Status Messages to reduce the load on senders with many receivers.
+         *
+         * @return mode by which receivers suppress Status Messages.
+         * @see Configuration#STATUS_MESSAGE_SUPPRESSION_PROP_NAME
+         */
+        public StatusMessageSuppression statusMessageSuppression()
+        {
+            return statusMessageSuppression;
+        }
+
+        /**
+         * Mode by which receivers suppress Status Messages to reduce the load on senders with many receivers.
+         *
+         * @param statusMessageSuppression mode by which receivers suppress Status Messages.
+         * @return this for a fluent API.
+         * @see Configuration#STATUS_MESSAGE_SUPPRESSION_PROP_NAME
+         */
+        public Context statusMessageSuppression(final StatusMessageSuppression statusMessageSuppression)
+        {
+            this.statusMessageSuppression = statusMessageSuppression;
+            return this;
+        }
+
+        /**
+         * Max random delay in nanoseconds of Status Messages for {@link StatusMessageSuppression#DELAY}.
+         *
+         * @return max random delay in nanoseconds of Status Messages.
+         * @see Configuration#STATUS_MESSAGE_SUPPRESSION_DELAY_PROP_NAME
+         */
+        public long statusMessageSuppressionDelayNs()
+        {
+            return statusMessageSuppressionDelayNs;
+        }
+
+        /**
+         * Max random delay in nanoseconds of Status Messages for {@link StatusMessageSuppression#DELAY}.
+         *
+         * @param statusMessageSuppressionDelayNs max random delay in nanoseconds of Status Messages.
+         * @return this for a fluent API.
+         * @see Configuration#STATUS_MESSAGE_SUPPRESSION_DELAY_PROP_NAME
+         */
+        public Context statusMessageSuppressionDelayNs(final long statusMessageSuppressionDelayNs)
+        {
+            this.statusMessageSuppressionDelayNs = statusMessageSuppressionDelayNs;
+            return this;
+        }
+
         /**
          * Time in nanoseconds after which a freed counter may be reused.
          *
@@ -1659,6 +2044,327 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Default max number of datagrams the receiver will drain from a transport in one batch before dispatching
+         * them. A value of 1 disables batching. This can be overridden per channel.
+         *
+         * @return default max number of datagrams drained from a transport in one batch.
+         * @see Configuration#RECEIVE_BATCH_LENGTH_PROP_NAME
+         * @see CommonContext#RECEIVE_BATCH_LENGTH_PARAM_NAME
+         */
+        public int receiveBatchLength()
+        {
+            return receiveBatchLength;
+        }
+
+        /**
+         * Default max number of datagrams the receiver will drain from a transport in one batch before dispatching
+         * them. A value of 1 disables batching. This can be overridden per channel.
+         *
+         * @param receiveBatchLength default max number of datagrams drained from a transport in one batch.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVE_BATCH_LENGTH_PROP_NAME
+         * @see CommonContext#RECEIVE_BATCH_LENGTH_PARAM_NAME
+         */
+        public Context receiveBatchLength(final int receiveBatchLength)
+        {
+            this.receiveBatchLength = receiveBatchLength;
+            return this;
+        }
+
+        /**
+         * Default max number of datagrams the sender will gather from a publication and send in one batch. A value
+         * of 1 disables batching. This can be overridden per channel.
+         *
+         * @return default max number of datagrams sent in one batch.
+         * @see Configuration#SEND_BATCH_LENGTH_PROP_NAME
+         * @see CommonContext#SEND_BATCH_LENGTH_PARAM_NAME
+         */
+        public int sendBatchLength()
+        {
+            return sendBatchLength;
+        }
+
+        /**
+         * Default max number of datagrams the sender will gather from a publication and send in one batch. A value
+         * of 1 disables batching. This can be overridden per channel.
+         *
+         * @param sendBatchLength default max number of datagrams sent in one batch.
+         * @return this for a fluent API.
+         * @see Configuration#SEND_BATCH_LENGTH_PROP_NAME
+         * @see CommonContext#SEND_BATCH_LENGTH_PARAM_NAME
+         */
+        public Context sendBatchLength(final int sendBatchLength)
+        {
+            this.sendBatchLength = sendBatchLength;
+            return this;
+        }
+
+        /**
+         * Should generic segmentation offload be used by default on channels. This can be overridden per channel.
+         *
+         * @return true if generic segmentation offload should be used by default on channels.
+         * @see Configuration#GSO_ENABLED_PROP_NAME
+         * @see CommonContext#GSO_PARAM_NAME
+         */
+        public boolean gsoEnabled()
+        {
+            return gsoEnabled;
+        }
+
+        /**
+         * Should generic segmentation offload be used by default on channels. This can be overridden per channel.
+         *
+         * @param gsoEnabled true if generic segmentation offload should be used by default on channels.
+         * @return this for a fluent API.
+         * @see Configuration#GSO_ENABLED_PROP_NAME
+         * @see CommonContext#GSO_PARAM_NAME
+         */
+        public Context gsoEnabled(final boolean gsoEnabled)
+        {
+            this.gsoEnabled = gsoEnabled;
+            return this;
+        }
+
+        /**
+         * Should heartbeats from idle network publications which share a send channel endpoint be coalesced into one
+         * datagram per sender duty cycle.
+         *
+         * @return true if heartbeats from idle network publications should be coalesced.
+         * @see Configuration#HEARTBEAT_COALESCING_ENABLED_PROP_NAME
+         */
+        public boolean heartbeatCoalescingEnabled()
+        {
+            return heartbeatCoalescingEnabled;
+        }
+
+        /**
+         * Should heartbeats from idle network publications which share a send channel endpoint be coalesced into one
+         * datagram per sender duty cycle.
+         *
+         * @param heartbeatCoalescingEnabled true if heartbeats from idle network publications should be coalesced.
+         * @return this for a fluent API.
+         * @see Configuration#HEARTBEAT_COALESCING_ENABLED_PROP_NAME
+         */
+        public Context heartbeatCoalescingEnabled(final boolean heartbeatCoalescingEnabled)
+        {
+            this.heartbeatCoalescingEnabled = heartbeatCoalescingEnabled;
+            return this;
+        }
+
+        /**
+         * Should Status Messages and NAKs from images on a receive channel endpoint to the same control address be
+         * batched into one datagram per receiver duty cycle.
+         *
+         * @return true if Status Messages and NAKs should be batched.
+         * @see Configuration#CONTROL_MESSAGE_BATCHING_ENABLED_PROP_NAME
+         */
+        public boolean controlMessageBatchingEnabled()
+        {
+            return controlMessageBatchingEnabled;
+        }
+
+        /**
+         * Should Status Messages and NAKs from images on a receive channel endpoint to the same control address be
+         * batched into one datagram per receiver duty cycle.
+         *
+         * @param controlMessageBatchingEnabled true if Status Messages and NAKs should be batched.
+         * @return this for a fluent API.
+         * @see Configuration#CONTROL_MESSAGE_BATCHING_ENABLED_PROP_NAME
+         */
+        public Context controlMessageBatchingEnabled(final boolean controlMessageBatchingEnabled)
+        {
+            this.controlMessageBatchingEnabled = controlMessageBatchingEnabled;
+            return this;
+        }
+
+        /**
+         * Default number of datagrams in each group covered by a forward error correction parity frame sent by
+         * network publications. A value of 0 disables FEC. This can be overridden per channel.
+         *
+         * @return default number of datagrams in each group covered by a parity frame.
+         * @see Configuration#FEC_GROUP_SIZE_PROP_NAME
+         * @see CommonContext#FEC_GROUP_SIZE_PARAM_NAME
+         */
+        public int fecGroupSize()
+        {
+            return fecGroupSize;
+        }
+
+        /**
+         * Default number of datagrams in each group covered by a forward error correction parity frame sent by
+         * network publications. A value of 0 disables FEC. This can be overridden per channel.
+         *
+         * @param fecGroupSize default number of datagrams in each group covered by a parity frame.
+         * @return this for a fluent API.
+         * @see Configuration#FEC_GROUP_SIZE_PROP_NAME
+         * @see CommonContext#FEC_GROUP_SIZE_PARAM_NAME
+         */
+        public Context fecGroupSize(final int fecGroupSize)
+        {
+            this.fecGroupSize = fecGroupSize;
+            return this;
+        }
+
+        /**
+         * Default rate in bytes per second to which network publications pace the sending of data. A value of 0
+         * disables pacing. This can be overridden per channel.
+         *
+         * @return default rate in bytes per second to which network publications pace the sending of data.
+         * @see Configuration#PACING_RATE_PROP_NAME
+         * @see CommonContext#PACING_RATE_PARAM_NAME
+         */
+        public long pacingRate()
+        {
+            return pacingRate;
+        }
+
+        /**
+         * Default rate in bytes per second to which network publications pace the sending of data. A value of 0
+         * disables pacing. This can be overridden per channel.
+         *
+         * @param pacingRate default rate in bytes per second to which network publications pace the sending of data.
+         * @return this for a fluent API.
+         * @see Configuration#PACING_RATE_PROP_NAME
+         * @see CommonContext#PACING_RATE_PARAM_NAME
+         */
+        public Context pacingRate(final long pacingRate)
+        {
+            this.pacingRate = pacingRate;
+            return this;
+        }
+
+        /**
+         * Length in bytes of the burst a paced publication can send at once after being idle.
+         *
+         * @return length in bytes of the burst a paced publication can send at once after being idle.
+         * @see Configuration#PACING_BURST_LENGTH_PROP_NAME
+         */
+        public int pacingBurstLength()
+        {
+            return pacingBurstLength;
+        }
+
+        /**
+         * Length in bytes of the burst a paced publication can send at once after being idle.
+         *
+         * @param pacingBurstLength in bytes of the burst a paced publication can send at once after being idle.
+         * @return this for a fluent API.
+         * @see Configuration#PACING_BURST_LENGTH_PROP_NAME
+         */
+        public Context pacingBurstLength(final int pacingBurstLength)
+        {
+            this.pacingBurstLength = pacingBurstLength;
+            return this;
+        }
+
+        /**
+         * Should the driver agents keep a histogram and the max of the time of their duty cycles which did work in
+         * the counters so they can be read live.
+         *
+         * @return true if the driver agents should keep a histogram and the max of the time of their duty cycles.
+         * @see Configuration#DUTY_CYCLE_HISTOGRAM_ENABLED_PROP_NAME
+         */
+        public boolean dutyCycleHistogramEnabled()
+        {
+            return dutyCycleHistogramEnabled;
+        }
+
+        /**
+         * Should the driver agents keep a histogram and the max of the time of their duty cycles which did work in
+         * the counters so they can be read live.
+         *
+         * @param dutyCycleHistogramEnabled true if the driver agents should keep a histogram and the max of the time
+         *                                  of their duty cycles.
+         * @return this for a fluent API.
+         * @see Configuration#DUTY_CYCLE_HISTOGRAM_ENABLED_PROP_NAME
+         */
+        public Context dutyCycleHistogramEnabled(final boolean dutyCycleHistogramEnabled)
+        {
+            this.dutyCycleHistogramEnabled = dutyCycleHistogramEnabled;
+            return this;
+        }
+
+        /**
+         * Allocate the counters for tracking the duty cycles of a driver agent.
+         *
+         * @param roleName   of the agent.
+         * @param agentIndex of the agent within its role.
+         * @return a new tracker for the agent.
+         */
+        DutyCycleTracker newDutyCycleTracker(final String roleName, final int agentIndex)
+        {
+            return DutyCycleTracker.allocate(
+                countersManager,
+                roleName,
+                agentIndex,
+                dutyCycleHistogramEnabled ? DUTY_CYCLE_HISTOGRAM_BUCKET_COUNT : 0);
+        }
+
+        /**
+         * Number of receiver agents the receive channel endpoints are sharded across. With
+         * {@link ThreadingMode#DEDICATED} or {@link ThreadingMode#SHARED_NETWORK} each receiver after the first
+         * runs on its own thread from the {@link #receiverThreadFactory()} with an idle strategy created from
+         * {@link Configuration#RECEIVER_IDLE_STRATEGY_PROP_NAME}, as idle strategies hold state and cannot be shared.
+         *
+         * @return number of receiver agents the receive channel endpoints are sharded across.
+         * @see Configuration#RECEIVER_COUNT_PROP_NAME
+         * @see CommonContext#RECEIVER_INDEX_PARAM_NAME
+         */
+        public int receiverCount()
+        {
+            return receiverCount;
+        }
+
+        /**
+         * Number of receiver agents the receive channel endpoints are sharded across. With
+         * {@link ThreadingMode#DEDICATED} or {@link ThreadingMode#SHARED_NETWORK} each receiver after the first
+         * runs on its own thread from the {@link #receiverThreadFactory()} with an idle strategy created from
+         * {@link Configuration#RECEIVER_IDLE_STRATEGY_PROP_NAME}, as idle strategies hold state and cannot be shared.
+         *
+         * @param receiverCount number of receiver agents the receive channel endpoints are sharded across.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVER_COUNT_PROP_NAME
+         * @see CommonContext#RECEIVER_INDEX_PARAM_NAME
+         */
+        public Context receiverCount(final int receiverCount)
+        {
+            this.receiverCount = receiverCount;
+            return this;
+        }
+
+        /**
+         * Number of sender agents the send channel endpoints are sharded across. With
+         * {@link ThreadingMode#DEDICATED} or {@link ThreadingMode#SHARED_NETWORK} each sender after the first
+         * runs on its own thread from the {@link #senderThreadFactory()} with an idle strategy created from
+         * {@link Configuration#SENDER_IDLE_STRATEGY_PROP_NAME}, as idle strategies hold state and cannot be shared.
+         *
+         * @return number of sender agents the send channel endpoints are sharded across.
+         * @see Configuration#SENDER_COUNT_PROP_NAME
+         * @see CommonContext#SENDER_INDEX_PARAM_NAME
+         */
+        public int senderCount()
+        {
+            return senderCount;
+        }
+
+        /**
+         * Number of sender agents the send channel endpoints are sharded across. With
+         * {@link ThreadingMode#DEDICATED} or {@link ThreadingMode#SHARED_NETWORK} each sender after the first
+         * runs on its own thread from the {@link #senderThreadFactory()} with an idle strategy created from
+         * {@link Configuration#SENDER_IDLE_STRATEGY_PROP_NAME}, as idle strategies hold state and cannot be shared.
+         *
+         * @param senderCount number of sender agents the send channel endpoints are sharded across.
+         * @return this for a fluent API.
+         * @see Configuration#SENDER_COUNT_PROP_NAME
+         * @see CommonContext#SENDER_INDEX_PARAM_NAME
+         */
+        public Context senderCount(final int senderCount)
+        {
+            this.senderCount = senderCount;
+            return this;
+        }
+
         /**
          * The {@link EpochClock} as a source of time in milliseconds for wall clock time.
          *
@@ -2054,6 +2760,30 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Supplier of the {@link DatagramTransport}s used by channel endpoints to send and receive datagrams.
+         *
+         * @return the supplier of the {@link DatagramTransport}s used by channel endpoints.
+         * @see Configuration#DATAGRAM_TRANSPORT_SUPPLIER_PROP_NAME
+         */
+        public DatagramTransportSupplier datagramTransportSupplier()
+        {
+            return datagramTransportSupplier;
+        }
+
+        /**
+         * Supplier of the {@link DatagramTransport}s used by channel endpoints to send and receive datagrams.
+         *
+         * @param supplier of the {@link DatagramTransport}s used by channel endpoints.
+         * @return this for a fluent API.
+         * @see Configuration#DATAGRAM_TRANSPORT_SUPPLIER_PROP_NAME
+         */
+        public Context datagramTransportSupplier(final DatagramTransportSupplier supplier)
+        {
+            datagramTransportSupplier = supplier;
+            return this;
+        }
+
         /**
          * Supplier of dynamically created {@link ReceiveChannelEndpoint} subclasses for specialising interactions
          * with the receive side of a network channel.
@@ -2198,6 +2928,34 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Default group tag receivers send in Status Messages (SMs) to identify their group for a
+         * {@link TaggedMulticastFlowControl} strategy when the subscription channel does not set one.
+         *
+         * @return default group tag receivers send in SMs or null for no group tag.
+         * @see Configuration#RECEIVER_GROUP_TAG_PROP_NAME
+         * @see io.aeron.CommonContext#GROUP_TAG_PARAM_NAME
+         */
+        public Long receiverGroupTag()
+        {
+            return receiverGroupTag;
+        }
+
+        /**
+         * Default group tag receivers send in Status Messages (SMs) to identify their group for a
+         * {@link TaggedMulticastFlowControl} strategy when the subscription channel does not set one.
+         *
+         * @param groupTag receivers send in SMs or null for no group tag.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVER_GROUP_TAG_PROP_NAME
+         * @see io.aeron.CommonContext#GROUP_TAG_PARAM_NAME
+         */
+        public Context receiverGroupTag(final Long groupTag)
+        {
+            this.receiverGroupTag = groupTag;
+            return this;
+        }
+
         /**
          * Supplier of dynamically created {@link CongestionControl} strategies for individual connections.
          *
@@ -2343,6 +3101,32 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Histogram of the number of datagrams sent by the sender each time it flushes a batch for a publication.
+         * Only publications with a send batch length greater than 1 record into the histogram.
+         *
+         * @return histogram of the number of datagrams sent per batch flush.
+         * @see #sendBatchLength()
+         */
+        public BucketHistogram sendBatchHistogram()
+        {
+            return sendBatchHistogram;
+        }
+
+        /**
+         * Histogram of the number of datagrams sent by the sender each time it flushes a batch for a publication.
+         * <p>
+         * The default should only be overridden for testing.
+         *
+         * @param sendBatchHistogram of the number of datagrams sent per batch flush.
+         * @return this for a fluent API.
+         */
+        public Context sendBatchHistogram(final BucketHistogram sendBatchHistogram)
+        {
+            this.sendBatchHistogram = sendBatchHistogram;
+            return this;
+        }
+
         /**
          * {@link LossReport}for identifying loss issues on specific connections.
          *
@@ -2756,6 +3540,11 @@ public final class MediaDriver implements AutoCloseable
                 receiveChannelEndpointSupplier = Configuration.receiveChannelEndpointSupplier();
             }
 
+            if (null == datagramTransportSupplier)
+            {
+                datagramTransportSupplier = Configuration.datagramTransportSupplier();
+            }
+
             if (null == dataTransportPoller)
             {
                 dataTransportPoller = new DataTransportPoller();
@@ -2771,6 +3560,12 @@ public final class MediaDriver implements AutoCloseable
                 applicationSpecificFeedback = Configuration.applicationSpecificFeedback();
             }
 
+            if (null != receiverGroupTag && applicationSpecificFeedback.length > 0)
+            {
+                throw new ConfigurationException(
+                    "receiverGroupTag cannot be combined with applicationSpecificFeedback");
+            }
+
             if (null == receiveChannelEndpointThreadLocals)
             {
                 receiveChannelEndpointThreadLocals = new ReceiveChannelEndpointThreadLocals(this);
@@ -2854,8 +3649,30 @@ public final class MediaDriver implements AutoCloseable
 
             if (null == logFactory)
             {
-                logFactory = new FileStoreLogFactory(
-                    aeronDirectoryName(), filePageSize, performStorageChecks, lowStorageWarningThreshold, errorHandler);
+                final File logDirectory = logBufferDirectory();
+                final String logDirectoryName =
+                    null != logDirectory ? logDirectory.getAbsolutePath() : aeronDirectoryName();
+
+                final FileStoreLogFactory fileStoreLogFactory = new FileStoreLogFactory(
+                    logDirectoryName,
+                    filePageSize,
+                    performStorageChecks,
+                    lowStorageWarningThreshold,
+                    termBufferPreTouch,
+                    termBufferPreFaultRead,
+                    logBufferPoolSize,
+                    systemCounters.get(LOG_BUFFER_POOL_HITS),
+                    systemCounters.get(LOG_BUFFER_POOL_MISSES),
+                    systemCounters.get(LOG_BUFFER_POOL_SIZE),
+                    errorHandler);
+
+                fileStoreLogFactory.warmPool(publicationTermBufferLength);
+                if (ipcTermBufferLength != publicationTermBufferLength)
+                {
+                    fileStoreLogFactory.warmPool(ipcTermBufferLength);
+                }
+
+                logFactory = fileStoreLogFactory;
             }
 
             if (null == lossReport)
@@ -2908,6 +3725,12 @@ public final class MediaDriver implements AutoCloseable
             {
                 systemCounters = new SystemCounters(countersManager);
             }
+
+            if (null == sendBatchHistogram)
+            {
+                sendBatchHistogram = BucketHistogram.allocate(
+                    countersManager, "Sender datagrams per batch flush", SEND_BATCH_HISTOGRAM_BUCKET_COUNT);
+            }
         }
 
         private void concludeIdleStrategies()
@@ -2948,6 +3771,14 @@ public final class MediaDriver implements AutoCloseable
                     {
                         sharedNetworkIdleStrategy = Configuration.sharedNetworkIdleStrategy(indicator);
                     }
+                    if (null == receiverThreadFactory)
+                    {
+                        receiverThreadFactory = Thread::new;
+                    }
+                    if (null == senderThreadFactory)
+                    {
+                        senderThreadFactory = Thread::new;
+                    }
                     break;
 
                 case DEDICATED:
@@ -2979,6 +3810,7 @@ public final class MediaDriver implements AutoCloseable
             }
         }
 
+        @SuppressWarnings("MethodLength")
         public String toString()
         {
             return "MediaDriver.Context{" +
@@ -2990,6 +3822,10 @@ public final class MediaDriver implements AutoCloseable
                 "\n    dirDeleteOnStart=" + dirDeleteOnStart +
                 "\n    termBufferSparseFile=" + termBufferSparseFile +
                 "\n    performStorageChecks=" + performStorageChecks +
+                "\n    termBufferPreTouch=" + termBufferPreTouch +
+                "\n    termBufferPreFaultRead=" + termBufferPreFaultRead +
+                "\n    logBufferPoolSize=" + logBufferPoolSize +
+                "\n    asyncLogAllocation=" + asyncLogAllocation +
                 "\n    spiesSimulateConnection=" + spiesSimulateConnection +
                 "\n    reliableStream=" + reliableStream +
                 "\n    tetherSubscriptions=" + tetherSubscriptions +
@@ -3008,10 +3844,13 @@ public final class MediaDriver implements AutoCloseable
                 "\n    untetheredRestingTimeoutNs=" + untetheredRestingTimeoutNs +
                 "\n    retransmitUnicastDelayNs=" + retransmitUnicastDelayNs +
                 "\n    retransmitUnicastLingerNs=" + retransmitUnicastLingerNs +
+                "\n    maxRetransmits=" + maxRetransmits +
                 "\n    nakUnicastDelayNs=" + nakUnicastDelayNs +
                 "\n    nakMulticastMaxBackoffNs=" + nakMulticastMaxBackoffNs +
                 "\n    nakMulticastGroupSize=" + nakMulticastGroupSize +
                 "\n    statusMessageTimeoutNs=" + statusMessageTimeoutNs +
+                "\n    statusMessageSuppression=" + statusMessageSuppression +
+                "\n    statusMessageSuppressionDelayNs=" + statusMessageSuppressionDelayNs +
                 "\n    counterFreeToReuseTimeoutNs=" + counterFreeToReuseTimeoutNs +
                 "\n    publicationTermBufferLength=" + publicationTermBufferLength +
                 "\n    ipcTermBufferLength=" + ipcTermBufferLength +
@@ -3044,15 +3883,29 @@ public final class MediaDriver implements AutoCloseable
                 "\n    sharedIdleStrategy=" + sharedIdleStrategy +
                 "\n    sendChannelEndpointSupplier=" + sendChannelEndpointSupplier +
                 "\n    receiveChannelEndpointSupplier=" + receiveChannelEndpointSupplier +
+                "\n    datagramTransportSupplier=" + datagramTransportSupplier +
                 "\n    receiveChannelEndpointThreadLocals=" + receiveChannelEndpointThreadLocals +
                 "\n    tempBuffer=" + tempBuffer +
                 "\n    unicastFlowControlSupplier=" + unicastFlowControlSupplier +
                 "\n    multicastFlowControlSupplier=" + multicastFlowControlSupplier +
                 "\n    applicationSpecificFeedback=" + Arrays.toString(applicationSpecificFeedback) +
+                "\n    receiverGroupTag=" + receiverGroupTag +
+                "\n    logBufferDirectoryName=" + logBufferDirectoryName +
                 "\n    congestionControlSupplier=" + congestionControlSupplier +
                 "\n    terminationValidator=" + terminationValidator +
                 "\n    terminationHook=" + terminationHook +
                 "\n    sendToStatusMessagePollRatio=" + sendToStatusMessagePollRatio +
+                "\n    receiveBatchLength=" + receiveBatchLength +
+                "\n    sendBatchLength=" + sendBatchLength +
+                "\n    gsoEnabled=" + gsoEnabled +
+                "\n    heartbeatCoalescingEnabled=" + heartbeatCoalescingEnabled +
+                "\n    controlMessageBatchingEnabled=" + controlMessageBatchingEnabled +
+                "\n    fecGroupSize=" + fecGroupSize +
+                "\n    pacingRate=" + pacingRate +
+                "\n    pacingBurstLength=" + pacingBurstLength +
+                "\n    dutyCycleHistogramEnabled=" + dutyCycleHistogramEnabled +
+                "\n    receiverCount=" + receiverCount +
+                "\n    senderCount=" + senderCount +
                 "\n    unicastFeedbackDelayGenerator=" + unicastFeedbackDelayGenerator +
                 "\n    multicastFeedbackDelayGenerator=" + multicastFeedbackDelayGenerator +
                 "\n    retransmitUnicastDelayGenerator=" + retransmitUnicastDelayGenerator +
@@ -3062,6 +3915,7 @@ public final class MediaDriver implements AutoCloseable
                 "\n    useConcurrentCountersManager=" + useConcurrentCountersManager +
                 "\n    countersManager=" + countersManager +
                 "\n    systemCounters=" + systemCounters +
+                "\n    sendBatchHistogram=" + sendBatchHistogram +
                 "\n    lossReport=" + lossReport +
                 "\n    logFactory=" + logFactory +
                 "\n    dataTransportPoller=" + dataTransportPoller +
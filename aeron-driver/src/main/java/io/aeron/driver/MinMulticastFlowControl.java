@@ -16,10 +16,8 @@
 package io.aeron.driver;
 
 import io.aeron.protocol.StatusMessageFlyweight;
-import org.agrona.collections.ArrayListUtil;
 
 import java.net.InetSocketAddress;
-import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 
 import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
@@ -31,7 +29,8 @@ import static org.agrona.SystemUtil.getDurationInNanos;
  * Flow control is set to minimum of tracked receivers.
  * <p>
  * Tracking of receivers is done as long as they continue to send Status Messages. Once SMs stop, the receiver tracking
- * for that receiver will timeout after a given number of nanoseconds.
+ * for that receiver will timeout after a given number of nanoseconds. Receivers are held in a
+ * {@link MulticastReceiverTracker} so the cost of an SM or idle check grows with the log of the number of receivers.
  */
 public class MinMulticastFlowControl implements FlowControl
 {
@@ -48,7 +47,7 @@ public class MinMulticastFlowControl implements FlowControl
     public static final long RECEIVER_TIMEOUT = getDurationInNanos(
         RECEIVER_TIMEOUT_PROP_NAME, RECEIVER_TIMEOUT_DEFAULT);
 
-    private final ArrayList<Receiver> receiverList = new ArrayList<>();
+    private final MulticastReceiverTracker receiverTracker = new MulticastReceiverTracker();
     private volatile boolean shouldLinger = true;
 
     /**
@@ -76,34 +75,10 @@ public class MinMulticastFlowControl implements FlowControl
             initialTermId);
 
         final long windowLength = flyweight.receiverWindowLength();
-        final long receiverId = flyweight.receiverId();
-        boolean isExisting = false;
-        long minPosition = Long.MAX_VALUE;
+        final MulticastReceiverTracker receiverTracker = this.receiverTracker;
+        receiverTracker.onStatusMessage(flyweight.receiverId(), position, windowLength, timeNs, receiverAddress);
 
-        final ArrayList<Receiver> receiverList = this.receiverList;
-        for (int i = 0, size = receiverList.size(); i < size; i++)
-        {
-            final Receiver receiver = receiverList.get(i);
-
-            if (receiverId == receiver.receiverId)
-            {
-                receiver.lastPosition = Math.max(position, receiver.lastPosition);
-                receiver.lastPositionPlusWindow = position + windowLength;
-                receiver.timeOfLastStatusMessageNs = timeNs;
-                isExisting = true;
-            }
-
-            minPosition = Math.min(minPosition, receiver.lastPositionPlusWindow);
-        }
-
-        if (!isExisting)
-        {
-            receiverList.add(new Receiver(
-                position, position + windowLength, timeNs, receiverId, receiverAddress));
-            minPosition = Math.min(minPosition, position + windowLength);
-        }
-
-        return Math.max(senderLimit, minPosition);
+        return Math.max(senderLimit, receiverTracker.minLimitPosition());
     }
 
     /**
@@ -111,33 +86,18 @@ public class MinMulticastFlowControl implements FlowControl
      */
     public long onIdle(final long timeNs, final long senderLimit, final long senderPosition, final boolean isEos)
     {
-        long minPosition = Long.MAX_VALUE;
-        long minLimitPosition = Long.MAX_VALUE;
-        final ArrayList<Receiver> receiverList = this.receiverList;
-
-        for (int lastIndex = receiverList.size() - 1, i = lastIndex; i >= 0; i--)
-        {
-            final Receiver receiver = receiverList.get(i);
-            if ((receiver.timeOfLastStatusMessageNs + RECEIVER_TIMEOUT) - timeNs < 0)
-            {
-                ArrayListUtil.fastUnorderedRemove(receiverList, i, lastIndex--);
-            }
-            else
-            {
-                minPosition = Math.min(minPosition, receiver.lastPosition);
-                minLimitPosition = Math.min(minLimitPosition, receiver.lastPositionPlusWindow);
-            }
-        }
+        final MulticastReceiverTracker receiverTracker = this.receiverTracker;
+        receiverTracker.removeTimedOut(timeNs, RECEIVER_TIMEOUT);
 
         if (isEos && shouldLinger)
         {
-            if (0 == receiverList.size() || minPosition >= senderPosition)
+            if (0 == receiverTracker.size() || receiverTracker.minPosition() >= senderPosition)
             {
                 shouldLinger = false;
             }
         }
 
-        return receiverList.size() > 0 ? minLimitPosition : senderLimit;
+        return receiverTracker.size() > 0 ? receiverTracker.minLimitPosition() : senderLimit;
     }
 
     /**
@@ -147,27 +107,4 @@ public class MinMulticastFlowControl implements FlowControl
     {
         return shouldLinger;
     }
-
-    static class Receiver
-    {
-        long lastPosition;
-        long lastPositionPlusWindow;
-        long timeOfLastStatusMessageNs;
-        final long receiverId;
-        final InetSocketAddress address;
-
-        Receiver(
-            final long lastPosition,
-            final long lastPositionPlusWindow,
-            final long timeNs,
-            final long receiverId,
-            final InetSocketAddress receiverAddress)
-        {
-            this.lastPosition = lastPosition;
-            this.lastPositionPlusWindow = lastPositionPlusWindow;
-            this.timeOfLastStatusMessageNs = timeNs;
-            this.receiverId = receiverId;
-            this.address = receiverAddress;
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.collections.Long2ObjectHashMap;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+
+/**
+ * Tracks the receivers of a multicast publication so a {@link FlowControl} strategy can find the minimum position,
+ * minimum limit, and timed out receivers without scanning all the receivers.
+ * <p>
+ * Receivers are indexed by receiver id and held in three indexed binary min-heaps ordered by position, by position plus
+ * window, and by time of last Status Message. Each receiver records its index in each heap so an update is a sift in
+ * place. Status Messages are O(log n), the minimums are O(1), and timing out k receivers is O(k log n).
+ */
+final class MulticastReceiverTracker
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Long2ObjectHashMap<Receiver> receiverById = new Long2ObjectHashMap<>();
+    private final Heap positionHeap = new Heap(Heap.POSITION);
+    private final Heap limitHeap = new Heap(Heap.LIMIT);
+    private final Heap timeHeap = new Heap(Heap.TIME);
+
+    /**
+     * Update the tracking of a receiver from a Status Message, adding it if not already tracked.
+     *
+     * @param receiverId      of the receiver which sent the Status Message.
+     * @param position        of the receiver from the Status Message.
+     * @param windowLength    of the receiver from the Status Message.
+     * @param timeNs          the Status Message was received.
+     * @param receiverAddress from which the Status Message was received.
+     */
+    void onStatusMessage(
+        final long receiverId,
+        final long position,
+        final long windowLength,
+        final long timeNs,
+        final InetSocketAddress receiverAddress)
+    {
+        final Receiver receiver = receiverById.get(receiverId);
+        if (null == receiver)
+        {
+            final Receiver newReceiver = new Receiver(
+                position, position + windowLength, timeNs, receiverId, receiverAddress);
+            receiverById.put(receiverId, newReceiver);
+            positionHeap.add(newReceiver);
+            limitHeap.add(newReceiver);
+            timeHeap.add(newReceiver);
+        }
+        else
+        {
+            final long lastPosition = receiver.lastPosition;
+            final long lastPositionPlusWindow = receiver.lastPositionPlusWindow;
+
+            receiver.lastPosition = Math.max(position, lastPosition);
+            receiver.lastPositionPlusWindow = position + windowLength;
+            receiver.timeOfLastStatusMessageNs = timeNs;
+
+            if (receiver.lastPosition != lastPosition)
+            {
+                positionHeap.siftDown(receiver.positionIndex);
+            }
+
+            if (receiver.lastPositionPlusWindow < lastPositionPlusWindow)
+            {
+                limitHeap.siftUp(receiver.limitIndex);
+            }
+            else if (receiver.lastPositionPlusWindow > lastPositionPlusWindow)
+            {
+                limitHeap.siftDown(receiver.limitIndex);
+            }
+
+            timeHeap.siftDown(receiver.timeIndex);
+        }
+    }
+
+    /**
+     * Stop tracking receivers which have not sent a Status Message within the timeout.
+     *
+     * @param timeNs    current time.
+     * @param timeoutNs after the last Status Message when a receiver is no longer tracked.
+     * @return the number of receivers which have been removed.
+     */
+    int removeTimedOut(final long timeNs, final long timeoutNs)
+    {
+        int removed = 0;
+        Receiver receiver;
+        while (null != (receiver = timeHeap.peek()) && (receiver.timeOfLastStatusMessageNs + timeoutNs) - timeNs < 0)
+        {
+            timeHeap.remove(receiver.timeIndex);
+            positionHeap.remove(receiver.positionIndex);
+            limitHeap.remove(receiver.limitIndex);
+            receiverById.remove(receiver.receiverId);
+            removed++;
+        }
+
+        return removed;
+    }
+
+    /**
+     * Number of receivers being tracked.
+     *
+     * @return number of receivers being tracked.
+     */
+    int size()
+    {
+        return receiverById.size();
+    }
+
+    /**
+     * Minimum position of the tracked receivers.
+     *
+     * @return minimum position of the tracked receivers or {@link Long#MAX_VALUE} if none are tracked.
+     */
+    long minPosition()
+    {
+        final Receiver receiver = positionHeap.peek();
+
+        return null != receiver ? receiver.lastPosition : Long.MAX_VALUE;
+    }
+
+    /**
+     * Minimum position plus window of the tracked receivers.
+     *
+     * @return minimum position plus window of the tracked receivers or {@link Long#MAX_VALUE} if none are tracked.
+     */
+    long minLimitPosition()
+    {
+        final Receiver receiver = limitHeap.peek();
+
+        return null != receiver ? receiver.lastPositionPlusWindow : Long.MAX_VALUE;
+    }
+
+    static final class Receiver
+    {
+        long lastPosition;
+        long lastPositionPlusWindow;
+        long timeOfLastStatusMessageNs;
+        int positionIndex;
+        int limitIndex;
+        int timeIndex;
+        final long receiverId;
+        final InetSocketAddress address;
+
+        Receiver(
+            final long lastPosition,
+            final long lastPositionPlusWindow,
+            final long timeNs,
+            final long receiverId,
+            final InetSocketAddress receiverAddress)
+        {
+            this.lastPosition = lastPosition;
+            this.lastPositionPlusWindow = lastPositionPlusWindow;
+            this.timeOfLastStatusMessageNs = timeNs;
+            this.receiverId = receiverId;
+            this.address = receiverAddress;
+        }
+    }
+
+    static final class Heap
+    {
+        static final int POSITION = 0;
+        static final int LIMIT = 1;
+        static final int TIME = 2;
+
+        private final int keyType;
+        private Receiver[] receivers = new Receiver[INITIAL_CAPACITY];
+        private int size;
+
+        Heap(final int keyType)
+        {
+            this.keyType = keyType;
+        }
+
+        Receiver peek()
+        {
+            return size > 0 ? receivers[0] : null;
+        }
+
+        void add(final Receiver receiver)
+        {
+            if (size == receivers.length)
+            {
+                receivers = Arrays.copyOf(receivers, size << 1);
+            }
+
+            set(size, receiver);
+            siftUp(size++);
+        }
+
+        void remove(final int index)
+        {
+            final int lastIndex = --size;
+            final Receiver last = receivers[lastIndex];
+            receivers[lastIndex] = null;
+
+            if (index != lastIndex)
+            {
+                set(index, last);
+                if (!siftUp(index))
+                {
+                    siftDown(index);
+                }
+            }
+        }
+
+        boolean siftUp(final int index)
+        {
+            final Receiver[] receivers = this.receivers;
+            final Receiver receiver = receivers[index];
+            final long key = key(receiver);
+            int i = index;
+
+            while (i > 0)
+            {
+                final int parentIndex = (i - 1) >>> 1;
+                final Receiver parent = receivers[parentIndex];
+                if (key(parent) <= key)
+                {
+                    break;
+                }
+
+                set(i, parent);
+                i = parentIndex;
+            }
+
+            if (i != index)
+            {
+                set(i, receiver);
+                return true;
+            }
+
+            return false;
+        }
+
+        void siftDown(final int index)
+        {
+            final Receiver[] receivers = this.receivers;
+            final int size = this.size;
+            final Receiver receiver = receivers[index];
+            final long key = key(receiver);
+            int i = index;
+
+            while (true)
+            {
+                int childIndex = (i << 1) + 1;
+                if (childIndex >= size)
+                {
+                    break;
+                }
+
+                final int rightIndex = childIndex + 1;
+                if (rightIndex < size && key(receivers[rightIndex]) < key(receivers[childIndex]))
+                {
+                    childIndex = rightIndex;
+                }
+
+                final Receiver child = receivers[childIndex];
+                if (key <= key(child))
+                {
+                    break;
+                }
+
+                set(i, child);
+                i = childIndex;
+            }
+
+            if (i != index)
+            {
+                set(i, receiver);
+            }
+        }
+
+        private long key(final Receiver receiver)
+        {
+            switch (keyType)
+            {
+                case POSITION:
+                    return receiver.lastPosition;
+
+                case LIMIT:
+                    return receiver.lastPositionPlusWindow;
+
+                default:
+                    return receiver.timeOfLastStatusMessageNs;
+            }
+        }
+
+        private void set(final int index, final Receiver receiver)
+        {
+            receivers[index] = receiver;
+            switch (keyType)
+            {
+                case POSITION:
+                    receiver.positionIndex = index;
+                    break;
+
+                case LIMIT:
+                    receiver.limitIndex = index;
+                    break;
+
+                default:
+                    receiver.timeIndex = index;
+                    break;
+            }
+        }
+    }
+}
@@ -18,10 +18,12 @@ package io.aeron.driver;
 import io.aeron.CommonContext;
 import io.aeron.driver.buffer.RawLog;
 import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.driver.status.BucketHistogram;
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.logbuffer.LogBufferUnblocker;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.NakFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
@@ -37,9 +39,11 @@ import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 
+import static io.aeron.driver.Configuration.MAX_UDP_PAYLOAD_LENGTH;
 import static io.aeron.driver.Configuration.PUBLICATION_HEARTBEAT_TIMEOUT_NS;
 import static io.aeron.driver.Configuration.PUBLICATION_SETUP_TIMEOUT_NS;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
+import static io.aeron.logbuffer.FrameDescriptor.frameLengthVolatile;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static io.aeron.logbuffer.TermScanner.*;
 import static io.aeron.protocol.DataHeaderFlyweight.BEGIN_AND_END_FLAGS;
@@ -108,12 +112,14 @@ public class NetworkPublication
     private final int termBufferLength;
     private final int termLengthMask;
     private final int mtuLength;
+    private final int sendBatchLength;
     private final int termWindowLength;
     private final int sessionId;
     private final int streamId;
     private final boolean isExclusive;
     private final boolean spiesSimulateConnection;
     private final boolean signalEos;
+    private final boolean isGsoEnabled;
     private volatile boolean hasReceivers;
     private volatile boolean hasSpies;
     private volatile boolean isConnected;
@@ -123,6 +129,8 @@ public class NetworkPublication
 
     private final UnsafeBuffer[] termBuffers;
     private final ByteBuffer[] sendBuffers;
+    private final int[] sendBatchOffsets;
+    private final int[] sendBatchLengths;
     private final Position publisherPos;
     private final Position publisherLimit;
     private final Position senderPosition;
@@ -140,11 +148,17 @@ public class NetworkPublication
     private final UnsafeBuffer metaDataBuffer;
     private final RawLog rawLog;
     private final AtomicCounter heartbeatsSent;
+    private final AtomicCounter heartbeatDatagramsSent;
     private final AtomicCounter retransmitsSent;
     private final AtomicCounter senderFlowControlLimits;
     private final AtomicCounter senderBpe;
     private final AtomicCounter shortSends;
     private final AtomicCounter unblockedPublications;
+    private final AtomicCounter gsoSends;
+    private final AtomicCounter gsoSegmentsSent;
+    private final BucketHistogram sendBatchHistogram;
+    private final FecEncoder fecEncoder;
+    private final SendPacer sendPacer;
 
     public NetworkPublication(
         final long registrationId,
@@ -162,7 +176,12 @@ public class NetworkPublication
         final int streamId,
         final int initialTermId,
         final int mtuLength,
+        final int sendBatchLength,
+        final boolean isGsoEnabled,
+        final int fecGroupSize,
+        final SendPacer sendPacer,
         final SystemCounters systemCounters,
+        final BucketHistogram sendBatchHistogram,
         final FlowControl flowControl,
         final RetransmitHandler retransmitHandler,
         final NetworkPublicationThreadLocals threadLocals,
@@ -192,6 +211,10 @@ public class NetworkPublication
         this.publisherPos = publisherPos;
         this.publisherLimit = publisherLimit;
         this.mtuLength = mtuLength;
+        this.sendBatchLength = sendBatchLength;
+        this.isGsoEnabled = isGsoEnabled;
+        this.sendBatchHistogram = sendBatchHistogram;
+        this.sendPacer = sendPacer;
         this.initialTermId = initialTermId;
         this.sessionId = sessionId;
         this.streamId = streamId;
@@ -208,14 +231,21 @@ public class NetworkPublication
         rttMeasurementHeader = threadLocals.rttMeasurementHeader();
 
         heartbeatsSent = systemCounters.get(HEARTBEATS_SENT);
+        heartbeatDatagramsSent = systemCounters.get(HEARTBEAT_DATAGRAMS_SENT);
         shortSends = systemCounters.get(SHORT_SENDS);
         retransmitsSent = systemCounters.get(RETRANSMITS_SENT);
         senderFlowControlLimits = systemCounters.get(SENDER_FLOW_CONTROL_LIMITS);
         unblockedPublications = systemCounters.get(UNBLOCKED_PUBLICATIONS);
+        gsoSends = systemCounters.get(GSO_SENDS);
+        gsoSegmentsSent = systemCounters.get(GSO_SEGMENTS_SENT);
         this.senderBpe = senderBpe;
+        fecEncoder = fecGroupSize > 0 ? new FecEncoder(
+            fecGroupSize, mtuLength, sessionId, streamId, systemCounters.get(FEC_PARITY_SENT), shortSends) : null;
 
         termBuffers = rawLog.termBuffers();
         sendBuffers = rawLog.sliceTerms();
+        sendBatchOffsets = new int[sendBatchLength];
+        sendBatchLengths = new int[sendBatchLength];
 
         final int termLength = rawLog.termLength();
         termBufferLength = termLength;
@@ -247,6 +277,12 @@ public class NetworkPublication
         senderPosition.close();
         senderLimit.close();
         senderBpe.close();
+        flowControl.close();
+        if (null != sendPacer)
+        {
+            sendPacer.close();
+        }
+
         for (final ReadablePosition position : spyPositions)
         {
             position.close();
@@ -304,6 +340,11 @@ public class NetworkPublication
 
         if (0 == bytesSent)
         {
+            if (null != fecEncoder)
+            {
+                fecEncoder.flush(channelEndpoint);
+            }
+
             final boolean isEndOfStream = this.isEndOfStream;
             bytesSent = heartbeatMessageCheck(nowNs, activeTermId, termOffset, signalEos && isEndOfStream);
 
@@ -383,7 +424,7 @@ public class NetworkPublication
             }
             while (remainingBytes > 0);
 
-            retransmitsSent.incrementOrdered();
+            retransmitsSent.increment();
         }
     }
 
@@ -436,6 +477,17 @@ public class NetworkPublication
         retransmitHandler.onNak(termId, termOffset, length, termBufferLength, this);
     }
 
+    /**
+     * Called from the {@link Sender} on receipt of a NAK which may carry a number of ranges of missing data.
+     *
+     * @param msg        containing the ranges.
+     * @param rangeCount number of ranges in the message which were received.
+     */
+    public void onNak(final NakFlyweight msg, final int rangeCount)
+    {
+        retransmitHandler.onNak(msg, rangeCount, termBufferLength, this);
+    }
+
     public void onStatusMessage(final StatusMessageFlyweight msg, final InetSocketAddress srcAddress)
     {
         if (!hasReceivers)
@@ -544,39 +596,232 @@ public class NetworkPublication
 
     private int sendData(final long nowNs, final long senderPosition, final int termOffset)
     {
-        int bytesSent = 0;
         final int availableWindow = (int)(senderLimit.get() - senderPosition);
         if (availableWindow > 0)
         {
-            final int scanLimit = Math.min(availableWindow, mtuLength);
-            final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
+            if (null != sendPacer)
+            {
+                return sendDataPaced(nowNs, senderPosition, termOffset, availableWindow);
+            }
 
-            final long scanOutcome = scanForAvailability(termBuffers[activeIndex], termOffset, scanLimit);
-            final int available = available(scanOutcome);
-            if (available > 0)
+            return sendDataWithinWindow(nowNs, senderPosition, termOffset, availableWindow);
+        }
+        else if (trackSenderLimits)
+        {
+            trackSenderLimits = false;
+            senderBpe.incrementOrdered();
+            senderFlowControlLimits.increment();
+        }
+
+        return 0;
+    }
+
+    private int sendDataPaced(
+        final long nowNs, final long senderPosition, final int termOffset, final int availableWindow)
+    {
+        final int pacingWindow = sendPacer.availableBytes(nowNs);
+        int bytesSent = 0;
+
+        if (pacingWindow > 0)
+        {
+            bytesSent = sendDataWithinWindow(
+                nowNs, senderPosition, termOffset, Math.min(availableWindow, pacingWindow));
+        }
+
+        if (bytesSent > 0)
+        {
+            sendPacer.onBytesSent(bytesSent);
+        }
+        else if (pacingWindow < availableWindow &&
+            0 != frameLengthVolatile(termBuffers[indexByPosition(senderPosition, positionBitsToShift)], termOffset))
+        {
+            sendPacer.onDelay();
+        }
+
+        return bytesSent;
+    }
+
+    private int sendDataWithinWindow(
+        final long nowNs, final long senderPosition, final int termOffset, final int availableWindow)
+    {
+        if (isGsoEnabled)
+        {
+            return sendDataSegmented(nowNs, senderPosition, termOffset, availableWindow);
+        }
+
+        if (sendBatchLength > 1)
+        {
+            return sendDataBatch(nowNs, senderPosition, termOffset, availableWindow);
+        }
+
+        int bytesSent = 0;
+        final int scanLimit = Math.min(availableWindow, mtuLength);
+        final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
+
+        final long scanOutcome = scanForAvailability(termBuffers[activeIndex], termOffset, scanLimit);
+        final int available = available(scanOutcome);
+        if (available > 0)
+        {
+            final ByteBuffer sendBuffer = sendBuffers[activeIndex];
+            sendBuffer.limit(termOffset + available).position(termOffset);
+
+            if (available == channelEndpoint.send(sendBuffer))
             {
-                final ByteBuffer sendBuffer = sendBuffers[activeIndex];
-                sendBuffer.limit(termOffset + available).position(termOffset);
+                timeOfLastSendOrHeartbeatNs = nowNs;
+                trackSenderLimits = true;
 
-                if (available == channelEndpoint.send(sendBuffer))
-                {
-                    timeOfLastSendOrHeartbeatNs = nowNs;
-                    trackSenderLimits = true;
+                bytesSent = available;
+                this.senderPosition.setOrdered(senderPosition + bytesSent + padding(scanOutcome));
 
-                    bytesSent = available;
-                    this.senderPosition.setOrdered(senderPosition + bytesSent + padding(scanOutcome));
+                if (null != fecEncoder)
+                {
+                    fecEncoder.onDatagramSent(termBuffers[activeIndex], termOffset, available, channelEndpoint);
                 }
-                else
+            }
+            else
+            {
+                shortSends.increment();
+            }
+        }
+
+        return bytesSent;
+    }
+
+    private int sendDataBatch(
+        final long nowNs, final long senderPosition, final int termOffset, final int availableWindow)
+    {
+        final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
+        final UnsafeBuffer termBuffer = termBuffers[activeIndex];
+        final int[] offsets = sendBatchOffsets;
+        final int[] lengths = sendBatchLengths;
+
+        int count = 0;
+        int offset = termOffset;
+        int remainingWindow = availableWindow;
+        int trailingPadding = 0;
+
+        while (count < sendBatchLength && remainingWindow > 0 && offset < termBufferLength)
+        {
+            final long scanOutcome = scanForAvailability(termBuffer, offset, Math.min(remainingWindow, mtuLength));
+            final int available = available(scanOutcome);
+            if (available <= 0)
+            {
+                break;
+            }
+
+            offsets[count] = offset;
+            lengths[count] = available;
+            count++;
+
+            trailingPadding = padding(scanOutcome);
+            offset += available + trailingPadding;
+            remainingWindow -= available + trailingPadding;
+
+            if (trailingPadding > 0)
+            {
+                break;
+            }
+        }
+
+        int bytesSent = 0;
+        if (count > 0)
+        {
+            final int datagramsSent = channelEndpoint.sendBatch(sendBuffers[activeIndex], offsets, lengths, count);
+            if (datagramsSent > 0)
+            {
+                timeOfLastSendOrHeartbeatNs = nowNs;
+                trackSenderLimits = true;
+
+                for (int i = 0; i < datagramsSent; i++)
                 {
-                    shortSends.increment();
+                    bytesSent += lengths[i];
+                    if (null != fecEncoder)
+                    {
+                        fecEncoder.onDatagramSent(termBuffer, offsets[i], lengths[i], channelEndpoint);
+                    }
                 }
+
+                final int paddingSent = datagramsSent == count ? trailingPadding : 0;
+                this.senderPosition.setOrdered(senderPosition + bytesSent + paddingSent);
+                sendBatchHistogram.record(datagramsSent);
+            }
+
+            if (datagramsSent < count)
+            {
+                shortSends.increment();
             }
         }
-        else if (trackSenderLimits)
+
+        return bytesSent;
+    }
+
+    private int sendDataSegmented(
+        final long nowNs, final long senderPosition, final int termOffset, final int availableWindow)
+    {
+        final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
+        final UnsafeBuffer termBuffer = termBuffers[activeIndex];
+        final int runLimit = Math.min(availableWindow, MAX_UDP_PAYLOAD_LENGTH);
+
+        int segmentLength = 0;
+        int runLength = 0;
+        int offset = termOffset;
+        int trailingPadding = 0;
+
+        while (runLength < runLimit && offset < termBufferLength)
         {
-            trackSenderLimits = false;
-            senderBpe.incrementOrdered();
-            senderFlowControlLimits.incrementOrdered();
+            final long scanOutcome = scanForAvailability(termBuffer, offset, Math.min(runLimit - runLength, mtuLength));
+            final int available = available(scanOutcome);
+            if (available <= 0 || (segmentLength > 0 && available > segmentLength))
+            {
+                break;
+            }
+
+            if (0 == segmentLength)
+            {
+                segmentLength = available;
+            }
+
+            runLength += available;
+            trailingPadding = padding(scanOutcome);
+            offset += available + trailingPadding;
+
+            if (trailingPadding > 0 || available < segmentLength)
+            {
+                break;
+            }
+        }
+
+        int bytesSent = 0;
+        if (runLength > 0)
+        {
+            final ByteBuffer sendBuffer = sendBuffers[activeIndex];
+            sendBuffer.limit(termOffset + runLength).position(termOffset);
+
+            bytesSent = channelEndpoint.sendSegmented(sendBuffer, segmentLength);
+            if (bytesSent > 0)
+            {
+                timeOfLastSendOrHeartbeatNs = nowNs;
+                trackSenderLimits = true;
+
+                final int paddingSent = bytesSent == runLength ? trailingPadding : 0;
+                this.senderPosition.setOrdered(senderPosition + bytesSent + paddingSent);
+                gsoSends.increment();
+                gsoSegmentsSent.getAndAdd((bytesSent + segmentLength - 1) / segmentLength);
+
+                if (null != fecEncoder)
+                {
+                    for (int segmentOffset = 0; segmentOffset < bytesSent; segmentOffset += segmentLength)
+                    {
+                        final int length = Math.min(segmentLength, bytesSent - segmentOffset);
+                        fecEncoder.onDatagramSent(termBuffer, termOffset + segmentOffset, length, channelEndpoint);
+                    }
+                }
+            }
+
+            if (bytesSent < runLength)
+            {
+                shortSends.increment();
+            }
         }
 
         return bytesSent;
@@ -627,14 +872,22 @@ public class NetworkPublication
                 .termOffset(termOffset)
                 .flags((byte)(signalEos ? BEGIN_END_AND_EOS_FLAGS : BEGIN_AND_END_FLAGS));
 
-            bytesSent = channelEndpoint.send(heartbeatBuffer);
-            if (DataHeaderFlyweight.HEADER_LENGTH != bytesSent)
+            if (channelEndpoint.isHeartbeatCoalescingEnabled())
             {
-                shortSends.increment();
+                bytesSent = channelEndpoint.sendHeartbeat(heartbeatBuffer, mtuLength);
+            }
+            else
+            {
+                bytesSent = channelEndpoint.send(heartbeatBuffer);
+                if (DataHeaderFlyweight.HEADER_LENGTH != bytesSent)
+                {
+                    shortSends.increment();
+                }
+                heartbeatDatagramsSent.increment();
             }
 
             timeOfLastSendOrHeartbeatNs = nowNs;
-            heartbeatsSent.incrementOrdered();
+            heartbeatsSent.increment();
         }
 
         return bytesSent;
@@ -856,6 +1109,11 @@ public class NetworkPublication
         return hasSenderReleased;
     }
 
+    public long timeEventDeadlineNs(final long timeNs, final long pollIntervalNs)
+    {
+        return State.LINGER == state ? timeOfLastActivityNs + lingerTimeoutNs + 1 : timeNs + pollIntervalNs;
+    }
+
     public void decRef()
     {
         if (0 == --refCount)
@@ -25,7 +25,9 @@ import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.logbuffer.TermRebuilder;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
+import org.agrona.BitUtil;
 import org.agrona.collections.ArrayListUtil;
 import org.agrona.collections.ArrayUtil;
 import org.agrona.concurrent.EpochClock;
@@ -36,7 +38,9 @@ import org.agrona.concurrent.status.Position;
 import org.agrona.concurrent.status.ReadablePosition;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static io.aeron.driver.LossDetector.lossFound;
 import static io.aeron.driver.LossDetector.rebuildOffset;
@@ -44,7 +48,15 @@ import static io.aeron.driver.PublicationImage.State.ACTIVE;
 import static io.aeron.driver.PublicationImage.State.INIT;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.logbuffer.TermGapFiller.tryFillGap;
+import static io.aeron.protocol.DataHeaderFlyweight.SESSION_ID_FIELD_OFFSET;
+import static io.aeron.protocol.DataHeaderFlyweight.STREAM_ID_FIELD_OFFSET;
+import static io.aeron.protocol.DataHeaderFlyweight.TERM_ID_FIELD_OFFSET;
+import static io.aeron.protocol.DataHeaderFlyweight.TERM_OFFSET_FIELD_OFFSET;
+import static io.aeron.protocol.HeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.UnsafeAccess.UNSAFE;
 
 class PublicationImagePadding1
@@ -96,16 +108,21 @@ public class PublicationImage
     private volatile long beginLossChange = Aeron.NULL_VALUE;
     private volatile long endLossChange = Aeron.NULL_VALUE;
     private int lossTermId;
-    private int lossTermOffset;
-    private int lossLength;
+    private int lossCount;
+    private final int[] lossTermOffsets = new int[Configuration.NAK_MAX_RANGES];
+    private final int[] lossLengths = new int[Configuration.NAK_MAX_RANGES];
 
     private volatile long beginSmChange = Aeron.NULL_VALUE;
     private volatile long endSmChange = Aeron.NULL_VALUE;
     private long nextSmPosition;
     private int nextSmReceiverWindowLength;
     private long timeOfLastStatusMessageScheduleNs;
+    private long statusMessageDelayDeadlineNs = Aeron.NULL_VALUE;
+    private boolean isStatusMessageSuppressed;
 
     private long lastLossChangeNumber = Aeron.NULL_VALUE;
+    private final int[] nakTermOffsets = new int[Configuration.NAK_MAX_RANGES];
+    private final int[] nakLengths = new int[Configuration.NAK_MAX_RANGES];
     private long lastSmChangeNumber = Aeron.NULL_VALUE;
     private long lastSmPosition;
     private long lastSmWindowLimit;
@@ -116,12 +133,14 @@ public class PublicationImage
     private final long imageLivenessTimeoutNs;
     private final long untetheredWindowLimitTimeoutNs;
     private final long untetheredRestingTimeoutNs;
+    private final long statusMessageSuppressionDelayNs;
     private final int sessionId;
     private final int streamId;
     private final int positionBitsToShift;
     private final int termLengthMask;
     private final int initialTermId;
     private final boolean isReliable;
+    private final StatusMessageSuppression statusMessageSuppression;
 
     private boolean isTrackingRebuild = true;
     private volatile State state = INIT;
@@ -132,6 +151,10 @@ public class PublicationImage
     private final UnsafeBuffer[] termBuffers;
     private final Position hwmPosition;
     private final LossDetector lossDetector;
+    private int stagedLossTermId;
+    private int stagedLossCount;
+    private final int[] stagedLossTermOffsets = new int[Configuration.NAK_MAX_RANGES];
+    private final int[] stagedLossLengths = new int[Configuration.NAK_MAX_RANGES];
     private final CongestionControl congestionControl;
     private final Position rebuildPosition;
     private final InetSocketAddress sourceAddress;
@@ -141,6 +164,11 @@ public class PublicationImage
     private final AtomicCounter flowControlUnderRuns;
     private final AtomicCounter flowControlOverRuns;
     private final AtomicCounter lossGapFills;
+    private final AtomicCounter fecRecovered;
+    private final AtomicCounter fecUnrecoverable;
+    private final AtomicCounter retransmitRecovered;
+    private final AtomicCounter statusMessagesSuppressed;
+    private UnsafeBuffer fecRecoveryBuffer;
     private final EpochClock cachedEpochClock;
     private final RawLog rawLog;
 
@@ -168,7 +196,9 @@ public class PublicationImage
         final SystemCounters systemCounters,
         final InetSocketAddress sourceAddress,
         final CongestionControl congestionControl,
-        final LossReport lossReport)
+        final LossReport lossReport,
+        final StatusMessageSuppression statusMessageSuppression,
+        final long statusMessageSuppressionDelayNs)
     {
         this.correlationId = correlationId;
         this.imageLivenessTimeoutNs = imageLivenessTimeoutNs;
@@ -184,6 +214,8 @@ public class PublicationImage
         this.initialTermId = initialTermId;
         this.congestionControl = congestionControl;
         this.lossReport = lossReport;
+        this.statusMessageSuppression = statusMessageSuppression;
+        this.statusMessageSuppressionDelayNs = statusMessageSuppressionDelayNs;
 
         this.nanoClock = nanoClock;
         this.cachedNanoClock = cachedNanoClock;
@@ -202,6 +234,10 @@ public class PublicationImage
         flowControlUnderRuns = systemCounters.get(FLOW_CONTROL_UNDER_RUNS);
         flowControlOverRuns = systemCounters.get(FLOW_CONTROL_OVER_RUNS);
         lossGapFills = systemCounters.get(LOSS_GAP_FILLS);
+        fecRecovered = systemCounters.get(FEC_RECOVERED);
+        fecUnrecoverable = systemCounters.get(FEC_UNRECOVERABLE);
+        retransmitRecovered = systemCounters.get(RETRANSMIT_RECOVERED);
+        statusMessagesSuppressed = systemCounters.get(STATUS_MESSAGES_SUPPRESSED);
 
         imageConnections = ArrayUtil.ensureCapacity(imageConnections, transportIndex + 1);
         imageConnections[transportIndex] = new ImageConnection(nowNs, controlAddress);
@@ -333,20 +369,23 @@ public class PublicationImage
 
     /**
      * Called from the {@link LossDetector} when gap is detected by the {@link DriverConductor} thread.
+     * <p>
+     * Gaps detected in the same scan are staged and then published together once the scan is complete so the
+     * {@link Receiver} can send them in a single NAK.
      *
      * {@inheritDoc}
      */
     public void onGapDetected(final int termId, final int termOffset, final int length)
     {
-        final long changeNumber = beginLossChange + 1;
-
-        beginLossChange = changeNumber;
-
-        lossTermId = termId;
-        lossTermOffset = termOffset;
-        lossLength = length;
+        if (stagedLossCount > 0 && (stagedLossTermId != termId || stagedLossCount == stagedLossTermOffsets.length))
+        {
+            publishStagedLoss();
+        }
 
-        endLossChange = changeNumber;
+        final int index = stagedLossCount++;
+        stagedLossTermId = termId;
+        stagedLossTermOffsets[index] = termOffset;
+        stagedLossLengths[index] = length;
 
         if (null != reportEntry)
         {
@@ -364,6 +403,22 @@ public class PublicationImage
         }
     }
 
+    private void publishStagedLoss()
+    {
+        final long changeNumber = beginLossChange + 1;
+
+        beginLossChange = changeNumber;
+
+        lossTermId = stagedLossTermId;
+        lossCount = stagedLossCount;
+        System.arraycopy(stagedLossTermOffsets, 0, lossTermOffsets, 0, stagedLossCount);
+        System.arraycopy(stagedLossLengths, 0, lossLengths, 0, stagedLossCount);
+
+        endLossChange = changeNumber;
+
+        stagedLossCount = 0;
+    }
+
     /**
      * The address of the source associated with the image.
      *
@@ -478,6 +533,11 @@ public class PublicationImage
             positionBitsToShift,
             initialTermId);
 
+        if (stagedLossCount > 0)
+        {
+            publishStagedLoss();
+        }
+
         final int rebuildTermOffset = (int)rebuildPosition & termLengthMask;
         final long newRebuildPosition = (rebuildPosition - rebuildTermOffset) + rebuildOffset(scanOutcome);
         this.rebuildPosition.proposeMaxOrdered(newRebuildPosition);
@@ -496,7 +556,8 @@ public class PublicationImage
 
         if (CongestionControl.shouldForceStatusMessage(ccOutcome) ||
             ((timeOfLastStatusMessageScheduleNs + statusMessageTimeoutNs) - nowNs < 0) ||
-            (minSubscriberPosition > (nextSmPosition + threshold)))
+            ((minSubscriberPosition > (nextSmPosition + threshold)) &&
+            !shouldSuppressStatusMessage(nowNs, hwmPosition, threshold)))
         {
             scheduleStatusMessage(nowNs, minSubscriberPosition, windowLength);
             cleanBufferTo(minSubscriberPosition - (termLengthMask + 1));
@@ -542,6 +603,129 @@ public class PublicationImage
         final int length,
         final int transportIndex,
         final InetSocketAddress srcAddress)
+    {
+        final long packetPosition = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+        final AtomicCounter gapFillCounter = packetPosition < hwmPosition.get() ? retransmitRecovered : null;
+
+        return insertPacket(termId, termOffset, buffer, length, transportIndex, srcAddress, gapFillCounter);
+    }
+
+    /**
+     * Called from the {@link Receiver} on receipt of a forward error correction parity frame to recover a datagram
+     * of the group it covers when only one datagram of the group is missing from the term.
+     *
+     * @param header         of the parity frame.
+     * @param buffer         containing the parity frame.
+     * @param length         of the parity frame.
+     * @param transportIndex which the packet came from.
+     * @param srcAddress     which the packet came from.
+     * @return number of bytes of the recovered datagram applied, or 0 if none could be recovered.
+     */
+    int onFecPacket(
+        final FecFlyweight header,
+        final UnsafeBuffer buffer,
+        final int length,
+        final int transportIndex,
+        final InetSocketAddress srcAddress)
+    {
+        final int datagramCount = header.datagramCount();
+        final int payloadLength = header.payloadLength();
+        final int payloadOffset = length - payloadLength;
+
+        if (datagramCount < 1 ||
+            datagramCount > FecFlyweight.MAX_GROUP_SIZE ||
+            payloadLength <= 0 ||
+            payloadOffset < FecFlyweight.HEADER_LENGTH + (datagramCount * SIZE_OF_INT))
+        {
+            return 0;
+        }
+
+        final int termId = header.termId();
+        final int groupTermOffset = header.termOffset();
+        final int termLength = termLengthMask + 1;
+        final long groupPosition = computePosition(termId, groupTermOffset, positionBitsToShift, initialTermId);
+        final long rebuildPosition = this.rebuildPosition.get();
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(groupPosition, positionBitsToShift)];
+
+        int missingCount = 0;
+        int missingIndex = 0;
+        int missingTermOffset = 0;
+        int termOffset = groupTermOffset;
+
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int datagramLength = header.datagramLength(i);
+            if (datagramLength <= 0 || datagramLength > payloadLength || termOffset + datagramLength > termLength)
+            {
+                return 0;
+            }
+
+            if (0 == termBuffer.getInt(termOffset))
+            {
+                missingCount++;
+                missingIndex = i;
+                missingTermOffset = termOffset;
+            }
+
+            termOffset += datagramLength;
+        }
+
+        final long groupEndPosition = groupPosition + (termOffset - groupTermOffset);
+        if (0 == missingCount || groupEndPosition <= rebuildPosition || groupEndPosition > rebuildPosition + termLength)
+        {
+            return 0;
+        }
+
+        if (missingCount > 1)
+        {
+            fecUnrecoverable.increment();
+            return 0;
+        }
+
+        UnsafeBuffer recoveryBuffer = fecRecoveryBuffer;
+        if (null == recoveryBuffer || recoveryBuffer.capacity() < payloadLength)
+        {
+            recoveryBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(BitUtil.align(payloadLength, FRAME_ALIGNMENT)));
+            fecRecoveryBuffer = recoveryBuffer;
+        }
+
+        recoveryBuffer.putBytes(0, buffer, payloadOffset, payloadLength);
+
+        termOffset = groupTermOffset;
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int datagramLength = header.datagramLength(i);
+            if (i != missingIndex)
+            {
+                FecEncoder.xor(recoveryBuffer, 0, termBuffer, termOffset, datagramLength);
+            }
+
+            termOffset += datagramLength;
+        }
+
+        final int missingLength = header.datagramLength(missingIndex);
+        if (recoveryBuffer.getInt(FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN) <= 0 ||
+            recoveryBuffer.getInt(TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN) != missingTermOffset ||
+            recoveryBuffer.getInt(TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN) != termId ||
+            recoveryBuffer.getInt(SESSION_ID_FIELD_OFFSET, LITTLE_ENDIAN) != sessionId ||
+            recoveryBuffer.getInt(STREAM_ID_FIELD_OFFSET, LITTLE_ENDIAN) != streamId)
+        {
+            fecUnrecoverable.increment();
+            return 0;
+        }
+
+        return insertPacket(
+            termId, missingTermOffset, recoveryBuffer, missingLength, transportIndex, srcAddress, fecRecovered);
+    }
+
+    private int insertPacket(
+        final int termId,
+        final int termOffset,
+        final UnsafeBuffer buffer,
+        final int length,
+        final int transportIndex,
+        final InetSocketAddress srcAddress,
+        final AtomicCounter gapFillCounter)
     {
         final boolean isHeartbeat = DataHeaderFlyweight.isHeartbeat(buffer, length);
         final long packetPosition = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
@@ -559,11 +743,16 @@ public class PublicationImage
                     isEndOfStream = true;
                 }
 
-                heartbeatsReceived.incrementOrdered();
+                heartbeatsReceived.increment();
             }
             else
             {
                 final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
+                if (null != gapFillCounter && 0 == termBuffer.getInt(termOffset))
+                {
+                    gapFillCounter.increment();
+                }
+
                 TermRebuilder.insert(termBuffer, termOffset, buffer, length);
             }
 
@@ -621,7 +810,7 @@ public class PublicationImage
                     channelEndpoint.sendStatusMessage(
                         imageConnections, sessionId, streamId, termId, termOffset, receiverWindowLength, (byte)0);
 
-                    statusMessagesSent.incrementOrdered();
+                    statusMessagesSent.increment();
 
                     lastSmPosition = smPosition;
                     lastSmWindowLimit = smPosition + receiverWindowLength;
@@ -648,8 +837,9 @@ public class PublicationImage
         if (changeNumber != lastLossChangeNumber)
         {
             final int termId = lossTermId;
-            final int termOffset = lossTermOffset;
-            final int length = lossLength;
+            final int count = Math.min(lossCount, nakTermOffsets.length);
+            System.arraycopy(lossTermOffsets, 0, nakTermOffsets, 0, count);
+            System.arraycopy(lossLengths, 0, nakLengths, 0, count);
 
             UNSAFE.loadFence();
 
@@ -657,15 +847,19 @@ public class PublicationImage
             {
                 if (isReliable)
                 {
-                    channelEndpoint.sendNakMessage(imageConnections, sessionId, streamId, termId, termOffset, length);
-                    nakMessagesSent.incrementOrdered();
+                    channelEndpoint.sendNakMessage(
+                        imageConnections, sessionId, streamId, termId, nakTermOffsets, nakLengths, count);
+                    nakMessagesSent.increment();
                 }
                 else
                 {
                     final UnsafeBuffer termBuffer = termBuffers[indexByTerm(initialTermId, termId)];
-                    if (tryFillGap(rawLog.metaData(), termBuffer, termId, termOffset, length))
+                    for (int i = 0; i < count; i++)
                     {
-                        lossGapFills.incrementOrdered();
+                        if (tryFillGap(rawLog.metaData(), termBuffer, termId, nakTermOffsets[i], nakLengths[i]))
+                        {
+                            lossGapFills.increment();
+                        }
                     }
                 }
 
@@ -778,6 +972,19 @@ public class PublicationImage
         return State.DONE == state;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public long timeEventDeadlineNs(final long timeNs, final long pollIntervalNs)
+    {
+        return State.LINGER == state ? timeOfLastStateChangeNs + imageLivenessTimeoutNs + 1 : timeNs + pollIntervalNs;
+    }
+
+    State state()
+    {
+        return state;
+    }
+
     private boolean isDrained()
     {
         final long rebuildPosition = this.rebuildPosition.get();
@@ -799,7 +1006,7 @@ public class PublicationImage
 
         if (isFlowControlUnderRun)
         {
-            flowControlUnderRuns.incrementOrdered();
+            flowControlUnderRuns.increment();
         }
 
         return isFlowControlUnderRun;
@@ -811,7 +1018,7 @@ public class PublicationImage
 
         if (isFlowControlOverRun)
         {
-            flowControlOverRuns.incrementOrdered();
+            flowControlOverRuns.increment();
         }
 
         return isFlowControlOverRun;
@@ -873,8 +1080,43 @@ public class PublicationImage
         this.state = state;
     }
 
+    private boolean shouldSuppressStatusMessage(final long nowNs, final long hwmPosition, final int threshold)
+    {
+        final boolean shouldSuppress;
+        switch (statusMessageSuppression)
+        {
+            case LIMIT:
+                shouldSuppress = hwmPosition < ((nextSmPosition + nextSmReceiverWindowLength) - threshold);
+                break;
+
+            case DELAY:
+                if (Aeron.NULL_VALUE == statusMessageDelayDeadlineNs)
+                {
+                    statusMessageDelayDeadlineNs =
+                        nowNs + ThreadLocalRandom.current().nextLong(statusMessageSuppressionDelayNs + 1);
+                }
+                shouldSuppress = statusMessageDelayDeadlineNs - nowNs > 0;
+                break;
+
+            default:
+                shouldSuppress = false;
+                break;
+        }
+
+        if (shouldSuppress && !isStatusMessageSuppressed)
+        {
+            isStatusMessageSuppressed = true;
+            statusMessagesSuppressed.incrementOrdered();
+        }
+
+        return shouldSuppress;
+    }
+
     private void scheduleStatusMessage(final long nowNs, final long smPosition, final int receiverWindowLength)
     {
+        isStatusMessageSuppressed = false;
+        statusMessageDelayDeadlineNs = Aeron.NULL_VALUE;
+
         final long changeNumber = beginSmChange + 1;
         beginSmChange = changeNumber;
 
@@ -32,6 +32,7 @@ public class PublicationLink implements DriverManagedResource
 
         this.publication = publication;
         publication.incRef();
+        client.addLink(registrationId);
     }
 
     public PublicationLink(final long registrationId, final AeronClient client, final IpcPublication publication)
@@ -41,10 +42,13 @@ public class PublicationLink implements DriverManagedResource
 
         this.publication = publication;
         publication.incRef();
+        client.addLink(registrationId);
     }
 
     public void close()
     {
+        client.removeLink(registrationId);
+
         if (publication instanceof NetworkPublication)
         {
             ((NetworkPublication)publication).decRef();
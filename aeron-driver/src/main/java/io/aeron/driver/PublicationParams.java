@@ -19,6 +19,7 @@ import io.aeron.driver.buffer.RawLog;
 import io.aeron.ChannelUri;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.FecFlyweight;
 import org.agrona.SystemUtil;
 
 import static io.aeron.ChannelUri.INVALID_TAG;
@@ -30,6 +31,7 @@ final class PublicationParams
     long entityTag = ChannelUri.INVALID_TAG;
     int termLength;
     int mtuLength;
+    int sendBatchLength;
     int initialTermId = 0;
     int termId = 0;
     int termOffset = 0;
@@ -39,6 +41,9 @@ final class PublicationParams
     boolean isSessionIdTagged = false;
     boolean isSparse;
     boolean signalEos = true;
+    boolean isGsoEnabled;
+    int fecGroupSize;
+    long pacingRate;
 
     static PublicationParams getPublicationParams(
         final MediaDriver.Context context,
@@ -56,6 +61,14 @@ final class PublicationParams
         params.getLingerTimeoutNs(channelUri);
         params.getSparse(channelUri);
         params.getEos(channelUri);
+        params.getSendBatchLength(channelUri);
+        params.getGso(channelUri);
+
+        if (!isIpc)
+        {
+            params.getFecGroupSize(channelUri);
+            params.getPacingRate(channelUri);
+        }
 
         if (isExclusive)
         {
@@ -122,6 +135,10 @@ final class PublicationParams
         mtuLength = isIpc ? context.ipcMtuLength() : context.mtuLength();
         lingerTimeoutNs = context.publicationLingerTimeoutNs();
         isSparse = context.termBufferSparseFile();
+        sendBatchLength = context.sendBatchLength();
+        isGsoEnabled = context.gsoEnabled();
+        fecGroupSize = isIpc ? 0 : context.fecGroupSize();
+        pacingRate = isIpc ? 0 : context.pacingRate();
     }
 
     private void getEntityTag(final ChannelUri channelUri, final DriverConductor driverConductor)
@@ -159,6 +176,53 @@ final class PublicationParams
         }
     }
 
+    private void getSendBatchLength(final ChannelUri channelUri)
+    {
+        final String sendBatchLengthParam = channelUri.get(SEND_BATCH_LENGTH_PARAM_NAME);
+        if (null != sendBatchLengthParam)
+        {
+            final int sendBatchLength = Integer.parseInt(sendBatchLengthParam);
+            Configuration.validateSendBatchLength(sendBatchLength);
+            this.sendBatchLength = sendBatchLength;
+        }
+    }
+
+    private void getGso(final ChannelUri channelUri)
+    {
+        final String gsoStr = channelUri.get(GSO_PARAM_NAME);
+        if (null != gsoStr)
+        {
+            isGsoEnabled = "true".equals(gsoStr);
+        }
+    }
+
+    private void getFecGroupSize(final ChannelUri channelUri)
+    {
+        final String fecGroupSizeParam = channelUri.get(FEC_GROUP_SIZE_PARAM_NAME);
+        if (null != fecGroupSizeParam)
+        {
+            final int fecGroupSize = Integer.parseInt(fecGroupSizeParam);
+            Configuration.validateFecGroupSize(fecGroupSize);
+            this.fecGroupSize = fecGroupSize;
+        }
+
+        if (fecGroupSize > 0)
+        {
+            mtuLength -= FecFlyweight.payloadOffset(fecGroupSize);
+        }
+    }
+
+    private void getPacingRate(final ChannelUri channelUri)
+    {
+        final String pacingRateParam = channelUri.get(PACING_RATE_PARAM_NAME);
+        if (null != pacingRateParam)
+        {
+            final long pacingRate = SystemUtil.parseSize(PACING_RATE_PARAM_NAME, pacingRateParam);
+            Configuration.validatePacingRate(pacingRate);
+            this.pacingRate = pacingRate;
+        }
+    }
+
     static void validateMtuForMaxMessage(final PublicationParams params)
     {
         final int termLength = params.termLength;
@@ -19,6 +19,8 @@ import io.aeron.driver.media.DataTransportPoller;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.driver.media.ReceiveDestinationUdpTransport;
 import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.status.DutyCycleTracker;
+import io.aeron.driver.status.PerAgentCounter;
 import org.agrona.CloseHelper;
 import org.agrona.collections.ArrayListUtil;
 import org.agrona.collections.ArrayUtil;
@@ -32,27 +34,60 @@ import java.nio.channels.SelectionKey;
 import java.util.ArrayList;
 
 import static io.aeron.driver.Configuration.PENDING_SETUPS_TIMEOUT_NS;
+import static io.aeron.driver.status.PerAgentCounter.AGENT_BYTES_TYPE_ID;
 import static io.aeron.driver.status.SystemCounterDescriptor.BYTES_RECEIVED;
 
 /**
  * Receiver agent for JVM based media driver, uses an event loop with command buffer
+ * <p>
+ * A driver can have a number of receivers, see {@link MediaDriver.Context#receiverCount()}, with each
+ * {@link ReceiveChannelEndpoint} and the {@link PublicationImage}s on it owned by one receiver for its lifetime.
  */
 public class Receiver implements Agent
 {
+    private final int receiverIndex;
     private final DataTransportPoller dataTransportPoller;
     private final OneToOneConcurrentArrayQueue<Runnable> commandQueue;
+    private final boolean isSoleReceiver;
     private final AtomicCounter totalBytesReceived;
+    private final AtomicCounter bytesReceived;
+    private final DutyCycleTracker dutyCycleTracker;
     private final NanoClock nanoClock;
+    private final NanoClock cachedNanoClock;
     private final ArrayList<PublicationImage> publicationImages = new ArrayList<>();
     private final ArrayList<PendingSetupMessageFromSource> pendingSetupMessages = new ArrayList<>();
+    private final ArrayList<ReceiveChannelEndpoint> controlBatchChannelEndpoints = new ArrayList<>();
     private final DriverConductorProxy conductorProxy;
 
     public Receiver(final MediaDriver.Context ctx)
     {
-        dataTransportPoller = ctx.dataTransportPoller();
-        commandQueue = ctx.receiverCommandQueue();
+        this(ctx, 0, ctx.dataTransportPoller(), ctx.receiverCommandQueue());
+    }
+
+    /**
+     * Construct a receiver which is one of a number sharing the receive channel endpoints of a driver.
+     *
+     * @param ctx                 for the driver.
+     * @param receiverIndex       of the receiver within the driver.
+     * @param dataTransportPoller for the endpoints owned by this receiver.
+     * @param commandQueue        for commands to this receiver.
+     */
+    public Receiver(
+        final MediaDriver.Context ctx,
+        final int receiverIndex,
+        final DataTransportPoller dataTransportPoller,
+        final OneToOneConcurrentArrayQueue<Runnable> commandQueue)
+    {
+        this.receiverIndex = receiverIndex;
+        this.dataTransportPoller = dataTransportPoller;
+        this.commandQueue = commandQueue;
+        isSoleReceiver = 1 == ctx.receiverCount();
         totalBytesReceived = ctx.systemCounters().get(BYTES_RECEIVED);
-        nanoClock = ctx.cachedNanoClock();
+        bytesReceived = PerAgentCounter.allocate(
+            ctx.countersManager(), AGENT_BYTES_TYPE_ID, "Bytes received", "receiver", receiverIndex);
+        dutyCycleTracker = ctx.newDutyCycleTracker("receiver", receiverIndex);
+        nanoClock = ctx.nanoClock();
+        cachedNanoClock = ctx.cachedNanoClock();
         conductorProxy = ctx.driverConductorProxy();
     }
 
@@ -63,15 +98,37 @@ public class Receiver implements Agent
 
     public String roleName()
     {
-        return "receiver";
+        return 0 == receiverIndex ? "receiver" : "receiver-" + receiverIndex;
+    }
+
+    /**
+     * Index of the receiver within the driver.
+     *
+     * @return index of the receiver within the driver.
+     */
+    public int receiverIndex()
+    {
+        return receiverIndex;
     }
 
     public int doWork()
     {
+        final long startNs = cachedNanoClock.nanoTime();
         int workCount = commandQueue.drain(Runnable::run, Configuration.COMMAND_DRAIN_LIMIT);
         final int bytesReceived = dataTransportPoller.pollTransports();
-        totalBytesReceived.getAndAddOrdered(bytesReceived);
-        final long nowNs = nanoClock.nanoTime();
+        if (bytesReceived > 0)
+        {
+            this.bytesReceived.getAndAddOrdered(bytesReceived);
+            if (isSoleReceiver)
+            {
+                totalBytesReceived.getAndAddOrdered(bytesReceived);
+            }
+            else
+            {
+                totalBytesReceived.getAndAdd(bytesReceived);
+            }
+        }
+        final long nowNs = cachedNanoClock.nanoTime();
 
         final ArrayList<PublicationImage> publicationImages = this.publicationImages;
         for (int lastIndex = publicationImages.size() - 1, i = lastIndex; i >= 0; i--)
@@ -90,9 +147,26 @@ public class Receiver implements Agent
             }
         }
 
+        final ArrayList<ReceiveChannelEndpoint> controlBatchChannelEndpoints = this.controlBatchChannelEndpoints;
+        for (int i = 0, size = controlBatchChannelEndpoints.size(); i < size; i++)
+        {
+            workCount += controlBatchChannelEndpoints.get(i).flushControlMessages();
+        }
+
         checkPendingSetupMessages(nowNs);
 
-        return workCount + bytesReceived;
+        workCount += bytesReceived;
+        if (workCount > 0)
+        {
+            dutyCycleTracker.record(nanoClock.nanoTime() - startNs);
+        }
+
+        return workCount;
+    }
+
+    OneToOneConcurrentArrayQueue<Runnable> commandQueue()
+    {
+        return commandQueue;
     }
 
     public void addPendingSetupMessage(
@@ -146,6 +220,11 @@ public class Receiver implements Agent
             channelEndpoint.registerForRead(dataTransportPoller);
             channelEndpoint.indicateActive();
 
+            if (channelEndpoint.isControlBatchingEnabled())
+            {
+                controlBatchChannelEndpoints.add(channelEndpoint);
+            }
+
             if (channelEndpoint.hasExplicitControl())
             {
                 addPendingSetupMessage(
@@ -158,6 +237,7 @@ public class Receiver implements Agent
 
     public void onCloseReceiveChannelEndpoint(final ReceiveChannelEndpoint channelEndpoint)
     {
+        controlBatchChannelEndpoints.remove(channelEndpoint);
         channelEndpoint.closeMultiRcvDestination();
         channelEndpoint.close();
     }
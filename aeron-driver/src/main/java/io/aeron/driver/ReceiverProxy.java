@@ -26,7 +26,10 @@ import static io.aeron.driver.ThreadingMode.INVOKER;
 import static io.aeron.driver.ThreadingMode.SHARED;
 
 /**
- * Proxy for offering into the {@link Receiver} Thread's command queue.
+ * Proxy for offering into the command queue of the {@link Receiver} which owns a {@link ReceiveChannelEndpoint}.
+ * <p>
+ * When the driver has a number of receivers each command is routed to the receiver given by
+ * {@link ReceiveChannelEndpoint#receiverIndex()} so the endpoint and its images are only touched by that receiver.
  */
 public class ReceiverProxy
 {
@@ -34,7 +37,8 @@ public class ReceiverProxy
     private final Queue<Runnable> commandQueue;
     private final AtomicCounter failCount;
 
-    private Receiver receiver;
+    private Receiver[] receivers;
+    private Queue<Runnable>[] commandQueues;
 
     public ReceiverProxy(
         final ThreadingMode threadingMode, final Queue<Runnable> commandQueue, final AtomicCounter failCount)
@@ -46,132 +50,184 @@ public class ReceiverProxy
 
     public void receiver(final Receiver receiver)
     {
-        this.receiver = receiver;
+        receivers = new Receiver[]{ receiver };
+        commandQueues = newCommandQueues(1);
+        commandQueues[0] = commandQueue;
+    }
+
+    /**
+     * Set the receivers for the driver where the receiver at index 0 takes its commands from the queue this proxy
+     * was constructed with.
+     *
+     * @param receivers for the driver in order of their index.
+     */
+    public void receivers(final Receiver[] receivers)
+    {
+        final Queue<Runnable>[] commandQueues = newCommandQueues(receivers.length);
+        commandQueues[0] = commandQueue;
+        for (int i = 1; i < receivers.length; i++)
+        {
+            commandQueues[i] = receivers[i].commandQueue();
+        }
+
+        this.receivers = receivers;
+        this.commandQueues = commandQueues;
     }
 
     public Receiver receiver()
     {
-        return receiver;
+        return receivers[0];
+    }
+
+    /**
+     * Get the receiver for an index.
+     *
+     * @param receiverIndex of the receiver.
+     * @return the receiver for the index.
+     */
+    public Receiver receiver(final int receiverIndex)
+    {
+        return receivers[receiverIndex];
+    }
+
+    /**
+     * Number of receivers commands are routed to.
+     *
+     * @return number of receivers commands are routed to.
+     */
+    public int receiverCount()
+    {
+        return receivers.length;
     }
 
     public void addSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId)
     {
+        final Receiver receiver = receivers[mediaEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onAddSubscription(mediaEndpoint, streamId);
         }
         else
         {
-            offer(() -> receiver.onAddSubscription(mediaEndpoint, streamId));
+            offer(receiver, () -> receiver.onAddSubscription(mediaEndpoint, streamId));
         }
     }
 
     public void addSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId, final int sessionId)
     {
+        final Receiver receiver = receivers[mediaEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onAddSubscription(mediaEndpoint, streamId, sessionId);
         }
         else
         {
-            offer(() -> receiver.onAddSubscription(mediaEndpoint, streamId, sessionId));
+            offer(receiver, () -> receiver.onAddSubscription(mediaEndpoint, streamId, sessionId));
         }
     }
 
     public void removeSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId)
     {
+        final Receiver receiver = receivers[mediaEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onRemoveSubscription(mediaEndpoint, streamId);
         }
         else
         {
-            offer(() -> receiver.onRemoveSubscription(mediaEndpoint, streamId));
+            offer(receiver, () -> receiver.onRemoveSubscription(mediaEndpoint, streamId));
         }
     }
 
     public void removeSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId, final int sessionId)
     {
+        final Receiver receiver = receivers[mediaEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onRemoveSubscription(mediaEndpoint, streamId, sessionId);
         }
         else
         {
-            offer(() -> receiver.onRemoveSubscription(mediaEndpoint, streamId, sessionId));
+            offer(receiver, () -> receiver.onRemoveSubscription(mediaEndpoint, streamId, sessionId));
         }
     }
 
     public void newPublicationImage(final ReceiveChannelEndpoint channelEndpoint, final PublicationImage image)
     {
+        final Receiver receiver = receivers[channelEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onNewPublicationImage(channelEndpoint, image);
         }
         else
         {
-            offer(() -> receiver.onNewPublicationImage(channelEndpoint, image));
+            offer(receiver, () -> receiver.onNewPublicationImage(channelEndpoint, image));
         }
     }
 
     public void registerReceiveChannelEndpoint(final ReceiveChannelEndpoint channelEndpoint)
     {
+        final Receiver receiver = receivers[channelEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onRegisterReceiveChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(() -> receiver.onRegisterReceiveChannelEndpoint(channelEndpoint));
+            offer(receiver, () -> receiver.onRegisterReceiveChannelEndpoint(channelEndpoint));
         }
     }
 
     public void closeReceiveChannelEndpoint(final ReceiveChannelEndpoint channelEndpoint)
     {
+        final Receiver receiver = receivers[channelEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onCloseReceiveChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(() -> receiver.onCloseReceiveChannelEndpoint(channelEndpoint));
+            offer(receiver, () -> receiver.onCloseReceiveChannelEndpoint(channelEndpoint));
         }
     }
 
     public void removeCoolDown(final ReceiveChannelEndpoint channelEndpoint, final int sessionId, final int streamId)
     {
+        final Receiver receiver = receivers[channelEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onRemoveCoolDown(channelEndpoint, sessionId, streamId);
         }
         else
         {
-            offer(() -> receiver.onRemoveCoolDown(channelEndpoint, sessionId, streamId));
+            offer(receiver, () -> receiver.onRemoveCoolDown(channelEndpoint, sessionId, streamId));
         }
     }
 
     public void addDestination(
         final ReceiveChannelEndpoint channelEndpoint, final ReceiveDestinationUdpTransport transport)
     {
+        final Receiver receiver = receivers[channelEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onAddDestination(channelEndpoint, transport);
         }
         else
         {
-            offer(() -> receiver.onAddDestination(channelEndpoint, transport));
+            offer(receiver, () -> receiver.onAddDestination(channelEndpoint, transport));
         }
     }
 
     public void removeDestination(final ReceiveChannelEndpoint channelEndpoint, final UdpChannel udpChannel)
     {
+        final Receiver receiver = receivers[channelEndpoint.receiverIndex()];
         if (notConcurrent())
         {
             receiver.onRemoveDestination(channelEndpoint, udpChannel);
         }
         else
         {
-            offer(() -> receiver.onRemoveDestination(channelEndpoint, udpChannel));
+            offer(receiver, () -> receiver.onRemoveDestination(channelEndpoint, udpChannel));
         }
     }
 
@@ -180,12 +236,19 @@ public class ReceiverProxy
         return threadingMode == SHARED || threadingMode == INVOKER;
     }
 
-    private void offer(final Runnable cmd)
+    private void offer(final Receiver receiver, final Runnable cmd)
     {
+        final Queue<Runnable> commandQueue = commandQueues[receiver.receiverIndex()];
         while (!commandQueue.offer(cmd))
         {
             failCount.incrementOrdered();
             Thread.yield();
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<Runnable>[] newCommandQueues(final int length)
+    {
+        return (Queue<Runnable>[])new Queue<?>[length];
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.collections.Long2LongHashMap;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Resources of the {@link DriverConductor} held in an array for iteration in the duty cycle, and indexed by a unique
+ * id such as registration id or client id so they can be found and removed without a scan.
+ * <p>
+ * Removal is unordered in that the last resource is moved into the slot of the one removed. Iterating from the end
+ * allows resources to be removed while iterating.
+ *
+ * @param <T> type of resource held.
+ */
+final class ResourceRegistry<T>
+{
+    private static final long MISSING_INDEX = -1;
+
+    private final ArrayList<T> resources = new ArrayList<>();
+    private final Long2LongHashMap indexById = new Long2LongHashMap(MISSING_INDEX);
+    private final ToLongFunction<T> idFunction;
+
+    ResourceRegistry(final ToLongFunction<T> idFunction)
+    {
+        this.idFunction = idFunction;
+    }
+
+    /**
+     * Add a resource which must have an id not already in the registry.
+     *
+     * @param resource to be added.
+     */
+    void add(final T resource)
+    {
+        indexById.put(idFunction.applyAsLong(resource), resources.size());
+        resources.add(resource);
+    }
+
+    /**
+     * Find a resource by its id.
+     *
+     * @param id of the resource.
+     * @return the resource or null if not found.
+     */
+    T findById(final long id)
+    {
+        final long index = indexById.get(id);
+
+        return MISSING_INDEX == index ? null : resources.get((int)index);
+    }
+
+    /**
+     * Remove a resource by its id.
+     *
+     * @param id of the resource.
+     * @return the resource removed or null if not found.
+     */
+    T removeById(final long id)
+    {
+        final long index = indexById.get(id);
+
+        return MISSING_INDEX == index ? null : removeAt((int)index);
+    }
+
+    /**
+     * Remove a resource which is in the registry.
+     *
+     * @param resource to be removed.
+     * @return the resource removed or null if not found.
+     */
+    T remove(final T resource)
+    {
+        return removeById(idFunction.applyAsLong(resource));
+    }
+
+    /**
+     * Remove the resource at an index by moving the last resource into its place.
+     *
+     * @param index of the resource.
+     * @return the resource removed.
+     */
+    T removeAt(final int index)
+    {
+        final int lastIndex = resources.size() - 1;
+        final T resource = resources.get(index);
+
+        if (index != lastIndex)
+        {
+            final T lastResource = resources.get(lastIndex);
+            resources.set(index, lastResource);
+            indexById.put(idFunction.applyAsLong(lastResource), index);
+        }
+
+        resources.remove(lastIndex);
+        indexById.remove(idFunction.applyAsLong(resource));
+
+        return resource;
+    }
+
+    T get(final int index)
+    {
+        return resources.get(index);
+    }
+
+    int size()
+    {
+        return resources.size();
+    }
+
+    void forEach(final Consumer<T> consumer)
+    {
+        resources.forEach(consumer);
+    }
+}
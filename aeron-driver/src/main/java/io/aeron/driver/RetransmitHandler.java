@@ -16,28 +16,38 @@
 package io.aeron.driver;
 
 import io.aeron.protocol.DataHeaderFlyweight;
-import org.agrona.collections.BiInt2ObjectMap;
+import io.aeron.protocol.NakFlyweight;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.NanoClock;
 
-import static io.aeron.driver.Configuration.MAX_RETRANSMITS_DEFAULT;
 import static io.aeron.driver.RetransmitHandler.State.DELAYED;
+import static io.aeron.driver.RetransmitHandler.State.INACTIVE;
 import static io.aeron.driver.RetransmitHandler.State.LINGERING;
 
 /**
  * Tracking and handling of retransmit request, NAKs, for senders, and receivers.
  * <p>
- * A max number of retransmits is permitted by {@link Configuration#MAX_RETRANSMITS_DEFAULT}. Additional received NAKs
- * will be ignored if this maximum is reached.
+ * A NAK which overlaps the range of a retransmit that is delayed is merged into it so the retransmit covers both. A
+ * NAK for a range already covered by a lingering retransmit is suppressed, and one which partially overlaps it is
+ * trimmed to the part not covered. This stops overlapping NAKs from many receivers on a multicast channel resulting
+ * in many retransmits of the same data.
+ * <p>
+ * A max number of active retransmits is permitted by {@link Configuration#MAX_RETRANSMITS_PROP_NAME}. Additional
+ * received NAKs which cannot be merged will be dropped if this maximum is reached.
  */
 public class RetransmitHandler
 {
-    private final BiInt2ObjectMap<RetransmitAction> activeRetransmitsMap = new BiInt2ObjectMap<>();
-    private final RetransmitAction[] retransmitActionPool = new RetransmitAction[MAX_RETRANSMITS_DEFAULT];
+    private final RetransmitAction[] retransmitActionPool;
+    private final RetransmitAction[] activeRetransmits;
     private final NanoClock nanoClock;
     private final FeedbackDelayGenerator delayGenerator;
     private final FeedbackDelayGenerator lingerTimeoutGenerator;
     private final AtomicCounter invalidPackets;
+    private final AtomicCounter retransmitsMerged;
+    private final AtomicCounter retransmitsDropped;
+    private final AtomicCounter retransmitsIssued;
+    private int activeCount;
+    private int freeCount;
 
     /**
      * Create a retransmit handler.
@@ -46,22 +56,36 @@ public class RetransmitHandler
      * @param invalidPackets         for recording invalid packets
      * @param delayGenerator         to use for delay determination
      * @param lingerTimeoutGenerator to use for linger timeout
+     * @param maxRetransmits         number of retransmits which can be active at once
+     * @param retransmitsMerged      for recording NAKs merged into, or suppressed by, an active retransmit
+     * @param retransmitsDropped     for recording NAKs dropped as the max active retransmits has been reached
+     * @param retransmitsIssued      for recording retransmits issued to the {@link RetransmitSender}
      */
     public RetransmitHandler(
         final NanoClock nanoClock,
         final AtomicCounter invalidPackets,
         final FeedbackDelayGenerator delayGenerator,
-        final FeedbackDelayGenerator lingerTimeoutGenerator)
+        final FeedbackDelayGenerator lingerTimeoutGenerator,
+        final int maxRetransmits,
+        final AtomicCounter retransmitsMerged,
+        final AtomicCounter retransmitsDropped,
+        final AtomicCounter retransmitsIssued)
     {
         this.nanoClock = nanoClock;
         this.invalidPackets = invalidPackets;
         this.delayGenerator = delayGenerator;
         this.lingerTimeoutGenerator = lingerTimeoutGenerator;
+        this.retransmitsMerged = retransmitsMerged;
+        this.retransmitsDropped = retransmitsDropped;
+        this.retransmitsIssued = retransmitsIssued;
 
-        for (int i = 0; i < MAX_RETRANSMITS_DEFAULT; i++)
+        retransmitActionPool = new RetransmitAction[maxRetransmits];
+        activeRetransmits = new RetransmitAction[maxRetransmits];
+        for (int i = 0; i < maxRetransmits; i++)
         {
             retransmitActionPool[i] = new RetransmitAction();
         }
+        freeCount = maxRetransmits;
     }
 
     /**
@@ -82,26 +106,40 @@ public class RetransmitHandler
     {
         if (!isInvalid(termOffset, termLength))
         {
-            if (null == activeRetransmitsMap.get(termId, termOffset) &&
-                activeRetransmitsMap.size() < MAX_RETRANSMITS_DEFAULT)
-            {
-                final RetransmitAction action = assignRetransmitAction();
-                action.termId = termId;
-                action.termOffset = termOffset;
-                action.length = Math.min(length, termLength - termOffset);
+            onNakRange(
+                termId, termOffset, length, termLength, delayGenerator.generateDelay(), nanoClock.nanoTime(),
+                retransmitSender);
+        }
+    }
 
-                final long delay = delayGenerator.generateDelay();
-                if (0 == delay)
-                {
-                    retransmitSender.resend(termId, termOffset, action.length);
-                    action.linger(lingerTimeoutGenerator.generateDelay(), nanoClock.nanoTime());
-                }
-                else
+    /**
+     * Called on reception of a NAK which may carry a number of ranges in the same term to start retransmits handling
+     * for all of them in one pass. The ranges share the same delay so they are resent together.
+     *
+     * @param nak              containing the term id and ranges of missing data.
+     * @param rangeCount       number of ranges in the NAK which were received.
+     * @param termLength       of the term buffer.
+     * @param retransmitSender to call if an immediate retransmit is required
+     */
+    public void onNak(
+        final NakFlyweight nak, final int rangeCount, final int termLength, final RetransmitSender retransmitSender)
+    {
+        final int termId = nak.termId();
+        long delayNs = -1;
+        long nowNs = 0;
+
+        for (int i = 0; i < rangeCount; i++)
+        {
+            final int termOffset = nak.rangeTermOffset(i);
+            if (!isInvalid(termOffset, termLength))
+            {
+                if (-1 == delayNs)
                 {
-                    action.delay(delay, nanoClock.nanoTime());
+                    delayNs = delayGenerator.generateDelay();
+                    nowNs = nanoClock.nanoTime();
                 }
 
-                activeRetransmitsMap.put(termId, termOffset, action);
+                onNakRange(termId, termOffset, nak.rangeLength(i), termLength, delayNs, nowNs, retransmitSender);
             }
         }
     }
@@ -109,20 +147,48 @@ public class RetransmitHandler
     /**
      * Called to indicate a retransmission is received that may obviate the need to send one ourselves.
      * <p>
+     * A delayed retransmit which is covered by the data received is cancelled. One which is only partially covered,
+     * as its range may have been extended by merged NAKs, is trimmed to the part not received when that part is at
+     * either end, otherwise it is kept whole so no data goes without being retransmitted.
+     * <p>
      * NOTE: Currently only called from unit tests. Would be used for retransmitting from receivers for NAK suppression.
      *
      * @param termId     of the data
      * @param termOffset of the data
+     * @param length     of the data
      */
-    public void onRetransmitReceived(final int termId, final int termOffset)
+    public void onRetransmitReceived(final int termId, final int termOffset, final int length)
     {
-        final RetransmitAction action = activeRetransmitsMap.get(termId, termOffset);
+        final int start = termOffset;
+        final int end = termOffset + length;
 
-        if (null != action && DELAYED == action.state)
+        for (int i = 0; i < activeCount; )
         {
-            activeRetransmitsMap.remove(termId, termOffset);
-            action.cancel();
-            // do not go into linger
+            final RetransmitAction action = activeRetransmits[i];
+            final int actionStart = action.termOffset;
+            final int actionEnd = actionStart + action.length;
+
+            if (DELAYED == action.state && termId == action.termId && start < actionEnd && end > actionStart)
+            {
+                if (start <= actionStart && end >= actionEnd)
+                {
+                    removeActive(i);
+                    // do not go into linger
+                    continue;
+                }
+
+                if (start <= actionStart)
+                {
+                    action.termOffset = end;
+                    action.length = actionEnd - end;
+                }
+                else if (end >= actionEnd)
+                {
+                    action.length = start - actionStart;
+                }
+            }
+
+            i++;
         }
     }
 
@@ -134,22 +200,123 @@ public class RetransmitHandler
      */
     public void processTimeouts(final long nowNs, final RetransmitSender retransmitSender)
     {
-        if (activeRetransmitsMap.size() > 0)
+        for (int i = 0; i < activeCount; )
         {
-            for (final RetransmitAction action : retransmitActionPool)
+            final RetransmitAction action = activeRetransmits[i];
+            if (action.expireNs - nowNs < 0)
             {
-                if (DELAYED == action.state && (action.expireNs - nowNs < 0))
+                if (DELAYED == action.state)
                 {
-                    retransmitSender.resend(action.termId, action.termOffset, action.length);
+                    resend(action, retransmitSender);
                     action.linger(lingerTimeoutGenerator.generateDelay(), nanoClock.nanoTime());
                 }
-                else if (LINGERING == action.state && (action.expireNs - nowNs < 0))
+                else
                 {
-                    action.cancel();
-                    activeRetransmitsMap.remove(action.termId, action.termOffset);
+                    removeActive(i);
+                    continue;
                 }
             }
+
+            i++;
+        }
+    }
+
+    /**
+     * Number of retransmits which are currently delayed or lingering.
+     *
+     * @return number of retransmits which are currently delayed or lingering.
+     */
+    public int activeRetransmitCount()
+    {
+        return activeCount;
+    }
+
+    private void onNakRange(
+        final int termId,
+        final int termOffset,
+        final int length,
+        final int termLength,
+        final long delayNs,
+        final long nowNs,
+        final RetransmitSender retransmitSender)
+    {
+        int start = termOffset;
+        int end = termOffset + Math.min(length, termLength - termOffset);
+
+        for (int i = 0; i < activeCount; i++)
+        {
+            final RetransmitAction action = activeRetransmits[i];
+            final int actionStart = action.termOffset;
+            final int actionEnd = actionStart + action.length;
+
+            if (termId != action.termId || start >= actionEnd || end <= actionStart)
+            {
+                continue;
+            }
+
+            if (DELAYED == action.state)
+            {
+                action.termOffset = Math.min(start, actionStart);
+                action.length = Math.max(end, actionEnd) - action.termOffset;
+                retransmitsMerged.increment();
+                return;
+            }
+
+            if (start >= actionStart)
+            {
+                start = actionEnd;
+            }
+            else if (end <= actionEnd)
+            {
+                end = actionStart;
+            }
+
+            if (end <= start)
+            {
+                retransmitsMerged.increment();
+                return;
+            }
         }
+
+        if (activeCount == activeRetransmits.length)
+        {
+            retransmitsDropped.increment();
+            return;
+        }
+
+        final RetransmitAction action = assignRetransmitAction();
+        action.termId = termId;
+        action.termOffset = start;
+        action.length = end - start;
+
+        if (0 == delayNs)
+        {
+            resend(action, retransmitSender);
+            action.linger(lingerTimeoutGenerator.generateDelay(), nowNs);
+        }
+        else
+        {
+            action.delay(delayNs, nowNs);
+        }
+
+        activeRetransmits[activeCount++] = action;
+    }
+
+    private void resend(final RetransmitAction action, final RetransmitSender retransmitSender)
+    {
+        retransmitSender.resend(action.termId, action.termOffset, action.length);
+        retransmitsIssued.increment();
+    }
+
+    private void removeActive(final int index)
+    {
+        final int lastIndex = --activeCount;
+        final RetransmitAction action = activeRetransmits[index];
+        action.cancel();
+        retransmitActionPool[freeCount++] = action;
+
+        activeRetransmits[index] = activeRetransmits[lastIndex];
+        activeRetransmits[lastIndex] = null;
     }
 
     private boolean isInvalid(final int termOffset, final int termLength)
@@ -166,15 +333,10 @@ public class RetransmitHandler
 
     private RetransmitAction assignRetransmitAction()
     {
-        for (final RetransmitAction action : retransmitActionPool)
-        {
-            if (State.INACTIVE == action.state)
-            {
-                return action;
-            }
-        }
+        final RetransmitAction action = retransmitActionPool[--freeCount];
+        retransmitActionPool[freeCount] = null;
 
-        throw new IllegalStateException("maximum number of active RetransmitActions reached");
+        return action;
     }
 
     enum State
@@ -206,7 +368,7 @@ public class RetransmitHandler
 
         void cancel()
         {
-            state = State.INACTIVE;
+            state = INACTIVE;
         }
     }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket which paces the sending of data by a {@link NetworkPublication} to a target rate.
+ * <p>
+ * Tokens are bytes which accrue at the rate up to the capacity of the bucket, which bounds the length of a burst
+ * when the publication has been idle. The bucket starts full. The capacity is at least the MTU so a full datagram can
+ * always be sent. The bytes a publication may send are the min of the tokens and the flow control window so pacing
+ * works alongside the {@link FlowControl} and receiver {@link CongestionControl}.
+ * <p>
+ * The achieved rate over each {@link #RATE_INTERVAL_NS} is published to a counter.
+ */
+final class SendPacer
+{
+    /**
+     * Interval over which the achieved rate is measured.
+     */
+    static final long RATE_INTERVAL_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final long SECOND_IN_NS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long rate;
+    private final long capacity;
+    private final long fillDurationNs;
+    private final AtomicCounter pacingDelays;
+    private final AtomicCounter systemPacingDelays;
+    private final AtomicCounter achievedRate;
+    private long tokens;
+    private long lastRefillNs;
+    private long rateIntervalStartNs;
+    private long bytesSentInInterval;
+    private boolean isDelaying;
+
+    /**
+     * Construct a pacer for a publication.
+     *
+     * @param rate               in bytes per second to pace to.
+     * @param burstLength        in bytes which can be sent at once after an idle period.
+     * @param mtuLength          of the publication which is the minimum capacity of the bucket.
+     * @param nowNs              current time.
+     * @param pacingDelays       counter for the publication of sends held back by pacing.
+     * @param systemPacingDelays counter aggregating the sends held back by pacing for all publications.
+     * @param achievedRate       counter for the publication of the achieved rate in bytes per second.
+     */
+    SendPacer(
+        final long rate,
+        final int burstLength,
+        final int mtuLength,
+        final long nowNs,
+        final AtomicCounter pacingDelays,
+        final AtomicCounter systemPacingDelays,
+        final AtomicCounter achievedRate)
+    {
+        this.rate = rate;
+        this.capacity = Math.max(burstLength, mtuLength);
+        this.fillDurationNs = Math.max(1, (capacity * SECOND_IN_NS) / rate);
+        this.pacingDelays = pacingDelays;
+        this.systemPacingDelays = systemPacingDelays;
+        this.achievedRate = achievedRate;
+
+        tokens = capacity;
+        lastRefillNs = nowNs;
+        rateIntervalStartNs = nowNs;
+    }
+
+    /**
+     * Accrue tokens for the time passed and return the number of bytes which may be sent.
+     *
+     * @param nowNs current time.
+     * @return the number of bytes which may be sent.
+     */
+    int availableBytes(final long nowNs)
+    {
+        final long elapsedNs = nowNs - lastRefillNs;
+        if (elapsedNs >= fillDurationNs)
+        {
+            tokens = capacity;
+            lastRefillNs = nowNs;
+        }
+        else if (elapsedNs > 0)
+        {
+            final long newTokens = (elapsedNs * rate) / SECOND_IN_NS;
+            if (newTokens > 0)
+            {
+                tokens = Math.min(capacity, tokens + newTokens);
+                lastRefillNs += (newTokens * SECOND_IN_NS) / rate;
+            }
+        }
+
+        final long intervalNs = nowNs - rateIntervalStartNs;
+        if (intervalNs >= RATE_INTERVAL_NS)
+        {
+            achievedRate.setOrdered((bytesSentInInterval * SECOND_IN_NS) / intervalNs);
+            bytesSentInInterval = 0;
+            rateIntervalStartNs = nowNs;
+        }
+
+        return (int)tokens;
+    }
+
+    /**
+     * Consume the tokens for bytes which have been sent.
+     *
+     * @param bytesSent which consume tokens.
+     */
+    void onBytesSent(final int bytesSent)
+    {
+        tokens -= bytesSent;
+        bytesSentInInterval += bytesSent;
+        isDelaying = false;
+    }
+
+    /**
+     * Record that data within the flow control window has been held back to keep to the rate. Delays are counted once
+     * when a send is first held back rather than on each duty cycle until data is sent again.
+     */
+    void onDelay()
+    {
+        if (!isDelaying)
+        {
+            isDelaying = true;
+            pacingDelays.incrementOrdered();
+            systemPacingDelays.increment();
+        }
+    }
+
+    /**
+     * Rate in bytes per second being paced to.
+     *
+     * @return rate in bytes per second being paced to.
+     */
+    long rate()
+    {
+        return rate;
+    }
+
+    /**
+     * Free the counters of the publication.
+     */
+    void close()
+    {
+        pacingDelays.close();
+        achievedRate.close();
+    }
+}
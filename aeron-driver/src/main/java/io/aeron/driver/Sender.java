@@ -17,6 +17,8 @@ package io.aeron.driver;
 
 import io.aeron.driver.media.ControlTransportPoller;
 import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.driver.status.DutyCycleTracker;
+import io.aeron.driver.status.PerAgentCounter;
 import org.agrona.collections.ArrayUtil;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.status.AtomicCounter;
@@ -25,6 +27,7 @@ import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
 
 import java.net.InetSocketAddress;
 
+import static io.aeron.driver.status.PerAgentCounter.AGENT_BYTES_TYPE_ID;
 import static io.aeron.driver.status.SystemCounterDescriptor.BYTES_SENT;
 
 class SenderLhsPadding
@@ -48,27 +51,61 @@ class SenderRhsPadding extends SenderHotFields
 
 /**
  * Agent that iterates over {@link NetworkPublication}s for sending them to registered subscribers.
+ * <p>
+ * A driver can have a number of senders, see {@link MediaDriver.Context#senderCount()}, with each
+ * {@link SendChannelEndpoint} and the {@link NetworkPublication}s on it owned by one sender for its lifetime. Status
+ * messages and NAKs for a publication are then processed by the sender which owns it.
  */
 public class Sender extends SenderRhsPadding implements Agent
 {
     private static final NetworkPublication[] EMPTY_PUBLICATIONS = new NetworkPublication[0];
+    private static final SendChannelEndpoint[] EMPTY_ENDPOINTS = new SendChannelEndpoint[0];
 
     private final long statusMessageReadTimeoutNs;
     private final int dutyCycleRatio;
+    private final int senderIndex;
     private final ControlTransportPoller controlTransportPoller;
     private final OneToOneConcurrentArrayQueue<Runnable> commandQueue;
+    private final boolean isSoleSender;
     private final AtomicCounter totalBytesSent;
+    private final AtomicCounter bytesSent;
+    private final DutyCycleTracker dutyCycleTracker;
     private final NanoClock nanoClock;
+    private final NanoClock cachedNanoClock;
     private final DriverConductorProxy conductorProxy;
 
     private NetworkPublication[] networkPublications = EMPTY_PUBLICATIONS;
+    private SendChannelEndpoint[] heartbeatChannelEndpoints = EMPTY_ENDPOINTS;
 
     public Sender(final MediaDriver.Context ctx)
     {
-        this.controlTransportPoller = ctx.controlTransportPoller();
-        this.commandQueue = ctx.senderCommandQueue();
+        this(ctx, 0, ctx.controlTransportPoller(), ctx.senderCommandQueue());
+    }
+
+    /**
+     * Construct a sender which is one of a number sharing the send channel endpoints of a driver.
+     *
+     * @param ctx                    for the driver.
+     * @param senderIndex            of the sender within the driver.
+     * @param controlTransportPoller for the endpoints owned by this sender.
+     * @param commandQueue           for commands to this sender.
+     */
+    public Sender(
+        final MediaDriver.Context ctx,
+        final int senderIndex,
+        final ControlTransportPoller controlTransportPoller,
+        final OneToOneConcurrentArrayQueue<Runnable> commandQueue)
+    {
+        this.senderIndex = senderIndex;
+        this.controlTransportPoller = controlTransportPoller;
+        this.commandQueue = commandQueue;
+        this.isSoleSender = 1 == ctx.senderCount();
         this.totalBytesSent = ctx.systemCounters().get(BYTES_SENT);
-        this.nanoClock = ctx.cachedNanoClock();
+        this.bytesSent = PerAgentCounter.allocate(
+            ctx.countersManager(), AGENT_BYTES_TYPE_ID, "Bytes sent", "sender", senderIndex);
+        this.dutyCycleTracker = ctx.newDutyCycleTracker("sender", senderIndex);
+        this.nanoClock = ctx.nanoClock();
+        this.cachedNanoClock = ctx.cachedNanoClock();
         this.statusMessageReadTimeoutNs = ctx.statusMessageTimeoutNs() / 2;
         this.dutyCycleRatio = ctx.sendToStatusMessagePollRatio();
         this.conductorProxy = ctx.driverConductorProxy();
@@ -81,8 +118,9 @@ public class Sender extends SenderRhsPadding implements Agent
 
     public int doWork()
     {
+        final long startNs = cachedNanoClock.nanoTime();
         final int workCount = commandQueue.drain(Runnable::run, Configuration.COMMAND_DRAIN_LIMIT);
-        final long nowNs = nanoClock.nanoTime();
+        final long nowNs = cachedNanoClock.nanoTime();
         final int bytesSent = doSend(nowNs);
 
         int bytesReceived = 0;
@@ -94,12 +132,28 @@ public class Sender extends SenderRhsPadding implements Agent
             controlPollDeadlineNs = nowNs + statusMessageReadTimeoutNs;
         }
 
-        return workCount + bytesSent + bytesReceived;
+        final int totalWorkCount = workCount + bytesSent + bytesReceived;
+        if (totalWorkCount > 0)
+        {
+            dutyCycleTracker.record(nanoClock.nanoTime() - startNs);
+        }
+
+        return totalWorkCount;
     }
 
     public String roleName()
     {
-        return "sender";
+        return 0 == senderIndex ? "sender" : "sender-" + senderIndex;
+    }
+
+    /**
+     * Index of the sender within the driver.
+     *
+     * @return index of the sender within the driver.
+     */
+    public int senderIndex()
+    {
+        return senderIndex;
     }
 
     public void onRegisterSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
@@ -107,10 +161,20 @@ public class Sender extends SenderRhsPadding implements Agent
         channelEndpoint.openChannel(conductorProxy);
         channelEndpoint.registerForRead(controlTransportPoller);
         channelEndpoint.indicateActive();
+
+        if (channelEndpoint.isHeartbeatCoalescingEnabled())
+        {
+            heartbeatChannelEndpoints = ArrayUtil.add(heartbeatChannelEndpoints, channelEndpoint);
+        }
     }
 
     public void onCloseSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
+        if (channelEndpoint.isHeartbeatCoalescingEnabled())
+        {
+            heartbeatChannelEndpoints = ArrayUtil.remove(heartbeatChannelEndpoints, channelEndpoint);
+        }
+
         channelEndpoint.close();
     }
 
@@ -159,8 +223,29 @@ public class Sender extends SenderRhsPadding implements Agent
             bytesSent += publications[i].send(nowNs);
         }
 
-        totalBytesSent.getAndAddOrdered(bytesSent);
+        for (final SendChannelEndpoint channelEndpoint : heartbeatChannelEndpoints)
+        {
+            bytesSent += channelEndpoint.flushHeartbeats();
+        }
+
+        if (bytesSent > 0)
+        {
+            this.bytesSent.getAndAddOrdered(bytesSent);
+            if (isSoleSender)
+            {
+                totalBytesSent.getAndAddOrdered(bytesSent);
+            }
+            else
+            {
+                totalBytesSent.getAndAdd(bytesSent);
+            }
+        }
 
         return bytesSent;
     }
+
+    OneToOneConcurrentArrayQueue<Runnable> commandQueue()
+    {
+        return commandQueue;
+    }
 }
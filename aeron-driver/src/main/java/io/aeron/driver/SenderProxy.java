@@ -25,14 +25,19 @@ import static io.aeron.driver.ThreadingMode.INVOKER;
 import static io.aeron.driver.ThreadingMode.SHARED;
 
 /**
- * Proxy for offering into the Sender Thread's command queue.
+ * Proxy for offering into the command queue of the {@link Sender} which owns a {@link SendChannelEndpoint}.
+ * <p>
+ * When the driver has a number of senders each command is routed to the sender given by
+ * {@link SendChannelEndpoint#senderIndex()} so the endpoint and its publications are only touched by that sender.
  */
 public class SenderProxy
 {
     private final ThreadingMode threadingMode;
     private final Queue<Runnable> commandQueue;
     private final AtomicCounter failCount;
-    private Sender sender;
+
+    private Sender[] senders;
+    private Queue<Runnable>[] commandQueues;
 
     public SenderProxy(
         final ThreadingMode threadingMode, final Queue<Runnable> commandQueue, final AtomicCounter failCount)
@@ -44,78 +49,115 @@ public class SenderProxy
 
     public void sender(final Sender sender)
     {
-        this.sender = sender;
+        senders = new Sender[]{ sender };
+        commandQueues = newCommandQueues(1);
+        commandQueues[0] = commandQueue;
+    }
+
+    /**
+     * Set the senders for the driver where the sender at index 0 takes its commands from the queue this proxy
+     * was constructed with.
+     *
+     * @param senders for the driver in order of their index.
+     */
+    public void senders(final Sender[] senders)
+    {
+        final Queue<Runnable>[] commandQueues = newCommandQueues(senders.length);
+        commandQueues[0] = commandQueue;
+        for (int i = 1; i < senders.length; i++)
+        {
+            commandQueues[i] = senders[i].commandQueue();
+        }
+
+        this.senders = senders;
+        this.commandQueues = commandQueues;
+    }
+
+    /**
+     * Number of senders commands are routed to.
+     *
+     * @return number of senders commands are routed to.
+     */
+    public int senderCount()
+    {
+        return senders.length;
     }
 
     public void registerSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
+        final Sender sender = senders[channelEndpoint.senderIndex()];
         if (notConcurrent())
         {
             sender.onRegisterSendChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(() -> sender.onRegisterSendChannelEndpoint(channelEndpoint));
+            offer(sender, () -> sender.onRegisterSendChannelEndpoint(channelEndpoint));
         }
     }
 
     public void closeSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
+        final Sender sender = senders[channelEndpoint.senderIndex()];
         if (notConcurrent())
         {
             sender.onCloseSendChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(() -> sender.onCloseSendChannelEndpoint(channelEndpoint));
+            offer(sender, () -> sender.onCloseSendChannelEndpoint(channelEndpoint));
         }
     }
 
     public void removeNetworkPublication(final NetworkPublication publication)
     {
+        final Sender sender = senders[publication.channelEndpoint().senderIndex()];
         if (notConcurrent())
         {
             sender.onRemoveNetworkPublication(publication);
         }
         else
         {
-            offer(() -> sender.onRemoveNetworkPublication(publication));
+            offer(sender, () -> sender.onRemoveNetworkPublication(publication));
         }
     }
 
     public void newNetworkPublication(final NetworkPublication publication)
     {
+        final Sender sender = senders[publication.channelEndpoint().senderIndex()];
         if (notConcurrent())
         {
             sender.onNewNetworkPublication(publication);
         }
         else
         {
-            offer(() -> sender.onNewNetworkPublication(publication));
+            offer(sender, () -> sender.onNewNetworkPublication(publication));
         }
     }
 
     public void addDestination(final SendChannelEndpoint channelEndpoint, final InetSocketAddress address)
     {
+        final Sender sender = senders[channelEndpoint.senderIndex()];
         if (notConcurrent())
         {
             sender.onAddDestination(channelEndpoint, address);
         }
         else
         {
-            offer(() -> sender.onAddDestination(channelEndpoint, address));
+            offer(sender, () -> sender.onAddDestination(channelEndpoint, address));
         }
     }
 
     public void removeDestination(final SendChannelEndpoint channelEndpoint, final InetSocketAddress address)
     {
+        final Sender sender = senders[channelEndpoint.senderIndex()];
         if (notConcurrent())
         {
             sender.onRemoveDestination(channelEndpoint, address);
         }
         else
         {
-            offer(() -> sender.onRemoveDestination(channelEndpoint, address));
+            offer(sender, () -> sender.onRemoveDestination(channelEndpoint, address));
         }
     }
 
@@ -124,12 +166,19 @@ public class SenderProxy
         return threadingMode == SHARED || threadingMode == INVOKER;
     }
 
-    private void offer(final Runnable cmd)
+    private void offer(final Sender sender, final Runnable cmd)
     {
+        final Queue<Runnable> commandQueue = commandQueues[sender.senderIndex()];
         while (!commandQueue.offer(cmd))
         {
             failCount.incrementOrdered();
             Thread.yield();
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<Runnable>[] newCommandQueues(final int length)
+    {
+        return (Queue<Runnable>[])new Queue<?>[length];
+    }
 }
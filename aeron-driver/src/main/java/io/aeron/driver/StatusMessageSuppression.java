@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+/**
+ * Mode by which a receiver may suppress the Status Messages (SMs) it would otherwise send as consumption crosses the
+ * window threshold, to reduce the SMs a {@link Sender} must process for a publication with many receivers. Only
+ * applies to images of multicast channels.
+ * <p>
+ * SMs forced by {@link CongestionControl} or due to the status message timeout are always sent so a receiver
+ * remains tracked by the flow control of the sender.
+ */
+public enum StatusMessageSuppression
+{
+    /**
+     * SMs are sent as soon as consumption crosses the window threshold.
+     */
+    NONE,
+
+    /**
+     * SMs are sent only when the sender is within the window threshold of the limit last advertised by the receiver,
+     * i.e. when the SM would change the limit of the sender. Otherwise another receiver, or the publisher, is setting
+     * the pace and the SM is suppressed.
+     */
+    LIMIT,
+
+    /**
+     * SMs are delayed by a random time up to {@link MediaDriver.Context#statusMessageSuppressionDelayNs()}, similar
+     * to NAK suppression, so advances in consumption within the delay are aggregated into a single SM.
+     */
+    DELAY
+}
@@ -54,6 +54,10 @@ public abstract class SubscriptionLink implements DriverManagedResource
         this.isTether = params.isTether;
 
         positionBySubscribableMap = new IdentityHashMap<>(hasSessionId ? 1 : 8);
+        if (null != aeronClient)
+        {
+            aeronClient.addLink(registrationId);
+        }
     }
 
     public long registrationId()
@@ -144,6 +148,11 @@ public abstract class SubscriptionLink implements DriverManagedResource
 
     public void close()
     {
+        if (null != aeronClient)
+        {
+            aeronClient.removeLink(registrationId);
+        }
+
         positionBySubscribableMap.forEach((subscribable, position) -> subscribable.removeSubscriber(this, position));
     }
 
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.Aeron;
+import io.aeron.driver.status.FlowControlGroupPos;
+import io.aeron.driver.status.FlowControlGroupReceivers;
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.CloseHelper;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.SystemUtil;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.LongArrayList;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import java.net.InetSocketAddress;
+
+import static io.aeron.CommonContext.FLOW_CONTROL_PARAM_NAME;
+import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
+
+/**
+ * Multicast sender flow control strategy which tracks the slowest receiver of each of a set of groups.
+ * <p>
+ * Receivers identify their group with a group tag in their Status Messages, see
+ * {@link io.aeron.CommonContext#GROUP_TAG_PARAM_NAME}. Receivers without a tag, or with a tag not of a tracked group,
+ * are ignored. The groups are set by the {@link io.aeron.CommonContext#FLOW_CONTROL_PARAM_NAME} param on the
+ * publication channel, e.g. {@code fc=tagged,g:100/3,g:200,t:5s}, where each {@code g:<tag>[/<min size>]} is a group
+ * with the minimum number of its receivers which must be present before the sender may proceed, and {@code t:} is an
+ * optional timeout after the last Status Message when a receiver is no longer tracked.
+ * <p>
+ * Flow control is set to the minimum of the tracked receivers of all groups. While any group has fewer receivers than
+ * its minimum size the sender limit is held.
+ */
+public class TaggedMulticastFlowControl implements FlowControl
+{
+    /**
+     * Value of the {@link io.aeron.CommonContext#FLOW_CONTROL_PARAM_NAME} param to select this strategy.
+     */
+    public static final String FC_PARAM_VALUE = "tagged";
+
+    /**
+     * Default timeout, in nanoseconds, until a receiver is no longer tracked and considered for minimum.
+     */
+    public static final long RECEIVER_TIMEOUT_DEFAULT = MinMulticastFlowControl.RECEIVER_TIMEOUT;
+
+    private final Group[] groups;
+    private final long receiverTimeoutNs;
+    private volatile boolean shouldLinger = true;
+
+    /**
+     * Construct the strategy from the value of the flow control param on a publication channel.
+     *
+     * @param fcValue         of the {@link io.aeron.CommonContext#FLOW_CONTROL_PARAM_NAME} param.
+     * @param tempBuffer      to be used for counter labels and keys.
+     * @param countersManager from which to allocate the group counters.
+     * @param registrationId  of the publication.
+     * @param sessionId       of the publication.
+     * @param streamId        of the publication.
+     * @param channel         of the publication.
+     */
+    public TaggedMulticastFlowControl(
+        final String fcValue,
+        final MutableDirectBuffer tempBuffer,
+        final CountersManager countersManager,
+        final long registrationId,
+        final int sessionId,
+        final int streamId,
+        final String channel)
+    {
+        final String[] options = fcValue.split(",");
+        if (!FC_PARAM_VALUE.equals(options[0]))
+        {
+            throw new IllegalArgumentException("not a tagged flow control param: " + fcValue);
+        }
+
+        final LongArrayList groupTags = new LongArrayList();
+        final IntArrayList groupMinSizes = new IntArrayList();
+        long receiverTimeoutNs = RECEIVER_TIMEOUT_DEFAULT;
+
+        for (int i = 1; i < options.length; i++)
+        {
+            final String option = options[i];
+            if (option.startsWith("g:"))
+            {
+                final int slashIndex = option.indexOf('/');
+                final long groupTag = Long.parseLong(-1 == slashIndex ?
+                    option.substring(2) : option.substring(2, slashIndex));
+                final int minSize = -1 == slashIndex ? 0 : Integer.parseInt(option.substring(slashIndex + 1));
+
+                if (minSize < 0)
+                {
+                    throw new IllegalArgumentException("group min size must be >= 0: " + fcValue);
+                }
+
+                if (groupTags.containsLong(groupTag))
+                {
+                    throw new IllegalArgumentException("duplicate group tag " + groupTag + ": " + fcValue);
+                }
+
+                groupTags.addLong(groupTag);
+                groupMinSizes.addInt(minSize);
+            }
+            else if (option.startsWith("t:"))
+            {
+                receiverTimeoutNs = SystemUtil.parseDuration(FLOW_CONTROL_PARAM_NAME, option.substring(2));
+            }
+            else
+            {
+                throw new IllegalArgumentException("unknown tagged flow control option " + option + ": " + fcValue);
+            }
+        }
+
+        if (groupTags.isEmpty())
+        {
+            throw new IllegalArgumentException("tagged flow control requires at least one group: " + fcValue);
+        }
+
+        final Group[] groups = new Group[groupTags.size()];
+        for (int i = 0; i < groups.length; i++)
+        {
+            final long groupTag = groupTags.getLong(i);
+            groups[i] = new Group(
+                groupTag,
+                groupMinSizes.getInt(i),
+                FlowControlGroupPos.allocate(
+                    tempBuffer, countersManager, registrationId, sessionId, streamId, channel, groupTag),
+                FlowControlGroupReceivers.allocate(
+                    tempBuffer, countersManager, registrationId, sessionId, streamId, channel, groupTag));
+        }
+
+        this.groups = groups;
+        this.receiverTimeoutNs = receiverTimeoutNs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialize(final int initialTermId, final int termBufferLength)
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long onStatusMessage(
+        final StatusMessageFlyweight flyweight,
+        final InetSocketAddress receiverAddress,
+        final long senderLimit,
+        final int initialTermId,
+        final int positionBitsToShift,
+        final long timeNs)
+    {
+        if (flyweight.hasGroupTag())
+        {
+            final Group group = findGroup(flyweight.groupTag());
+            if (null != group)
+            {
+                final long position = computePosition(
+                    flyweight.consumptionTermId(),
+                    flyweight.consumptionTermOffset(),
+                    positionBitsToShift,
+                    initialTermId);
+
+                group.receiverTracker.onStatusMessage(
+                    flyweight.receiverId(), position, flyweight.receiverWindowLength(), timeNs, receiverAddress);
+            }
+        }
+
+        final long minLimitPosition = hasQuorum() ? minLimitPosition() : Long.MAX_VALUE;
+
+        return Long.MAX_VALUE == minLimitPosition ? senderLimit : Math.max(senderLimit, minLimitPosition);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long onIdle(final long timeNs, final long senderLimit, final long senderPosition, final boolean isEos)
+    {
+        long minPosition = Long.MAX_VALUE;
+        int receiverCount = 0;
+
+        for (final Group group : groups)
+        {
+            final MulticastReceiverTracker receiverTracker = group.receiverTracker;
+            receiverTracker.removeTimedOut(timeNs, receiverTimeoutNs);
+
+            final int size = receiverTracker.size();
+            final long groupMinPosition = receiverTracker.minPosition();
+            receiverCount += size;
+            minPosition = Math.min(minPosition, groupMinPosition);
+
+            group.receivers.setOrdered(size);
+            group.position.setOrdered(size > 0 ? groupMinPosition : Aeron.NULL_VALUE);
+        }
+
+        if (isEos && shouldLinger)
+        {
+            if (0 == receiverCount || minPosition >= senderPosition)
+            {
+                shouldLinger = false;
+            }
+        }
+
+        final long minLimitPosition = hasQuorum() ? minLimitPosition() : Long.MAX_VALUE;
+
+        return Long.MAX_VALUE == minLimitPosition ? senderLimit : minLimitPosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean shouldLinger(final long timeNs)
+    {
+        return shouldLinger;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close()
+    {
+        for (final Group group : groups)
+        {
+            group.close();
+        }
+    }
+
+    private Group findGroup(final long groupTag)
+    {
+        for (final Group group : groups)
+        {
+            if (groupTag == group.tag)
+            {
+                return group;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean hasQuorum()
+    {
+        for (final Group group : groups)
+        {
+            if (group.receiverTracker.size() < group.minSize)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private long minLimitPosition()
+    {
+        long minLimitPosition = Long.MAX_VALUE;
+        for (final Group group : groups)
+        {
+            minLimitPosition = Math.min(minLimitPosition, group.receiverTracker.minLimitPosition());
+        }
+
+        return minLimitPosition;
+    }
+
+    static final class Group
+    {
+        final long tag;
+        final int minSize;
+        final MulticastReceiverTracker receiverTracker = new MulticastReceiverTracker();
+        final AtomicCounter position;
+        final AtomicCounter receivers;
+
+        Group(final long tag, final int minSize, final AtomicCounter position, final AtomicCounter receivers)
+        {
+            this.tag = tag;
+            this.minSize = minSize;
+            this.position = position;
+            this.receivers = receivers;
+        }
+
+        void close()
+        {
+            CloseHelper.close(position);
+            CloseHelper.close(receivers);
+        }
+    }
+}
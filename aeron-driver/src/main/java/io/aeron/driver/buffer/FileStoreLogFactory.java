@@ -20,28 +20,45 @@ import io.aeron.logbuffer.LogBufferDescriptor;
 import org.agrona.ErrorHandler;
 import org.agrona.IoUtil;
 import org.agrona.LangUtil;
+import org.agrona.concurrent.status.AtomicCounter;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MAX_LENGTH;
 
 /**
  * Factory for creating {@link RawLog}s in the source publications or publication images directories as appropriate.
+ * <p>
+ * Logs can optionally have their pages faulted in ahead of use on a background thread so the first pass through a
+ * term does not take page faults on the hot path of a publisher or receiver, see
+ * {@link io.aeron.driver.MediaDriver.Context#termBufferPreTouch()}.
+ * <p>
+ * Logs can optionally be taken from a pool of logs per term length which are created, and replaced when freed, on a
+ * background thread so the conductor does not create and map files, see
+ * {@link io.aeron.driver.MediaDriver.Context#logBufferPoolSize()}. Pooled logs are not sparse.
  */
 public class FileStoreLogFactory implements LogFactory
 {
     private static final String PUBLICATIONS = "publications";
     private static final String IMAGES = "images";
+    private static final long CLOSE_TIMEOUT_MS = 5000;
 
     private final long lowStorageWarningThreshold;
     private final int filePageSize;
     private final boolean checkStorage;
+    private final boolean preTouch;
+    private final boolean preFaultRead;
     private final ErrorHandler errorHandler;
     private final File publicationsDir;
     private final File imagesDir;
     private final FileStore fileStore;
+    private final ExecutorService backgroundExecutor;
+    private final LogBufferPool logBufferPool;
 
     public FileStoreLogFactory(
         final String dataDirectoryName,
@@ -49,10 +66,39 @@ public class FileStoreLogFactory implements LogFactory
         final boolean checkStorage,
         final long lowStorageWarningThreshold,
         final ErrorHandler errorHandler)
+    {
+        this(
+            dataDirectoryName,
+            filePageSize,
+            checkStorage,
+            lowStorageWarningThreshold,
+            false,
+            false,
+            0,
+            null,
+            null,
+            null,
+            errorHandler);
+    }
+
+    public FileStoreLogFactory(
+        final String dataDirectoryName,
+        final int filePageSize,
+        final boolean checkStorage,
+        final long lowStorageWarningThreshold,
+        final boolean preTouch,
+        final boolean preFaultRead,
+        final int logBufferPoolSize,
+        final AtomicCounter poolHits,
+        final AtomicCounter poolMisses,
+        final AtomicCounter poolLogs,
+        final ErrorHandler errorHandler)
     {
         this.filePageSize = filePageSize;
         this.lowStorageWarningThreshold = lowStorageWarningThreshold;
         this.checkStorage = checkStorage;
+        this.preTouch = preTouch;
+        this.preFaultRead = preFaultRead;
         this.errorHandler = errorHandler;
 
         final File dataDir = new File(dataDirectoryName);
@@ -77,6 +123,71 @@ public class FileStoreLogFactory implements LogFactory
         }
 
         fileStore = fs;
+
+        backgroundExecutor = preTouch || preFaultRead || logBufferPoolSize > 0 ?
+            Executors.newSingleThreadExecutor(
+                (runnable) ->
+                {
+                    final Thread thread = new Thread(runnable, "aeron-log-buffers");
+                    thread.setDaemon(true);
+                    return thread;
+                }) :
+            null;
+
+        logBufferPool = logBufferPoolSize > 0 ?
+            new LogBufferPool(
+                dataDir,
+                logBufferPoolSize,
+                filePageSize,
+                backgroundExecutor,
+                errorHandler,
+                poolHits,
+                poolMisses,
+                poolLogs) :
+            null;
+    }
+
+    /**
+     * Fill the pool of logs for a term length in the background ahead of the first request for it, if pooling.
+     *
+     * @param termBufferLength of the logs to be pooled.
+     */
+    public void warmPool(final int termBufferLength)
+    {
+        if (null != logBufferPool)
+        {
+            validateTermBufferLength(termBufferLength);
+            logBufferPool.warm(termBufferLength);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void close()
+    {
+        if (null != logBufferPool)
+        {
+            logBufferPool.close();
+        }
+
+        if (null != backgroundExecutor)
+        {
+            backgroundExecutor.shutdown();
+            try
+            {
+                backgroundExecutor.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            }
+            catch (final InterruptedException ignore)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (null != logBufferPool)
+        {
+            logBufferPool.close();
+        }
     }
 
     /**
@@ -136,9 +247,33 @@ public class FileStoreLogFactory implements LogFactory
         validateTermBufferLength(termBufferLength);
         checkStorage(termBufferLength);
 
+        if (null != logBufferPool)
+        {
+            return logBufferPool.take(termBufferLength);
+        }
+
         final File location = streamLocation(rootDir, channel, sessionId, streamId, correlationId);
 
-        return new MappedRawLog(location, useSparseFiles, termBufferLength, filePageSize, errorHandler);
+        final MappedRawLog rawLog = new MappedRawLog(
+            location, useSparseFiles, termBufferLength, filePageSize, errorHandler);
+
+        if (preTouch || preFaultRead)
+        {
+            backgroundExecutor.execute(
+                () ->
+                {
+                    try
+                    {
+                        rawLog.preTouch(preFaultRead, preTouch);
+                    }
+                    catch (final Throwable ex)
+                    {
+                        errorHandler.onError(ex);
+                    }
+                });
+        }
+
+        return rawLog;
     }
 
     private void checkStorage(final int termBufferLength)
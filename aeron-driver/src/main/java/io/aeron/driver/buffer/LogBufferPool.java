@@ -0,0 +1,269 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.buffer;
+
+import org.agrona.ErrorHandler;
+import org.agrona.IoUtil;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of created and mapped {@link MappedRawLog}s per term length so publications and images can be given a log
+ * without creating and mapping a file on the conductor thread.
+ * <p>
+ * Logs handed out are deleted when freed rather than returned to the pool, as clients may still have the file mapped
+ * and would see it reused. Each log taken from the pool, and each log freed, causes a new one to be created in the
+ * background to refill the pool up to its size, so the disk blocks released are reused by new files. The pool may be
+ * taken from on both the conductor and log allocator threads and is filled only from the single background thread of
+ * the executor.
+ */
+final class LogBufferPool
+{
+    private static final String POOL = "pool";
+
+    private final int poolSize;
+    private final int filePageSize;
+    private final File poolDir;
+    private final Executor executor;
+    private final ErrorHandler errorHandler;
+    private final AtomicCounter poolHits;
+    private final AtomicCounter poolMisses;
+    private final AtomicCounter poolLogs;
+    private final AtomicLong nextLogId = new AtomicLong();
+    private final Int2ObjectHashMap<ManyToManyConcurrentArrayQueue<MappedRawLog>> logsByTermLength =
+        new Int2ObjectHashMap<>();
+    private volatile boolean isClosed;
+
+    LogBufferPool(
+        final File dataDir,
+        final int poolSize,
+        final int filePageSize,
+        final Executor executor,
+        final ErrorHandler errorHandler,
+        final AtomicCounter poolHits,
+        final AtomicCounter poolMisses,
+        final AtomicCounter poolLogs)
+    {
+        this.poolSize = poolSize;
+        this.filePageSize = filePageSize;
+        this.executor = executor;
+        this.errorHandler = errorHandler;
+        this.poolHits = poolHits;
+        this.poolMisses = poolMisses;
+        this.poolLogs = poolLogs;
+
+        poolDir = new File(dataDir, POOL);
+        IoUtil.ensureDirectoryExists(poolDir, POOL);
+    }
+
+    /**
+     * Fill the pool for a term length in the background ahead of the first request for it.
+     *
+     * @param termLength of the logs to be created.
+     */
+    void warm(final int termLength)
+    {
+        final ManyToManyConcurrentArrayQueue<MappedRawLog> logs = logs(termLength);
+        for (int i = 0; i < poolSize; i++)
+        {
+            executor.execute(() -> fill(logs, termLength));
+        }
+    }
+
+    /**
+     * Take a log from the pool, or create one if the pool is empty.
+     *
+     * @param termLength of the log.
+     * @return a log from the pool or a new one.
+     */
+    RawLog take(final int termLength)
+    {
+        final ManyToManyConcurrentArrayQueue<MappedRawLog> logs = logs(termLength);
+        MappedRawLog rawLog = logs.poll();
+
+        if (null != rawLog)
+        {
+            poolLogs.getAndAdd(-1);
+            poolHits.increment();
+            executor.execute(() -> fill(logs, termLength));
+        }
+        else
+        {
+            poolMisses.increment();
+            rawLog = newLog(termLength);
+        }
+
+        return new PooledRawLog(rawLog, this);
+    }
+
+    /**
+     * Refill the pool in the background after a log taken from it has been freed and deleted.
+     *
+     * @param termLength of the log which was freed.
+     */
+    void replace(final int termLength)
+    {
+        if (!isClosed)
+        {
+            final ManyToManyConcurrentArrayQueue<MappedRawLog> logs = logs(termLength);
+            executor.execute(() -> fill(logs, termLength));
+        }
+    }
+
+    /**
+     * Stop pooling and delete the logs in the pool. Logs in use are deleted when freed. May be called again once the
+     * background thread has stopped to delete any logs it added while closing.
+     */
+    void close()
+    {
+        isClosed = true;
+
+        synchronized (logsByTermLength)
+        {
+            for (final ManyToManyConcurrentArrayQueue<MappedRawLog> logs : logsByTermLength.values())
+            {
+                logs.drain(
+                    (rawLog) ->
+                    {
+                        poolLogs.getAndAdd(-1);
+                        rawLog.close();
+                    });
+            }
+        }
+    }
+
+    private ManyToManyConcurrentArrayQueue<MappedRawLog> logs(final int termLength)
+    {
+        synchronized (logsByTermLength)
+        {
+            ManyToManyConcurrentArrayQueue<MappedRawLog> logs = logsByTermLength.get(termLength);
+            if (null == logs)
+            {
+                logs = new ManyToManyConcurrentArrayQueue<>(Math.max(2, poolSize));
+                logsByTermLength.put(termLength, logs);
+            }
+
+            return logs;
+        }
+    }
+
+    private MappedRawLog newLog(final int termLength)
+    {
+        final String fileName = Integer.toHexString(termLength) + '-' +
+            Long.toHexString(nextLogId.getAndIncrement()) + ".logbuffer";
+
+        return new MappedRawLog(new File(poolDir, fileName), false, termLength, filePageSize, errorHandler);
+    }
+
+    private void fill(final ManyToManyConcurrentArrayQueue<MappedRawLog> logs, final int termLength)
+    {
+        if (!isClosed && logs.size() < poolSize)
+        {
+            offer(logs, newLog(termLength));
+        }
+    }
+
+    private void offer(final ManyToManyConcurrentArrayQueue<MappedRawLog> logs, final MappedRawLog rawLog)
+    {
+        if (!isClosed && logs.size() < poolSize && logs.offer(rawLog))
+        {
+            poolLogs.increment();
+        }
+        else
+        {
+            rawLog.close();
+        }
+    }
+
+    /**
+     * A log taken from the pool which is deleted when freed and replaced in the pool by a newly created log.
+     */
+    static final class PooledRawLog implements RawLog
+    {
+        private final MappedRawLog rawLog;
+        private final LogBufferPool pool;
+        private boolean isFreed;
+
+        PooledRawLog(final MappedRawLog rawLog, final LogBufferPool pool)
+        {
+            this.rawLog = rawLog;
+            this.pool = pool;
+        }
+
+        public int termLength()
+        {
+            return rawLog.termLength();
+        }
+
+        public UnsafeBuffer[] termBuffers()
+        {
+            return rawLog.termBuffers();
+        }
+
+        public UnsafeBuffer metaData()
+        {
+            return rawLog.metaData();
+        }
+
+        public ByteBuffer[] sliceTerms()
+        {
+            return rawLog.sliceTerms();
+        }
+
+        public String fileName()
+        {
+            return rawLog.fileName();
+        }
+
+        public boolean free()
+        {
+            if (!isFreed)
+            {
+                if (!rawLog.free())
+                {
+                    return false;
+                }
+
+                isFreed = true;
+                pool.replace(rawLog.termLength());
+            }
+
+            return true;
+        }
+
+        public boolean isInactive()
+        {
+            return isFreed;
+        }
+
+        public void close()
+        {
+            free();
+        }
+
+        MappedRawLog rawLog()
+        {
+            return rawLog;
+        }
+    }
+}
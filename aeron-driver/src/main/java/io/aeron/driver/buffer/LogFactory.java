@@ -15,7 +15,7 @@
  */
 package io.aeron.driver.buffer;
 
-public interface LogFactory
+public interface LogFactory extends AutoCloseable
 {
     RawLog newPublication(
         String channel,
@@ -32,4 +32,11 @@ public interface LogFactory
         long correlationId,
         int termBufferLength,
         boolean useSparseFiles);
+
+    /**
+     * Release any resources held by the factory. The {@link RawLog}s created remain valid and are freed separately.
+     */
+    default void close()
+    {
+    }
 }
@@ -44,13 +44,17 @@ class MappedRawLog implements RawLog
     private static final EnumSet<StandardOpenOption> FILE_OPTIONS = EnumSet.of(CREATE_NEW, READ, WRITE);
     private static final EnumSet<StandardOpenOption> SPARSE_FILE_OPTIONS = EnumSet.of(CREATE_NEW, READ, WRITE, SPARSE);
     private static final FileAttribute<?>[] NO_ATTRIBUTES = new FileAttribute[0];
+    private static final int PRE_TOUCH_PAGES_PER_LOCK = 256;
 
     private final int termLength;
+    private final int filePageSize;
+    private final Object mappingLock = new Object();
     private final UnsafeBuffer[] termBuffers = new UnsafeBuffer[PARTITION_COUNT];
     private final UnsafeBuffer logMetaDataBuffer;
     private final ErrorHandler errorHandler;
     private File logFile;
     private MappedByteBuffer[] mappedBuffers;
+    private int preFaultReadSum;
 
     MappedRawLog(
         final File location,
@@ -60,6 +64,7 @@ class MappedRawLog implements RawLog
         final ErrorHandler errorHandler)
     {
         this.termLength = termLength;
+        this.filePageSize = filePageSize;
         this.errorHandler = errorHandler;
         this.logFile = location;
 
@@ -137,14 +142,17 @@ class MappedRawLog implements RawLog
 
     public boolean free()
     {
-        if (null != mappedBuffers)
+        synchronized (mappingLock)
         {
-            for (final MappedByteBuffer buffer : mappedBuffers)
+            if (null != mappedBuffers)
             {
-                IoUtil.unmap(buffer);
-            }
+                for (final MappedByteBuffer buffer : mappedBuffers)
+                {
+                    IoUtil.unmap(buffer);
+                }
 
-            mappedBuffers = null;
+                mappedBuffers = null;
+            }
         }
 
         if (null != logFile)
@@ -207,6 +215,69 @@ class MappedRawLog implements RawLog
         return logFile.getAbsolutePath();
     }
 
+    /**
+     * Fault in the pages of the log ahead of use so the first pass through a term does not take page faults on the
+     * hot path. Intended to be run off the conductor thread and is safe to run while the log is in use as each page
+     * is read, or touched with a compare and set of zero for zero which does not change its contents. Pages are
+     * processed in bounded chunks under the mapping lock so a concurrent {@link #free()} is not held up for the
+     * whole log, and stops if the log is freed.
+     *
+     * @param preFaultRead read each page so it is brought into memory, in the manner of
+     *                     {@link MappedByteBuffer#load()}.
+     * @param touchPages   touch each page for write so it is allocated and mapped.
+     */
+    void preTouch(final boolean preFaultRead, final boolean touchPages)
+    {
+        if (preFaultRead && !touchPages(false))
+        {
+            return;
+        }
+
+        if (touchPages)
+        {
+            touchPages(true);
+        }
+    }
+
+    private boolean touchPages(final boolean forWrite)
+    {
+        for (final UnsafeBuffer termBuffer : termBuffers)
+        {
+            final int length = termBuffer.capacity();
+            int index = 0;
+            while (index < length)
+            {
+                synchronized (mappingLock)
+                {
+                    if (null == mappedBuffers)
+                    {
+                        return false;
+                    }
+
+                    int sum = 0;
+                    for (int i = 0; i < PRE_TOUCH_PAGES_PER_LOCK && index < length; i++)
+                    {
+                        if (forWrite)
+                        {
+                            termBuffer.compareAndSetInt(index, 0, 0);
+                        }
+                        else
+                        {
+                            sum += termBuffer.getByte(index);
+                        }
+
+                        index += filePageSize;
+                    }
+
+                    // keep the loads live so they are not removed by the compiler
+                    preFaultReadSum += sum;
+                }
+            }
+        }
+
+        return true;
+    }
+
     private static void allocatePages(final MappedByteBuffer buffer, final int length, final int pageSize)
     {
         for (int i = 0; i < length; i += pageSize)
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.driver.CongestionControl;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.status.PerImageIndicator;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.CongestionControl.packOutcome;
+
+/**
+ * BBR style congestion control which sizes the receiver window from a model of the path rather than reacting to loss.
+ * <p>
+ * <a target="_blank" href="https://queue.acm.org/detail.cfm?id=3022184">
+ *     https://queue.acm.org/detail.cfm?id=3022184</a>
+ * <p>
+ * The bottleneck bandwidth is the windowed max of the rate at which the image is rebuilt, sampled once per round of
+ * the min RTT. The min RTT is the windowed min of the RTT measurements to the sender. The window is then
+ * {@code BDP * cwnd_gain * pacing_gain} where {@code BDP = btl_bw * min_rtt}.
+ * <p>
+ * The pacing gain follows the BBR state machine:
+ * <ul>
+ *     <li>STARTUP grows the window by 2/ln(2) a round until the bandwidth stops growing by 25% for 3 rounds.</li>
+ *     <li>DRAIN shrinks the window for a round to drain the queue built up in STARTUP.</li>
+ *     <li>PROBE_BW cycles the gain through 1.25, 0.75, then 1 for 6 rounds to probe for more bandwidth.</li>
+ *     <li>PROBE_RTT shrinks the window to the minimum for at least 200ms when the min RTT has not been seen for
+ *     {@link BbrCongestionControlConfiguration#MIN_RTT_EXPIRY_NS} so it can be measured again.</li>
+ * </ul>
+ * Loss does not change the window. The estimated bandwidth, min RTT, pacing gain as a percentage, and window are
+ * published as per image counters.
+ */
+public class BbrCongestionControl implements CongestionControl
+{
+    static final int STARTUP = 0;
+    static final int DRAIN = 1;
+    static final int PROBE_BW = 2;
+    static final int PROBE_RTT = 3;
+
+    static final int STARTUP_GAIN = 289;
+    static final int DRAIN_GAIN = 35;
+    static final int UNIT_GAIN = 100;
+    static final int[] PROBE_BW_GAINS = { 125, 75, 100, 100, 100, 100, 100, 100 };
+    static final int CWND_GAIN = 2;
+    static final int MIN_WINDOW_MTUS = 4;
+    static final int BW_FILTER_LENGTH = 10;
+    static final int FULL_BW_GROWTH_PERCENT = 125;
+    static final int FULL_BW_ROUNDS = 3;
+
+    private static final long SECOND_IN_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final long RTT_MEASUREMENT_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long RTT_MEASUREMENT_TIMEOUT_NS = SECOND_IN_NS;
+    private static final long PROBE_RTT_DURATION_NS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final int minWindow;
+    private final int maxWindow;
+    private final int initialWindow;
+    private final long minRoundNs;
+    private final long minRttExpiryNs;
+
+    private int state = STARTUP;
+    private int pacingGain = STARTUP_GAIN;
+    private int window;
+    private int probeBwCycleIndex;
+    private int fullBwRounds;
+    private boolean isPipeFull;
+    private boolean hasRttMeasurement;
+    private boolean isRttMeasurementOutstanding;
+
+    private long minRttNs;
+    private long minRttTimestampNs;
+    private long probeRttMinNs;
+    private long probeRttEndNs;
+    private long lastRttTimestampNs;
+    private long roundStartNs;
+    private long roundStartPosition = Long.MIN_VALUE;
+    private long maxBw;
+    private long fullBw;
+    private int bwSampleIndex;
+    private final long[] bwSamples = new long[BW_FILTER_LENGTH];
+
+    private final AtomicCounter bandwidthIndicator;
+    private final AtomicCounter minRttIndicator;
+    private final AtomicCounter pacingGainIndicator;
+    private final AtomicCounter windowIndicator;
+
+    BbrCongestionControl(
+        final long registrationId,
+        final UdpChannel udpChannel,
+        final int streamId,
+        final int sessionId,
+        final int termLength,
+        final int senderMtuLength,
+        final NanoClock clock,
+        final MediaDriver.Context context,
+        final CountersManager countersManager)
+    {
+        maxWindow = Math.min(termLength / 2, context.initialWindowLength());
+        minWindow = Math.min(maxWindow, MIN_WINDOW_MTUS * senderMtuLength);
+        initialWindow = Math.min(
+            maxWindow, Math.max(minWindow, BbrCongestionControlConfiguration.INITIAL_WINDOW_MTUS * senderMtuLength));
+        minRoundNs = BbrCongestionControlConfiguration.MIN_ROUND_NS;
+        minRttExpiryNs = BbrCongestionControlConfiguration.MIN_RTT_EXPIRY_NS;
+        minRttNs = BbrCongestionControlConfiguration.INITIAL_RTT_NS;
+        window = initialWindow;
+
+        final String channel = udpChannel.originalUriString();
+        bandwidthIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-bw", countersManager, registrationId, sessionId, streamId, channel);
+        minRttIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-min-rtt", countersManager, registrationId, sessionId, streamId, channel);
+        pacingGainIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-gain", countersManager, registrationId, sessionId, streamId, channel);
+        windowIndicator = PerImageIndicator.allocate(
+            context.tempBuffer(), "rcv-cc-bbr-wnd", countersManager, registrationId, sessionId, streamId, channel);
+
+        bandwidthIndicator.setOrdered(0);
+        minRttIndicator.setOrdered(minRttNs);
+        pacingGainIndicator.setOrdered(pacingGain);
+        windowIndicator.setOrdered(window);
+
+        final long nowNs = clock.nanoTime();
+        roundStartNs = nowNs;
+        minRttTimestampNs = nowNs;
+    }
+
+    public boolean shouldMeasureRtt(final long nowNs)
+    {
+        return isRttMeasurementOutstanding ?
+            (lastRttTimestampNs + RTT_MEASUREMENT_TIMEOUT_NS) - nowNs < 0 :
+            (lastRttTimestampNs + RTT_MEASUREMENT_INTERVAL_NS) - nowNs < 0;
+    }
+
+    public void onRttMeasurementSent(final long nowNs)
+    {
+        lastRttTimestampNs = nowNs;
+        isRttMeasurementOutstanding = true;
+    }
+
+    public void onRttMeasurement(final long nowNs, final long rttNs, final InetSocketAddress srcAddress)
+    {
+        isRttMeasurementOutstanding = false;
+        lastRttTimestampNs = nowNs;
+
+        if (PROBE_RTT == state)
+        {
+            probeRttMinNs = Math.min(probeRttMinNs, rttNs);
+        }
+
+        if (!hasRttMeasurement || rttNs <= minRttNs)
+        {
+            hasRttMeasurement = true;
+            minRtt(rttNs, nowNs);
+        }
+    }
+
+    public long onTrackRebuild(
+        final long nowNs,
+        final long newConsumptionPosition,
+        final long lastSmPosition,
+        final long hwmPosition,
+        final long startingRebuildPosition,
+        final long endingRebuildPosition,
+        final boolean lossOccurred)
+    {
+        boolean forceStatusMessage = false;
+
+        if (Long.MIN_VALUE == roundStartPosition)
+        {
+            roundStartPosition = endingRebuildPosition;
+            roundStartNs = nowNs;
+        }
+        else if (nowNs - roundStartNs >= Math.max(minRttNs, minRoundNs))
+        {
+            forceStatusMessage = onRoundEnd(nowNs, endingRebuildPosition);
+        }
+
+        if (PROBE_RTT != state && hasRttMeasurement && nowNs - minRttTimestampNs > minRttExpiryNs)
+        {
+            state(PROBE_RTT, UNIT_GAIN);
+            probeRttMinNs = Long.MAX_VALUE;
+            probeRttEndNs = nowNs + Math.max(PROBE_RTT_DURATION_NS, Math.max(minRttNs, minRoundNs));
+            forceStatusMessage = true;
+        }
+
+        final int window = computeWindow();
+        if (window != this.window)
+        {
+            this.window = window;
+            windowIndicator.setOrdered(window);
+        }
+
+        return packOutcome(window, forceStatusMessage);
+    }
+
+    public int initialWindowLength()
+    {
+        return initialWindow;
+    }
+
+    public void close()
+    {
+        CloseHelper.close(bandwidthIndicator);
+        CloseHelper.close(minRttIndicator);
+        CloseHelper.close(pacingGainIndicator);
+        CloseHelper.close(windowIndicator);
+    }
+
+    int state()
+    {
+        return state;
+    }
+
+    int pacingGain()
+    {
+        return pacingGain;
+    }
+
+    long maxBw()
+    {
+        return maxBw;
+    }
+
+    long minRttNs()
+    {
+        return minRttNs;
+    }
+
+    private boolean onRoundEnd(final long nowNs, final long position)
+    {
+        final long roundNs = nowNs - roundStartNs;
+        final long bw = ((position - roundStartPosition) * SECOND_IN_NS) / roundNs;
+        roundStartNs = nowNs;
+        roundStartPosition = position;
+
+        if (PROBE_RTT != state)
+        {
+            addBwSample(bw);
+        }
+
+        switch (state)
+        {
+            case STARTUP:
+                if (isPipeFull())
+                {
+                    state(DRAIN, DRAIN_GAIN);
+                    return true;
+                }
+                break;
+
+            case DRAIN:
+                enterProbeBw();
+                return true;
+
+            case PROBE_BW:
+                probeBwCycleIndex = (probeBwCycleIndex + 1) % PROBE_BW_GAINS.length;
+                pacingGain(PROBE_BW_GAINS[probeBwCycleIndex]);
+                break;
+
+            case PROBE_RTT:
+                if (nowNs - probeRttEndNs >= 0)
+                {
+                    minRtt(Long.MAX_VALUE == probeRttMinNs ? minRttNs : probeRttMinNs, nowNs);
+                    if (isPipeFull)
+                    {
+                        enterProbeBw();
+                    }
+                    else
+                    {
+                        state(STARTUP, STARTUP_GAIN);
+                    }
+
+                    return true;
+                }
+                break;
+        }
+
+        return false;
+    }
+
+    private boolean isPipeFull()
+    {
+        if (maxBw * UNIT_GAIN >= fullBw * FULL_BW_GROWTH_PERCENT)
+        {
+            fullBw = maxBw;
+            fullBwRounds = 0;
+        }
+        else if (++fullBwRounds >= FULL_BW_ROUNDS)
+        {
+            isPipeFull = true;
+        }
+
+        return isPipeFull;
+    }
+
+    private void enterProbeBw()
+    {
+        probeBwCycleIndex = 0;
+        state(PROBE_BW, PROBE_BW_GAINS[probeBwCycleIndex]);
+    }
+
+    private void addBwSample(final long bw)
+    {
+        bwSamples[bwSampleIndex] = bw;
+        bwSampleIndex = (bwSampleIndex + 1) % BW_FILTER_LENGTH;
+
+        long maxBw = 0;
+        for (final long sample : bwSamples)
+        {
+            maxBw = Math.max(maxBw, sample);
+        }
+
+        if (maxBw != this.maxBw)
+        {
+            this.maxBw = maxBw;
+            bandwidthIndicator.setOrdered(maxBw);
+        }
+    }
+
+    private int computeWindow()
+    {
+        if (PROBE_RTT == state)
+        {
+            return minWindow;
+        }
+
+        final long bdp = (maxBw * minRttNs) / SECOND_IN_NS;
+        final long window = (bdp * CWND_GAIN * pacingGain) / UNIT_GAIN;
+        final int floor = STARTUP == state ? initialWindow : minWindow;
+
+        return (int)Math.min(maxWindow, Math.max(floor, window));
+    }
+
+    private void minRtt(final long rttNs, final long nowNs)
+    {
+        minRttNs = rttNs;
+        minRttTimestampNs = nowNs;
+        minRttIndicator.setOrdered(rttNs);
+    }
+
+    private void state(final int state, final int pacingGain)
+    {
+        this.state = state;
+        pacingGain(pacingGain);
+    }
+
+    private void pacingGain(final int pacingGain)
+    {
+        if (pacingGain != this.pacingGain)
+        {
+            this.pacingGain = pacingGain;
+            pacingGainIndicator.setOrdered(pacingGain);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration options to be applied when {@link BbrCongestionControl} is loaded.
+ */
+public class BbrCongestionControlConfiguration
+{
+    /**
+     * Property name for the RTT in nanoseconds to assume until the first RTT measurement is received.
+     */
+    public static final String INITIAL_RTT_NS_PROP_NAME = "aeron.BbrCongestionControl.initialRtt";
+
+    /**
+     * Default initial RTT in nanoseconds.
+     */
+    public static final long INITIAL_RTT_NS_DEFAULT = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Property name for the minimum duration in nanoseconds of a round over which a delivery rate is sampled. Rounds
+     * are the min RTT when it is greater.
+     */
+    public static final String MIN_ROUND_NS_PROP_NAME = "aeron.BbrCongestionControl.minRound";
+
+    /**
+     * Default minimum duration in nanoseconds of a round.
+     */
+    public static final long MIN_ROUND_NS_DEFAULT = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Property name for the duration in nanoseconds after which the min RTT expires and is probed for again by
+     * shrinking the window.
+     */
+    public static final String MIN_RTT_EXPIRY_NS_PROP_NAME = "aeron.BbrCongestionControl.minRttExpiry";
+
+    /**
+     * Default duration in nanoseconds after which the min RTT expires.
+     */
+    public static final long MIN_RTT_EXPIRY_NS_DEFAULT = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Property name for the number of MTUs in the initial window before the bandwidth has been measured.
+     */
+    public static final String INITIAL_WINDOW_MTUS_PROP_NAME = "aeron.BbrCongestionControl.initialWindowMtus";
+
+    /**
+     * Default number of MTUs in the initial window.
+     */
+    public static final int INITIAL_WINDOW_MTUS_DEFAULT = 10;
+
+    public static final long INITIAL_RTT_NS = Long.getLong(INITIAL_RTT_NS_PROP_NAME, INITIAL_RTT_NS_DEFAULT);
+    public static final long MIN_ROUND_NS = Long.getLong(MIN_ROUND_NS_PROP_NAME, MIN_ROUND_NS_DEFAULT);
+    public static final long MIN_RTT_EXPIRY_NS = Long.getLong(MIN_RTT_EXPIRY_NS_PROP_NAME, MIN_RTT_EXPIRY_NS_DEFAULT);
+    public static final int INITIAL_WINDOW_MTUS =
+        Integer.getInteger(INITIAL_WINDOW_MTUS_PROP_NAME, INITIAL_WINDOW_MTUS_DEFAULT);
+}
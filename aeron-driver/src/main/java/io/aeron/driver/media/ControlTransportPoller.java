@@ -16,6 +16,7 @@
 package io.aeron.driver.media;
 
 import io.aeron.driver.Configuration;
+import io.aeron.protocol.HeaderFlyweight;
 import io.aeron.protocol.NakFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
@@ -29,7 +30,9 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 
+import static io.aeron.logbuffer.FrameDescriptor.frameLength;
 import static io.aeron.logbuffer.FrameDescriptor.frameType;
+import static io.aeron.logbuffer.FrameDescriptor.frameVersion;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_NAK;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_RTTM;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_SM;
@@ -37,6 +40,9 @@ import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 
 /**
  * Encapsulates the polling of a number of {@link UdpChannelTransport}s using whatever means provides the lowest latency.
+ * <p>
+ * A datagram may carry a number of control frames batched by a receiver, in which case each frame is dispatched in
+ * turn.
  */
 public class ControlTransportPoller extends UdpTransportPoller
 {
@@ -72,7 +78,7 @@ public class ControlTransportPoller extends UdpTransportPoller
         int bytesReceived = 0;
         try
         {
-            if (transports.length <= ITERATION_THRESHOLD)
+            if (shouldIterateTransports(transports.length))
             {
                 for (final SendChannelEndpoint transport : transports)
                 {
@@ -110,7 +116,7 @@ public class ControlTransportPoller extends UdpTransportPoller
         SelectionKey key = null;
         try
         {
-            key = transport.receiveDatagramChannel().register(selector, SelectionKey.OP_READ, transport);
+            key = register(transport, transport);
             transports = ArrayUtil.add(transports, transport);
         }
         catch (final ClosedChannelException ex)
@@ -128,7 +134,12 @@ public class ControlTransportPoller extends UdpTransportPoller
 
     public void cancelRead(final SendChannelEndpoint transport)
     {
-        transports = ArrayUtil.remove(transports, transport);
+        final SendChannelEndpoint[] transports = this.transports;
+        this.transports = ArrayUtil.remove(transports, transport);
+        if (this.transports != transports)
+        {
+            deregistered(transport);
+        }
     }
 
     private int poll(final SendChannelEndpoint channelEndpoint)
@@ -143,22 +154,49 @@ public class ControlTransportPoller extends UdpTransportPoller
             {
                 channelEndpoint.receiveHook(unsafeBuffer, byteReceived, srcAddress);
 
-                final int frameType = frameType(unsafeBuffer, 0);
-                if (HDR_TYPE_NAK == frameType)
+                int offset = 0;
+                while (true)
                 {
-                    channelEndpoint.onNakMessage(nakMessage, unsafeBuffer, byteReceived, srcAddress);
-                }
-                else if (HDR_TYPE_SM == frameType)
-                {
-                    channelEndpoint.onStatusMessage(statusMessage, unsafeBuffer, byteReceived, srcAddress);
-                }
-                else if (HDR_TYPE_RTTM == frameType)
-                {
-                    channelEndpoint.onRttMeasurement(rttMeasurement, unsafeBuffer, byteReceived, srcAddress);
+                    dispatch(channelEndpoint, offset, byteReceived - offset, srcAddress);
+
+                    final int frameLength = frameLength(unsafeBuffer, offset);
+                    offset += frameLength;
+
+                    if (frameLength < HeaderFlyweight.MIN_HEADER_LENGTH ||
+                        byteReceived - offset < HeaderFlyweight.MIN_HEADER_LENGTH ||
+                        frameVersion(unsafeBuffer, offset) != HeaderFlyweight.CURRENT_VERSION)
+                    {
+                        break;
+                    }
                 }
             }
         }
 
         return byteReceived;
     }
+
+    private void dispatch(
+        final SendChannelEndpoint channelEndpoint,
+        final int offset,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        final int frameType = frameType(unsafeBuffer, offset);
+        final int capacity = unsafeBuffer.capacity() - offset;
+        if (HDR_TYPE_NAK == frameType)
+        {
+            nakMessage.wrap(unsafeBuffer, offset, capacity);
+            channelEndpoint.onNakMessage(nakMessage, unsafeBuffer, length, srcAddress);
+        }
+        else if (HDR_TYPE_SM == frameType)
+        {
+            statusMessage.wrap(unsafeBuffer, offset, capacity);
+            channelEndpoint.onStatusMessage(statusMessage, unsafeBuffer, length, srcAddress);
+        }
+        else if (HDR_TYPE_RTTM == frameType)
+        {
+            rttMeasurement.wrap(unsafeBuffer, offset, capacity);
+            channelEndpoint.onRttMeasurement(rttMeasurement, unsafeBuffer, length, srcAddress);
+        }
+    }
 }
@@ -17,8 +17,10 @@ package io.aeron.driver.media;
 
 import io.aeron.driver.Configuration;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
+import org.agrona.BitUtil;
 import org.agrona.LangUtil;
 import org.agrona.collections.ArrayUtil;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -35,15 +37,27 @@ import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 
 /**
  * Encapsulates the polling of a number of {@link UdpChannelTransport}s using whatever means provides the lowest latency.
+ * <p>
+ * Transports for which {@link ReceiveChannelEndpoint#receiveBatchLength()} is greater than 1 are drained of up to that
+ * many datagrams into a pre-allocated ring of receive buffers before the datagrams are dispatched in one pass.
+ * <p>
+ * Datagrams of heartbeat frames coalesced by a sender are split so each heartbeat is dispatched as its own packet.
  */
 public class DataTransportPoller extends UdpTransportPoller
 {
+    private static final int BATCH_SLOT_LENGTH =
+        BitUtil.align(Configuration.MAX_UDP_PAYLOAD_LENGTH, CACHE_LINE_LENGTH * 2);
+
     private final ByteBuffer byteBuffer;
     private final UnsafeBuffer unsafeBuffer;
     private final DataHeaderFlyweight dataMessage;
     private final SetupFlyweight setupMessage;
     private final RttMeasurementFlyweight rttMeasurement;
+    private final FecFlyweight fecMessage;
+    private final UnsafeBuffer heartbeatBuffer = new UnsafeBuffer(0, 0);
+    private final DataHeaderFlyweight heartbeatMessage = new DataHeaderFlyweight();
     private ChannelAndTransport[] channelAndTransports = new ChannelAndTransport[0];
+    private BatchSlot[] batchSlots = new BatchSlot[0];
 
     public DataTransportPoller()
     {
@@ -53,6 +67,7 @@ public class DataTransportPoller extends UdpTransportPoller
         dataMessage = new DataHeaderFlyweight(unsafeBuffer);
         setupMessage = new SetupFlyweight(unsafeBuffer);
         rttMeasurement = new RttMeasurementFlyweight(unsafeBuffer);
+        fecMessage = new FecFlyweight(unsafeBuffer);
     }
 
     public void close()
@@ -71,7 +86,7 @@ public class DataTransportPoller extends UdpTransportPoller
         int bytesReceived = 0;
         try
         {
-            if (channelAndTransports.length <= ITERATION_THRESHOLD)
+            if (shouldIterateTransports(channelAndTransports.length))
             {
                 for (final ChannelAndTransport channelAndTransport : channelAndTransports)
                 {
@@ -112,8 +127,9 @@ public class DataTransportPoller extends UdpTransportPoller
         {
             final ChannelAndTransport channelAndTransport =
                 new ChannelAndTransport(channelEndpoint, transport, transportIndex);
+            ensureBatchCapacity(channelAndTransport.batchLength);
 
-            key = transport.receiveDatagramChannel().register(selector, SelectionKey.OP_READ, channelAndTransport);
+            key = register(transport, channelAndTransport);
             channelAndTransports = ArrayUtil.add(channelAndTransports, channelAndTransport);
         }
         catch (final ClosedChannelException ex)
@@ -146,58 +162,213 @@ public class DataTransportPoller extends UdpTransportPoller
         if (index != ArrayUtil.UNKNOWN_INDEX)
         {
             this.channelAndTransports = ArrayUtil.remove(transports, index);
+            deregistered(transport);
         }
     }
 
     private int poll(final ChannelAndTransport channelAndTransport)
     {
+        if (channelAndTransport.batchLength > 1)
+        {
+            return pollBatch(channelAndTransport);
+        }
+
         int bytesReceived = 0;
         final InetSocketAddress srcAddress = channelAndTransport.transport.receive(byteBuffer);
 
         if (null != srcAddress)
         {
-            final int length = byteBuffer.position();
-            final ReceiveChannelEndpoint channelEndpoint = channelAndTransport.channelEndpoint;
+            bytesReceived = dispatch(
+                channelAndTransport,
+                unsafeBuffer,
+                byteBuffer.position(),
+                srcAddress,
+                dataMessage,
+                setupMessage,
+                rttMeasurement,
+                fecMessage);
+        }
+
+        return bytesReceived;
+    }
+
+    private int pollBatch(final ChannelAndTransport channelAndTransport)
+    {
+        final UdpChannelTransport transport = channelAndTransport.transport;
+        final BatchSlot[] batchSlots = this.batchSlots;
+        final int batchLength = channelAndTransport.batchLength;
+        int datagramCount = 0;
 
-            if (channelEndpoint.isValidFrame(unsafeBuffer, length))
+        while (datagramCount < batchLength)
+        {
+            final BatchSlot slot = batchSlots[datagramCount];
+            final InetSocketAddress srcAddress = transport.receive(slot.byteBuffer);
+            if (null == srcAddress)
             {
-                channelEndpoint.receiveHook(unsafeBuffer, length, srcAddress);
-                final int transportIndex = channelAndTransport.transportIndex;
+                break;
+            }
 
-                final int frameType = frameType(unsafeBuffer, 0);
-                if (HDR_TYPE_DATA == frameType || HDR_TYPE_PAD == frameType)
-                {
-                    bytesReceived = channelEndpoint.onDataPacket(
-                        dataMessage, unsafeBuffer, length, srcAddress, transportIndex);
-                }
-                else if (HDR_TYPE_SETUP == frameType)
-                {
-                    channelEndpoint.onSetupMessage(
-                        setupMessage, unsafeBuffer, length, srcAddress, transportIndex);
-                }
-                else if (HDR_TYPE_RTTM == frameType)
-                {
-                    channelEndpoint.onRttMeasurement(
-                        rttMeasurement, unsafeBuffer, length, srcAddress, transportIndex);
-                }
+            slot.srcAddress = srcAddress;
+            slot.length = slot.byteBuffer.position();
+            datagramCount++;
+        }
+
+        int bytesReceived = 0;
+        if (datagramCount > 0)
+        {
+            for (int i = 0; i < datagramCount; i++)
+            {
+                final BatchSlot slot = batchSlots[i];
+                bytesReceived += dispatch(
+                    channelAndTransport,
+                    slot.unsafeBuffer,
+                    slot.length,
+                    slot.srcAddress,
+                    slot.dataMessage,
+                    slot.setupMessage,
+                    slot.rttMeasurement,
+                    slot.fecMessage);
+
+                slot.srcAddress = null;
+            }
+
+            channelAndTransport.channelEndpoint.onReceiveBatch(datagramCount);
+        }
+
+        return bytesReceived;
+    }
+
+    private int dispatch(
+        final ChannelAndTransport channelAndTransport,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress,
+        final DataHeaderFlyweight dataMessage,
+        final SetupFlyweight setupMessage,
+        final RttMeasurementFlyweight rttMeasurement,
+        final FecFlyweight fecMessage)
+    {
+        int bytesReceived = 0;
+        final ReceiveChannelEndpoint channelEndpoint = channelAndTransport.channelEndpoint;
+
+        if (channelEndpoint.isValidFrame(buffer, length))
+        {
+            channelEndpoint.receiveHook(buffer, length, srcAddress);
+            final int transportIndex = channelAndTransport.transportIndex;
+
+            final int frameType = frameType(buffer, 0);
+            if (HDR_TYPE_DATA == frameType && length > DataHeaderFlyweight.HEADER_LENGTH && 0 == buffer.getInt(0))
+            {
+                bytesReceived = dispatchHeartbeats(channelEndpoint, buffer, length, srcAddress, transportIndex);
+            }
+            else if (HDR_TYPE_DATA == frameType || HDR_TYPE_PAD == frameType)
+            {
+                bytesReceived = channelEndpoint.onDataPacket(dataMessage, buffer, length, srcAddress, transportIndex);
+            }
+            else if (HDR_TYPE_SETUP == frameType)
+            {
+                channelEndpoint.onSetupMessage(setupMessage, buffer, length, srcAddress, transportIndex);
+            }
+            else if (HDR_TYPE_RTTM == frameType)
+            {
+                channelEndpoint.onRttMeasurement(rttMeasurement, buffer, length, srcAddress, transportIndex);
+            }
+            else if (HDR_TYPE_FEC == frameType)
+            {
+                bytesReceived = channelEndpoint.onFecPacket(fecMessage, buffer, length, srcAddress, transportIndex);
             }
         }
 
         return bytesReceived;
     }
 
+    private int dispatchHeartbeats(
+        final ReceiveChannelEndpoint channelEndpoint,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress,
+        final int transportIndex)
+    {
+        int bytesReceived = 0;
+        int offset = 0;
+
+        while (length - offset >= DataHeaderFlyweight.HEADER_LENGTH &&
+            HDR_TYPE_DATA == frameType(buffer, offset) &&
+            0 == buffer.getInt(offset))
+        {
+            heartbeatBuffer.wrap(buffer, offset, DataHeaderFlyweight.HEADER_LENGTH);
+            heartbeatMessage.wrap(heartbeatBuffer);
+            bytesReceived += channelEndpoint.onDataPacket(
+                heartbeatMessage, heartbeatBuffer, DataHeaderFlyweight.HEADER_LENGTH, srcAddress, transportIndex);
+
+            offset += DataHeaderFlyweight.HEADER_LENGTH;
+        }
+
+        channelEndpoint.onHeartbeatDatagramSplit();
+
+        return bytesReceived;
+    }
+
+    private void ensureBatchCapacity(final int batchLength)
+    {
+        final int existingLength = batchSlots.length;
+        if (batchLength > 1 && batchLength > existingLength)
+        {
+            final BatchSlot[] newSlots = new BatchSlot[batchLength];
+            System.arraycopy(batchSlots, 0, newSlots, 0, existingLength);
+
+            final int newSlotCount = batchLength - existingLength;
+            final ByteBuffer buffer = NetworkUtil.allocateDirectAlignedAndPadded(
+                newSlotCount * BATCH_SLOT_LENGTH, CACHE_LINE_LENGTH * 2);
+
+            for (int i = 0; i < newSlotCount; i++)
+            {
+                final int offset = i * BATCH_SLOT_LENGTH;
+                buffer.limit(offset + Configuration.MAX_UDP_PAYLOAD_LENGTH).position(offset);
+                newSlots[existingLength + i] = new BatchSlot(buffer.slice());
+            }
+
+            batchSlots = newSlots;
+        }
+    }
+
     static class ChannelAndTransport
     {
         final ReceiveChannelEndpoint channelEndpoint;
         final UdpChannelTransport transport;
         final int transportIndex;
 
+        final int batchLength;
+
         ChannelAndTransport(
             final ReceiveChannelEndpoint channelEndpoint, final UdpChannelTransport transport, final int transportIndex)
         {
             this.channelEndpoint = channelEndpoint;
             this.transport = transport;
             this.transportIndex = transportIndex;
+            this.batchLength = channelEndpoint.receiveBatchLength();
+        }
+    }
+
+    static class BatchSlot
+    {
+        final ByteBuffer byteBuffer;
+        final UnsafeBuffer unsafeBuffer;
+        final DataHeaderFlyweight dataMessage;
+        final SetupFlyweight setupMessage;
+        final RttMeasurementFlyweight rttMeasurement;
+        final FecFlyweight fecMessage;
+        InetSocketAddress srcAddress;
+        int length;
+
+        BatchSlot(final ByteBuffer byteBuffer)
+        {
+            this.byteBuffer = byteBuffer;
+            unsafeBuffer = new UnsafeBuffer(byteBuffer);
+            dataMessage = new DataHeaderFlyweight(unsafeBuffer);
+            setupMessage = new SetupFlyweight(unsafeBuffer);
+            rttMeasurement = new RttMeasurementFlyweight(unsafeBuffer);
+            fecMessage = new FecFlyweight(unsafeBuffer);
         }
     }
 }
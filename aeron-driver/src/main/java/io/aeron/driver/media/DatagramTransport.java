@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+/**
+ * Media layer below a {@link UdpChannelTransport} which moves datagrams to and from the network, or whatever stands
+ * in for it, so that alternative transports can be plugged in under the channel endpoints without changing the
+ * protocol logic above them.
+ * <p>
+ * A transport is created for one {@link UdpChannel} with the endpoint, bind, and connect addresses resolved by the
+ * channel endpoint, then opened once. Sends and receives are non-blocking and are made from a single agent thread
+ * per direction.
+ */
+public interface DatagramTransport extends AutoCloseable
+{
+    /**
+     * Open the transport by binding, connecting, and joining multicast groups as required by the channel.
+     *
+     * @throws IOException if the transport cannot be opened.
+     */
+    void open() throws IOException;
+
+    /**
+     * Is the transport open for sending and receiving.
+     *
+     * @return true if the transport is open for sending and receiving.
+     */
+    boolean isOpen();
+
+    /**
+     * Send a datagram to the connected address. The buffer position is advanced by the number of bytes sent.
+     *
+     * @param buffer containing the datagram between its position and limit.
+     * @return number of bytes sent which is 0 if the transport is not connected or could not accept the datagram.
+     * @throws IOException if an error occurs sending the datagram.
+     */
+    int send(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Send a datagram to the given address. The buffer position is advanced by the number of bytes sent.
+     *
+     * @param buffer  containing the datagram between its position and limit.
+     * @param address to send the datagram to.
+     * @return number of bytes sent which is 0 if the transport could not accept the datagram.
+     * @throws IOException if an error occurs sending the datagram.
+     */
+    int sendTo(ByteBuffer buffer, InetSocketAddress address) throws IOException;
+
+    /**
+     * Send a run of datagrams to the connected address where each is segment length except the last which may be
+     * shorter. A transport with segmentation offload hands the run to the network in one send, otherwise one
+     * datagram is sent per segment. The buffer position is advanced by the number of bytes sent which is always a
+     * whole number of segments.
+     *
+     * @param buffer        containing the run of datagrams between its position and limit.
+     * @param segmentLength of each datagram in the run.
+     * @return number of bytes sent which is 0 if the transport is not connected or could not accept the run.
+     * @throws IOException if an error occurs sending the run.
+     */
+    int sendSegmented(ByteBuffer buffer, int segmentLength) throws IOException;
+
+    /**
+     * Receive a datagram, if one is available, into the buffer at its position which is then advanced by the
+     * length of the datagram.
+     *
+     * @param buffer into which the datagram will be received.
+     * @return the source address of the datagram or null if no datagram is available.
+     * @throws IOException if an error occurs receiving the datagram.
+     */
+    InetSocketAddress receive(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Can the transport be registered with a {@link Selector} to be notified of datagrams being available. If not
+     * then pollers will attempt to receive from the transport on every poll.
+     *
+     * @return true if the transport can be registered with a {@link Selector}.
+     */
+    boolean isSelectable();
+
+    /**
+     * Register the transport with a {@link Selector} for reading.
+     *
+     * @param selector   to register with.
+     * @param attachment for the {@link SelectionKey}.
+     * @return the {@link SelectionKey} for the registration.
+     * @throws ClosedChannelException if the transport has been closed.
+     * @throws UnsupportedOperationException if {@link #isSelectable()} is false.
+     */
+    SelectionKey registerForRead(Selector selector, Object attachment) throws ClosedChannelException;
+
+    /**
+     * Get the multicast TTL value for sending datagrams.
+     *
+     * @return the multicast TTL value for sending datagrams or 0 if not set.
+     */
+    int multicastTtl();
+
+    /**
+     * Close the transport and release the resources it holds.
+     *
+     * @throws IOException if an error occurs closing the transport.
+     */
+    void close() throws IOException;
+}
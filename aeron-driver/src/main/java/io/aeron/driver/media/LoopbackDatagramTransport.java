@@ -0,0 +1,307 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.driver.MediaDriver;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.ArrayUtil;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+
+/**
+ * {@link DatagramTransport} which exchanges datagrams in memory between transports in the same JVM so the protocol
+ * logic of one or more drivers can be tested and benchmarked without the kernel in the way.
+ * <p>
+ * Transports are addressed by port only, as if all endpoints were on the same host. A datagram sent to a port is
+ * copied into the receive ring buffer of each transport bound to that port, which is more than one only for
+ * multicast. Datagrams are dropped when a receive ring buffer is full or no transport is bound to the port, just as
+ * UDP would drop them. The source address of received datagrams is the loopback address with the port the sending
+ * transport is bound to.
+ * <p>
+ * Segmented sends are delivered as a single coalesced datagram, as a receiver with GRO would see them.
+ * <p>
+ * The transport is not selectable so pollers will attempt to receive from it on every poll, which is a cheap read
+ * of an empty ring buffer when nothing is available.
+ */
+public class LoopbackDatagramTransport implements DatagramTransport
+{
+    /**
+     * Default length of the ring buffer used to receive datagrams when the socket receive buffer length is smaller.
+     */
+    public static final int DEFAULT_RECEIVE_BUFFER_LENGTH = 2 * 1024 * 1024;
+
+    private static final int PORT_COUNT = 65536;
+    private static final int EPHEMERAL_PORT_LOW = 49152;
+    private static final InetAddress LOOPBACK_ADDRESS = InetAddress.getLoopbackAddress();
+    private static final AtomicReferenceArray<LoopbackDatagramTransport[]> TRANSPORTS_BY_PORT =
+        new AtomicReferenceArray<>(PORT_COUNT);
+    private static final AtomicInteger NEXT_EPHEMERAL_PORT = new AtomicInteger();
+
+    private final UdpChannel udpChannel;
+    private final InetSocketAddress endPointAddress;
+    private final InetSocketAddress bindAddress;
+    private final InetSocketAddress connectAddress;
+    private final MediaDriver.Context context;
+    private final boolean isMulticast;
+    private final UnsafeBuffer sendBuffer = new UnsafeBuffer(0, 0);
+    private final Int2ObjectHashMap<InetSocketAddress> addressByPort = new Int2ObjectHashMap<>();
+    private final MessageHandler receiveHandler = this::onDatagram;
+    private ManyToOneRingBuffer ringBuffer;
+    private ByteBuffer receiveBuffer;
+    private InetSocketAddress receiveAddress;
+    private int bindPort;
+    private int connectPort;
+    private volatile boolean isOpen;
+
+    public LoopbackDatagramTransport(
+        final UdpChannel udpChannel,
+        final InetSocketAddress endPointAddress,
+        final InetSocketAddress bindAddress,
+        final InetSocketAddress connectAddress,
+        final MediaDriver.Context context)
+    {
+        this.udpChannel = udpChannel;
+        this.endPointAddress = endPointAddress;
+        this.bindAddress = bindAddress;
+        this.connectAddress = connectAddress;
+        this.context = context;
+        this.isMulticast = udpChannel.isMulticast();
+    }
+
+    public void open() throws BindException
+    {
+        final int capacity = BitUtil.findNextPositivePowerOfTwo(
+            Math.max(context.socketRcvbufLength(), DEFAULT_RECEIVE_BUFFER_LENGTH));
+        ringBuffer = new ManyToOneRingBuffer(new UnsafeBuffer(BufferUtil.allocateDirectAligned(
+            capacity + RingBufferDescriptor.TRAILER_LENGTH, CACHE_LINE_LENGTH)));
+
+        final int port = isMulticast ? endPointAddress.getPort() : bindAddress.getPort();
+        bindPort = 0 == port ? bindEphemeral(this) : bind(port, this);
+        connectPort = null == connectAddress ? 0 : connectAddress.getPort();
+        isOpen = true;
+    }
+
+    public boolean isOpen()
+    {
+        return isOpen;
+    }
+
+    public int send(final ByteBuffer buffer)
+    {
+        int bytesSent = 0;
+        if (0 != connectPort)
+        {
+            bytesSent = deliver(buffer, connectPort);
+        }
+
+        return bytesSent;
+    }
+
+    public int sendTo(final ByteBuffer buffer, final InetSocketAddress address)
+    {
+        return deliver(buffer, address.getPort());
+    }
+
+    public int sendSegmented(final ByteBuffer buffer, final int segmentLength)
+    {
+        int bytesSent = 0;
+        if (0 != connectPort)
+        {
+            bytesSent = deliver(buffer, connectPort);
+        }
+
+        return bytesSent;
+    }
+
+    public InetSocketAddress receive(final ByteBuffer buffer)
+    {
+        InetSocketAddress address = null;
+        if (isOpen)
+        {
+            receiveBuffer = buffer;
+            ringBuffer.read(receiveHandler, 1);
+            address = receiveAddress;
+            receiveAddress = null;
+            receiveBuffer = null;
+        }
+
+        return address;
+    }
+
+    public boolean isSelectable()
+    {
+        return false;
+    }
+
+    public SelectionKey registerForRead(final Selector selector, final Object attachment)
+    {
+        throw new UnsupportedOperationException("loopback transport is not selectable");
+    }
+
+    public int multicastTtl()
+    {
+        int multicastTtl = 0;
+        if (isMulticast)
+        {
+            multicastTtl = udpChannel.isHasMulticastTtl() ? udpChannel.multicastTtl() : context.socketMulticastTtl();
+        }
+
+        return multicastTtl;
+    }
+
+    public void close()
+    {
+        if (isOpen)
+        {
+            isOpen = false;
+            unbind(bindPort, this);
+        }
+    }
+
+    /**
+     * The port the transport is bound to for receiving.
+     *
+     * @return the port the transport is bound to for receiving.
+     */
+    public int bindPort()
+    {
+        return bindPort;
+    }
+
+    private int deliver(final ByteBuffer buffer, final int port)
+    {
+        final int position = buffer.position();
+        final int length = buffer.remaining();
+
+        if (isOpen)
+        {
+            final LoopbackDatagramTransport[] transports = TRANSPORTS_BY_PORT.get(port);
+            if (null != transports)
+            {
+                sendBuffer.wrap(buffer, position, length);
+                for (final LoopbackDatagramTransport transport : transports)
+                {
+                    transport.ringBuffer.write(bindPort, sendBuffer, 0, length);
+                }
+            }
+        }
+
+        buffer.position(position + length);
+
+        return length;
+    }
+
+    private void onDatagram(final int srcPort, final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        final ByteBuffer receiveBuffer = this.receiveBuffer;
+        final int position = receiveBuffer.position();
+        final int copyLength = Math.min(length, receiveBuffer.remaining());
+
+        buffer.getBytes(index, receiveBuffer, position, copyLength);
+        receiveBuffer.position(position + copyLength);
+
+        InetSocketAddress address = addressByPort.get(srcPort);
+        if (null == address)
+        {
+            address = new InetSocketAddress(LOOPBACK_ADDRESS, srcPort);
+            addressByPort.put(srcPort, address);
+        }
+
+        receiveAddress = address;
+    }
+
+    private static int bind(final int port, final LoopbackDatagramTransport transport) throws BindException
+    {
+        while (true)
+        {
+            final LoopbackDatagramTransport[] existing = TRANSPORTS_BY_PORT.get(port);
+            if (null != existing && !(transport.isMulticast && existing[0].isMulticast))
+            {
+                throw new BindException("address already in use: port=" + port);
+            }
+
+            final LoopbackDatagramTransport[] update = null == existing ?
+                new LoopbackDatagramTransport[]{ transport } : ArrayUtil.add(existing, transport);
+
+            if (TRANSPORTS_BY_PORT.compareAndSet(port, existing, update))
+            {
+                return port;
+            }
+        }
+    }
+
+    private static int bindEphemeral(final LoopbackDatagramTransport transport) throws BindException
+    {
+        final LoopbackDatagramTransport[] update = new LoopbackDatagramTransport[]{ transport };
+
+        final int range = PORT_COUNT - EPHEMERAL_PORT_LOW;
+
+        for (int i = 0; i < range; i++)
+        {
+            final int port = EPHEMERAL_PORT_LOW + ((NEXT_EPHEMERAL_PORT.getAndIncrement() & Integer.MAX_VALUE) % range);
+            if (TRANSPORTS_BY_PORT.compareAndSet(port, null, update))
+            {
+                return port;
+            }
+        }
+
+        throw new BindException("no ephemeral ports available");
+    }
+
+    private static void unbind(final int port, final LoopbackDatagramTransport transport)
+    {
+        while (true)
+        {
+            final LoopbackDatagramTransport[] existing = TRANSPORTS_BY_PORT.get(port);
+            if (null == existing)
+            {
+                return;
+            }
+
+            LoopbackDatagramTransport[] update = ArrayUtil.remove(existing, transport);
+            if (update == existing)
+            {
+                return;
+            }
+
+            if (0 == update.length)
+            {
+                update = null;
+            }
+
+            if (TRANSPORTS_BY_PORT.compareAndSet(port, existing, update))
+            {
+                return;
+            }
+        }
+    }
+}
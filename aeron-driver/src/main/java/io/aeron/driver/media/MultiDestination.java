@@ -23,7 +23,6 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.PortUnreachableException;
 import java.nio.ByteBuffer;
-import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
 
 import static io.aeron.driver.media.UdpChannelTransport.sendError;
@@ -31,7 +30,7 @@ import static io.aeron.driver.media.UdpChannelTransport.sendError;
 abstract class MultiDestination
 {
     abstract int send(
-        DatagramChannel datagramChannel, ByteBuffer buffer, SendChannelEndpoint channelEndpoint, int bytesToSend);
+        DatagramTransport datagramTransport, ByteBuffer buffer, SendChannelEndpoint channelEndpoint, int bytesToSend);
 
     abstract void onStatusMessage(StatusMessageFlyweight msg, InetSocketAddress address);
 
@@ -42,7 +41,7 @@ abstract class MultiDestination
     abstract void removeDestination(InetSocketAddress address);
 
     static int send(
-        final DatagramChannel datagramChannel,
+        final DatagramTransport datagramTransport,
         final ByteBuffer buffer,
         final SendChannelEndpoint channelEndpoint,
         final int bytesToSend,
@@ -55,9 +54,9 @@ abstract class MultiDestination
             channelEndpoint.sendHook(buffer, destination);
 
             buffer.position(position);
-            if (datagramChannel.isOpen())
+            if (datagramTransport.isOpen())
             {
-                bytesSent = datagramChannel.send(buffer, destination);
+                bytesSent = datagramTransport.sendTo(buffer, destination);
             }
         }
         catch (final PortUnreachableException ignore)
@@ -115,7 +114,7 @@ class DynamicMultiDestination extends MultiDestination
     }
 
     int send(
-        final DatagramChannel datagramChannel,
+        final DatagramTransport datagramTransport,
         final ByteBuffer buffer,
         final SendChannelEndpoint channelEndpoint,
         final int bytesToSend)
@@ -137,7 +136,7 @@ class DynamicMultiDestination extends MultiDestination
             {
                 minBytesSent = Math.min(
                     minBytesSent,
-                    send(datagramChannel, buffer, channelEndpoint, bytesToSend, position, destination.address));
+                    send(datagramTransport, buffer, channelEndpoint, bytesToSend, position, destination.address));
             }
         }
 
@@ -185,7 +184,7 @@ class ManualMultiDestination extends MultiDestination
     }
 
     int send(
-        final DatagramChannel datagramChannel,
+        final DatagramTransport datagramTransport,
         final ByteBuffer buffer,
         final SendChannelEndpoint channelEndpoint,
         final int bytesToSend)
@@ -197,7 +196,7 @@ class ManualMultiDestination extends MultiDestination
         {
             minBytesSent = Math.min(
                 minBytesSent,
-                send(datagramChannel, buffer, channelEndpoint, bytesToSend, position, destination));
+                send(datagramTransport, buffer, channelEndpoint, bytesToSend, position, destination));
         }
 
         return minBytesSent;
@@ -138,10 +138,10 @@ public class MultiRcvDestination implements AutoCloseable
         int bytesSent = 0;
         try
         {
-            if (null != transport && null != transport.sendDatagramChannel && transport.sendDatagramChannel.isOpen())
+            if (null != transport && null != transport.datagramTransport && transport.datagramTransport.isOpen())
             {
                 transport.sendHook(buffer, remoteAddress);
-                bytesSent = transport.sendDatagramChannel.send(buffer, remoteAddress);
+                bytesSent = transport.datagramTransport.sendTo(buffer, remoteAddress);
             }
         }
         catch (final IOException ex)
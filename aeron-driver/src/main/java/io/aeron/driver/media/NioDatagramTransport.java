@@ -0,0 +1,241 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.driver.MediaDriver;
+import org.agrona.CloseHelper;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+import static java.net.StandardSocketOptions.SO_RCVBUF;
+import static java.net.StandardSocketOptions.SO_SNDBUF;
+
+/**
+ * Default {@link DatagramTransport} which uses {@link DatagramChannel}s to send and receive UDP datagrams via the
+ * kernel.
+ * <p>
+ * {@link DatagramChannel} has no way to set UDP_SEGMENT so segmented sends are made one datagram per segment.
+ */
+public class NioDatagramTransport implements DatagramTransport
+{
+    private final UdpChannel udpChannel;
+    private final InetSocketAddress endPointAddress;
+    private final InetSocketAddress bindAddress;
+    private final InetSocketAddress connectAddress;
+    private final MediaDriver.Context context;
+    private DatagramChannel sendDatagramChannel;
+    private DatagramChannel receiveDatagramChannel;
+    private int multicastTtl = 0;
+
+    public NioDatagramTransport(
+        final UdpChannel udpChannel,
+        final InetSocketAddress endPointAddress,
+        final InetSocketAddress bindAddress,
+        final InetSocketAddress connectAddress,
+        final MediaDriver.Context context)
+    {
+        this.udpChannel = udpChannel;
+        this.endPointAddress = endPointAddress;
+        this.bindAddress = bindAddress;
+        this.connectAddress = connectAddress;
+        this.context = context;
+    }
+
+    public void open() throws IOException
+    {
+        try
+        {
+            sendDatagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
+            receiveDatagramChannel = sendDatagramChannel;
+
+            if (udpChannel.isMulticast())
+            {
+                if (null != connectAddress)
+                {
+                    receiveDatagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
+                }
+
+                receiveDatagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+                receiveDatagramChannel.bind(new InetSocketAddress(endPointAddress.getPort()));
+                receiveDatagramChannel.join(endPointAddress.getAddress(), udpChannel.localInterface());
+                sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_IF, udpChannel.localInterface());
+
+                if (udpChannel.isHasMulticastTtl())
+                {
+                    sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, udpChannel.multicastTtl());
+                    multicastTtl = sendDatagramChannel.getOption(StandardSocketOptions.IP_MULTICAST_TTL);
+                }
+                else if (context.socketMulticastTtl() != 0)
+                {
+                    sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, context.socketMulticastTtl());
+                    multicastTtl = sendDatagramChannel.getOption(StandardSocketOptions.IP_MULTICAST_TTL);
+                }
+            }
+            else
+            {
+                sendDatagramChannel.bind(bindAddress);
+            }
+
+            if (null != connectAddress)
+            {
+                sendDatagramChannel.connect(connectAddress);
+            }
+
+            if (0 != context.socketSndbufLength())
+            {
+                sendDatagramChannel.setOption(SO_SNDBUF, context.socketSndbufLength());
+            }
+
+            if (0 != context.socketRcvbufLength())
+            {
+                receiveDatagramChannel.setOption(SO_RCVBUF, context.socketRcvbufLength());
+            }
+
+            sendDatagramChannel.configureBlocking(false);
+            receiveDatagramChannel.configureBlocking(false);
+        }
+        catch (final IOException ex)
+        {
+            CloseHelper.quietClose(sendDatagramChannel);
+            if (receiveDatagramChannel != sendDatagramChannel)
+            {
+                CloseHelper.quietClose(receiveDatagramChannel);
+            }
+
+            sendDatagramChannel = null;
+            receiveDatagramChannel = null;
+
+            throw ex;
+        }
+    }
+
+    public boolean isOpen()
+    {
+        return null != sendDatagramChannel && sendDatagramChannel.isOpen();
+    }
+
+    public int send(final ByteBuffer buffer) throws IOException
+    {
+        int bytesSent = 0;
+        if (sendDatagramChannel.isConnected())
+        {
+            bytesSent = sendDatagramChannel.write(buffer);
+        }
+
+        return bytesSent;
+    }
+
+    public int sendTo(final ByteBuffer buffer, final InetSocketAddress address) throws IOException
+    {
+        int bytesSent = 0;
+        if (sendDatagramChannel.isOpen())
+        {
+            bytesSent = sendDatagramChannel.send(buffer, address);
+        }
+
+        return bytesSent;
+    }
+
+    public int sendSegmented(final ByteBuffer buffer, final int segmentLength) throws IOException
+    {
+        int bytesSent = 0;
+        if (sendDatagramChannel.isConnected())
+        {
+            final int limit = buffer.limit();
+            int position = buffer.position();
+
+            try
+            {
+                while (position < limit)
+                {
+                    final int length = Math.min(segmentLength, limit - position);
+                    buffer.limit(position + length);
+
+                    if (length != sendDatagramChannel.write(buffer))
+                    {
+                        break;
+                    }
+
+                    position += length;
+                    bytesSent += length;
+                }
+            }
+            finally
+            {
+                buffer.limit(limit).position(position);
+            }
+        }
+
+        return bytesSent;
+    }
+
+    public InetSocketAddress receive(final ByteBuffer buffer) throws IOException
+    {
+        InetSocketAddress address = null;
+        if (receiveDatagramChannel.isOpen())
+        {
+            address = (InetSocketAddress)receiveDatagramChannel.receive(buffer);
+        }
+
+        return address;
+    }
+
+    public boolean isSelectable()
+    {
+        return true;
+    }
+
+    public SelectionKey registerForRead(final Selector selector, final Object attachment)
+        throws ClosedChannelException
+    {
+        return receiveDatagramChannel.register(selector, SelectionKey.OP_READ, attachment);
+    }
+
+    public int multicastTtl()
+    {
+        return multicastTtl;
+    }
+
+    public void close() throws IOException
+    {
+        if (null != sendDatagramChannel)
+        {
+            sendDatagramChannel.close();
+        }
+
+        if (receiveDatagramChannel != sendDatagramChannel && null != receiveDatagramChannel)
+        {
+            receiveDatagramChannel.close();
+        }
+    }
+
+    /**
+     * The {@link DatagramChannel} on which datagrams are received.
+     *
+     * @return {@link DatagramChannel} on which datagrams are received.
+     */
+    public DatagramChannel receiveDatagramChannel()
+    {
+        return receiveDatagramChannel;
+    }
+}
@@ -16,27 +16,40 @@
 package io.aeron.driver.media;
 
 import io.aeron.CommonContext;
+import io.aeron.ErrorCode;
+import io.aeron.driver.Configuration;
 import io.aeron.driver.DataPacketDispatcher;
 import io.aeron.driver.DriverConductorProxy;
 import io.aeron.driver.MediaDriver;
 import io.aeron.driver.PublicationImage;
+import io.aeron.driver.exceptions.InvalidChannelException;
 import io.aeron.exceptions.AeronException;
 import io.aeron.protocol.*;
 import io.aeron.status.ChannelEndpointStatus;
+import org.agrona.collections.ArrayListUtil;
 import org.agrona.collections.Hashing;
 import org.agrona.collections.Int2IntCounterMap;
 import org.agrona.collections.Long2LongCounterMap;
+import org.agrona.collections.Object2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
 
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.logbuffer.FrameDescriptor.frameLengthVolatile;
+import static io.aeron.logbuffer.FrameDescriptor.frameType;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_PAD;
 import static io.aeron.protocol.StatusMessageFlyweight.SEND_SETUP_FLAG;
 import static io.aeron.status.ChannelEndpointStatus.status;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
+import static org.agrona.BitUtil.align;
 
 /**
  * Aggregator of multiple subscriptions onto a single transport channel for receiving of data and setup frames
@@ -56,11 +69,32 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     private final AtomicCounter shortSends;
     private final AtomicCounter possibleTtlAsymmetry;
     private final AtomicCounter statusIndicator;
+    private final AtomicCounter receiveBatchDrains;
+    private final AtomicCounter receiveBatchDatagrams;
+    private final AtomicCounter receiveBatchFullDrains;
+    private final AtomicCounter groReceivesSplit;
+    private final AtomicCounter heartbeatDatagramsSplit;
+    private final AtomicCounter batchedControlDatagramsSent;
+    private final UnsafeBuffer groBuffer = new UnsafeBuffer(0, 0);
+    private final DataHeaderFlyweight groHeader = new DataHeaderFlyweight();
     private final Int2IntCounterMap refCountByStreamIdMap = new Int2IntCounterMap(0);
     private final Long2LongCounterMap refCountByStreamIdAndSessionIdMap = new Long2LongCounterMap(0);
     private final MultiRcvDestination multiRcvDestination;
+    private final Object2ObjectHashMap<InetSocketAddress, ControlBatch> controlBatchByAddress =
+        new Object2ObjectHashMap<>();
+    private final ArrayList<ControlBatch> controlBatches = new ArrayList<>();
+    private final ArrayList<ControlBatch> freeControlBatches = new ArrayList<>();
 
     private final long receiverId;
+    private final int receiverIndex;
+    private final int receiveBatchLength;
+    private final boolean isGsoEnabled;
+    private final boolean isControlBatchingEnabled;
+    private final int controlBatchLength;
+    private final boolean hasGroupTag;
+    private final long groupTag;
+    private final byte[] applicationSpecificFeedback;
+    private final int smLength;
 
     public ReceiveChannelEndpoint(
         final UdpChannel udpChannel,
@@ -75,8 +109,18 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
 
         shortSends = context.systemCounters().get(SHORT_SENDS);
         possibleTtlAsymmetry = context.systemCounters().get(POSSIBLE_TTL_ASYMMETRY);
-
-        final ReceiveChannelEndpointThreadLocals threadLocals = context.receiveChannelEndpointThreadLocals();
+        receiveBatchDrains = context.systemCounters().get(RECEIVE_BATCH_DRAINS);
+        receiveBatchDatagrams = context.systemCounters().get(RECEIVE_BATCH_DATAGRAMS);
+        receiveBatchFullDrains = context.systemCounters().get(RECEIVE_BATCH_FULL_DRAINS);
+        groReceivesSplit = context.systemCounters().get(GRO_RECEIVES_SPLIT);
+        heartbeatDatagramsSplit = context.systemCounters().get(HEARTBEAT_DATAGRAMS_SPLIT);
+        batchedControlDatagramsSent = context.systemCounters().get(BATCHED_CONTROL_DATAGRAMS_SENT);
+
+        receiverIndex = Configuration.receiverIndex(udpChannel, context.receiverCount());
+
+        final ReceiveChannelEndpointThreadLocals threadLocals = 0 == receiverIndex ?
+            context.receiveChannelEndpointThreadLocals() :
+            new ReceiveChannelEndpointThreadLocals(context, context.receiveChannelEndpointThreadLocals().receiverId());
         smBuffer = threadLocals.smBuffer();
         statusMessageFlyweight = threadLocals.statusMessageFlyweight();
         nakBuffer = threadLocals.nakBuffer();
@@ -94,6 +138,30 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         {
             this.multiRcvDestination = null;
         }
+
+        final String batchLengthStr = udpChannel.channelUri().get(CommonContext.RECEIVE_BATCH_LENGTH_PARAM_NAME);
+        receiveBatchLength = null != batchLengthStr ? Integer.parseInt(batchLengthStr) : context.receiveBatchLength();
+        Configuration.validateReceiveBatchLength(receiveBatchLength);
+
+        final String gsoStr = udpChannel.channelUri().get(CommonContext.GSO_PARAM_NAME);
+        isGsoEnabled = null != gsoStr ? "true".equals(gsoStr) : context.gsoEnabled();
+        isControlBatchingEnabled = context.controlMessageBatchingEnabled() && null == multiRcvDestination;
+        controlBatchLength = context.mtuLength();
+
+        final String groupTagStr = udpChannel.channelUri().get(CommonContext.GROUP_TAG_PARAM_NAME);
+        final Long groupTag = null != groupTagStr ? Long.valueOf(groupTagStr) : context.receiverGroupTag();
+        hasGroupTag = null != groupTag;
+        this.groupTag = hasGroupTag ? groupTag : 0;
+        applicationSpecificFeedback = context.applicationSpecificFeedback();
+        if (hasGroupTag && applicationSpecificFeedback.length > 0)
+        {
+            throw new InvalidChannelException(
+                ErrorCode.INVALID_CHANNEL,
+                "group tag cannot be combined with application specific feedback: " + udpChannel.originalUriString());
+        }
+
+        smLength = StatusMessageFlyweight.HEADER_LENGTH +
+            (hasGroupTag ? StatusMessageFlyweight.GROUP_TAG_FIELD_LENGTH : applicationSpecificFeedback.length);
     }
 
     /**
@@ -109,12 +177,12 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         int bytesSent = 0;
         try
         {
-            if (null != sendDatagramChannel)
+            if (null != datagramTransport)
             {
                 sendHook(buffer, remoteAddress);
-                if (sendDatagramChannel.isOpen())
+                if (datagramTransport.isOpen())
                 {
-                    bytesSent = sendDatagramChannel.send(buffer, remoteAddress);
+                    bytesSent = datagramTransport.sendTo(buffer, remoteAddress);
                 }
             }
         }
@@ -190,7 +258,45 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
 
     public void possibleTtlAsymmetryEncountered()
     {
-        possibleTtlAsymmetry.incrementOrdered();
+        possibleTtlAsymmetry.increment();
+    }
+
+    /**
+     * Index of the {@link io.aeron.driver.Receiver} which owns this endpoint and the images on it.
+     *
+     * @return index of the receiver which owns this endpoint.
+     * @see CommonContext#RECEIVER_INDEX_PARAM_NAME
+     */
+    public int receiverIndex()
+    {
+        return receiverIndex;
+    }
+
+    /**
+     * Max number of datagrams to be drained from a transport of this endpoint in one batch before dispatch.
+     *
+     * @return max number of datagrams to be drained from a transport in one batch.
+     * @see CommonContext#RECEIVE_BATCH_LENGTH_PARAM_NAME
+     */
+    public int receiveBatchLength()
+    {
+        return receiveBatchLength;
+    }
+
+    /**
+     * Record the number of datagrams drained from a transport in a batch so the batch length can be tuned.
+     *
+     * @param datagramCount drained from the transport in the batch.
+     */
+    public void onReceiveBatch(final int datagramCount)
+    {
+        receiveBatchDrains.increment();
+        receiveBatchDatagrams.getAndAdd(datagramCount);
+
+        if (datagramCount == receiveBatchLength)
+        {
+            receiveBatchFullDrains.increment();
+        }
     }
 
     public int incRefToStream(final int streamId)
@@ -361,9 +467,32 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         final InetSocketAddress srcAddress,
         final int transportIndex)
     {
+        if (isGsoEnabled)
+        {
+            return onCoalescedDataPacket(header, buffer, length, srcAddress, transportIndex);
+        }
+
         return dispatcher.onDataPacket(this, header, buffer, length, srcAddress, transportIndex);
     }
 
+    /**
+     * Called when a datagram of heartbeats coalesced by a sender has been split into separate heartbeat frames.
+     */
+    public void onHeartbeatDatagramSplit()
+    {
+        heartbeatDatagramsSplit.increment();
+    }
+
+    public int onFecPacket(
+        final FecFlyweight header,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress,
+        final int transportIndex)
+    {
+        return dispatcher.onFecPacket(header, buffer, length, srcAddress, transportIndex);
+    }
+
     public void onSetupMessage(
         final SetupFlyweight header,
         final UnsafeBuffer buffer,
@@ -401,8 +530,9 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
                 .consumptionTermOffset(0)
                 .receiverWindowLength(0)
                 .flags(SEND_SETUP_FLAG);
+            applyFeedback();
 
-            send(smBuffer, StatusMessageFlyweight.HEADER_LENGTH, transportIndex, controlAddress);
+            send(smBuffer, smLength, transportIndex, controlAddress);
         }
     }
 
@@ -448,8 +578,9 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
                 .consumptionTermOffset(termOffset)
                 .receiverWindowLength(windowLength)
                 .flags(flags);
+            applyFeedback();
 
-            send(smBuffer, StatusMessageFlyweight.HEADER_LENGTH, controlAddresses);
+            sendControl(smBuffer, smLength, controlAddresses);
         }
     }
 
@@ -463,15 +594,55 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     {
         if (!isClosed)
         {
-            nakBuffer.clear();
+            nakBuffer.clear().limit(NakFlyweight.HEADER_LENGTH);
             nakFlyweight
                 .streamId(streamId)
                 .sessionId(sessionId)
                 .termId(termId)
                 .termOffset(termOffset)
-                .length(length);
+                .length(length)
+                .frameLength(NakFlyweight.HEADER_LENGTH);
+
+            sendControl(nakBuffer, NakFlyweight.HEADER_LENGTH, controlAddresses);
+        }
+    }
+
+    /**
+     * Send a NAK which carries a number of ranges of missing data in the same term.
+     *
+     * @param controlAddresses to send the NAK to.
+     * @param sessionId        of the image.
+     * @param streamId         of the image.
+     * @param termId           in which the data is missing.
+     * @param termOffsets      of each range of missing data.
+     * @param lengths          of each range of missing data.
+     * @param rangeCount       number of ranges to send from the arrays.
+     */
+    public void sendNakMessage(
+        final ImageConnection[] controlAddresses,
+        final int sessionId,
+        final int streamId,
+        final int termId,
+        final int[] termOffsets,
+        final int[] lengths,
+        final int rangeCount)
+    {
+        if (!isClosed)
+        {
+            final int frameLength = NakFlyweight.frameLengthForRanges(rangeCount);
+            nakBuffer.clear().limit(frameLength);
+            nakFlyweight
+                .streamId(streamId)
+                .sessionId(sessionId)
+                .termId(termId)
+                .frameLength(frameLength);
+
+            for (int i = 0; i < rangeCount; i++)
+            {
+                nakFlyweight.range(i, termOffsets[i], lengths[i]);
+            }
 
-            send(nakBuffer, NakFlyweight.HEADER_LENGTH, controlAddresses);
+            sendControl(nakBuffer, frameLength, controlAddresses);
         }
     }
 
@@ -542,6 +713,90 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         return dispatcher.shouldElicitSetupMessage();
     }
 
+    /**
+     * Are Status Messages and NAKs batched per control address to be sent by {@link #flushControlMessages()}.
+     *
+     * @return true if Status Messages and NAKs are batched.
+     * @see MediaDriver.Context#controlMessageBatchingEnabled()
+     */
+    public boolean isControlBatchingEnabled()
+    {
+        return isControlBatchingEnabled;
+    }
+
+    /**
+     * Send the Status Messages and NAKs batched since the last flush with one datagram to each control address.
+     * Batches for control addresses which have had nothing to send since the last flush are released.
+     *
+     * @return number of datagrams sent.
+     */
+    public int flushControlMessages()
+    {
+        int datagramsSent = 0;
+        final ArrayList<ControlBatch> controlBatches = this.controlBatches;
+
+        for (int lastIndex = controlBatches.size() - 1, i = lastIndex; i >= 0; i--)
+        {
+            final ControlBatch batch = controlBatches.get(i);
+            if (batch.buffer.position() > 0)
+            {
+                sendControlBatch(batch);
+                datagramsSent++;
+            }
+            else
+            {
+                ArrayListUtil.fastUnorderedRemove(controlBatches, i, lastIndex--);
+                controlBatchByAddress.remove(batch.controlAddress);
+                batch.controlAddress = null;
+                freeControlBatches.add(batch);
+            }
+        }
+
+        return datagramsSent;
+    }
+
+    private void sendControl(final ByteBuffer buffer, final int bytesToSend, final ImageConnection[] imageConnections)
+    {
+        if (!isControlBatchingEnabled || bytesToSend > controlBatchLength)
+        {
+            send(buffer, bytesToSend, imageConnections);
+            return;
+        }
+
+        final InetSocketAddress controlAddress = imageConnections[0].controlAddress;
+        ControlBatch batch = controlBatchByAddress.get(controlAddress);
+        if (null == batch)
+        {
+            final int freeCount = freeControlBatches.size();
+            batch = 0 == freeCount ? new ControlBatch(controlBatchLength) : freeControlBatches.remove(freeCount - 1);
+            batch.controlAddress = controlAddress;
+            controlBatchByAddress.put(controlAddress, batch);
+            controlBatches.add(batch);
+        }
+        else if (batch.buffer.position() + bytesToSend > controlBatchLength)
+        {
+            sendControlBatch(batch);
+        }
+
+        buffer.limit(buffer.position() + bytesToSend);
+        batch.buffer.put(buffer);
+    }
+
+    private void sendControlBatch(final ControlBatch batch)
+    {
+        final ByteBuffer batchBuffer = batch.buffer;
+        batchBuffer.flip();
+
+        final int bytesToSend = batchBuffer.remaining();
+        if (bytesToSend != sendTo(batchBuffer, batch.controlAddress))
+        {
+            shortSends.increment();
+        }
+
+        batchBuffer.clear();
+        batchedControlDatagramsSent.increment();
+    }
+
     protected void send(final ByteBuffer buffer, final int bytesToSend, final ImageConnection[] imageConnections)
     {
         final int bytesSent;
@@ -584,4 +839,112 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
             shortSends.increment();
         }
     }
-}
\ No newline at end of file
+
+    private void applyFeedback()
+    {
+        if (hasGroupTag)
+        {
+            statusMessageFlyweight.groupTag(groupTag);
+        }
+        else
+        {
+            statusMessageFlyweight.applicationSpecificFeedback(
+                applicationSpecificFeedback, 0, applicationSpecificFeedback.length);
+        }
+
+        smBuffer.limit(smLength);
+    }
+
+    private int onCoalescedDataPacket(
+        final DataHeaderFlyweight header,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress,
+        final int transportIndex)
+    {
+        final int firstRunLength = contiguousRunLength(buffer, 0, length);
+        if (firstRunLength == length)
+        {
+            return dispatcher.onDataPacket(this, header, buffer, length, srcAddress, transportIndex);
+        }
+
+        int bytesReceived = 0;
+        int runOffset = 0;
+        int runLength = firstRunLength;
+
+        while (true)
+        {
+            groBuffer.wrap(buffer, runOffset, runLength);
+            groHeader.wrap(groBuffer);
+            bytesReceived += dispatcher.onDataPacket(this, groHeader, groBuffer, runLength, srcAddress, transportIndex);
+
+            runOffset += runLength;
+            if (length - runOffset < DataHeaderFlyweight.HEADER_LENGTH)
+            {
+                break;
+            }
+
+            final int frameType = frameType(buffer, runOffset);
+            if (HDR_TYPE_DATA != frameType && HDR_TYPE_PAD != frameType)
+            {
+                break;
+            }
+
+            runLength = contiguousRunLength(buffer, runOffset, length);
+        }
+
+        groReceivesSplit.increment();
+
+        return bytesReceived;
+    }
+
+    private static int contiguousRunLength(final UnsafeBuffer buffer, final int runOffset, final int length)
+    {
+        final int sessionId = DataHeaderFlyweight.sessionId(buffer, runOffset);
+        final int streamId = DataHeaderFlyweight.streamId(buffer, runOffset);
+        final int termId = DataHeaderFlyweight.termId(buffer, runOffset);
+        int expectedTermOffset = DataHeaderFlyweight.termOffset(buffer, runOffset);
+        int offset = runOffset;
+
+        while (length - offset >= DataHeaderFlyweight.HEADER_LENGTH)
+        {
+            final int frameType = frameType(buffer, offset);
+            if ((HDR_TYPE_DATA != frameType && HDR_TYPE_PAD != frameType) ||
+                sessionId != DataHeaderFlyweight.sessionId(buffer, offset) ||
+                streamId != DataHeaderFlyweight.streamId(buffer, offset) ||
+                termId != DataHeaderFlyweight.termId(buffer, offset) ||
+                expectedTermOffset != DataHeaderFlyweight.termOffset(buffer, offset))
+            {
+                break;
+            }
+
+            final int frameLength = frameLengthVolatile(buffer, offset);
+            if (frameLength <= 0)
+            {
+                if (offset == runOffset)
+                {
+                    offset += DataHeaderFlyweight.HEADER_LENGTH;
+                }
+
+                break;
+            }
+
+            final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+            offset += alignedLength;
+            expectedTermOffset += alignedLength;
+        }
+
+        return Math.min(offset, length) - runOffset;
+    }
+
+    private static final class ControlBatch
+    {
+        final ByteBuffer buffer;
+        InetSocketAddress controlAddress;
+
+        ControlBatch(final int capacity)
+        {
+            buffer = NetworkUtil.allocateDirectAlignedAndPadded(capacity, CACHE_LINE_LENGTH * 2);
+        }
+    }
+}
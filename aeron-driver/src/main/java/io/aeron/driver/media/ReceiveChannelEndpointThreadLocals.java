@@ -15,6 +15,7 @@
  */
 package io.aeron.driver.media;
 
+import io.aeron.driver.Configuration;
 import io.aeron.driver.MediaDriver;
 import io.aeron.protocol.HeaderFlyweight;
 import io.aeron.protocol.NakFlyweight;
@@ -31,9 +32,14 @@ import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 /**
  * Thread local variables that will only be accessed in the context of the Receiver agent thread from within a
  * {@link ReceiveChannelEndpoint} subclass.
+ * <p>
+ * Endpoints owned by receivers other than the first have their own instance with the same receiver id so the driver
+ * is seen as a single receiver by flow control.
  */
 public class ReceiveChannelEndpointThreadLocals
 {
+    private static final int NAK_MAX_LENGTH = NakFlyweight.frameLengthForRanges(Configuration.NAK_MAX_RANGES);
+
     private final ByteBuffer smBuffer;
     private final StatusMessageFlyweight statusMessageFlyweight;
     private final ByteBuffer nakBuffer;
@@ -44,16 +50,20 @@ public class ReceiveChannelEndpointThreadLocals
 
     public ReceiveChannelEndpointThreadLocals(final MediaDriver.Context context)
     {
+        this(context, newReceiverId());
+    }
+
+    public ReceiveChannelEndpointThreadLocals(final MediaDriver.Context context, final long receiverId)
+    {
+        this.receiverId = receiverId;
         final byte[] applicationSpecificFeedback = context.applicationSpecificFeedback();
-        final int smLength = StatusMessageFlyweight.HEADER_LENGTH + applicationSpecificFeedback.length;
+        final int smLength = StatusMessageFlyweight.HEADER_LENGTH +
+            Math.max(applicationSpecificFeedback.length, StatusMessageFlyweight.GROUP_TAG_FIELD_LENGTH);
         final int bufferLength =
             BitUtil.align(smLength, CACHE_LINE_LENGTH) +
-            BitUtil.align(NakFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH) +
+            BitUtil.align(NAK_MAX_LENGTH, CACHE_LINE_LENGTH) +
             BitUtil.align(RttMeasurementFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH);
 
-        final UUID uuid = UUID.randomUUID();
-        receiverId = uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
-
         final ByteBuffer byteBuffer = NetworkUtil.allocateDirectAlignedAndPadded(bufferLength, CACHE_LINE_LENGTH * 2);
 
         byteBuffer.limit(smLength);
@@ -61,11 +71,11 @@ public class ReceiveChannelEndpointThreadLocals
         statusMessageFlyweight = new StatusMessageFlyweight(smBuffer);
 
         final int nakMessageOffset = BitUtil.align(smLength, FRAME_ALIGNMENT);
-        byteBuffer.limit(nakMessageOffset + NakFlyweight.HEADER_LENGTH).position(nakMessageOffset);
+        byteBuffer.limit(nakMessageOffset + NAK_MAX_LENGTH).position(nakMessageOffset);
         nakBuffer = byteBuffer.slice();
         nakFlyweight = new NakFlyweight(nakBuffer);
 
-        final int rttMeasurementOffset = nakMessageOffset + BitUtil.align(NakFlyweight.HEADER_LENGTH, FRAME_ALIGNMENT);
+        final int rttMeasurementOffset = nakMessageOffset + BitUtil.align(NAK_MAX_LENGTH, FRAME_ALIGNMENT);
         byteBuffer.limit(rttMeasurementOffset + RttMeasurementFlyweight.HEADER_LENGTH).position(rttMeasurementOffset);
         rttMeasurementBuffer = byteBuffer.slice();
         rttMeasurementFlyweight = new RttMeasurementFlyweight(rttMeasurementBuffer);
@@ -123,4 +133,10 @@ public class ReceiveChannelEndpointThreadLocals
     {
         return receiverId;
     }
+
+    private static long newReceiverId()
+    {
+        final UUID uuid = UUID.randomUUID();
+        return uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+    }
 }
@@ -21,7 +21,6 @@ import io.aeron.status.ChannelEndpointStatus;
 import io.aeron.protocol.NakFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.StatusMessageFlyweight;
-import org.agrona.collections.BiInt2ObjectMap;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 
@@ -32,6 +31,7 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
 import static io.aeron.status.ChannelEndpointStatus.status;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.protocol.StatusMessageFlyweight.SEND_SETUP_FLAG;
 
@@ -44,11 +44,15 @@ public class SendChannelEndpoint extends UdpChannelTransport
     private static final long DESTINATION_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
 
     private int refCount = 0;
-    private final BiInt2ObjectMap<NetworkPublication> publicationBySessionAndStreamId = new BiInt2ObjectMap<>();
+    private final SessionStreamMap<NetworkPublication> publicationBySessionAndStreamId = new SessionStreamMap<>();
     private final MultiDestination multiDestination;
     private final AtomicCounter statusMessagesReceived;
     private final AtomicCounter nakMessagesReceived;
     private final AtomicCounter statusIndicator;
+    private final AtomicCounter shortSends;
+    private final AtomicCounter heartbeatDatagramsSent;
+    private final ByteBuffer heartbeatBatchBuffer;
+    private final int senderIndex;
 
     public SendChannelEndpoint(
         final UdpChannel udpChannel, final AtomicCounter statusIndicator, final MediaDriver.Context context)
@@ -62,7 +66,13 @@ public class SendChannelEndpoint extends UdpChannelTransport
 
         nakMessagesReceived = context.systemCounters().get(NAK_MESSAGES_RECEIVED);
         statusMessagesReceived = context.systemCounters().get(STATUS_MESSAGES_RECEIVED);
+        shortSends = context.systemCounters().get(SHORT_SENDS);
+        heartbeatDatagramsSent = context.systemCounters().get(HEARTBEAT_DATAGRAMS_SENT);
+        heartbeatBatchBuffer = context.heartbeatCoalescingEnabled() ?
+            NetworkUtil.allocateDirectAlignedAndPadded(Configuration.MAX_UDP_PAYLOAD_LENGTH, CACHE_LINE_LENGTH * 2) :
+            null;
         this.statusIndicator = statusIndicator;
+        senderIndex = Configuration.senderIndex(udpChannel, context.senderCount());
 
         MultiDestination multiDestination = null;
         if (udpChannel.hasExplicitControl())
@@ -121,6 +131,17 @@ public class SendChannelEndpoint extends UdpChannelTransport
         return statusIndicator.id();
     }
 
+    /**
+     * Index of the {@link Sender} which owns this endpoint and the publications on it.
+     *
+     * @return index of the sender which owns this endpoint.
+     * @see CommonContext#SENDER_INDEX_PARAM_NAME
+     */
+    public int senderIndex()
+    {
+        return senderIndex;
+    }
+
     public void indicateActive()
     {
         final long currentStatus = statusIndicator.get();
@@ -183,7 +204,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
     {
         int bytesSent = 0;
 
-        if (null != sendDatagramChannel)
+        if (null != datagramTransport)
         {
             final int bytesToSend = buffer.remaining();
 
@@ -192,10 +213,80 @@ public class SendChannelEndpoint extends UdpChannelTransport
                 try
                 {
                     sendHook(buffer, connectAddress);
-                    if (sendDatagramChannel.isConnected())
-                    {
-                        bytesSent = sendDatagramChannel.write(buffer);
-                    }
+                    bytesSent = datagramTransport.send(buffer);
+                }
+                catch (final PortUnreachableException ignore)
+                {
+                }
+                catch (final IOException ex)
+                {
+                    sendError(bytesToSend, ex, connectAddress);
+                }
+            }
+            else
+            {
+                bytesSent = multiDestination.send(datagramTransport, buffer, this, bytesToSend);
+            }
+        }
+
+        return bytesSent;
+    }
+
+    /**
+     * Send a batch of datagrams which are regions of the same {@link ByteBuffer} to the connected address.
+     * <p>
+     * This is the single flush point for a batch so a transport with vectored send support can issue it in one
+     * system call. Datagrams are sent in order and the batch stops at the first datagram which is not fully sent.
+     *
+     * @param buffer  containing the datagrams to send.
+     * @param offsets of each datagram in the buffer.
+     * @param lengths of each datagram in the buffer.
+     * @param count   of datagrams in the batch.
+     * @return number of datagrams fully sent from the start of the batch.
+     */
+    public int sendBatch(final ByteBuffer buffer, final int[] offsets, final int[] lengths, final int count)
+    {
+        int datagramsSent = 0;
+
+        for (int i = 0; i < count; i++)
+        {
+            final int offset = offsets[i];
+            final int length = lengths[i];
+            buffer.limit(offset + length).position(offset);
+
+            if (length != send(buffer))
+            {
+                break;
+            }
+
+            datagramsSent++;
+        }
+
+        return datagramsSent;
+    }
+
+    /**
+     * Send a run of equal length datagrams, except the last which may be shorter, to the connected address as one
+     * segmented send. When sending to multiple destinations the run is sent one datagram at a time.
+     *
+     * @param buffer        containing the run between its position and limit.
+     * @param segmentLength of each datagram in the run.
+     * @return number of bytes sent which is always a whole number of segments.
+     * @see DatagramTransport#sendSegmented(ByteBuffer, int)
+     */
+    public int sendSegmented(final ByteBuffer buffer, final int segmentLength)
+    {
+        int bytesSent = 0;
+
+        if (null != datagramTransport)
+        {
+            if (null == multiDestination)
+            {
+                final int bytesToSend = buffer.remaining();
+                try
+                {
+                    sendHook(buffer, connectAddress);
+                    bytesSent = datagramTransport.sendSegmented(buffer, segmentLength);
                 }
                 catch (final PortUnreachableException ignore)
                 {
@@ -207,13 +298,92 @@ public class SendChannelEndpoint extends UdpChannelTransport
             }
             else
             {
-                bytesSent = multiDestination.send(sendDatagramChannel, buffer, this, bytesToSend);
+                final int limit = buffer.limit();
+                int position = buffer.position();
+
+                while (position < limit)
+                {
+                    final int length = Math.min(segmentLength, limit - position);
+                    buffer.limit(position + length).position(position);
+
+                    if (length != multiDestination.send(datagramTransport, buffer, this, length))
+                    {
+                        break;
+                    }
+
+                    position += length;
+                    bytesSent += length;
+                }
+
+                buffer.limit(limit).position(position);
             }
         }
 
         return bytesSent;
     }
 
+    /**
+     * Are heartbeats from idle publications on this endpoint coalesced into one datagram per sender duty cycle.
+     *
+     * @return true if heartbeats are coalesced and should be sent with {@link #sendHeartbeat(ByteBuffer, int)}.
+     * @see MediaDriver.Context#heartbeatCoalescingEnabled()
+     */
+    public boolean isHeartbeatCoalescingEnabled()
+    {
+        return null != heartbeatBatchBuffer;
+    }
+
+    /**
+     * Add a heartbeat frame to the datagram of heartbeats to be sent by {@link #flushHeartbeats()} at the end of the
+     * sender duty cycle. If the frame would take the datagram beyond the MTU of the publication then the heartbeats
+     * already added are sent first.
+     *
+     * @param heartbeatBuffer containing the heartbeat frame between its position and limit.
+     * @param mtuLength       of the publication sending the heartbeat.
+     * @return number of bytes sent if heartbeats already added were sent to make space.
+     */
+    public int sendHeartbeat(final ByteBuffer heartbeatBuffer, final int mtuLength)
+    {
+        int bytesSent = 0;
+        final ByteBuffer batchBuffer = this.heartbeatBatchBuffer;
+
+        if (batchBuffer.position() + heartbeatBuffer.remaining() > mtuLength)
+        {
+            bytesSent = flushHeartbeats();
+        }
+
+        batchBuffer.put(heartbeatBuffer);
+
+        return bytesSent;
+    }
+
+    /**
+     * Send the heartbeat frames added since the last flush as one datagram.
+     *
+     * @return number of bytes sent.
+     */
+    public int flushHeartbeats()
+    {
+        final ByteBuffer batchBuffer = this.heartbeatBatchBuffer;
+        if (null == batchBuffer || 0 == batchBuffer.position())
+        {
+            return 0;
+        }
+
+        batchBuffer.flip();
+        final int bytesToSend = batchBuffer.remaining();
+        final int bytesSent = send(batchBuffer);
+        if (bytesToSend != bytesSent)
+        {
+            shortSends.increment();
+        }
+
+        batchBuffer.clear();
+        heartbeatDatagramsSent.increment();
+
+        return bytesSent;
+    }
+
     public void onStatusMessage(
         final StatusMessageFlyweight msg,
         final UnsafeBuffer buffer,
@@ -231,7 +401,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
             if (0 == sessionId && 0 == streamId && SEND_SETUP_FLAG == (msg.flags() & SEND_SETUP_FLAG))
             {
                 publicationBySessionAndStreamId.forEach(NetworkPublication::triggerSendSetupFrame);
-                statusMessagesReceived.incrementOrdered();
+                statusMessagesReceived.increment();
             }
         }
 
@@ -246,7 +416,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
                 publication.onStatusMessage(msg, srcAddress);
             }
 
-            statusMessagesReceived.incrementOrdered();
+            statusMessagesReceived.increment();
         }
     }
 
@@ -260,8 +430,8 @@ public class SendChannelEndpoint extends UdpChannelTransport
 
         if (null != publication)
         {
-            publication.onNak(msg.termId(), msg.termOffset(), msg.length());
-            nakMessagesReceived.incrementOrdered();
+            publication.onNak(msg, NakFlyweight.rangeCount(Math.min(msg.frameLength(), length)));
+            nakMessagesReceived.increment();
         }
     }
 
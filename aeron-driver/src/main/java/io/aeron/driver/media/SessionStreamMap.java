@@ -0,0 +1,316 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import org.agrona.BitUtil;
+import org.agrona.collections.Hashing;
+
+import java.util.function.Consumer;
+
+/**
+ * Map of values keyed by session id and stream id for dispatching frames on the hot path of an endpoint.
+ * <p>
+ * Keys are packed into a single long and stored in a flat open-addressing table with linear probing so a lookup is
+ * one hash and usually one probe without allocation or indirection through a per stream map. The last key found is
+ * cached so the common case of a single stream per channel, or bursts of frames for the same stream, short circuits
+ * the probe altogether.
+ * <p>
+ * Not thread safe and only expected to be accessed from one agent. Null values are not supported.
+ *
+ * @param <V> type of the values stored.
+ */
+public class SessionStreamMap<V>
+{
+    private static final int MIN_CAPACITY = 8;
+    private static final float LOAD_FACTOR = Hashing.DEFAULT_LOAD_FACTOR;
+
+    private int resizeThreshold;
+    private int size;
+    private long[] keys;
+    private Object[] values;
+    private long lastKey;
+    private Object lastValue;
+
+    public SessionStreamMap()
+    {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Construct a map with an initial capacity which will be rounded up to a power of two.
+     *
+     * @param initialCapacity for the table before it needs to be resized.
+     */
+    public SessionStreamMap(final int initialCapacity)
+    {
+        final int capacity = BitUtil.findNextPositivePowerOfTwo(Math.max(MIN_CAPACITY, initialCapacity));
+        keys = new long[capacity];
+        values = new Object[capacity];
+        resizeThreshold = (int)(capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Pack a session id and stream id into the key used for the table.
+     *
+     * @param sessionId for the key.
+     * @param streamId  for the key.
+     * @return the packed key.
+     */
+    public static long key(final int sessionId, final int streamId)
+    {
+        return Hashing.compoundKey(sessionId, streamId);
+    }
+
+    /**
+     * Get the value for a session id and stream id.
+     *
+     * @param sessionId of the value.
+     * @param streamId  of the value.
+     * @return the value or null if not found.
+     */
+    public V get(final int sessionId, final int streamId)
+    {
+        return get(key(sessionId, streamId));
+    }
+
+    /**
+     * Get the value for a packed key.
+     *
+     * @param key packed with {@link #key(int, int)}.
+     * @return the value or null if not found.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key)
+    {
+        if (key == lastKey && null != lastValue)
+        {
+            return (V)lastValue;
+        }
+
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        final int mask = values.length - 1;
+        int index = Hashing.hash(key, mask);
+
+        Object value;
+        while (null != (value = values[index]))
+        {
+            if (key == keys[index])
+            {
+                lastKey = key;
+                lastValue = value;
+                break;
+            }
+
+            index = ++index & mask;
+        }
+
+        return (V)value;
+    }
+
+    /**
+     * Put a value for a session id and stream id.
+     *
+     * @param sessionId of the value.
+     * @param streamId  of the value.
+     * @param value     to put which must not be null.
+     * @return the previous value or null if none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final int sessionId, final int streamId, final V value)
+    {
+        if (null == value)
+        {
+            throw new NullPointerException("value cannot be null");
+        }
+
+        final long key = key(sessionId, streamId);
+        final int mask = values.length - 1;
+        int index = Hashing.hash(key, mask);
+
+        Object oldValue;
+        while (null != (oldValue = values[index]))
+        {
+            if (key == keys[index])
+            {
+                break;
+            }
+
+            index = ++index & mask;
+        }
+
+        if (null == oldValue)
+        {
+            size++;
+            keys[index] = key;
+        }
+
+        values[index] = value;
+
+        if (key == lastKey)
+        {
+            lastValue = value;
+        }
+
+        if (size > resizeThreshold)
+        {
+            rehash(values.length << 1);
+        }
+
+        return (V)oldValue;
+    }
+
+    /**
+     * Remove the value for a session id and stream id.
+     *
+     * @param sessionId of the value.
+     * @param streamId  of the value.
+     * @return the removed value or null if not found.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final int sessionId, final int streamId)
+    {
+        final long key = key(sessionId, streamId);
+        final int mask = values.length - 1;
+        int index = Hashing.hash(key, mask);
+
+        Object value;
+        while (null != (value = values[index]))
+        {
+            if (key == keys[index])
+            {
+                values[index] = null;
+                size--;
+                compactChain(index);
+                break;
+            }
+
+            index = ++index & mask;
+        }
+
+        if (key == lastKey)
+        {
+            lastValue = null;
+        }
+
+        return (V)value;
+    }
+
+    /**
+     * Iterate over the values in the map.
+     *
+     * @param consumer to be called for each value.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(final Consumer<V> consumer)
+    {
+        final Object[] values = this.values;
+        for (final Object value : values)
+        {
+            if (null != value)
+            {
+                consumer.accept((V)value);
+            }
+        }
+    }
+
+    /**
+     * Number of values in the map.
+     *
+     * @return number of values in the map.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Is the map empty.
+     *
+     * @return true if the map is empty.
+     */
+    public boolean isEmpty()
+    {
+        return 0 == size;
+    }
+
+    /**
+     * Capacity of the table which is always a power of two.
+     *
+     * @return capacity of the table.
+     */
+    public int capacity()
+    {
+        return values.length;
+    }
+
+    private void rehash(final int newCapacity)
+    {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final int mask = newCapacity - 1;
+
+        keys = new long[newCapacity];
+        values = new Object[newCapacity];
+        resizeThreshold = (int)(newCapacity * LOAD_FACTOR);
+
+        for (int i = 0, length = oldValues.length; i < length; i++)
+        {
+            final Object value = oldValues[i];
+            if (null != value)
+            {
+                final long key = oldKeys[i];
+                int index = Hashing.hash(key, mask);
+                while (null != values[index])
+                {
+                    index = ++index & mask;
+                }
+
+                keys[index] = key;
+                values[index] = value;
+            }
+        }
+    }
+
+    private void compactChain(final int deleteIndex)
+    {
+        final long[] keys = this.keys;
+        final Object[] values = this.values;
+        final int mask = values.length - 1;
+        int holeIndex = deleteIndex;
+        int index = deleteIndex;
+
+        while (true)
+        {
+            index = ++index & mask;
+            if (null == values[index])
+            {
+                break;
+            }
+
+            final int hash = Hashing.hash(keys[index], mask);
+
+            if ((index < hash && (hash <= holeIndex || holeIndex <= index)) ||
+                (hash <= holeIndex && holeIndex <= index))
+            {
+                keys[holeIndex] = keys[index];
+                values[holeIndex] = values[index];
+                values[index] = null;
+                holeIndex = index;
+            }
+        }
+    }
+}
@@ -20,7 +20,6 @@ import io.aeron.driver.status.SystemCounterDescriptor;
 import io.aeron.exceptions.AeronException;
 import io.aeron.protocol.HeaderFlyweight;
 import io.aeron.status.ChannelEndpointStatus;
-import org.agrona.CloseHelper;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.errors.DistinctErrorLog;
@@ -29,15 +28,15 @@ import org.agrona.concurrent.status.AtomicCounter;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.PortUnreachableException;
-import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
-import java.nio.channels.DatagramChannel;
 import java.nio.channels.SelectionKey;
 
 import static io.aeron.logbuffer.FrameDescriptor.frameVersion;
-import static java.net.StandardSocketOptions.SO_RCVBUF;
-import static java.net.StandardSocketOptions.SO_SNDBUF;
 
+/**
+ * Base for channel endpoints which send and receive datagrams for a {@link UdpChannel} via a {@link DatagramTransport}
+ * supplied by {@link MediaDriver.Context#datagramTransportSupplier()}.
+ */
 public abstract class UdpChannelTransport implements AutoCloseable
 {
     protected final MediaDriver.Context context;
@@ -49,9 +48,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
     protected final InetSocketAddress bindAddress;
     protected final InetSocketAddress endPointAddress;
     protected final InetSocketAddress connectAddress;
-    protected DatagramChannel sendDatagramChannel;
-    protected DatagramChannel receiveDatagramChannel;
-    protected int multicastTtl = 0;
+    protected DatagramTransport datagramTransport;
     protected boolean isClosed = false;
 
     public UdpChannelTransport(
@@ -83,62 +80,19 @@ public abstract class UdpChannelTransport implements AutoCloseable
     }
 
     /**
-     * Create the underlying channel for reading and writing.
+     * Create and open the underlying {@link DatagramTransport} for reading and writing.
      *
      * @param statusIndicator to set for error status
      */
     public void openDatagramChannel(final AtomicCounter statusIndicator)
     {
+        final DatagramTransport transport = context.datagramTransportSupplier().newInstance(
+            udpChannel, endPointAddress, bindAddress, connectAddress, context);
+
         try
         {
-            sendDatagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
-            receiveDatagramChannel = sendDatagramChannel;
-
-            if (udpChannel.isMulticast())
-            {
-                if (null != connectAddress)
-                {
-                    receiveDatagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
-                }
-
-                receiveDatagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
-                receiveDatagramChannel.bind(new InetSocketAddress(endPointAddress.getPort()));
-                receiveDatagramChannel.join(endPointAddress.getAddress(), udpChannel.localInterface());
-                sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_IF, udpChannel.localInterface());
-
-                if (udpChannel.isHasMulticastTtl())
-                {
-                    sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, udpChannel.multicastTtl());
-                    multicastTtl = sendDatagramChannel.getOption(StandardSocketOptions.IP_MULTICAST_TTL);
-                }
-                else if (context.socketMulticastTtl() != 0)
-                {
-                    sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, context.socketMulticastTtl());
-                    multicastTtl = sendDatagramChannel.getOption(StandardSocketOptions.IP_MULTICAST_TTL);
-                }
-            }
-            else
-            {
-                sendDatagramChannel.bind(bindAddress);
-            }
-
-            if (null != connectAddress)
-            {
-                sendDatagramChannel.connect(connectAddress);
-            }
-
-            if (0 != context.socketSndbufLength())
-            {
-                sendDatagramChannel.setOption(SO_SNDBUF, context.socketSndbufLength());
-            }
-
-            if (0 != context.socketRcvbufLength())
-            {
-                receiveDatagramChannel.setOption(SO_RCVBUF, context.socketRcvbufLength());
-            }
-
-            sendDatagramChannel.configureBlocking(false);
-            receiveDatagramChannel.configureBlocking(false);
+            transport.open();
+            datagramTransport = transport;
         }
         catch (final IOException ex)
         {
@@ -147,15 +101,6 @@ public abstract class UdpChannelTransport implements AutoCloseable
                 statusIndicator.setOrdered(ChannelEndpointStatus.ERRORED);
             }
 
-            CloseHelper.quietClose(sendDatagramChannel);
-            if (receiveDatagramChannel != sendDatagramChannel)
-            {
-                CloseHelper.quietClose(receiveDatagramChannel);
-            }
-
-            sendDatagramChannel = null;
-            receiveDatagramChannel = null;
-
             throw new AeronException(
                 "channel error - " + ex.getMessage() +
                 " (at " + ex.getStackTrace()[0].toString() + "): " +
@@ -185,13 +130,13 @@ public abstract class UdpChannelTransport implements AutoCloseable
     }
 
     /**
-     * The {@link DatagramChannel} for this transport channel.
+     * The {@link DatagramTransport} for this transport channel.
      *
-     * @return {@link DatagramChannel} for this transport channel.
+     * @return {@link DatagramTransport} for this transport channel or null if not open.
      */
-    public DatagramChannel receiveDatagramChannel()
+    public DatagramTransport datagramTransport()
     {
-        return receiveDatagramChannel;
+        return datagramTransport;
     }
 
     /**
@@ -201,7 +146,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
      */
     public int multicastTtl()
     {
-        return multicastTtl;
+        return null != datagramTransport ? datagramTransport.multicastTtl() : 0;
     }
 
     /**
@@ -225,14 +170,9 @@ public abstract class UdpChannelTransport implements AutoCloseable
                     transportPoller.selectNowWithoutProcessing();
                 }
 
-                if (null != sendDatagramChannel)
-                {
-                    sendDatagramChannel.close();
-                }
-
-                if (receiveDatagramChannel != sendDatagramChannel && null != receiveDatagramChannel)
+                if (null != datagramTransport)
                 {
-                    receiveDatagramChannel.close();
+                    datagramTransport.close();
                 }
 
                 if (null != transportPoller)
@@ -306,9 +246,9 @@ public abstract class UdpChannelTransport implements AutoCloseable
         InetSocketAddress address = null;
         try
         {
-            if (receiveDatagramChannel.isOpen())
+            if (datagramTransport.isOpen())
             {
-                address = (InetSocketAddress)receiveDatagramChannel.receive(buffer);
+                address = datagramTransport.receive(buffer);
             }
         }
         catch (final PortUnreachableException ignored)
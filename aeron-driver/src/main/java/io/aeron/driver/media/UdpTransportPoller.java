@@ -17,13 +17,19 @@ package io.aeron.driver.media;
 
 import org.agrona.nio.TransportPoller;
 
+import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 
 /**
  * Encapsulates the polling of a number of {@link UdpChannelTransport}s using whatever means provides the lowest latency.
+ * <p>
+ * Transports whose {@link DatagramTransport} is not selectable cannot be waited on with the {@link java.nio.channels.Selector}
+ * so while any are registered all transports are polled directly.
  */
 public abstract class UdpTransportPoller extends TransportPoller
 {
+    private int unselectableTransportCount = 0;
+
     /**
      * Explicit event loop processing as a poll
      *
@@ -45,4 +51,52 @@ public abstract class UdpTransportPoller extends TransportPoller
      * @param transport to cancel read for
      */
     public abstract void cancelRead(UdpChannelTransport transport);
+
+    /**
+     * Should the registered transports be polled directly rather than via the selector.
+     *
+     * @param transportCount number of transports registered.
+     * @return true if the registered transports should be polled directly.
+     */
+    protected boolean shouldIterateTransports(final int transportCount)
+    {
+        return transportCount <= ITERATION_THRESHOLD || unselectableTransportCount > 0;
+    }
+
+    /**
+     * Register the {@link DatagramTransport} of a transport with the selector if it is selectable.
+     *
+     * @param transport  to be registered.
+     * @param attachment for the {@link SelectionKey}.
+     * @return the {@link SelectionKey} for the registration or null if the transport is not selectable.
+     * @throws ClosedChannelException if the transport is closed.
+     */
+    protected SelectionKey register(final UdpChannelTransport transport, final Object attachment)
+        throws ClosedChannelException
+    {
+        final DatagramTransport datagramTransport = transport.datagramTransport();
+        if (datagramTransport.isSelectable())
+        {
+            return datagramTransport.registerForRead(selector, attachment);
+        }
+
+        unselectableTransportCount++;
+
+        return null;
+    }
+
+    /**
+     * Account for a transport, previously registered with {@link #register(UdpChannelTransport, Object)}, having
+     * been removed from the poller.
+     *
+     * @param transport which has been removed.
+     */
+    protected void deregistered(final UdpChannelTransport transport)
+    {
+        final DatagramTransport datagramTransport = transport.datagramTransport();
+        if (null != datagramTransport && !datagramTransport.isSelectable())
+        {
+            unselectableTransportCount--;
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.status;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * Histogram of recorded values in power of two buckets where each bucket is an {@link AtomicCounter} so that it
+ * can be read live from the CnC file, e.g. by AeronStat, without coordinating with the recording agent.
+ * <p>
+ * Bucket 0 counts values less than 2, bucket n counts values in the range 2^n to 2^(n+1) - 1, and the last bucket
+ * counts all values greater than or equal to its lower bound.
+ */
+public class BucketHistogram implements AutoCloseable
+{
+    /**
+     * Type id of a histogram bucket counter.
+     */
+    public static final int HISTOGRAM_BUCKET_TYPE_ID = 14;
+
+    private final AtomicCounter[] buckets;
+
+    BucketHistogram(final AtomicCounter[] buckets)
+    {
+        this.buckets = buckets;
+    }
+
+    /**
+     * Allocate the bucket counters for a new histogram.
+     *
+     * @param countersManager for managing the underlying storage.
+     * @param name            of the histogram which prefixes the label of each bucket.
+     * @param bucketCount     number of power of two buckets in the histogram.
+     * @return a new histogram with its buckets allocated.
+     */
+    public static BucketHistogram allocate(
+        final CountersManager countersManager, final String name, final int bucketCount)
+    {
+        final AtomicCounter[] buckets = new AtomicCounter[bucketCount];
+
+        for (int i = 0; i < bucketCount; i++)
+        {
+            final long lowerBound = lowerBound(i);
+            final String label = i == bucketCount - 1 ?
+                name + ": " + lowerBound + "+" :
+                name + ": " + lowerBound + "-" + (lowerBound(i + 1) - 1);
+
+            buckets[i] = countersManager.newCounter(
+                label,
+                HISTOGRAM_BUCKET_TYPE_ID,
+                (buffer) ->
+                {
+                    buffer.putInt(0, bucketCount);
+                    buffer.putLong(4, lowerBound);
+                });
+        }
+
+        return new BucketHistogram(buckets);
+    }
+
+    /**
+     * Record a value by incrementing the bucket which covers it. The increment is atomic so a histogram can be
+     * shared by a number of agents.
+     *
+     * @param value to be recorded.
+     */
+    public void record(final long value)
+    {
+        buckets[bucketIndex(value, buckets.length)].increment();
+    }
+
+    /**
+     * Record a value by incrementing the bucket which covers it with ordered semantics for when the histogram is
+     * only recorded to by one agent.
+     *
+     * @param value to be recorded.
+     */
+    public void recordOrdered(final long value)
+    {
+        buckets[bucketIndex(value, buckets.length)].incrementOrdered();
+    }
+
+    /**
+     * Number of buckets in the histogram.
+     *
+     * @return number of buckets in the histogram.
+     */
+    public int bucketCount()
+    {
+        return buckets.length;
+    }
+
+    /**
+     * Count of values recorded in a bucket.
+     *
+     * @param bucketIndex of the bucket.
+     * @return count of values recorded in the bucket.
+     */
+    public long count(final int bucketIndex)
+    {
+        return buckets[bucketIndex].get();
+    }
+
+    /**
+     * Close the bucket counters so they can be reused.
+     */
+    public void close()
+    {
+        for (final AtomicCounter bucket : buckets)
+        {
+            bucket.close();
+        }
+    }
+
+    /**
+     * Index of the bucket which covers a value.
+     *
+     * @param value       to find the bucket for.
+     * @param bucketCount number of buckets in the histogram.
+     * @return index of the bucket which covers the value.
+     */
+    public static int bucketIndex(final long value, final int bucketCount)
+    {
+        final int index = value < 2 ? 0 : 63 - Long.numberOfLeadingZeros(value);
+
+        return Math.min(index, bucketCount - 1);
+    }
+
+    /**
+     * Lower bound of the values covered by a bucket.
+     *
+     * @param bucketIndex of the bucket.
+     * @return lower bound of the values covered by the bucket.
+     */
+    public static long lowerBound(final int bucketIndex)
+    {
+        return 0 == bucketIndex ? 0 : 1L << bucketIndex;
+    }
+}
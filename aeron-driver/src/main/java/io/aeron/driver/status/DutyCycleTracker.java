@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.status;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import static io.aeron.driver.status.PerAgentCounter.AGENT_DUTY_CYCLE_TIME_TYPE_ID;
+import static io.aeron.driver.status.PerAgentCounter.AGENT_MAX_DUTY_CYCLE_TIME_TYPE_ID;
+
+/**
+ * Tracks the time an agent spends in duty cycles which did work. The total time is always kept and, when
+ * instrumentation is enabled, the max time and a {@link BucketHistogram} of the time of each duty cycle are kept so
+ * they can be read live from the CnC file to explain latency spikes.
+ * <p>
+ * Only the agent which owns the tracker should record to it.
+ */
+public class DutyCycleTracker
+{
+    private final AtomicCounter totalTime;
+    private final AtomicCounter maxTime;
+    private final BucketHistogram histogram;
+
+    DutyCycleTracker(final AtomicCounter totalTime, final AtomicCounter maxTime, final BucketHistogram histogram)
+    {
+        this.totalTime = totalTime;
+        this.maxTime = maxTime;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Allocate the counters for tracking the duty cycles of an agent.
+     *
+     * @param countersManager      for managing the underlying storage.
+     * @param roleName             of the agent.
+     * @param agentIndex           of the agent within its role.
+     * @param histogramBucketCount number of buckets for the histogram of duty cycle times or 0 for no histogram or
+     *                             max time.
+     * @return a new tracker for the agent.
+     */
+    public static DutyCycleTracker allocate(
+        final CountersManager countersManager,
+        final String roleName,
+        final int agentIndex,
+        final int histogramBucketCount)
+    {
+        final AtomicCounter totalTime = PerAgentCounter.allocate(
+            countersManager, AGENT_DUTY_CYCLE_TIME_TYPE_ID, "Duty cycle time (ns)", roleName, agentIndex);
+
+        AtomicCounter maxTime = null;
+        BucketHistogram histogram = null;
+        if (histogramBucketCount > 0)
+        {
+            maxTime = PerAgentCounter.allocate(
+                countersManager, AGENT_MAX_DUTY_CYCLE_TIME_TYPE_ID, "Max duty cycle time (ns)", roleName, agentIndex);
+            histogram = BucketHistogram.allocate(
+                countersManager, "Duty cycle time (ns) " + roleName + " " + agentIndex, histogramBucketCount);
+        }
+
+        return new DutyCycleTracker(totalTime, maxTime, histogram);
+    }
+
+    /**
+     * Record the time of a duty cycle which did work.
+     *
+     * @param durationNs of the duty cycle.
+     */
+    public void record(final long durationNs)
+    {
+        totalTime.getAndAddOrdered(durationNs);
+
+        if (null != histogram)
+        {
+            maxTime.proposeMaxOrdered(durationNs);
+            histogram.recordOrdered(durationNs);
+        }
+    }
+}
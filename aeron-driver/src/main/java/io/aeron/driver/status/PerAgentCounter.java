@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.status;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * Counters maintained by each agent when the work of a role is sharded across a number of agents, such as the
+ * receivers, so that any imbalance between them can be observed.
+ * <p>
+ * Agents which share a runner are reported under the role of the runner, such as shared, with an index of 0.
+ * <p>
+ * The key of each counter is the index of the agent within its role.
+ */
+public class PerAgentCounter
+{
+    /**
+     * Type id of a counter for the bytes handled by an agent.
+     */
+    public static final int AGENT_BYTES_TYPE_ID = 15;
+
+    /**
+     * Type id of a counter for the time in nanoseconds an agent spent in duty cycles which did work.
+     */
+    public static final int AGENT_DUTY_CYCLE_TIME_TYPE_ID = 16;
+
+    /**
+     * Type id of a counter for the current mode of an {@link io.aeron.driver.AdaptiveIdleStrategy}.
+     */
+    public static final int AGENT_IDLE_MODE_TYPE_ID = 17;
+
+    /**
+     * Type id of a counter for the current park period in nanoseconds of an
+     * {@link io.aeron.driver.AdaptiveIdleStrategy}.
+     */
+    public static final int AGENT_IDLE_PARK_PERIOD_TYPE_ID = 18;
+
+    /**
+     * Type id of a counter for the max time in nanoseconds of a duty cycle of an agent.
+     */
+    public static final int AGENT_MAX_DUTY_CYCLE_TIME_TYPE_ID = 19;
+
+    /**
+     * Allocate a counter for an agent.
+     *
+     * @param countersManager for managing the underlying storage.
+     * @param typeId          of the counter.
+     * @param name            of what is counted.
+     * @param roleName        of the agent.
+     * @param agentIndex      of the agent within its role.
+     * @return a new counter for the agent.
+     */
+    public static AtomicCounter allocate(
+        final CountersManager countersManager,
+        final int typeId,
+        final String name,
+        final String roleName,
+        final int agentIndex)
+    {
+        return countersManager.newCounter(
+            name + ": " + roleName + " " + agentIndex, typeId, (buffer) -> buffer.putInt(0, agentIndex));
+    }
+}
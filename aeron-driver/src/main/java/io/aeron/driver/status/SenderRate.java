@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.status;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * Rate in bytes per second a paced sender has achieved on a stream over the last measurement interval.
+ */
+public class SenderRate
+{
+    /**
+     * Type id of a sender rate counter.
+     */
+    public static final int SENDER_RATE_TYPE_ID = 21;
+
+    /**
+     * Human readable name for the counter.
+     */
+    public static final String NAME = "snd-rate";
+
+    public static AtomicCounter allocate(
+        final MutableDirectBuffer tempBuffer,
+        final CountersManager countersManager,
+        final long registrationId,
+        final int sessionId,
+        final int streamId,
+        final String channel)
+    {
+        final int counterId = StreamCounter.allocateCounterId(
+            tempBuffer, NAME, SENDER_RATE_TYPE_ID, countersManager, registrationId, sessionId, streamId, channel);
+
+        return new AtomicCounter(countersManager.valuesBuffer(), counterId, countersManager);
+    }
+}
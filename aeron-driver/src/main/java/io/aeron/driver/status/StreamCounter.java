@@ -240,6 +240,18 @@ public class StreamCounter
             case SenderBpe.SENDER_BPE_TYPE_ID:
                 return SenderBpe.NAME;
 
+            case SenderPacingDelays.SENDER_PACING_DELAYS_TYPE_ID:
+                return SenderPacingDelays.NAME;
+
+            case SenderRate.SENDER_RATE_TYPE_ID:
+                return SenderRate.NAME;
+
+            case FlowControlGroupPos.FLOW_CONTROL_GROUP_POS_TYPE_ID:
+                return FlowControlGroupPos.NAME;
+
+            case FlowControlGroupReceivers.FLOW_CONTROL_GROUP_RECEIVERS_TYPE_ID:
+                return FlowControlGroupReceivers.NAME;
+
             default:
                 return "<unknown>";
         }
@@ -47,7 +47,30 @@ public enum SystemCounterDescriptor
     POSSIBLE_TTL_ASYMMETRY(21, "Possible TTL Asymmetry"),
     CONTROLLABLE_IDLE_STRATEGY(22, "ControllableIdleStrategy status"),
     LOSS_GAP_FILLS(23, "Loss gap fills"),
-    CLIENT_TIMEOUTS(24, "Client liveness timeouts");
+    CLIENT_TIMEOUTS(24, "Client liveness timeouts"),
+    RECEIVE_BATCH_DRAINS(25, "Receive batch drains"),
+    RECEIVE_BATCH_DATAGRAMS(26, "Receive batch datagrams"),
+    RECEIVE_BATCH_FULL_DRAINS(27, "Receive batch drains that filled the batch"),
+    GSO_SENDS(28, "GSO sends"),
+    GSO_SEGMENTS_SENT(29, "GSO segments sent"),
+    GRO_RECEIVES_SPLIT(30, "GRO coalesced receives split"),
+    RETRANSMITS_MERGED(31, "Retransmit requests merged into active retransmits"),
+    RETRANSMITS_DROPPED(32, "Retransmit requests dropped as max active retransmits reached"),
+    RETRANSMITS_ISSUED(33, "Retransmits issued after delay or immediately on NAK"),
+    FEC_PARITY_SENT(34, "FEC parity frames sent"),
+    FEC_RECOVERED(35, "Datagrams recovered by FEC"),
+    FEC_UNRECOVERABLE(36, "FEC groups with too much loss to recover"),
+    RETRANSMIT_RECOVERED(37, "Datagrams recovered by retransmit"),
+    SENDER_PACING_DELAYS(38, "Sends held back by pacing"),
+    STATUS_MESSAGES_SUPPRESSED(39, "Status Messages suppressed or aggregated by receivers"),
+    STATUS_MESSAGE_RATE(40, "Status Messages received per second"),
+    LOG_BUFFER_POOL_HITS(41, "Log buffers taken from pool"),
+    LOG_BUFFER_POOL_MISSES(42, "Log buffers created as pool was empty"),
+    LOG_BUFFER_POOL_SIZE(43, "Log buffers available in pool"),
+    HEARTBEAT_DATAGRAMS_SENT(44, "Heartbeat datagrams sent"),
+    HEARTBEAT_DATAGRAMS_SPLIT(45, "Coalesced heartbeat datagrams split"),
+    BATCHED_CONTROL_DATAGRAMS_SENT(46, "Batched Status Message and NAK datagrams sent"),
+    HEARTBEAT_DATAGRAM_RATE(47, "Heartbeat datagrams sent per second");
 
     /**
      * All system counters have the same type id, i.e. system counters are the same type. Other types can exist.
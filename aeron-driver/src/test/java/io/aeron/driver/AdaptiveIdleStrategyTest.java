@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.Test;
+
+import static io.aeron.driver.AdaptiveIdleStrategy.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class AdaptiveIdleStrategyTest
+{
+    private static final long SPIN_THRESHOLD_NS = 50_000;
+    private static final long MAX_YIELDS = 2;
+    private static final long MIN_PARK_PERIOD_NS = 1_000;
+    private static final long MAX_PARK_PERIOD_NS = 1_000_000;
+
+    private long nanoTime = 1;
+
+    private final AdaptiveIdleStrategy idleStrategy = new AdaptiveIdleStrategy(
+        SPIN_THRESHOLD_NS, MAX_YIELDS, MIN_PARK_PERIOD_NS, MAX_PARK_PERIOD_NS, () -> nanoTime);
+
+    @Test
+    public void shouldSpinWhenWorkArrivesInBursts()
+    {
+        workEvery(1_000, 64);
+
+        idleStrategy.idle(0);
+        assertThat(idleStrategy.mode(), is(SPINNING));
+
+        nanoTime += SPIN_THRESHOLD_NS / 2;
+        idleStrategy.idle(0);
+        assertThat(idleStrategy.mode(), is(SPINNING));
+
+        nanoTime += SPIN_THRESHOLD_NS;
+        idleStrategy.idle(0);
+        assertThat(idleStrategy.mode(), is(YIELDING));
+    }
+
+    @Test
+    public void shouldNotSpinWhenWorkIsInfrequent()
+    {
+        workEvery(MAX_PARK_PERIOD_NS, 64);
+
+        idleStrategy.idle(0);
+        assertThat(idleStrategy.mode(), is(YIELDING));
+
+        for (int i = 0; i < MAX_YIELDS; i++)
+        {
+            idleStrategy.idle(0);
+        }
+
+        idleStrategy.idle(0);
+        assertThat(idleStrategy.mode(), is(PARKING));
+        assertThat(idleStrategy.parkPeriodNs(), is(MIN_PARK_PERIOD_NS));
+    }
+
+    @Test
+    public void shouldCapParkPeriodAtHalfTheInterArrivalTime()
+    {
+        workEvery(100_000, 64);
+        idleUntilParking();
+
+        for (int i = 0; i < 20; i++)
+        {
+            idleStrategy.idle(0);
+        }
+
+        assertThat(idleStrategy.parkPeriodNs(), lessThanOrEqualTo(idleStrategy.interArrivalNs() / 2));
+        assertThat(idleStrategy.parkPeriodNs(), is(Math.max(MIN_PARK_PERIOD_NS, idleStrategy.interArrivalNs() / 2)));
+    }
+
+    @Test
+    public void shouldReturnToSpinningAfterQuietPeriodWhenBurstResumes()
+    {
+        workEvery(MAX_PARK_PERIOD_NS * 1000, 4);
+        idleStrategy.idle(0);
+        assertThat(idleStrategy.mode(), is(YIELDING));
+
+        workEvery(100, 32);
+        assertThat(idleStrategy.mode(), is(NOT_IDLE));
+
+        idleStrategy.idle(0);
+        assertThat(idleStrategy.mode(), is(SPINNING));
+    }
+
+    @Test
+    public void shouldPublishModeAndParkPeriodToCounters()
+    {
+        final CountersManager countersManager = new CountersManager(
+            new UnsafeBuffer(new byte[64 * 1024]), new UnsafeBuffer(new byte[32 * 1024]));
+        final AtomicCounter modeCounter = countersManager.newCounter("mode");
+        final AtomicCounter parkPeriodCounter = countersManager.newCounter("park period");
+        idleStrategy.counters(modeCounter, parkPeriodCounter);
+
+        workEvery(MAX_PARK_PERIOD_NS, 64);
+        idleUntilParking();
+        idleStrategy.idle(0);
+
+        assertThat(modeCounter.get(), is((long)PARKING));
+        assertThat(parkPeriodCounter.get(), is(idleStrategy.parkPeriodNs()));
+
+        idleStrategy.idle(1);
+        assertThat(modeCounter.get(), is((long)NOT_IDLE));
+    }
+
+    private void workEvery(final long intervalNs, final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            nanoTime += intervalNs;
+            idleStrategy.idle(1);
+        }
+    }
+
+    private void idleUntilParking()
+    {
+        while (idleStrategy.mode() != PARKING)
+        {
+            nanoTime += SPIN_THRESHOLD_NS;
+            idleStrategy.idle(0);
+        }
+    }
+}
@@ -105,6 +105,7 @@ public class DriverConductorTest
     private final NanoClock nanoClock = () -> currentTimeNs;
 
     private CountersManager spyCountersManager;
+    private MediaDriver.Context ctx;
     private DriverProxy driverProxy;
     private DriverConductor driverConductor;
 
@@ -132,7 +133,7 @@ public class DriverConductorTest
         final SystemCounters mockSystemCounters = mock(SystemCounters.class);
         when(mockSystemCounters.get(any())).thenReturn(mockErrorCounter);
 
-        final MediaDriver.Context ctx = new MediaDriver.Context()
+        ctx = new MediaDriver.Context()
             .tempBuffer(new UnsafeBuffer(new byte[METADATA_LENGTH]))
             .publicationTermBufferLength(TERM_BUFFER_LENGTH)
             .ipcTermBufferLength(TERM_BUFFER_LENGTH)
@@ -149,6 +150,7 @@ public class DriverConductorTest
             .cachedNanoClock(new CachedNanoClock())
             .sendChannelEndpointSupplier(Configuration.sendChannelEndpointSupplier())
             .receiveChannelEndpointSupplier(Configuration.receiveChannelEndpointSupplier())
+            .datagramTransportSupplier(Configuration.datagramTransportSupplier())
             .congestControlSupplier(Configuration.congestionControlSupplier())
             .toDriverCommands(toDriverCommands)
             .clientProxy(mockClientProxy)
@@ -191,6 +193,33 @@ public class DriverConductorTest
             anyLong(), anyLong(), eq(STREAM_ID_1), anyInt(), any(), anyInt(), anyInt(), eq(false));
     }
 
+    @Test(timeout = 10_000)
+    public void shouldCompleteAddPublicationsWhenLogsAllocatedAsynchronously()
+    {
+        driverConductor = new DriverConductor(ctx.asyncLogAllocation(true));
+
+        final long exclusiveId = driverProxy.addExclusivePublication(CHANNEL_4000, STREAM_ID_1);
+        final long sharedId = driverProxy.addPublication(CHANNEL_4000, STREAM_ID_1);
+        final long joinedId = driverProxy.addPublication(CHANNEL_4000, STREAM_ID_1);
+        final long ipcId = driverProxy.addPublication(CommonContext.IPC_CHANNEL, STREAM_ID_1);
+
+        while (mockingDetails(mockClientProxy).getInvocations().size() < 4)
+        {
+            driverConductor.doWork();
+            Thread.yield();
+        }
+
+        verify(senderProxy, times(2)).newNetworkPublication(any());
+        verify(mockClientProxy).onPublicationReady(
+            eq(exclusiveId), eq(exclusiveId), eq(STREAM_ID_1), anyInt(), any(), anyInt(), anyInt(), eq(true));
+        verify(mockClientProxy).onPublicationReady(
+            eq(sharedId), eq(sharedId), eq(STREAM_ID_1), anyInt(), any(), anyInt(), anyInt(), eq(false));
+        verify(mockClientProxy).onPublicationReady(
+            eq(joinedId), eq(sharedId), eq(STREAM_ID_1), anyInt(), any(), anyInt(), anyInt(), eq(false));
+        verify(mockClientProxy).onPublicationReady(
+            eq(ipcId), eq(ipcId), eq(STREAM_ID_1), anyInt(), any(), anyInt(), anyInt(), eq(false));
+    }
+
     @Test
     public void shouldBeAbleToAddPublicationForReplay()
     {
@@ -552,6 +581,31 @@ public class DriverConductorTest
         assertNull(driverConductor.senderChannelEndpoint(UdpChannel.parse(CHANNEL_4000)));
     }
 
+    @Test
+    public void shouldCloseNetworkPublicationAtEndOfLingerThroughResourceTimer()
+    {
+        driverProxy.addPublication(CHANNEL_4000, STREAM_ID_1);
+
+        driverConductor.doWork();
+
+        final ArgumentCaptor<NetworkPublication> captor = ArgumentCaptor.forClass(NetworkPublication.class);
+        verify(senderProxy, times(1)).newNetworkPublication(captor.capture());
+
+        final NetworkPublication publication = captor.getValue();
+
+        doWorkUntil(() -> NetworkPublication.State.LINGER == publication.state());
+        final long lingerStartNs = currentTimeNs;
+
+        currentTimeNs = lingerStartNs + PUBLICATION_LINGER_TIMEOUT_NS - timerIntervalNs();
+        driverConductor.doWork();
+        assertThat(publication.state(), is(NetworkPublication.State.LINGER));
+
+        currentTimeNs = lingerStartNs + PUBLICATION_LINGER_TIMEOUT_NS + timerIntervalNs();
+        driverConductor.doWork();
+        assertThat(publication.state(), is(NetworkPublication.State.CLOSING));
+        verify(senderProxy).removeNetworkPublication(eq(publication));
+    }
+
     @Test
     public void shouldTimeoutSubscription()
     {
@@ -635,6 +689,48 @@ public class DriverConductorTest
             anyLong(), eq(STREAM_ID_1), eq(SESSION_ID), anyLong(), anyInt(), anyString(), anyString());
     }
 
+    @Test(timeout = 10_000)
+    public void shouldCreateImageWhenLogAllocatedAsynchronously()
+    {
+        driverConductor = new DriverConductor(ctx.asyncLogAllocation(true));
+
+        final InetSocketAddress sourceAddress = new InetSocketAddress("localhost", 4400);
+
+        driverProxy.addSubscription(CHANNEL_4000, STREAM_ID_1);
+
+        driverConductor.doWork();
+
+        final ReceiveChannelEndpoint receiveChannelEndpoint =
+            driverConductor.receiverChannelEndpoint(UdpChannel.parse(CHANNEL_4000));
+        assertNotNull(receiveChannelEndpoint);
+
+        receiveChannelEndpoint.openChannel(driverConductorProxy);
+
+        driverConductor.onCreatePublicationImage(
+            SESSION_ID, STREAM_ID_1, 1, 1, 0, TERM_BUFFER_LENGTH, MTU_LENGTH, 0,
+            mock(InetSocketAddress.class), sourceAddress, receiveChannelEndpoint);
+
+        verify(receiverProxy, never()).newPublicationImage(any(), any());
+
+        while (mockingDetails(receiverProxy).getInvocations().stream()
+            .noneMatch((invocation) -> invocation.getMethod().getName().equals("newPublicationImage")))
+        {
+            driverConductor.doWork();
+            Thread.yield();
+        }
+
+        final ArgumentCaptor<PublicationImage> captor = ArgumentCaptor.forClass(PublicationImage.class);
+        verify(receiverProxy).newPublicationImage(eq(receiveChannelEndpoint), captor.capture());
+
+        final PublicationImage publicationImage = captor.getValue();
+        assertThat(publicationImage.sessionId(), is(SESSION_ID));
+        assertThat(publicationImage.streamId(), is(STREAM_ID_1));
+
+        verify(mockClientProxy).onAvailableImage(
+            eq(publicationImage.correlationId()), eq(STREAM_ID_1), eq(SESSION_ID), anyLong(), anyInt(), anyString(),
+            anyString());
+    }
+
     @Test
     public void shouldNotCreateImageOnUnknownSubscription()
     {
@@ -692,6 +788,45 @@ public class DriverConductorTest
             eq(publicationImage.correlationId()), eq(subId), eq(STREAM_ID_1), anyString());
     }
 
+    @Test
+    public void shouldCleanupImageAtEndOfLingerThroughResourceTimer()
+    {
+        final InetSocketAddress sourceAddress = new InetSocketAddress("localhost", 4400);
+
+        driverProxy.addSubscription(CHANNEL_4000, STREAM_ID_1);
+
+        driverConductor.doWork();
+
+        final ReceiveChannelEndpoint receiveChannelEndpoint =
+            driverConductor.receiverChannelEndpoint(UdpChannel.parse(CHANNEL_4000));
+        assertNotNull(receiveChannelEndpoint);
+
+        receiveChannelEndpoint.openChannel(driverConductorProxy);
+
+        driverConductor.onCreatePublicationImage(
+            SESSION_ID, STREAM_ID_1, 1, 1, 0, TERM_BUFFER_LENGTH, MTU_LENGTH, 0,
+            mock(InetSocketAddress.class), sourceAddress, receiveChannelEndpoint);
+
+        final ArgumentCaptor<PublicationImage> captor = ArgumentCaptor.forClass(PublicationImage.class);
+        verify(receiverProxy).newPublicationImage(eq(receiveChannelEndpoint), captor.capture());
+
+        final PublicationImage publicationImage = captor.getValue();
+
+        publicationImage.activate();
+        publicationImage.ifActiveGoInactive();
+
+        doWorkUntil(() -> PublicationImage.State.LINGER == publicationImage.state());
+        final long lingerStartNs = currentTimeNs;
+
+        currentTimeNs = lingerStartNs + imageLivenessTimeoutNs() - timerIntervalNs();
+        driverConductor.doWork();
+        assertThat(publicationImage.state(), is(PublicationImage.State.LINGER));
+
+        currentTimeNs = lingerStartNs + imageLivenessTimeoutNs() + timerIntervalNs();
+        driverConductor.doWork();
+        assertThat(publicationImage.state(), is(PublicationImage.State.DONE));
+    }
+
     @Test
     public void shouldAlwaysGiveNetworkPublicationCorrelationIdToClientCallbacks()
     {
@@ -1123,6 +1258,44 @@ public class DriverConductorTest
             eq(networkPublicationCorrelationId(publication)), eq(subId), eq(STREAM_ID_1), anyString());
     }
 
+    @Test
+    public void shouldOnlyTimeoutLinksOfClientWhichHasTimedOut()
+    {
+        final long clientId = toDriverCommands.nextCorrelationId();
+        final DriverProxy keepaliveDriverProxy = new DriverProxy(toDriverCommands, clientId);
+
+        final long timedOutCounterId = driverProxy.addCounter(1, "timed out");
+        final long timedOutSubId = driverProxy.addSubscription(CHANNEL_IPC, STREAM_ID_1);
+        final long liveCounterId = keepaliveDriverProxy.addCounter(1, "live");
+        final long liveSubId = keepaliveDriverProxy.addSubscription(CHANNEL_IPC, STREAM_ID_1);
+
+        driverConductor.doWork();
+
+        doWorkUntil(() -> (CLIENT_LIVENESS_TIMEOUT_NS / 2) - nanoClock.nanoTime() <= 0);
+
+        keepaliveDriverProxy.sendClientKeepalive();
+
+        doWorkUntil(() -> (CLIENT_LIVENESS_TIMEOUT_NS + 1000) - nanoClock.nanoTime() <= 0);
+
+        keepaliveDriverProxy.sendClientKeepalive();
+
+        doWorkUntil(() -> (CLIENT_LIVENESS_TIMEOUT_NS * 3 / 2) - nanoClock.nanoTime() <= 0);
+
+        verify(mockClientProxy).onClientTimeout(driverProxy.clientId());
+        verify(mockClientProxy, never()).onClientTimeout(clientId);
+
+        driverProxy.removeCounter(timedOutCounterId);
+        driverProxy.removeSubscription(timedOutSubId);
+        final long removeLiveCounterId = keepaliveDriverProxy.removeCounter(liveCounterId);
+        final long removeLiveSubId = keepaliveDriverProxy.removeSubscription(liveSubId);
+        driverConductor.doWork();
+
+        verify(mockClientProxy).onError(anyLong(), eq(UNKNOWN_COUNTER), anyString());
+        verify(mockClientProxy).onError(anyLong(), eq(UNKNOWN_SUBSCRIPTION), anyString());
+        verify(mockClientProxy).operationSucceeded(removeLiveCounterId);
+        verify(mockClientProxy).operationSucceeded(removeLiveSubId);
+    }
+
     @Test
     public void shouldOnlyCloseSendChannelEndpointOnceWithMultiplePublications()
     {
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class FecEncoderTest
+{
+    private static final int GROUP_SIZE = 4;
+    private static final int MTU_LENGTH = 1408;
+    private static final int SESSION_ID = 7;
+    private static final int STREAM_ID = 1001;
+    private static final int TERM_ID = 3;
+    private static final int TERM_LENGTH = 64 * 1024;
+    private static final int FRAME_LENGTH = 256;
+
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_LENGTH));
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight(termBuffer);
+    private final SendChannelEndpoint channelEndpoint = mock(SendChannelEndpoint.class);
+    private final AtomicCounter paritySent = mock(AtomicCounter.class);
+    private final AtomicCounter shortSends = mock(AtomicCounter.class);
+    private final List<UnsafeBuffer> parityFrames = new ArrayList<>();
+
+    private final FecEncoder fecEncoder =
+        new FecEncoder(GROUP_SIZE, MTU_LENGTH, SESSION_ID, STREAM_ID, paritySent, shortSends);
+
+    @Before
+    public void before()
+    {
+        when(channelEndpoint.send(any())).thenAnswer(
+            (invocation) ->
+            {
+                final ByteBuffer buffer = invocation.getArgument(0);
+                final int length = buffer.remaining();
+                final UnsafeBuffer frame = new UnsafeBuffer(new byte[length]);
+                frame.putBytes(0, buffer, buffer.position(), length);
+                parityFrames.add(frame);
+
+                return length;
+            });
+
+        for (int termOffset = 0; termOffset < TERM_LENGTH; termOffset += FRAME_LENGTH)
+        {
+            dataHeader.wrap(termBuffer, termOffset, FRAME_LENGTH);
+            dataHeader
+                .termOffset(termOffset)
+                .sessionId(SESSION_ID)
+                .streamId(STREAM_ID)
+                .termId(TERM_ID)
+                .frameLength(FRAME_LENGTH)
+                .headerType(HeaderFlyweight.HDR_TYPE_DATA);
+
+            for (int i = DataHeaderFlyweight.HEADER_LENGTH; i < FRAME_LENGTH; i++)
+            {
+                termBuffer.putByte(termOffset + i, (byte)(termOffset + i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldSendParityFrameWhenGroupIsFull()
+    {
+        for (int i = 0; i < GROUP_SIZE; i++)
+        {
+            fecEncoder.onDatagramSent(termBuffer, i * FRAME_LENGTH, FRAME_LENGTH, channelEndpoint);
+        }
+
+        assertThat(parityFrames.size(), is(1));
+        verify(paritySent).increment();
+
+        final FecFlyweight parityHeader = new FecFlyweight(parityFrames.get(0));
+        assertThat(parityHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_FEC));
+        assertThat(parityHeader.termId(), is(TERM_ID));
+        assertThat(parityHeader.termOffset(), is(0));
+        assertThat(parityHeader.sessionId(), is(SESSION_ID));
+        assertThat(parityHeader.streamId(), is(STREAM_ID));
+        assertThat(parityHeader.datagramCount(), is(GROUP_SIZE));
+        assertThat(parityHeader.payloadLength(), is(FRAME_LENGTH));
+        assertThat(parityHeader.frameLength(), is(FecFlyweight.payloadOffset(GROUP_SIZE) + FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldRecoverAnyDatagramOfGroupFromParity()
+    {
+        for (int i = 0; i < GROUP_SIZE; i++)
+        {
+            fecEncoder.onDatagramSent(termBuffer, i * FRAME_LENGTH, FRAME_LENGTH, channelEndpoint);
+        }
+
+        final UnsafeBuffer parityFrame = parityFrames.get(0);
+        final FecFlyweight parityHeader = new FecFlyweight(parityFrame);
+        final int payloadOffset = parityHeader.frameLength() - parityHeader.payloadLength();
+
+        for (int missing = 0; missing < GROUP_SIZE; missing++)
+        {
+            final UnsafeBuffer recovered = new UnsafeBuffer(ByteBuffer.allocateDirect(FRAME_LENGTH));
+            recovered.putBytes(0, parityFrame, payloadOffset, FRAME_LENGTH);
+
+            for (int i = 0; i < GROUP_SIZE; i++)
+            {
+                if (i != missing)
+                {
+                    FecEncoder.xor(recovered, 0, termBuffer, i * FRAME_LENGTH, FRAME_LENGTH);
+                }
+            }
+
+            for (int i = 0; i < FRAME_LENGTH; i++)
+            {
+                assertThat(recovered.getByte(i), is(termBuffer.getByte(missing * FRAME_LENGTH + i)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldFlushPartialGroupWhenDatagramIsNotContiguous()
+    {
+        fecEncoder.onDatagramSent(termBuffer, 0, FRAME_LENGTH, channelEndpoint);
+        fecEncoder.onDatagramSent(termBuffer, FRAME_LENGTH, FRAME_LENGTH, channelEndpoint);
+        fecEncoder.onDatagramSent(termBuffer, 4 * FRAME_LENGTH, FRAME_LENGTH, channelEndpoint);
+
+        assertThat(parityFrames.size(), is(1));
+        assertThat(new FecFlyweight(parityFrames.get(0)).datagramCount(), is(2));
+
+        assertThat(fecEncoder.flush(channelEndpoint), is(true));
+        assertThat(parityFrames.size(), is(2));
+
+        final FecFlyweight parityHeader = new FecFlyweight(parityFrames.get(1));
+        assertThat(parityHeader.datagramCount(), is(1));
+        assertThat(parityHeader.termOffset(), is(4 * FRAME_LENGTH));
+    }
+
+    @Test
+    public void shouldNotFlushEmptyGroup()
+    {
+        assertThat(fecEncoder.flush(channelEndpoint), is(false));
+        verify(channelEndpoint, never()).send(any());
+    }
+}
@@ -27,6 +27,8 @@ import org.agrona.concurrent.UnsafeBuffer;
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
 import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
@@ -181,9 +183,61 @@ public class LossDetectorTest
         lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
 
         final InOrder inOrder = inOrder(lossHandler);
-        inOrder.verify(lossHandler, atLeast(1)).onGapDetected(TERM_ID, offsetOfMessage(1), gapLength());
-        inOrder.verify(lossHandler, atLeast(1)).onGapDetected(TERM_ID, offsetOfMessage(3), gapLength());
-        inOrder.verify(lossHandler, never()).onGapDetected(TERM_ID, offsetOfMessage(5), gapLength());
+        inOrder.verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(1), gapLength());
+        inOrder.verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(3), gapLength());
+        inOrder.verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(5), gapLength());
+        inOrder.verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(3), gapLength());
+        inOrder.verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(5), gapLength());
+        verifyNoMoreInteractions(lossHandler);
+    }
+
+    @Test
+    public void shouldLimitGapsToMaxGaps()
+    {
+        lossDetector = new LossDetector(DELAY_GENERATOR, lossHandler, 2);
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 7);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+        insertDataFrame(offsetOfMessage(6));
+
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(40);
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        assertThat(lossDetector.activeGapCount(), is(2));
+        verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(1), gapLength());
+        verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(3), gapLength());
+        verifyNoMoreInteractions(lossHandler);
+    }
+
+    @Test
+    public void shouldNotDelayExistingGapWhenNewGapIsFound()
+    {
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 3);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(10);
+        insertDataFrame(offsetOfMessage(4));
+        hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 5);
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        assertThat(lossDetector.activeGapCount(), is(2));
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(25);
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(1), gapLength());
+        verifyNoMoreInteractions(lossHandler);
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(35);
+        lossDetector.scan(termBuffer, rebuildPosition, hwmPosition, currentTime, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        verify(lossHandler).onGapDetected(TERM_ID, offsetOfMessage(3), gapLength());
     }
 
     @Test
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class MulticastReceiverTrackerTest
+{
+    private static final long TIMEOUT_NS = 1000;
+    private static final InetSocketAddress ADDRESS = new InetSocketAddress("localhost", 40123);
+
+    private final MulticastReceiverTracker tracker = new MulticastReceiverTracker();
+
+    @Test
+    public void shouldReportNoReceiversWhenEmpty()
+    {
+        assertThat(tracker.size(), is(0));
+        assertThat(tracker.minPosition(), is(Long.MAX_VALUE));
+        assertThat(tracker.minLimitPosition(), is(Long.MAX_VALUE));
+        assertThat(tracker.removeTimedOut(Long.MAX_VALUE, TIMEOUT_NS), is(0));
+    }
+
+    @Test
+    public void shouldTrackMinimumsAsReceiversAdvance()
+    {
+        tracker.onStatusMessage(1, 100, 50, 0, ADDRESS);
+        tracker.onStatusMessage(2, 200, 50, 0, ADDRESS);
+        tracker.onStatusMessage(3, 300, 10, 0, ADDRESS);
+
+        assertThat(tracker.size(), is(3));
+        assertThat(tracker.minPosition(), is(100L));
+        assertThat(tracker.minLimitPosition(), is(150L));
+
+        tracker.onStatusMessage(1, 400, 50, 0, ADDRESS);
+
+        assertThat(tracker.size(), is(3));
+        assertThat(tracker.minPosition(), is(200L));
+        assertThat(tracker.minLimitPosition(), is(250L));
+    }
+
+    @Test
+    public void shouldNotMovePositionBackwardsButShouldFollowWindow()
+    {
+        tracker.onStatusMessage(1, 1000, 100, 0, ADDRESS);
+        tracker.onStatusMessage(1, 500, 100, 0, ADDRESS);
+
+        assertThat(tracker.minPosition(), is(1000L));
+        assertThat(tracker.minLimitPosition(), is(600L));
+    }
+
+    @Test
+    public void shouldRemoveOnlyTimedOutReceivers()
+    {
+        tracker.onStatusMessage(1, 100, 50, 0, ADDRESS);
+        tracker.onStatusMessage(2, 200, 50, 500, ADDRESS);
+        tracker.onStatusMessage(3, 300, 50, 900, ADDRESS);
+
+        assertThat(tracker.removeTimedOut(TIMEOUT_NS + 1, TIMEOUT_NS), is(1));
+        assertThat(tracker.size(), is(2));
+        assertThat(tracker.minPosition(), is(200L));
+
+        tracker.onStatusMessage(2, 250, 50, 1600, ADDRESS);
+
+        assertThat(tracker.removeTimedOut(TIMEOUT_NS + 1000, TIMEOUT_NS), is(1));
+        assertThat(tracker.size(), is(1));
+        assertThat(tracker.minPosition(), is(250L));
+        assertThat(tracker.minLimitPosition(), is(300L));
+    }
+
+    @Test
+    public void shouldMatchLinearScanForRandomUpdatesAndTimeouts()
+    {
+        final Random random = new Random(7);
+        final Map<Long, long[]> expected = new HashMap<>();
+        long timeNs = 0;
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            timeNs += random.nextInt(10);
+            final long receiverId = random.nextInt(200);
+            final long position = random.nextInt(1_000_000);
+            final long windowLength = random.nextInt(10_000);
+
+            tracker.onStatusMessage(receiverId, position, windowLength, timeNs, ADDRESS);
+            final long[] receiver = expected.get(receiverId);
+            if (null == receiver)
+            {
+                expected.put(receiverId, new long[]{ position, position + windowLength, timeNs });
+            }
+            else
+            {
+                receiver[0] = Math.max(receiver[0], position);
+                receiver[1] = position + windowLength;
+                receiver[2] = timeNs;
+            }
+
+            if (0 == (i & 63))
+            {
+                final long nowNs = timeNs;
+                final int expectedRemoved = expected.size();
+                expected.values().removeIf((r) -> (r[2] + TIMEOUT_NS) - nowNs < 0);
+
+                assertThat(tracker.removeTimedOut(timeNs, TIMEOUT_NS), is(expectedRemoved - expected.size()));
+            }
+
+            long minPosition = Long.MAX_VALUE;
+            long minLimitPosition = Long.MAX_VALUE;
+            for (final long[] r : expected.values())
+            {
+                minPosition = Math.min(minPosition, r[0]);
+                minLimitPosition = Math.min(minLimitPosition, r[1]);
+            }
+
+            assertThat(tracker.size(), is(expected.size()));
+            assertThat(tracker.minPosition(), is(minPosition));
+            assertThat(tracker.minLimitPosition(), is(minLimitPosition));
+        }
+    }
+}
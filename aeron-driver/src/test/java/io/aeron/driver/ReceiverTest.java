@@ -31,6 +31,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
 
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static org.agrona.BitUtil.align;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -41,6 +42,8 @@ import static org.mockito.Mockito.*;
 public class ReceiverTest
 {
     private static final int TERM_BUFFER_LENGTH = TERM_MIN_LENGTH;
+    private static final int COUNTERS_LENGTH = 16 * 1024;
+    private static final int COUNTERS_METADATA_LENGTH = COUNTERS_LENGTH * 2;
     private static final int POSITION_BITS_TO_SHIFT = LogBufferDescriptor.positionBitsToShift(TERM_BUFFER_LENGTH);
     private static final String URI = "aeron:udp?endpoint=localhost:45678";
     private static final UdpChannel UDP_CHANNEL = UdpChannel.parse(URI);
@@ -123,6 +126,9 @@ public class ReceiverTest
         final DriverConductorProxy driverConductorProxy =
             new DriverConductorProxy(ThreadingMode.DEDICATED, toConductorQueue, mock(AtomicCounter.class));
 
+        final CountersManager countersManager = new CountersManager(
+            new UnsafeBuffer(new byte[COUNTERS_METADATA_LENGTH]), new UnsafeBuffer(new byte[COUNTERS_LENGTH]));
+
         final MediaDriver.Context ctx = new MediaDriver.Context()
             .applicationSpecificFeedback(Configuration.applicationSpecificFeedback())
             .driverCommandQueue(toConductorQueue)
@@ -130,6 +136,7 @@ public class ReceiverTest
             .controlTransportPoller(mockControlTransportPoller)
             .logFactory(new TestLogFactory())
             .systemCounters(mockSystemCounters)
+            .countersManager(countersManager)
             .applicationSpecificFeedback(Configuration.applicationSpecificFeedback())
             .receiverCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
             .nanoClock(() -> currentTime)
@@ -152,6 +159,7 @@ public class ReceiverTest
 
         final MediaDriver.Context context = new MediaDriver.Context()
             .applicationSpecificFeedback(Configuration.applicationSpecificFeedback())
+            .datagramTransportSupplier(Configuration.datagramTransportSupplier())
             .systemCounters(mockSystemCounters);
 
         context.receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(context));
@@ -206,7 +214,9 @@ public class ReceiverTest
             mockSystemCounters,
             SOURCE_ADDRESS,
             congestionControl,
-            lossReport);
+            lossReport,
+            StatusMessageSuppression.NONE,
+            0);
 
         final int messagesRead = toConductorQueue.drain((e) ->
         {
@@ -279,7 +289,9 @@ public class ReceiverTest
                     mockSystemCounters,
                     SOURCE_ADDRESS,
                     congestionControl,
-                    lossReport);
+                    lossReport,
+                    StatusMessageSuppression.NONE,
+                    0);
 
                 receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
             });
@@ -350,7 +362,9 @@ public class ReceiverTest
                     mockSystemCounters,
                     SOURCE_ADDRESS,
                     congestionControl,
-                    lossReport);
+                    lossReport,
+                    StatusMessageSuppression.NONE,
+                    0);
 
                 receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
             });
@@ -424,7 +438,9 @@ public class ReceiverTest
                     mockSystemCounters,
                     SOURCE_ADDRESS,
                     congestionControl,
-                    lossReport);
+                    lossReport,
+                    StatusMessageSuppression.NONE,
+                    0);
 
                 receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
             });
@@ -502,7 +518,9 @@ public class ReceiverTest
                     mockSystemCounters,
                     SOURCE_ADDRESS,
                     congestionControl,
-                    lossReport);
+                    lossReport,
+                    StatusMessageSuppression.NONE,
+                    0);
 
                 receiverProxy.newPublicationImage(receiveChannelEndpoint, image);
             });
@@ -585,6 +603,58 @@ public class ReceiverTest
         verify(mockImage, never()).removeFromDispatcher();
     }
 
+    @Test
+    public void shouldSplitCoalescedReceiveIntoContiguousRunsWhenGsoEnabled()
+    {
+        final DataPacketDispatcher mockDispatcher = mock(DataPacketDispatcher.class);
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .applicationSpecificFeedback(Configuration.applicationSpecificFeedback())
+            .datagramTransportSupplier(Configuration.datagramTransportSupplier())
+            .systemCounters(mockSystemCounters);
+        context.receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(context));
+
+        final ReceiveChannelEndpoint gsoChannelEndpoint = new ReceiveChannelEndpoint(
+            UdpChannel.parse("aeron:udp?endpoint=localhost:45680|gso=true"),
+            mockDispatcher,
+            mock(AtomicCounter.class),
+            context);
+
+        final int alignedFrameLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FRAME_ALIGNMENT);
+        final UnsafeBuffer coalescedBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(4 * alignedFrameLength));
+        fillDataFrame(coalescedBuffer, 0, SESSION_ID, 0);
+        fillDataFrame(coalescedBuffer, alignedFrameLength, SESSION_ID, alignedFrameLength);
+        fillDataFrame(coalescedBuffer, 2 * alignedFrameLength, SESSION_ID + 1, 0);
+        fillDataFrame(coalescedBuffer, 3 * alignedFrameLength, SESSION_ID, 4 * alignedFrameLength);
+
+        dataHeader.wrap(coalescedBuffer);
+        gsoChannelEndpoint.onDataPacket(dataHeader, coalescedBuffer, 4 * alignedFrameLength, senderAddress, 0);
+
+        verify(mockDispatcher)
+            .onDataPacket(eq(gsoChannelEndpoint), any(), any(), eq(2 * alignedFrameLength), eq(senderAddress), eq(0));
+        verify(mockDispatcher, times(2))
+            .onDataPacket(eq(gsoChannelEndpoint), any(), any(), eq(alignedFrameLength), eq(senderAddress), eq(0));
+
+        gsoChannelEndpoint.close();
+    }
+
+    private void fillDataFrame(
+        final UnsafeBuffer buffer, final int frameOffset, final int sessionId, final int termOffset)
+    {
+        final DataHeaderFlyweight header = new DataHeaderFlyweight();
+        header.wrap(buffer, frameOffset, DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length);
+        header
+            .termOffset(termOffset)
+            .termId(ACTIVE_TERM_ID)
+            .streamId(STREAM_ID)
+            .sessionId(sessionId)
+            .frameLength(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .version(HeaderFlyweight.CURRENT_VERSION);
+
+        header.putBytes(header.dataOffset(), FAKE_PAYLOAD);
+    }
+
     private void fillDataFrame(final DataHeaderFlyweight header, final int termOffset, final byte[] payload)
     {
         header.wrap(dataBuffer);
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ResourceRegistryTest
+{
+    private final ResourceRegistry<Long> registry = new ResourceRegistry<>(Long::longValue);
+
+    @Test
+    public void shouldFindResourcesById()
+    {
+        registry.add(7L);
+        registry.add(3L);
+
+        assertThat(registry.size(), is(2));
+        assertThat(registry.findById(7), is(7L));
+        assertThat(registry.findById(3), is(3L));
+        assertThat(registry.findById(5), nullValue());
+    }
+
+    @Test
+    public void shouldKeepIndexWhenLastResourceMovedOnRemove()
+    {
+        registry.add(1L);
+        registry.add(2L);
+        registry.add(3L);
+
+        assertThat(registry.removeById(1), is(1L));
+        assertThat(registry.get(0), is(3L));
+        assertThat(registry.findById(3), is(3L));
+        assertThat(registry.findById(1), nullValue());
+
+        assertThat(registry.removeById(3), is(3L));
+        assertThat(registry.removeById(3), nullValue());
+        assertThat(registry.size(), is(1));
+        assertThat(registry.findById(2), is(2L));
+    }
+
+    @Test
+    public void shouldRemoveResourceByItsId()
+    {
+        registry.add(4L);
+        registry.add(9L);
+
+        assertThat(registry.remove(4L), is(4L));
+        assertThat(registry.remove(4L), nullValue());
+        assertThat(registry.size(), is(1));
+        assertThat(registry.findById(9), is(9L));
+    }
+
+    @Test
+    public void shouldRemoveWhileIteratingFromTheEnd()
+    {
+        for (long id = 0; id < 10; id++)
+        {
+            registry.add(id);
+        }
+
+        for (int i = registry.size() - 1; i >= 0; i--)
+        {
+            if (registry.get(i) % 2 == 0)
+            {
+                registry.removeAt(i);
+            }
+        }
+
+        assertThat(registry.size(), is(5));
+        for (long id = 0; id < 10; id++)
+        {
+            if (id % 2 == 0)
+            {
+                assertThat(registry.findById(id), nullValue());
+            }
+            else
+            {
+                assertThat(registry.findById(id), is(id));
+            }
+        }
+    }
+}
@@ -30,13 +30,17 @@ import io.aeron.logbuffer.TermAppender;
 import io.aeron.logbuffer.TermRebuilder;
 import io.aeron.protocol.DataHeaderFlyweight;
 import io.aeron.protocol.HeaderFlyweight;
+import io.aeron.protocol.NakFlyweight;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
+import static io.aeron.driver.Configuration.MAX_RETRANSMITS_DEFAULT;
 import static java.nio.ByteBuffer.allocateDirect;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.agrona.BitUtil.align;
 
@@ -72,12 +76,14 @@ public class RetransmitHandlerTest
 
     private final RetransmitSender retransmitSender = mock(RetransmitSender.class);
     private final AtomicCounter invalidPackets = mock(AtomicCounter.class);
+    private final AtomicCounter retransmitsMerged = mock(AtomicCounter.class);
+    private final AtomicCounter retransmitsDropped = mock(AtomicCounter.class);
+    private final AtomicCounter retransmitsIssued = mock(AtomicCounter.class);
 
     private final HeaderWriter headerWriter = HeaderWriter.newInstance(
         DataHeaderFlyweight.createDefaultHeader(0, 0, 0));
 
-    private RetransmitHandler handler = new RetransmitHandler(
-        () -> currentTime, invalidPackets, DELAY_GENERATOR, LINGER_GENERATOR);
+    private RetransmitHandler handler = newRetransmitHandler(DELAY_GENERATOR, MAX_RETRANSMITS_DEFAULT);
 
     @Before
     public void before()
@@ -176,7 +182,7 @@ public class RetransmitHandlerTest
     {
         createTermBuffer(creator, 5);
         handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
-        handler.onRetransmitReceived(TERM_ID, offsetOfFrame(0));
+        handler.onRetransmitReceived(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
         currentTime = TimeUnit.MILLISECONDS.toNanos(100);
         handler.processTimeouts(currentTime, retransmitSender);
 
@@ -189,7 +195,7 @@ public class RetransmitHandlerTest
         createTermBuffer(creator, 5);
         handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
         handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
-        handler.onRetransmitReceived(TERM_ID, offsetOfFrame(0));
+        handler.onRetransmitReceived(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
         currentTime = TimeUnit.MILLISECONDS.toNanos(100);
         handler.processTimeouts(currentTime, retransmitSender);
 
@@ -230,9 +236,203 @@ public class RetransmitHandlerTest
         verifyZeroInteractions(retransmitSender);
     }
 
+    @Theory
+    public void shouldRetransmitAllRangesOfNak(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        final NakFlyweight nak = newNak(offsetOfFrame(0), offsetOfFrame(2), offsetOfFrame(4));
+
+        handler.onNak(nak, nak.rangeCount(), TERM_BUFFER_LENGTH, retransmitSender);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(4), ALIGNED_FRAME_LENGTH);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldImmediateRetransmitAllRangesOfNak(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newZeroDelayRetransmitHandler();
+        final NakFlyweight nak = newNak(offsetOfFrame(1), offsetOfFrame(3));
+
+        handler.onNak(nak, nak.rangeCount(), TERM_BUFFER_LENGTH, retransmitSender);
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(3), ALIGNED_FRAME_LENGTH);
+    }
+
+    @Theory
+    public void shouldSkipInvalidRangeOfNak(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newZeroDelayRetransmitHandler();
+        final NakFlyweight nak = newNak(offsetOfFrame(0), -1, offsetOfFrame(2));
+
+        handler.onNak(nak, nak.rangeCount(), TERM_BUFFER_LENGTH, retransmitSender);
+
+        verify(invalidPackets).increment();
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldMergeOverlappingNaksIntoDelayedRetransmit(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 4);
+        verifyNoMoreInteractions(retransmitSender);
+        verify(retransmitsMerged, times(2)).increment();
+        verify(retransmitsIssued).increment();
+    }
+
+    @Theory
+    public void shouldTrimMergedRetransmitOnRetransmitReceptionOfPartOfRange(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onRetransmitReceived(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldKeepMergedRetransmitOnRetransmitReceptionInsideRange(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onRetransmitReceived(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 3);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldOnlyStopOverlappingDelayedRetransmitsForRangeReceived(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(3), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 3, TERM_BUFFER_LENGTH, retransmitSender);
+        assertThat(handler.activeRetransmitCount(), is(2));
+
+        handler.onRetransmitReceived(TERM_ID, offsetOfFrame(3), ALIGNED_FRAME_LENGTH * 2);
+        assertThat(handler.activeRetransmitCount(), is(1));
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 3);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldSuppressNakCoveredByLingeringRetransmit(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newZeroDelayRetransmitHandler();
+
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 3, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 3);
+        verifyNoMoreInteractions(retransmitSender);
+        verify(retransmitsMerged).increment();
+    }
+
+    @Theory
+    public void shouldTrimNakPartiallyCoveredByLingeringRetransmit(
+        final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newZeroDelayRetransmitHandler();
+
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 3, TERM_BUFFER_LENGTH, retransmitSender);
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 2);
+        verify(retransmitsIssued, times(2)).increment();
+    }
+
+    @Theory
+    public void shouldDropNakWhenMaxRetransmitsReached(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newRetransmitHandler(DELAY_GENERATOR, 2);
+
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(4), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        currentTime = TimeUnit.MILLISECONDS.toNanos(100);
+        handler.processTimeouts(currentTime, retransmitSender);
+
+        verify(retransmitsDropped).increment();
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+        verifyNoMoreInteractions(retransmitSender);
+
+        currentTime = TimeUnit.MILLISECONDS.toNanos(200);
+        handler.processTimeouts(currentTime, retransmitSender);
+        handler.onNak(TERM_ID, offsetOfFrame(4), ALIGNED_FRAME_LENGTH, TERM_BUFFER_LENGTH, retransmitSender);
+        assertThat(handler.activeRetransmitCount(), is(1));
+    }
+
+    private NakFlyweight newNak(final int... termOffsets)
+    {
+        final int frameLength = NakFlyweight.frameLengthForRanges(termOffsets.length);
+        final NakFlyweight nak = new NakFlyweight(allocateDirect(frameLength));
+        nak.frameLength(frameLength);
+        nak.termId(TERM_ID);
+
+        for (int i = 0; i < termOffsets.length; i++)
+        {
+            nak.range(i, termOffsets[i], ALIGNED_FRAME_LENGTH);
+        }
+
+        return nak;
+    }
+
     private RetransmitHandler newZeroDelayRetransmitHandler()
     {
-        return new RetransmitHandler(() -> currentTime, invalidPackets, ZERO_DELAY_GENERATOR, LINGER_GENERATOR);
+        return newRetransmitHandler(ZERO_DELAY_GENERATOR, MAX_RETRANSMITS_DEFAULT);
+    }
+
+    private RetransmitHandler newRetransmitHandler(
+        final FeedbackDelayGenerator delayGenerator, final int maxRetransmits)
+    {
+        return new RetransmitHandler(
+            () -> currentTime,
+            invalidPackets,
+            delayGenerator,
+            LINGER_GENERATOR,
+            maxRetransmits,
+            retransmitsMerged,
+            retransmitsDropped,
+            retransmitsIssued);
     }
 
     private void createTermBuffer(final BiConsumer<RetransmitHandlerTest, Integer> creator, final int num)
@@ -28,10 +28,17 @@ import io.aeron.protocol.StatusMessageFlyweight;
 import org.agrona.BitUtil;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
 
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 
+import static io.aeron.driver.status.SystemCounterDescriptor.RECEIVE_BATCH_DATAGRAMS;
+import static io.aeron.driver.status.SystemCounterDescriptor.RECEIVE_BATCH_DRAINS;
+import static io.aeron.driver.status.SystemCounterDescriptor.RECEIVE_BATCH_FULL_DRAINS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.*;
@@ -48,6 +55,8 @@ public class SelectorAndTransportTest
     private static final UdpChannel SRC_DST =
         UdpChannel.parse("aeron:udp?interface=localhost:" + SRC_PORT + "|endpoint=localhost:" + RCV_PORT);
     private static final UdpChannel RCV_DST = UdpChannel.parse("aeron:udp?endpoint=localhost:" + RCV_PORT);
+    private static final UdpChannel RCV_DST_BATCHED =
+        UdpChannel.parse("aeron:udp?endpoint=localhost:" + RCV_PORT + "|rcv-batch=4");
 
     private final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(256);
     private final UnsafeBuffer buffer = new UnsafeBuffer(byteBuffer);
@@ -62,6 +71,12 @@ public class SelectorAndTransportTest
     private final AtomicCounter mockSendStatusIndicator = mock(AtomicCounter.class);
     private final AtomicCounter mockReceiveStatusIndicator = mock(AtomicCounter.class);
 
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[16 * 1024]), new UnsafeBuffer(new byte[4 * 1024]));
+    private final AtomicCounter receiveBatchDrains = countersManager.newCounter("receive batch drains");
+    private final AtomicCounter receiveBatchDatagrams = countersManager.newCounter("receive batch datagrams");
+    private final AtomicCounter receiveBatchFullDrains = countersManager.newCounter("receive batch full drains");
+
     private final DataPacketDispatcher mockDispatcher = mock(DataPacketDispatcher.class);
     private final NetworkPublication mockPublication = mock(NetworkPublication.class);
 
@@ -76,12 +91,16 @@ public class SelectorAndTransportTest
     public void setup()
     {
         when(mockSystemCounters.get(any())).thenReturn(mockStatusMessagesReceivedCounter);
+        when(mockSystemCounters.get(RECEIVE_BATCH_DRAINS)).thenReturn(receiveBatchDrains);
+        when(mockSystemCounters.get(RECEIVE_BATCH_DATAGRAMS)).thenReturn(receiveBatchDatagrams);
+        when(mockSystemCounters.get(RECEIVE_BATCH_FULL_DRAINS)).thenReturn(receiveBatchFullDrains);
         when(mockPublication.streamId()).thenReturn(STREAM_ID);
         when(mockPublication.sessionId()).thenReturn(SESSION_ID);
 
         context
             .applicationSpecificFeedback(Configuration.applicationSpecificFeedback())
             .systemCounters(mockSystemCounters)
+            .datagramTransportSupplier(Configuration.datagramTransportSupplier())
             .receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(context));
     }
 
@@ -176,6 +195,132 @@ public class SelectorAndTransportTest
         assertThat(dataHeadersReceived.get(), is(1));
     }
 
+    @Test(timeout = 1000)
+    public void shouldReceiveDataFramesInBatchesUnicastFromSourceToReceiver()
+    {
+        final int frameCount = 6;
+        final MutableInteger dataHeadersReceived = new MutableInteger(0);
+
+        doAnswer(
+            (invocation) ->
+            {
+                dataHeadersReceived.value++;
+                return null;
+            })
+            .when(mockDispatcher).onDataPacket(
+            any(ReceiveChannelEndpoint.class),
+            any(DataHeaderFlyweight.class),
+            any(UnsafeBuffer.class),
+            anyInt(),
+            any(InetSocketAddress.class),
+            anyInt());
+
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            RCV_DST_BATCHED, mockDispatcher, mockReceiveStatusIndicator, context);
+        sendChannelEndpoint = new SendChannelEndpoint(SRC_DST, mockSendStatusIndicator, context);
+
+        assertThat(receiveChannelEndpoint.receiveBatchLength(), is(4));
+
+        receiveChannelEndpoint.openDatagramChannel(mockReceiveStatusIndicator);
+        receiveChannelEndpoint.registerForRead(dataTransportPoller);
+        sendChannelEndpoint.openDatagramChannel(mockSendStatusIndicator);
+        sendChannelEndpoint.registerForRead(controlTransportPoller);
+
+        encodeDataHeader.wrap(buffer);
+        encodeDataHeader
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+            .frameLength(FRAME_LENGTH);
+        encodeDataHeader
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(TERM_ID);
+
+        processLoop(dataTransportPoller, 5);
+        for (int i = 0; i < frameCount; i++)
+        {
+            byteBuffer.position(0).limit(FRAME_LENGTH);
+            sendChannelEndpoint.send(byteBuffer);
+        }
+
+        while (dataHeadersReceived.get() < frameCount)
+        {
+            processLoop(dataTransportPoller, 1);
+        }
+
+        assertThat(dataHeadersReceived.get(), is(frameCount));
+        assertThat(receiveBatchDatagrams.get(), is((long)frameCount));
+        assertThat(receiveBatchDrains.get(), lessThan((long)frameCount));
+        assertThat(receiveBatchFullDrains.get(), greaterThan(0L));
+    }
+
+    @Test(timeout = 1000)
+    public void shouldSplitCoalescedHeartbeatsUnicastFromSourceToReceiver()
+    {
+        final int heartbeatCount = 3;
+        final MutableInteger heartbeatsReceived = new MutableInteger(0);
+        final MutableInteger sessionIdSum = new MutableInteger(0);
+
+        doAnswer(
+            (invocation) ->
+            {
+                final DataHeaderFlyweight header = invocation.getArgument(1);
+                final int length = invocation.getArgument(3);
+                assertThat(length, is(DataHeaderFlyweight.HEADER_LENGTH));
+
+                heartbeatsReceived.value++;
+                sessionIdSum.value += header.sessionId();
+                return null;
+            })
+            .when(mockDispatcher).onDataPacket(
+            any(ReceiveChannelEndpoint.class),
+            any(DataHeaderFlyweight.class),
+            any(UnsafeBuffer.class),
+            anyInt(),
+            any(InetSocketAddress.class),
+            anyInt());
+
+        context.heartbeatCoalescingEnabled(true);
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            RCV_DST, mockDispatcher, mockReceiveStatusIndicator, context);
+        sendChannelEndpoint = new SendChannelEndpoint(SRC_DST, mockSendStatusIndicator, context);
+
+        assertThat(sendChannelEndpoint.isHeartbeatCoalescingEnabled(), is(true));
+
+        receiveChannelEndpoint.openDatagramChannel(mockReceiveStatusIndicator);
+        receiveChannelEndpoint.registerForRead(dataTransportPoller);
+        sendChannelEndpoint.openDatagramChannel(mockSendStatusIndicator);
+        sendChannelEndpoint.registerForRead(controlTransportPoller);
+
+        encodeDataHeader.wrap(buffer);
+        encodeDataHeader
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+            .frameLength(0);
+        encodeDataHeader
+            .streamId(STREAM_ID)
+            .termId(TERM_ID);
+
+        processLoop(dataTransportPoller, 5);
+        for (int i = 1; i <= heartbeatCount; i++)
+        {
+            encodeDataHeader.sessionId(i);
+            byteBuffer.position(0).limit(DataHeaderFlyweight.HEADER_LENGTH);
+            assertThat(sendChannelEndpoint.sendHeartbeat(byteBuffer, Configuration.mtuLength()), is(0));
+        }
+
+        assertThat(sendChannelEndpoint.flushHeartbeats(), is(heartbeatCount * DataHeaderFlyweight.HEADER_LENGTH));
+        while (heartbeatsReceived.get() < heartbeatCount)
+        {
+            processLoop(dataTransportPoller, 1);
+        }
+
+        assertThat(heartbeatsReceived.get(), is(heartbeatCount));
+        assertThat(sessionIdSum.get(), is(1 + 2 + 3));
+    }
+
     @Test(timeout = 1000)
     public void shouldSendMultipleDataFramesPerDatagramUnicastFromSourceToReceiver()
     {
@@ -283,7 +428,151 @@ public class SelectorAndTransportTest
             processLoop(controlTransportPoller, 1);
         }
 
-        verify(mockStatusMessagesReceivedCounter, times(1)).incrementOrdered();
+        verify(mockStatusMessagesReceivedCounter, times(1)).increment();
+    }
+
+    @Test(timeout = 1000)
+    public void shouldHandleBatchedSmAndNakFramesFromReceiverToSender()
+    {
+        final int statusMessageCount = 3;
+        final MutableInteger statusMessagesReceived = new MutableInteger(0);
+        final MutableInteger naksReceived = new MutableInteger(0);
+
+        doAnswer(
+            (invocation) ->
+            {
+                statusMessagesReceived.value++;
+                return null;
+            })
+            .when(mockPublication).onStatusMessage(any(), any());
+
+        doAnswer(
+            (invocation) ->
+            {
+                final int rangeCount = invocation.getArgument(1);
+                assertThat(rangeCount, is(1));
+
+                naksReceived.value++;
+                return null;
+            })
+            .when(mockPublication).onNak(any(), anyInt());
+
+        context.controlMessageBatchingEnabled(true);
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            RCV_DST, mockDispatcher, mockReceiveStatusIndicator, context);
+        sendChannelEndpoint = new SendChannelEndpoint(SRC_DST, mockSendStatusIndicator, context);
+        sendChannelEndpoint.registerForSend(mockPublication);
+
+        assertThat(receiveChannelEndpoint.isControlBatchingEnabled(), is(true));
+
+        receiveChannelEndpoint.openDatagramChannel(mockReceiveStatusIndicator);
+        receiveChannelEndpoint.registerForRead(dataTransportPoller);
+        sendChannelEndpoint.openDatagramChannel(mockSendStatusIndicator);
+        sendChannelEndpoint.registerForRead(controlTransportPoller);
+
+        final ImageConnection[] imageConnections = { new ImageConnection(0, rcvRemoteAddress) };
+
+        processLoop(dataTransportPoller, 5);
+        for (int i = 0; i < statusMessageCount; i++)
+        {
+            receiveChannelEndpoint.sendStatusMessage(
+                imageConnections, SESSION_ID, STREAM_ID, TERM_ID, i * 1024, 1000, (short)0);
+        }
+        receiveChannelEndpoint.sendNakMessage(imageConnections, SESSION_ID, STREAM_ID, TERM_ID, 0, 1024);
+
+        assertThat(receiveChannelEndpoint.flushControlMessages(), is(1));
+
+        while (statusMessagesReceived.get() < statusMessageCount || naksReceived.get() < 1)
+        {
+            processLoop(controlTransportPoller, 1);
+        }
+
+        assertThat(statusMessagesReceived.get(), is(statusMessageCount));
+        assertThat(naksReceived.get(), is(1));
+        assertThat(receiveChannelEndpoint.flushControlMessages(), is(0));
+    }
+
+    @Test(timeout = 1000)
+    public void shouldExchangeDataAndSmFramesOverLoopbackTransport()
+    {
+        final MutableInteger dataHeadersReceived = new MutableInteger(0);
+        final MutableInteger controlMessagesReceived = new MutableInteger(0);
+
+        doAnswer(
+            (invocation) ->
+            {
+                dataHeadersReceived.value++;
+                return null;
+            })
+            .when(mockDispatcher).onDataPacket(
+            any(ReceiveChannelEndpoint.class),
+            any(DataHeaderFlyweight.class),
+            any(UnsafeBuffer.class),
+            anyInt(),
+            any(InetSocketAddress.class),
+            anyInt());
+
+        doAnswer(
+            (invocation) ->
+            {
+                controlMessagesReceived.value++;
+                return null;
+            })
+            .when(mockPublication).onStatusMessage(any(), any());
+
+        context.datagramTransportSupplier(new LoopbackDatagramTransportSupplier());
+
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            RCV_DST, mockDispatcher, mockReceiveStatusIndicator, context);
+        sendChannelEndpoint = new SendChannelEndpoint(SRC_DST, mockSendStatusIndicator, context);
+        sendChannelEndpoint.registerForSend(mockPublication);
+
+        receiveChannelEndpoint.openDatagramChannel(mockReceiveStatusIndicator);
+        receiveChannelEndpoint.registerForRead(dataTransportPoller);
+        sendChannelEndpoint.openDatagramChannel(mockSendStatusIndicator);
+        sendChannelEndpoint.registerForRead(controlTransportPoller);
+
+        assertThat(receiveChannelEndpoint.datagramTransport(), instanceOf(LoopbackDatagramTransport.class));
+
+        encodeDataHeader.wrap(buffer);
+        encodeDataHeader
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+            .frameLength(FRAME_LENGTH);
+        encodeDataHeader
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(TERM_ID);
+        byteBuffer.position(0).limit(FRAME_LENGTH);
+
+        assertThat(sendChannelEndpoint.send(byteBuffer), is(FRAME_LENGTH));
+        while (dataHeadersReceived.get() < 1)
+        {
+            processLoop(dataTransportPoller, 1);
+        }
+
+        statusMessage.wrap(buffer);
+        statusMessage
+            .streamId(STREAM_ID)
+            .sessionId(SESSION_ID)
+            .consumptionTermId(TERM_ID)
+            .receiverWindowLength(1000)
+            .consumptionTermOffset(0)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags((short)0)
+            .headerType(HeaderFlyweight.HDR_TYPE_SM)
+            .frameLength(StatusMessageFlyweight.HEADER_LENGTH);
+        byteBuffer.position(0).limit(statusMessage.frameLength());
+
+        receiveChannelEndpoint.sendTo(byteBuffer, rcvRemoteAddress);
+        while (controlMessagesReceived.get() < 1)
+        {
+            processLoop(controlTransportPoller, 1);
+        }
+
+        assertThat(dataHeadersReceived.get(), is(1));
+        assertThat(controlMessagesReceived.get(), is(1));
     }
 
     private void processLoop(final UdpTransportPoller transportPoller, final int iterations)
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SendPacerTest
+{
+    private static final long RATE = 1024 * 1024;
+    private static final int BURST_LENGTH = 16 * 1024;
+    private static final int MTU_LENGTH = 1408;
+    private static final long MS_IN_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicCounter pacingDelays = mock(AtomicCounter.class);
+    private final AtomicCounter systemPacingDelays = mock(AtomicCounter.class);
+    private final AtomicCounter achievedRate = mock(AtomicCounter.class);
+
+    private long nanoTime = TimeUnit.SECONDS.toNanos(1);
+
+    private final SendPacer sendPacer = new SendPacer(
+        RATE, BURST_LENGTH, MTU_LENGTH, nanoTime, pacingDelays, systemPacingDelays, achievedRate);
+
+    @Test
+    public void shouldStartWithFullBurst()
+    {
+        assertThat(sendPacer.availableBytes(nanoTime), is(BURST_LENGTH));
+    }
+
+    @Test
+    public void shouldAccrueTokensAtRate()
+    {
+        sendPacer.onBytesSent(BURST_LENGTH);
+        assertThat(sendPacer.availableBytes(nanoTime), is(0));
+
+        nanoTime += 10 * MS_IN_NS;
+        assertThat(sendPacer.availableBytes(nanoTime), is((int)(RATE * 10 / 1000)));
+    }
+
+    @Test
+    public void shouldNotLoseFractionalTokensOnFrequentRefills()
+    {
+        sendPacer.onBytesSent(BURST_LENGTH);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            nanoTime += 10;
+            sendPacer.availableBytes(nanoTime);
+        }
+
+        assertThat(sendPacer.availableBytes(nanoTime), is((int)(RATE * 10_000 / TimeUnit.SECONDS.toNanos(1))));
+    }
+
+    @Test
+    public void shouldCapTokensAtBurstLength()
+    {
+        sendPacer.onBytesSent(BURST_LENGTH);
+
+        nanoTime += TimeUnit.HOURS.toNanos(1);
+        assertThat(sendPacer.availableBytes(nanoTime), is(BURST_LENGTH));
+    }
+
+    @Test
+    public void shouldAllowAtLeastOneMtuWhenBurstIsSmaller()
+    {
+        final SendPacer sendPacer = new SendPacer(
+            RATE, MTU_LENGTH / 2, MTU_LENGTH, nanoTime, pacingDelays, systemPacingDelays, achievedRate);
+
+        assertThat(sendPacer.availableBytes(nanoTime), is(MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldPublishAchievedRateEachInterval()
+    {
+        final int chunk = 1024;
+        final int sendsPerInterval = 100;
+        for (int i = 0; i < sendsPerInterval; i++)
+        {
+            sendPacer.onBytesSent(chunk);
+            nanoTime += SendPacer.RATE_INTERVAL_NS / sendsPerInterval;
+            sendPacer.availableBytes(nanoTime);
+        }
+
+        verify(achievedRate).setOrdered(
+            (chunk * sendsPerInterval * TimeUnit.SECONDS.toNanos(1)) / SendPacer.RATE_INTERVAL_NS);
+    }
+
+    @Test
+    public void shouldCountDelayOncePerHeldBackSend()
+    {
+        sendPacer.onDelay();
+        sendPacer.onDelay();
+
+        verify(pacingDelays, times(1)).incrementOrdered();
+        verify(systemPacingDelays, times(1)).increment();
+
+        sendPacer.onBytesSent(MTU_LENGTH);
+        sendPacer.onDelay();
+
+        verify(pacingDelays, times(2)).incrementOrdered();
+        verify(systemPacingDelays, times(2)).increment();
+    }
+}
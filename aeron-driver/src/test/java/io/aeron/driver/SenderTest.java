@@ -20,6 +20,7 @@ import io.aeron.driver.buffer.TestLogFactory;
 import io.aeron.driver.media.ControlTransportPoller;
 import io.aeron.driver.media.SendChannelEndpoint;
 import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.status.BucketHistogram;
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.HeaderWriter;
 import io.aeron.logbuffer.LogBufferDescriptor;
@@ -34,6 +35,7 @@ import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.status.AtomicLongPosition;
+import org.agrona.concurrent.status.CountersManager;
 import org.agrona.concurrent.status.Position;
 import org.junit.After;
 import org.junit.Before;
@@ -66,6 +68,8 @@ public class SenderTest
         SESSION_ID, STREAM_ID, INITIAL_TERM_ID);
     private static final int FRAME_LENGTH = HEADER.capacity() + PAYLOAD.length;
     private static final int ALIGNED_FRAME_LENGTH = align(FRAME_LENGTH, FRAME_ALIGNMENT);
+    private static final int COUNTERS_LENGTH = 16 * 1024;
+    private static final int COUNTERS_METADATA_LENGTH = COUNTERS_LENGTH * 2;
 
     private final ControlTransportPoller mockTransportPoller = mock(ControlTransportPoller.class);
 
@@ -87,6 +91,8 @@ public class SenderTest
     private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
     private final SetupFlyweight setupHeader = new SetupFlyweight();
     private final SystemCounters mockSystemCounters = mock(SystemCounters.class);
+    private final BucketHistogram mockSendBatchHistogram = mock(BucketHistogram.class);
+    private final SendChannelEndpoint mockSendChannelEndpoint = mock(SendChannelEndpoint.class);
     private final OneToOneConcurrentArrayQueue<Runnable> senderCommandQueue =
         new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
 
@@ -108,16 +114,21 @@ public class SenderTest
     @Before
     public void setUp()
     {
-        final SendChannelEndpoint mockSendChannelEndpoint = mock(SendChannelEndpoint.class);
         when(mockSendChannelEndpoint.udpChannel()).thenReturn(udpChannel);
         when(mockSendChannelEndpoint.send(any())).thenAnswer(saveByteBufferAnswer);
+        when(mockSendChannelEndpoint.sendBatch(any(), any(), any(), anyInt())).thenCallRealMethod();
+        when(mockSendChannelEndpoint.sendSegmented(any(), anyInt())).thenAnswer(saveByteBufferAnswer);
         when(mockSystemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
 
         final CachedNanoClock mockCachedNanoClock = mock(CachedNanoClock.class);
         when(mockCachedNanoClock.nanoTime()).thenAnswer((invocation) -> currentTimestamp);
 
+        final CountersManager countersManager = new CountersManager(
+            new UnsafeBuffer(new byte[COUNTERS_METADATA_LENGTH]), new UnsafeBuffer(new byte[COUNTERS_LENGTH]));
+
         sender = new Sender(
             new MediaDriver.Context()
+                .countersManager(countersManager)
                 .cachedEpochClock(new CachedEpochClock())
                 .cachedNanoClock(mockCachedNanoClock)
                 .controlTransportPoller(mockTransportPoller)
@@ -133,35 +144,7 @@ public class SenderTest
             termAppenders[i] = new TermAppender(rawLog.termBuffers()[i], rawLog.metaData(), i);
         }
 
-        publication = new NetworkPublication(
-            1,
-            101,
-            mockSendChannelEndpoint,
-            () -> currentTimestamp,
-            rawLog,
-            Configuration.producerWindowLength(TERM_BUFFER_LENGTH, Configuration.publicationTermWindowLength()),
-            mock(Position.class),
-            mock(Position.class),
-            new AtomicLongPosition(),
-            new AtomicLongPosition(),
-            mock(AtomicCounter.class),
-            SESSION_ID,
-            STREAM_ID,
-            INITIAL_TERM_ID,
-            MAX_FRAME_LENGTH,
-            mockSystemCounters,
-            flowControl,
-            mockRetransmitHandler,
-            new NetworkPublicationThreadLocals(),
-            Configuration.publicationUnblockTimeoutNs(),
-            Configuration.publicationConnectionTimeoutNs(),
-            Configuration.publicationLingerTimeoutNs(),
-            Configuration.untetheredWindowLimitTimeoutNs(),
-            Configuration.untetheredRestingTimeoutNs(),
-            false,
-            false,
-            true);
-
+        publication = newPublication(1);
         senderCommandQueue.offer(() -> sender.onNewNetworkPublication(publication));
     }
 
@@ -488,6 +471,131 @@ public class SenderTest
         assertThat(dataHeader.termOffset(), is(offsetOfMessage(2)));
     }
 
+    @Test
+    public void shouldSendBatchOfDataFramesInOneFlush()
+    {
+        senderCommandQueue.clear();
+        publication = newPublication(4);
+        senderCommandQueue.offer(() -> sender.onNewNetworkPublication(publication));
+
+        final int payloadLength = MAX_FRAME_LENGTH / 2;
+        final int alignedFrameLength = align(HEADER.capacity() + payloadLength, FRAME_ALIGNMENT);
+
+        final StatusMessageFlyweight msg = mock(StatusMessageFlyweight.class);
+        when(msg.consumptionTermId()).thenReturn(INITIAL_TERM_ID);
+        when(msg.consumptionTermOffset()).thenReturn(0);
+        when(msg.receiverWindowLength()).thenReturn(8 * alignedFrameLength);
+
+        publication.onStatusMessage(msg, rcvAddress);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadLength));
+        for (int i = 0; i < 3; i++)
+        {
+            termAppenders[0].appendUnfragmentedMessage(headerWriter, buffer, 0, payloadLength, null, INITIAL_TERM_ID);
+        }
+
+        sender.doWork();
+
+        assertThat(receivedFrames.size(), is(4));
+
+        setupHeader.wrap(new UnsafeBuffer(receivedFrames.remove()));
+        assertThat(setupHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_SETUP));
+
+        for (int i = 0; i < 3; i++)
+        {
+            dataHeader.wrap(new UnsafeBuffer(receivedFrames.remove()));
+            assertThat(dataHeader.frameLength(), is(HEADER.capacity() + payloadLength));
+            assertThat(dataHeader.termOffset(), is(i * alignedFrameLength));
+        }
+
+        verify(mockSendChannelEndpoint).sendBatch(any(), any(), any(), eq(3));
+        verify(mockSendBatchHistogram).record(3);
+    }
+
+    @Test
+    public void shouldSendRunOfEqualLengthFramesAsOneSegmentedSend()
+    {
+        senderCommandQueue.clear();
+        publication = newPublication(1, true);
+        senderCommandQueue.offer(() -> sender.onNewNetworkPublication(publication));
+
+        final int payloadLength = MAX_FRAME_LENGTH - HEADER.capacity();
+
+        final StatusMessageFlyweight msg = mock(StatusMessageFlyweight.class);
+        when(msg.consumptionTermId()).thenReturn(INITIAL_TERM_ID);
+        when(msg.consumptionTermOffset()).thenReturn(0);
+        when(msg.receiverWindowLength()).thenReturn(8 * MAX_FRAME_LENGTH);
+
+        publication.onStatusMessage(msg, rcvAddress);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadLength));
+        for (int i = 0; i < 3; i++)
+        {
+            termAppenders[0].appendUnfragmentedMessage(headerWriter, buffer, 0, payloadLength, null, INITIAL_TERM_ID);
+        }
+
+        sender.doWork();
+
+        assertThat(receivedFrames.size(), is(2));
+
+        setupHeader.wrap(new UnsafeBuffer(receivedFrames.remove()));
+        assertThat(setupHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_SETUP));
+
+        final UnsafeBuffer run = new UnsafeBuffer(receivedFrames.remove());
+        assertThat(run.capacity(), is(3 * MAX_FRAME_LENGTH));
+
+        for (int i = 0; i < 3; i++)
+        {
+            dataHeader.wrap(run, i * MAX_FRAME_LENGTH, MAX_FRAME_LENGTH);
+            assertThat(dataHeader.frameLength(), is(MAX_FRAME_LENGTH));
+            assertThat(dataHeader.termOffset(), is(i * MAX_FRAME_LENGTH));
+        }
+
+        verify(mockSendChannelEndpoint).sendSegmented(any(), eq(MAX_FRAME_LENGTH));
+    }
+
+    private NetworkPublication newPublication(final int sendBatchLength)
+    {
+        return newPublication(sendBatchLength, false);
+    }
+
+    private NetworkPublication newPublication(final int sendBatchLength, final boolean isGsoEnabled)
+    {
+        return new NetworkPublication(
+            1,
+            101,
+            mockSendChannelEndpoint,
+            () -> currentTimestamp,
+            rawLog,
+            Configuration.producerWindowLength(TERM_BUFFER_LENGTH, Configuration.publicationTermWindowLength()),
+            mock(Position.class),
+            mock(Position.class),
+            new AtomicLongPosition(),
+            new AtomicLongPosition(),
+            mock(AtomicCounter.class),
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            MAX_FRAME_LENGTH,
+            sendBatchLength,
+            isGsoEnabled,
+            0,
+            null,
+            mockSystemCounters,
+            mockSendBatchHistogram,
+            flowControl,
+            mockRetransmitHandler,
+            new NetworkPublicationThreadLocals(),
+            Configuration.publicationUnblockTimeoutNs(),
+            Configuration.publicationConnectionTimeoutNs(),
+            Configuration.publicationLingerTimeoutNs(),
+            Configuration.untetheredWindowLimitTimeoutNs(),
+            Configuration.untetheredRestingTimeoutNs(),
+            false,
+            false,
+            true);
+    }
+
     private int offsetOfMessage(final int offset)
     {
         return (offset - 1) * align(HEADER.capacity() + PAYLOAD.length, FRAME_ALIGNMENT);
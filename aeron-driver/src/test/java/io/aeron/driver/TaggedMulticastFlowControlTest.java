@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.Aeron;
+import io.aeron.driver.status.FlowControlGroupPos;
+import io.aeron.driver.status.FlowControlGroupReceivers;
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.positionBitsToShift;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TaggedMulticastFlowControlTest
+{
+    private static final int INITIAL_TERM_ID = 0;
+    private static final int TERM_LENGTH = 64 * 1024;
+    private static final int WINDOW_LENGTH = 1024;
+    private static final int POSITION_BITS_TO_SHIFT = positionBitsToShift(TERM_LENGTH);
+    private static final long SENDER_LIMIT = 100;
+    private static final InetSocketAddress ADDRESS = new InetSocketAddress("localhost", 40123);
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[64 * 1024]), new UnsafeBuffer(new byte[16 * 1024]));
+    private final UnsafeBuffer tempBuffer = new UnsafeBuffer(new byte[1024]);
+    private final StatusMessageFlyweight statusMessage = new StatusMessageFlyweight(
+        new UnsafeBuffer(new byte[StatusMessageFlyweight.HEADER_LENGTH + 64]));
+
+    private TaggedMulticastFlowControl flowControl;
+    private long timeNs = TimeUnit.SECONDS.toNanos(1);
+
+    @After
+    public void after()
+    {
+        if (null != flowControl)
+        {
+            flowControl.close();
+        }
+    }
+
+    @Test
+    public void shouldTrackSlowestMemberOfGroupsAndIgnoreOthers()
+    {
+        flowControl = newFlowControl("tagged,g:1,g:2");
+
+        assertThat(onStatusMessage(10, 1L, 2000), is(2000L + WINDOW_LENGTH));
+        assertThat(onStatusMessage(11, 2L, 1000), is(1000L + WINDOW_LENGTH));
+        assertThat(onStatusMessage(12, 3L, 0), is(1000L + WINDOW_LENGTH));
+        assertThat(onStatusMessage(13, null, 0), is(1000L + WINDOW_LENGTH));
+
+        assertThat(flowControl.onIdle(timeNs, SENDER_LIMIT, 0, false), is(1000L + WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldHoldSenderLimitUntilGroupHasMinSize()
+    {
+        flowControl = newFlowControl("tagged,g:1/2");
+
+        assertThat(onStatusMessage(10, 1L, 2000), is(SENDER_LIMIT));
+        assertThat(flowControl.onIdle(timeNs, SENDER_LIMIT, 0, false), is(SENDER_LIMIT));
+
+        assertThat(onStatusMessage(11, 1L, 3000), is(2000L + WINDOW_LENGTH));
+        assertThat(flowControl.onIdle(timeNs, SENDER_LIMIT, 0, false), is(2000L + WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldHoldSenderLimitAgainWhenGroupFallsBelowMinSize()
+    {
+        flowControl = newFlowControl("tagged,g:1/2,t:1s");
+
+        onStatusMessage(10, 1L, 2000);
+        timeNs += TimeUnit.MILLISECONDS.toNanos(600);
+        onStatusMessage(11, 1L, 3000);
+        assertThat(flowControl.onIdle(timeNs, SENDER_LIMIT, 0, false), is(2000L + WINDOW_LENGTH));
+
+        timeNs += TimeUnit.MILLISECONDS.toNanos(600);
+        assertThat(flowControl.onIdle(timeNs, SENDER_LIMIT, 0, false), is(SENDER_LIMIT));
+    }
+
+    @Test
+    public void shouldPublishGroupCounters()
+    {
+        flowControl = newFlowControl("tagged,g:7");
+
+        flowControl.onIdle(timeNs, SENDER_LIMIT, 0, false);
+        assertThat(counterValue(FlowControlGroupPos.FLOW_CONTROL_GROUP_POS_TYPE_ID), is((long)Aeron.NULL_VALUE));
+        assertThat(counterValue(FlowControlGroupReceivers.FLOW_CONTROL_GROUP_RECEIVERS_TYPE_ID), is(0L));
+
+        onStatusMessage(10, 7L, 2000);
+        onStatusMessage(11, 7L, 1000);
+        flowControl.onIdle(timeNs, SENDER_LIMIT, 0, false);
+
+        assertThat(counterValue(FlowControlGroupPos.FLOW_CONTROL_GROUP_POS_TYPE_ID), is(1000L));
+        assertThat(counterValue(FlowControlGroupReceivers.FLOW_CONTROL_GROUP_RECEIVERS_TYPE_ID), is(2L));
+    }
+
+    @Test
+    public void shouldStopLingeringWhenGroupsHaveReachedSenderPosition()
+    {
+        flowControl = newFlowControl("tagged,g:1");
+
+        onStatusMessage(10, 1L, 1000);
+        flowControl.onIdle(timeNs, SENDER_LIMIT, 2000, true);
+        assertThat(flowControl.shouldLinger(timeNs), is(true));
+
+        onStatusMessage(10, 1L, 2000);
+        flowControl.onIdle(timeNs, SENDER_LIMIT, 2000, true);
+        assertThat(flowControl.shouldLinger(timeNs), is(false));
+    }
+
+    @Test
+    public void shouldIgnoreApplicationSpecificFeedbackOfGroupTagLength()
+    {
+        flowControl = newFlowControl("tagged,g:1");
+
+        assertThat(onStatusMessage(10, 1L, 2000), is(2000L + WINDOW_LENGTH));
+
+        statusMessage.flags((short)0);
+        statusMessage
+            .receiverId(11)
+            .consumptionTermId(INITIAL_TERM_ID)
+            .consumptionTermOffset(0)
+            .receiverWindowLength(WINDOW_LENGTH)
+            .applicationSpecificFeedback(new byte[]{ 1, 0, 0, 0, 0, 0, 0, 0 }, 0, 8);
+
+        assertThat(statusMessage.hasGroupTag(), is(false));
+
+        final long senderLimit = flowControl.onStatusMessage(
+            statusMessage, ADDRESS, SENDER_LIMIT, INITIAL_TERM_ID, POSITION_BITS_TO_SHIFT, timeNs);
+        assertThat(senderLimit, is(2000L + WINDOW_LENGTH));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectParamWithoutGroups()
+    {
+        newFlowControl("tagged,t:1s");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectDuplicateGroups()
+    {
+        newFlowControl("tagged,g:1,g:1/2");
+    }
+
+    private TaggedMulticastFlowControl newFlowControl(final String fcValue)
+    {
+        return new TaggedMulticastFlowControl(
+            fcValue, tempBuffer, countersManager, 1, 2, 3, "aeron:udp?endpoint=224.20.30.39:40456|fc=" + fcValue);
+    }
+
+    private long onStatusMessage(final long receiverId, final Long groupTag, final int position)
+    {
+        statusMessage.flags((short)0);
+        statusMessage
+            .receiverId(receiverId)
+            .consumptionTermId(INITIAL_TERM_ID)
+            .consumptionTermOffset(position)
+            .receiverWindowLength(WINDOW_LENGTH);
+
+        if (null != groupTag)
+        {
+            statusMessage.groupTag(groupTag);
+        }
+        else
+        {
+            statusMessage.frameLength(StatusMessageFlyweight.HEADER_LENGTH);
+        }
+
+        return flowControl.onStatusMessage(
+            statusMessage, ADDRESS, SENDER_LIMIT, INITIAL_TERM_ID, POSITION_BITS_TO_SHIFT, timeNs);
+    }
+
+    private long counterValue(final int typeId)
+    {
+        final long[] value = { Long.MIN_VALUE };
+        countersManager.forEach(
+            (counterId, counterTypeId, keyBuffer, label) ->
+            {
+                if (counterTypeId == typeId)
+                {
+                    value[0] = countersManager.getCounterValue(counterId);
+                }
+            });
+
+        return value[0];
+    }
+}
@@ -59,6 +59,7 @@ public class FileStoreLogFactoryTest
     @After
     public void cleanupFiles()
     {
+        fileStoreLogFactory.close();
         IoUtil.delete(DATA_DIR, false);
     }
 
@@ -119,6 +120,66 @@ public class FileStoreLogFactoryTest
         rawLog.close();
     }
 
+    @Test
+    public void shouldNotChangeContentsWhenPreTouchingLog()
+    {
+        final String canonicalForm = udpChannel.canonicalForm();
+        final MappedRawLog rawLog = (MappedRawLog)fileStoreLogFactory.newPublication(
+            canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID, TERM_BUFFER_LENGTH, true);
+
+        final UnsafeBuffer termBuffer = rawLog.termBuffers()[0];
+        termBuffer.putInt(0, 7);
+        termBuffer.putInt(PAGE_SIZE, 11);
+
+        rawLog.preTouch(true, true);
+
+        assertThat(termBuffer.getInt(0), is(7));
+        assertThat(termBuffer.getInt(PAGE_SIZE), is(11));
+        assertThat(termBuffer.getInt(PAGE_SIZE * 2), is(0));
+
+        rawLog.close();
+    }
+
+    @Test
+    public void shouldNotPreTouchLogWhichHasBeenFreed()
+    {
+        final String canonicalForm = udpChannel.canonicalForm();
+        final MappedRawLog rawLog = (MappedRawLog)fileStoreLogFactory.newImage(
+            canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID, TERM_BUFFER_LENGTH, true);
+
+        assertThat(rawLog.free(), is(true));
+
+        rawLog.preTouch(true, true);
+    }
+
+    @Test
+    public void shouldPreTouchLogInBackgroundWhenConfigured()
+    {
+        fileStoreLogFactory.close();
+        fileStoreLogFactory = new FileStoreLogFactory(
+            DATA_DIR.getAbsolutePath(),
+            PAGE_SIZE,
+            PERFORM_STORAGE_CHECKS,
+            LOW_STORAGE_THRESHOLD,
+            true,
+            true,
+            0,
+            null,
+            null,
+            null,
+            mock(ErrorHandler.class));
+
+        final String canonicalForm = udpChannel.canonicalForm();
+        final RawLog rawLog = fileStoreLogFactory.newPublication(
+            canonicalForm, SESSION_ID, STREAM_ID, CREATION_ID, TERM_BUFFER_LENGTH, true);
+
+        final UnsafeBuffer termBuffer = rawLog.termBuffers()[0];
+        termBuffer.putInt(0, 7);
+        assertThat(termBuffer.getInt(0), is(7));
+
+        rawLog.close();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldExceptionIfRequestedTermBufferLengthGreaterThanMax()
     {
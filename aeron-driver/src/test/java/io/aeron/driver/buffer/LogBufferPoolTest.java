@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.buffer;
+
+import org.agrona.ErrorHandler;
+import org.agrona.IoUtil;
+import org.agrona.SystemUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+
+public class LogBufferPoolTest
+{
+    private static final File DATA_DIR = new File(SystemUtil.tmpDirName(), "logBufferPoolTest");
+    private static final int PAGE_SIZE = 4 * 1024;
+    private static final int TERM_LENGTH = TERM_MIN_LENGTH;
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[16 * 1024]), new UnsafeBuffer(new byte[4 * 1024]));
+    private final AtomicCounter poolHits = countersManager.newCounter("hits");
+    private final AtomicCounter poolMisses = countersManager.newCounter("misses");
+    private final AtomicCounter poolLogs = countersManager.newCounter("size");
+    private LogBufferPool pool;
+
+    @Before
+    public void before()
+    {
+        IoUtil.ensureDirectoryExists(DATA_DIR, "data");
+    }
+
+    @After
+    public void after()
+    {
+        if (null != pool)
+        {
+            pool.close();
+        }
+
+        IoUtil.delete(DATA_DIR, false);
+    }
+
+    @Test
+    public void shouldMissWhenEmptyThenDeleteOnFreeAndRefillWithNewLog()
+    {
+        pool = newPool(2);
+
+        final RawLog rawLog = pool.take(TERM_LENGTH);
+        assertThat(poolMisses.get(), is(1L));
+        assertThat(poolLogs.get(), is(0L));
+
+        final String fileName = rawLog.fileName();
+        rawLog.termBuffers()[1].putLong(TERM_LENGTH - 8, 7);
+        rawLog.metaData().putInt(0, 11);
+
+        assertThat(rawLog.free(), is(true));
+        assertThat(rawLog.isInactive(), is(true));
+        assertThat(new File(fileName).exists(), is(false));
+        assertThat(poolLogs.get(), is(1L));
+
+        final RawLog newLog = pool.take(TERM_LENGTH);
+        assertThat(poolHits.get(), is(1L));
+        assertThat(newLog.fileName(), not(fileName));
+        assertThat(newLog.isInactive(), is(false));
+        assertThat(newLog.termBuffers()[1].getLong(TERM_LENGTH - 8), is(0L));
+        assertThat(newLog.metaData().getInt(0), is(0));
+
+        newLog.close();
+    }
+
+    @Test
+    public void shouldWarmAndRefillPoolAfterTake()
+    {
+        pool = newPool(2);
+
+        pool.warm(TERM_LENGTH);
+        assertThat(poolLogs.get(), is(2L));
+
+        final RawLog rawLog = pool.take(TERM_LENGTH);
+        assertThat(poolHits.get(), is(1L));
+        assertThat(poolMisses.get(), is(0L));
+        assertThat(poolLogs.get(), is(2L));
+
+        final String fileName = rawLog.fileName();
+        rawLog.close();
+        assertThat(poolLogs.get(), is(2L));
+        assertThat(new File(fileName).exists(), is(false));
+    }
+
+    @Test
+    public void shouldKeepPoolsPerTermLength()
+    {
+        pool = newPool(1);
+
+        pool.warm(TERM_LENGTH);
+
+        final RawLog rawLog = pool.take(TERM_LENGTH * 2);
+        assertThat(poolMisses.get(), is(1L));
+        assertThat(rawLog.termLength(), is(TERM_LENGTH * 2));
+
+        rawLog.close();
+    }
+
+    @Test
+    public void shouldReplaceOnlyOnceWhenFreedAndClosed()
+    {
+        pool = newPool(2);
+
+        final RawLog rawLog = pool.take(TERM_LENGTH);
+        assertThat(rawLog.free(), is(true));
+        rawLog.close();
+
+        assertThat(poolLogs.get(), is(1L));
+    }
+
+    @Test
+    public void shouldDeleteLogsOnCloseAndWhenFreedAfter()
+    {
+        pool = newPool(1);
+
+        pool.warm(TERM_LENGTH);
+        final RawLog rawLog = pool.take(TERM_LENGTH);
+        final RawLog pooledLog = pool.take(TERM_LENGTH);
+        final String fileName = rawLog.fileName();
+        final String pooledFileName = pooledLog.fileName();
+        assertThat(pooledFileName, not(fileName));
+
+        pool.close();
+        assertThat(poolLogs.get(), is(0L));
+        assertThat(new File(pooledFileName).exists(), is(true));
+
+        rawLog.close();
+        pooledLog.close();
+        assertThat(new File(fileName).exists(), is(false));
+        assertThat(new File(pooledFileName).exists(), is(false));
+    }
+
+    private LogBufferPool newPool(final int poolSize)
+    {
+        return new LogBufferPool(
+            DATA_DIR, poolSize, PAGE_SIZE, Runnable::run, mock(ErrorHandler.class), poolHits, poolMisses, poolLogs);
+    }
+}
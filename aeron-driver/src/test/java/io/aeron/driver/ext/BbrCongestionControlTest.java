@@ -0,0 +1,215 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.driver.CongestionControl;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.ext.BbrCongestionControl.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BbrCongestionControlTest
+{
+    private static final int MTU_LENGTH = 1408;
+    private static final int TERM_LENGTH = 64 * 1024 * 1024;
+    private static final int MAX_WINDOW_LENGTH = 16 * 1024 * 1024;
+    private static final long RTT_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BOTTLENECK_BYTES_PER_SECOND = 100L * 1024 * 1024;
+    private static final long BDP = (BOTTLENECK_BYTES_PER_SECOND * RTT_NS) / TimeUnit.SECONDS.toNanos(1);
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[64 * 1024]), new UnsafeBuffer(new byte[16 * 1024]));
+    private final MediaDriver.Context context = new MediaDriver.Context()
+        .tempBuffer(new UnsafeBuffer(new byte[CountersReader.METADATA_LENGTH]))
+        .initialWindowLength(MAX_WINDOW_LENGTH);
+
+    private long nanoTime = TimeUnit.SECONDS.toNanos(1);
+    private long position;
+    private int window;
+
+    private final BbrCongestionControl congestionControl = new BbrCongestionControl(
+        1,
+        UdpChannel.parse("aeron:udp?endpoint=localhost:40123"),
+        1001,
+        7,
+        TERM_LENGTH,
+        MTU_LENGTH,
+        () -> nanoTime,
+        context,
+        countersManager);
+
+    @After
+    public void after()
+    {
+        congestionControl.close();
+    }
+
+    @Test
+    public void shouldStartInStartupWithInitialWindow()
+    {
+        assertThat(congestionControl.state(), is(STARTUP));
+        assertThat(congestionControl.pacingGain(), is(STARTUP_GAIN));
+        assertThat(congestionControl.initialWindowLength(),
+            is(BbrCongestionControlConfiguration.INITIAL_WINDOW_MTUS * MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldMeasureRttPeriodicallyWithOneOutstanding()
+    {
+        assertThat(congestionControl.shouldMeasureRtt(nanoTime), is(true));
+
+        congestionControl.onRttMeasurementSent(nanoTime);
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(100);
+        assertThat(congestionControl.shouldMeasureRtt(nanoTime), is(false));
+
+        congestionControl.onRttMeasurement(nanoTime, RTT_NS, null);
+        assertThat(congestionControl.shouldMeasureRtt(nanoTime), is(false));
+
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(11);
+        assertThat(congestionControl.shouldMeasureRtt(nanoTime), is(true));
+    }
+
+    @Test
+    public void shouldKeepMinRttOfMeasurements()
+    {
+        congestionControl.onRttMeasurement(nanoTime, RTT_NS * 2, null);
+        assertThat(congestionControl.minRttNs(), is(RTT_NS * 2));
+
+        congestionControl.onRttMeasurement(nanoTime, RTT_NS, null);
+        congestionControl.onRttMeasurement(nanoTime, RTT_NS * 3, null);
+        assertThat(congestionControl.minRttNs(), is(RTT_NS));
+        assertThat(counterValue("rcv-cc-bbr-min-rtt"), is(RTT_NS));
+    }
+
+    @Test
+    public void shouldGrowInStartupThenDrainIntoProbeBwAtBottleneckBandwidth()
+    {
+        congestionControl.onRttMeasurement(nanoTime, RTT_NS, null);
+        trackRebuild(false);
+
+        boolean drained = false;
+        for (int round = 0; round < 50 && congestionControl.state() != PROBE_BW; round++)
+        {
+            roundAtBottleneck(false);
+            drained |= congestionControl.state() == DRAIN;
+        }
+
+        assertThat(drained, is(true));
+        assertThat(congestionControl.state(), is(PROBE_BW));
+        assertThat(congestionControl.maxBw(), is(BOTTLENECK_BYTES_PER_SECOND));
+        assertThat(counterValue("rcv-cc-bbr-bw"), is(BOTTLENECK_BYTES_PER_SECOND));
+
+        for (int round = 0; round < PROBE_BW_GAINS.length * 2; round++)
+        {
+            roundAtBottleneck(false);
+            assertThat(congestionControl.state(), is(PROBE_BW));
+            assertThat(window, is((int)((BDP * CWND_GAIN * congestionControl.pacingGain()) / UNIT_GAIN)));
+            assertThat(counterValue("rcv-cc-bbr-gain"), is((long)congestionControl.pacingGain()));
+            assertThat(counterValue("rcv-cc-bbr-wnd"), is((long)window));
+        }
+    }
+
+    @Test
+    public void shouldNotReduceWindowOnLoss()
+    {
+        congestionControl.onRttMeasurement(nanoTime, RTT_NS, null);
+        trackRebuild(false);
+        while (congestionControl.state() != PROBE_BW)
+        {
+            roundAtBottleneck(false);
+        }
+
+        final long maxBw = congestionControl.maxBw();
+        for (int round = 0; round < PROBE_BW_GAINS.length; round++)
+        {
+            roundAtBottleneck(true);
+            assertThat(congestionControl.state(), is(PROBE_BW));
+        }
+
+        assertThat(congestionControl.maxBw(), is(maxBw));
+        assertThat(window, greaterThanOrEqualTo((int)((BDP * CWND_GAIN * 75) / UNIT_GAIN)));
+    }
+
+    @Test
+    public void shouldProbeRttWithMinWindowWhenMinRttExpires()
+    {
+        congestionControl.onRttMeasurement(nanoTime, RTT_NS, null);
+        trackRebuild(false);
+        while (congestionControl.state() != PROBE_BW)
+        {
+            roundAtBottleneck(false);
+        }
+
+        final long roundsToExpiry = BbrCongestionControlConfiguration.MIN_RTT_EXPIRY_NS / RTT_NS;
+        for (long round = 0; round < roundsToExpiry && congestionControl.state() != PROBE_RTT; round++)
+        {
+            congestionControl.onRttMeasurement(nanoTime, RTT_NS * 2, null);
+            roundAtBottleneck(false);
+        }
+
+        assertThat(congestionControl.state(), is(PROBE_RTT));
+        assertThat(window, is(MIN_WINDOW_MTUS * MTU_LENGTH));
+
+        final long maxBw = congestionControl.maxBw();
+        congestionControl.onRttMeasurement(nanoTime, RTT_NS + 1000, null);
+        while (congestionControl.state() == PROBE_RTT)
+        {
+            roundAtBottleneck(false);
+        }
+
+        assertThat(congestionControl.state(), is(PROBE_BW));
+        assertThat(congestionControl.minRttNs(), is(RTT_NS + 1000));
+        assertThat(congestionControl.maxBw(), is(maxBw));
+    }
+
+    private void roundAtBottleneck(final boolean lossOccurred)
+    {
+        nanoTime += RTT_NS;
+        position += Math.min(window, BDP);
+        trackRebuild(lossOccurred);
+    }
+
+    private void trackRebuild(final boolean lossOccurred)
+    {
+        final long outcome = congestionControl.onTrackRebuild(
+            nanoTime, position, position, position, position, position, lossOccurred);
+        window = CongestionControl.receiverWindowLength(outcome);
+    }
+
+    private long counterValue(final String name)
+    {
+        final long[] value = { -1 };
+        countersManager.forEach(
+            (counterId, label) ->
+            {
+                if (label.startsWith(name + ":"))
+                {
+                    value[0] = countersManager.getCounterValue(counterId);
+                }
+            });
+
+        return value[0];
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class SessionStreamMapTest
+{
+    private final SessionStreamMap<String> map = new SessionStreamMap<>();
+
+    @Test
+    public void shouldGetValueByBothSessionIdAndStreamId()
+    {
+        map.put(1, 10, "1:10");
+        map.put(10, 1, "10:1");
+
+        assertThat(map.get(1, 10), is("1:10"));
+        assertThat(map.get(10, 1), is("10:1"));
+        assertNull(map.get(1, 1));
+        assertThat(map.size(), is(2));
+    }
+
+    @Test
+    public void shouldReplaceValueForSameKey()
+    {
+        assertNull(map.put(7, 3, "first"));
+        assertThat(map.get(7, 3), is("first"));
+
+        assertThat(map.put(7, 3, "second"), is("first"));
+        assertThat(map.get(7, 3), is("second"));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void shouldNotReturnLastHitAfterRemoval()
+    {
+        map.put(0, 0, "zero");
+        assertThat(map.get(0, 0), is("zero"));
+
+        assertThat(map.remove(0, 0), is("zero"));
+        assertNull(map.get(0, 0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void shouldGrowAndKeepAllValuesReachable()
+    {
+        final int count = 1024;
+        for (int i = 0; i < count; i++)
+        {
+            map.put(i, -i, Integer.toString(i));
+        }
+
+        assertThat(map.size(), is(count));
+        assertThat(map.capacity(), greaterThan(count));
+
+        for (int i = 0; i < count; i++)
+        {
+            assertThat(map.get(i, -i), is(Integer.toString(i)));
+        }
+    }
+
+    @Test
+    public void shouldKeepCollidingValuesReachableAfterRemovals()
+    {
+        final int count = 512;
+        for (int i = 0; i < count; i++)
+        {
+            map.put(i, 1001, Integer.toString(i));
+        }
+
+        for (int i = 0; i < count; i += 2)
+        {
+            assertThat(map.remove(i, 1001), is(Integer.toString(i)));
+        }
+
+        assertThat(map.size(), is(count / 2));
+
+        for (int i = 0; i < count; i++)
+        {
+            if ((i & 1) == 0)
+            {
+                assertNull(map.get(i, 1001));
+            }
+            else
+            {
+                assertThat(map.get(i, 1001), is(Integer.toString(i)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldIterateAllValues()
+    {
+        map.put(1, 1, "a");
+        map.put(2, 1, "b");
+        map.put(3, 2, "c");
+
+        final List<String> values = new ArrayList<>();
+        map.forEach(values::add);
+
+        assertThat(values, containsInAnyOrder("a", "b", "c"));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.status;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.aeron.driver.status.BucketHistogram.HISTOGRAM_BUCKET_TYPE_ID;
+import static io.aeron.driver.status.PerAgentCounter.AGENT_DUTY_CYCLE_TIME_TYPE_ID;
+import static io.aeron.driver.status.PerAgentCounter.AGENT_MAX_DUTY_CYCLE_TIME_TYPE_ID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class DutyCycleTrackerTest
+{
+    private static final int BUCKET_COUNT = 8;
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(new byte[64 * 1024]), new UnsafeBuffer(new byte[32 * 1024]));
+
+    @Test
+    public void shouldOnlyTrackTotalWhenHistogramNotEnabled()
+    {
+        final DutyCycleTracker tracker = DutyCycleTracker.allocate(countersManager, "sender", 1, 0);
+
+        tracker.record(100);
+        tracker.record(300);
+
+        final Map<Integer, Long> valueByTypeId = new HashMap<>();
+        countersManager.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                valueByTypeId.merge(typeId, countersManager.getCounterValue(counterId), Long::sum);
+            });
+
+        assertThat(valueByTypeId.size(), is(1));
+        assertThat(valueByTypeId.get(AGENT_DUTY_CYCLE_TIME_TYPE_ID), is(400L));
+    }
+
+    @Test
+    public void shouldTrackTotalMaxAndHistogramWhenEnabled()
+    {
+        final DutyCycleTracker tracker = DutyCycleTracker.allocate(countersManager, "receiver", 0, BUCKET_COUNT);
+
+        tracker.record(3);
+        tracker.record(5);
+        tracker.record(6);
+        tracker.record(1000);
+
+        final long[] buckets = new long[BUCKET_COUNT];
+        final long[] max = new long[1];
+        final long[] total = new long[1];
+        countersManager.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                final long value = countersManager.getCounterValue(counterId);
+                if (HISTOGRAM_BUCKET_TYPE_ID == typeId)
+                {
+                    buckets[BucketHistogram.bucketIndex(keyBuffer.getLong(4), BUCKET_COUNT)] = value;
+                }
+                else if (AGENT_MAX_DUTY_CYCLE_TIME_TYPE_ID == typeId)
+                {
+                    max[0] = value;
+                }
+                else if (AGENT_DUTY_CYCLE_TIME_TYPE_ID == typeId)
+                {
+                    total[0] = value;
+                }
+            });
+
+        assertThat(total[0], is(1014L));
+        assertThat(max[0], is(1000L));
+        assertThat(buckets[1], is(1L));
+        assertThat(buckets[2], is(2L));
+        assertThat(buckets[BUCKET_COUNT - 1], is(1L));
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.driver.status.BucketHistogram;
+import org.agrona.SystemUtil;
+import org.agrona.concurrent.SigInt;
+import org.agrona.concurrent.status.CountersReader;
+
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.aeron.CncFileDescriptor.CNC_VERSION;
+import static io.aeron.driver.status.BucketHistogram.HISTOGRAM_BUCKET_TYPE_ID;
+import static io.aeron.driver.status.PerAgentCounter.AGENT_DUTY_CYCLE_TIME_TYPE_ID;
+import static io.aeron.driver.status.PerAgentCounter.AGENT_MAX_DUTY_CYCLE_TIME_TYPE_ID;
+
+/**
+ * Tool for printing the duty cycle times of the driver agents from the counters in the CnC file while the driver is
+ * running. Histograms and max times are only available when the driver is run with
+ * {@link io.aeron.driver.Configuration#DUTY_CYCLE_HISTOGRAM_ENABLED_PROP_NAME} set.
+ * <p>
+ * Each agent is printed with the count of duty cycles which did work, the total and max time, and the upper bound
+ * of the power of two bucket which covers a number of percentiles, followed by the non empty buckets.
+ * <p>
+ * <code>
+ * java -cp aeron-samples/build/libs/samples.jar io.aeron.samples.DutyCycleStat [delay in seconds]
+ * </code>
+ */
+public class DutyCycleStat
+{
+    private static final String ANSI_CLS = "\u001b[2J";
+    private static final String ANSI_HOME = "\u001b[H";
+    private static final String HISTOGRAM_NAME_PREFIX = "Duty cycle time (ns) ";
+    private static final double[] PERCENTILES = { 50.0, 90.0, 99.0, 99.9 };
+
+    private final CountersReader counters;
+
+    public DutyCycleStat(final CountersReader counters)
+    {
+        this.counters = counters;
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        final long delayMs = args.length > 0 ? Long.parseLong(args[0]) * 1000L : 1000L;
+        final DutyCycleStat dutyCycleStat = new DutyCycleStat(SamplesUtil.mapCounters());
+        final AtomicBoolean running = new AtomicBoolean(true);
+        SigInt.register(() -> running.set(false));
+
+        final String header = " - Duty Cycle Stat (CnC v" + CNC_VERSION + "), pid " + SystemUtil.getPid();
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss");
+
+        while (running.get())
+        {
+            System.out.print(ANSI_CLS + ANSI_HOME);
+            System.out.print(dateFormat.format(new Date()));
+            System.out.println(header);
+            System.out.println("======================================================================");
+
+            dutyCycleStat.print(System.out);
+            System.out.println("--");
+
+            Thread.sleep(delayMs);
+        }
+    }
+
+    /**
+     * Take a snapshot of the duty cycle counters and group them by agent.
+     *
+     * @return a snapshot of the duty cycle counters grouped by agent in the order the agents were created.
+     */
+    public Map<String, AgentDutyCycles> snapshot()
+    {
+        final Map<String, AgentDutyCycles> agents = new LinkedHashMap<>();
+
+        counters.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                if (AGENT_DUTY_CYCLE_TIME_TYPE_ID == typeId)
+                {
+                    agent(agents, agentName(label)).totalNs = counters.getCounterValue(counterId);
+                }
+                else if (AGENT_MAX_DUTY_CYCLE_TIME_TYPE_ID == typeId)
+                {
+                    agent(agents, agentName(label)).maxNs = counters.getCounterValue(counterId);
+                }
+                else if (HISTOGRAM_BUCKET_TYPE_ID == typeId && label.startsWith(HISTOGRAM_NAME_PREFIX))
+                {
+                    final String name = label.substring(HISTOGRAM_NAME_PREFIX.length(), label.lastIndexOf(": "));
+                    final AgentDutyCycles agent = agent(agents, name);
+                    final int bucketCount = keyBuffer.getInt(0);
+                    final long lowerBound = keyBuffer.getLong(4);
+
+                    if (null == agent.bucketCounts)
+                    {
+                        agent.bucketCounts = new long[bucketCount];
+                    }
+
+                    agent.bucketCounts[BucketHistogram.bucketIndex(lowerBound, bucketCount)] =
+                        counters.getCounterValue(counterId);
+                }
+            });
+
+        return agents;
+    }
+
+    /**
+     * Print a snapshot of the duty cycle times of each agent to a {@link PrintStream}.
+     *
+     * @param out to which the snapshot will be written.
+     * @return the number of agents printed.
+     */
+    public int print(final PrintStream out)
+    {
+        final Map<String, AgentDutyCycles> agents = snapshot();
+
+        for (final AgentDutyCycles agent : agents.values())
+        {
+            out.format("%s: total=%,dns", agent.name, agent.totalNs);
+
+            final long[] bucketCounts = agent.bucketCounts;
+            if (null != bucketCounts)
+            {
+                out.format(" cycles=%,d max=%,dns", agent.count(), agent.maxNs);
+                for (final double percentile : PERCENTILES)
+                {
+                    out.format(" p%s<=%,dns", percentile, agent.percentileUpperBoundNs(percentile));
+                }
+                out.println();
+
+                for (int i = 0; i < bucketCounts.length; i++)
+                {
+                    if (bucketCounts[i] > 0)
+                    {
+                        out.format("  %,15dns+ : %,d%n", BucketHistogram.lowerBound(i), bucketCounts[i]);
+                    }
+                }
+            }
+            else
+            {
+                out.println();
+            }
+        }
+
+        return agents.size();
+    }
+
+    private static AgentDutyCycles agent(final Map<String, AgentDutyCycles> agents, final String name)
+    {
+        return agents.computeIfAbsent(name, AgentDutyCycles::new);
+    }
+
+    private static String agentName(final String label)
+    {
+        return label.substring(label.lastIndexOf(": ") + 2);
+    }
+
+    /**
+     * Snapshot of the duty cycle times of an agent.
+     */
+    public static class AgentDutyCycles
+    {
+        private final String name;
+        private long totalNs;
+        private long maxNs;
+        private long[] bucketCounts;
+
+        public AgentDutyCycles(final String name)
+        {
+            this.name = name;
+        }
+
+        /**
+         * Name of the agent made up of its role and index.
+         *
+         * @return name of the agent made up of its role and index.
+         */
+        public String name()
+        {
+            return name;
+        }
+
+        /**
+         * Total time in nanoseconds of the duty cycles which did work.
+         *
+         * @return total time in nanoseconds of the duty cycles which did work.
+         */
+        public long totalNs()
+        {
+            return totalNs;
+        }
+
+        /**
+         * Max time in nanoseconds of a duty cycle, or 0 if not tracked.
+         *
+         * @return max time in nanoseconds of a duty cycle, or 0 if not tracked.
+         */
+        public long maxNs()
+        {
+            return maxNs;
+        }
+
+        /**
+         * Counts of duty cycles in each power of two bucket of the histogram, or null if not tracked.
+         *
+         * @return counts of duty cycles in each bucket of the histogram, or null if not tracked.
+         */
+        public long[] bucketCounts()
+        {
+            return bucketCounts;
+        }
+
+        /**
+         * Count of duty cycles recorded in the histogram.
+         *
+         * @return count of duty cycles recorded in the histogram.
+         */
+        public long count()
+        {
+            long count = 0;
+            if (null != bucketCounts)
+            {
+                for (final long bucketCount : bucketCounts)
+                {
+                    count += bucketCount;
+                }
+            }
+
+            return count;
+        }
+
+        /**
+         * Upper bound of the bucket which covers a percentile of the duty cycles recorded in the histogram. The max
+         * time is used for the last bucket which is unbounded.
+         *
+         * @param percentile to find the upper bound for.
+         * @return upper bound in nanoseconds of the bucket which covers the percentile or 0 if none recorded.
+         */
+        public long percentileUpperBoundNs(final double percentile)
+        {
+            final long count = count();
+            if (0 == count)
+            {
+                return 0;
+            }
+
+            final long threshold = Math.max(1, (long)Math.ceil((percentile / 100.0) * count));
+            final int lastIndex = bucketCounts.length - 1;
+            long cumulativeCount = 0;
+
+            for (int i = 0; i < lastIndex; i++)
+            {
+                cumulativeCount += bucketCounts[i];
+                if (cumulativeCount >= threshold)
+                {
+                    final long upperBoundNs = BucketHistogram.lowerBound(i + 1) - 1;
+                    return maxNs > 0 ? Math.min(upperBoundNs, maxNs) : upperBoundNs;
+                }
+            }
+
+            return maxNs;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.Aeron;
+import io.aeron.CommonContext;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.driver.ext.DebugReceiveChannelEndpoint;
+import io.aeron.driver.ext.LossGenerator;
+import io.aeron.driver.ext.RandomLossGenerator;
+import io.aeron.driver.status.SystemCounterDescriptor;
+import io.aeron.driver.status.SystemCounters;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.protocol.HeaderFlyweight;
+import org.HdrHistogram.Histogram;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.status.SystemCounterDescriptor.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.SystemUtil.loadPropertiesFiles;
+
+/**
+ * Compares the throughput and latency of a stream with and without forward error correction when data frames are
+ * dropped by a {@link RandomLossGenerator} on receipt.
+ * <p>
+ * The stream is first run on {@link SampleConfiguration#CHANNEL} so loss is recovered by NAK and retransmit, then
+ * again with the {@link CommonContext#FEC_GROUP_SIZE_PARAM_NAME} param added so loss of a single datagram in a group
+ * can be recovered from the parity frame. The loss rate and group size can be set with the
+ * {@code aeron.sample.fec.loss.rate} and {@code aeron.sample.fec.group.size} system properties.
+ * <p>
+ * Latency is measured from the offer to the poll of each message so includes any time waiting for recovery.
+ */
+public class EmbeddedFecLossComparison
+{
+    private static final long NUMBER_OF_MESSAGES = Long.getLong("aeron.sample.fec.messages", 1_000_000L);
+    private static final double LOSS_RATE =
+        Double.parseDouble(System.getProperty("aeron.sample.fec.loss.rate", "0.01"));
+    private static final int FEC_GROUP_SIZE = Integer.getInteger("aeron.sample.fec.group.size", 8);
+    private static final int STREAM_ID = SampleConfiguration.STREAM_ID;
+    private static final int MESSAGE_LENGTH = SampleConfiguration.MESSAGE_LENGTH;
+    private static final int FRAGMENT_COUNT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
+    private static final String CHANNEL = SampleConfiguration.CHANNEL;
+
+    private static final UnsafeBuffer OFFER_BUFFER = new UnsafeBuffer(
+        BufferUtil.allocateDirectAligned(MESSAGE_LENGTH, BitUtil.CACHE_LINE_LENGTH));
+    private static final BusySpinIdleStrategy IDLE_STRATEGY = new BusySpinIdleStrategy();
+    private static final Histogram HISTOGRAM = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+
+    public static void main(final String[] args)
+    {
+        loadPropertiesFiles(args);
+
+        System.out.format(
+            "Streaming %,d messages of payload length %d bytes on %s with %.2f%% data loss%n",
+            NUMBER_OF_MESSAGES, MESSAGE_LENGTH, CHANNEL, LOSS_RATE * 100);
+
+        run("NAK only", CHANNEL);
+        run("FEC group " + FEC_GROUP_SIZE, CHANNEL + "|" + CommonContext.FEC_GROUP_SIZE_PARAM_NAME + "=" +
+            FEC_GROUP_SIZE);
+    }
+
+    private static void run(final String name, final String channel)
+    {
+        final RandomLossGenerator randomLossGenerator = new RandomLossGenerator(LOSS_RATE);
+        final LossGenerator dataLossGenerator = (address, buffer, length) ->
+            HeaderFlyweight.HDR_TYPE_DATA == buffer.getShort(HeaderFlyweight.TYPE_FIELD_OFFSET, LITTLE_ENDIAN) &&
+            randomLossGenerator.shouldDropFrame(address, buffer, length);
+        final LossGenerator noLossGenerator = (address, buffer, length) -> false;
+
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.DEDICATED);
+
+        ctx.receiveChannelEndpointSupplier(
+            (udpChannel, dispatcher, statusIndicator, context) -> new DebugReceiveChannelEndpoint(
+            udpChannel, dispatcher, statusIndicator, context, dataLossGenerator, noLossGenerator));
+
+        HISTOGRAM.reset();
+
+        try (MediaDriver mediaDriver = MediaDriver.launch(ctx);
+            Aeron aeron = Aeron.connect(new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()));
+            Subscription subscription = aeron.addSubscription(channel, STREAM_ID);
+            Publication publication = aeron.addPublication(channel, STREAM_ID))
+        {
+            while (!publication.isConnected())
+            {
+                Thread.yield();
+            }
+
+            final long[] receivedCount = new long[1];
+            final FragmentHandler handler = (buffer, offset, length, header) ->
+            {
+                HISTOGRAM.recordValue(System.nanoTime() - buffer.getLong(offset));
+                receivedCount[0]++;
+            };
+
+            final long startNs = System.nanoTime();
+            for (long i = 0; i < NUMBER_OF_MESSAGES; i++)
+            {
+                OFFER_BUFFER.putLong(0, System.nanoTime());
+                while (publication.offer(OFFER_BUFFER, 0, MESSAGE_LENGTH) < 0L)
+                {
+                    IDLE_STRATEGY.idle(subscription.poll(handler, FRAGMENT_COUNT_LIMIT));
+                }
+
+                subscription.poll(handler, FRAGMENT_COUNT_LIMIT);
+            }
+
+            while (receivedCount[0] < NUMBER_OF_MESSAGES)
+            {
+                IDLE_STRATEGY.idle(subscription.poll(handler, FRAGMENT_COUNT_LIMIT));
+            }
+
+            final long durationNs = System.nanoTime() - startNs;
+            final SystemCounters counters = ctx.systemCounters();
+
+            System.out.format(
+                "%n%s: %,d msgs/sec, p50=%,dns p99=%,dns p99.9=%,dns max=%,dns%n",
+                name,
+                (NUMBER_OF_MESSAGES * TimeUnit.SECONDS.toNanos(1)) / durationNs,
+                HISTOGRAM.getValueAtPercentile(50.0),
+                HISTOGRAM.getValueAtPercentile(99.0),
+                HISTOGRAM.getValueAtPercentile(99.9),
+                HISTOGRAM.getMaxValue());
+
+            printCounter(counters, NAK_MESSAGES_SENT);
+            printCounter(counters, RETRANSMIT_RECOVERED);
+            printCounter(counters, FEC_PARITY_SENT);
+            printCounter(counters, FEC_RECOVERED);
+            printCounter(counters, FEC_UNRECOVERABLE);
+        }
+        finally
+        {
+            ctx.deleteAeronDirectory();
+        }
+    }
+
+    private static void printCounter(final SystemCounters counters, final SystemCounterDescriptor descriptor)
+    {
+        System.out.format("  %s: %,d%n", descriptor.label(), counters.get(descriptor).get());
+    }
+}
@@ -24,9 +24,12 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.aeron.Aeron;
+import io.aeron.ChannelUri;
+import io.aeron.CommonContext;
 import io.aeron.Publication;
 import io.aeron.Subscription;
 import io.aeron.driver.MediaDriver;
+import io.aeron.driver.status.BucketHistogram;
 import io.aeron.logbuffer.FragmentHandler;
 import org.agrona.BitUtil;
 import org.agrona.BufferUtil;
@@ -41,7 +44,8 @@ public class EmbeddedThroughput
     private static final int STREAM_ID = SampleConfiguration.STREAM_ID;
     private static final int MESSAGE_LENGTH = SampleConfiguration.MESSAGE_LENGTH;
     private static final int FRAGMENT_COUNT_LIMIT = SampleConfiguration.FRAGMENT_COUNT_LIMIT;
-    private static final String CHANNEL = SampleConfiguration.CHANNEL;
+    private static final int SEND_BATCH_LENGTH = SampleConfiguration.SEND_BATCH_LENGTH;
+    private static final String CHANNEL = sendBatchChannel(SampleConfiguration.CHANNEL, SEND_BATCH_LENGTH);
 
     private static final UnsafeBuffer OFFER_BUFFER = new UnsafeBuffer(
         BufferUtil.allocateDirectAligned(MESSAGE_LENGTH, BitUtil.CACHE_LINE_LENGTH));
@@ -58,7 +62,7 @@ public class EmbeddedThroughput
         final ExecutorService executor = Executors.newFixedThreadPool(2);
         final AtomicBoolean running = new AtomicBoolean(true);
 
-        try (MediaDriver ignore = MediaDriver.launch();
+        try (MediaDriver mediaDriver = MediaDriver.launch();
             Aeron aeron = Aeron.connect();
             Publication publication = aeron.addPublication(CHANNEL, STREAM_ID);
             Subscription subscription = aeron.addSubscription(CHANNEL, STREAM_ID))
@@ -72,8 +76,8 @@ public class EmbeddedThroughput
             do
             {
                 System.out.format(
-                    "%nStreaming %,d messages of payload length %d bytes to %s on stream Id %d%n",
-                    NUMBER_OF_MESSAGES, MESSAGE_LENGTH, CHANNEL, STREAM_ID);
+                    "%nStreaming %,d messages of payload length %d bytes to %s on stream Id %d with send batch %d%n",
+                    NUMBER_OF_MESSAGES, MESSAGE_LENGTH, CHANNEL, STREAM_ID, SEND_BATCH_LENGTH);
 
                 printingActive = true;
 
@@ -100,6 +104,7 @@ public class EmbeddedThroughput
                 }
 
                 printingActive = false;
+                printSendBatchHistogram(mediaDriver.context().sendBatchHistogram());
             }
             while (barrier.await());
 
@@ -109,6 +114,31 @@ public class EmbeddedThroughput
         }
     }
 
+    private static String sendBatchChannel(final String channel, final int sendBatchLength)
+    {
+        if (sendBatchLength <= 1)
+        {
+            return channel;
+        }
+
+        final ChannelUri channelUri = ChannelUri.parse(channel);
+        channelUri.put(CommonContext.SEND_BATCH_LENGTH_PARAM_NAME, Integer.toString(sendBatchLength));
+
+        return channelUri.toString();
+    }
+
+    private static void printSendBatchHistogram(final BucketHistogram histogram)
+    {
+        final StringBuilder sb = new StringBuilder("Sender datagrams per batch flush:");
+        for (int i = 0, size = histogram.bucketCount(); i < size; i++)
+        {
+            sb.append(' ').append(BucketHistogram.lowerBound(i))
+                .append(i == size - 1 ? "+" : "").append('=').append(histogram.count(i));
+        }
+
+        System.out.println(sb);
+    }
+
     public static void printRate(
         final double messagesPerSec, final double bytesPerSec, final long totalFragments, final long totalBytes)
     {
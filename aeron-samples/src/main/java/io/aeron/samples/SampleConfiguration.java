@@ -37,6 +37,7 @@ public class SampleConfiguration
     public static final String LINGER_TIMEOUT_MS_PROP = "aeron.sample.lingerTimeout";
     public static final String EMBEDDED_MEDIA_DRIVER_PROP = "aeron.sample.embeddedMediaDriver";
     public static final String EXCLUSIVE_PUBLICATIONS_PROP = "aeron.sample.exclusive.publications";
+    public static final String SEND_BATCH_LENGTH_PROP = "aeron.sample.sendBatchLength";
 
     public static final String INFO_FLAG_PROP = "aeron.sample.info";
 
@@ -57,6 +58,7 @@ public class SampleConfiguration
     public static final long NUMBER_OF_MESSAGES;
     public static final long LINGER_TIMEOUT_MS;
     public static final boolean EXCLUSIVE_PUBLICATIONS;
+    public static final int SEND_BATCH_LENGTH;
 
     static
     {
@@ -76,5 +78,6 @@ public class SampleConfiguration
         EMBEDDED_MEDIA_DRIVER = Boolean.getBoolean(EMBEDDED_MEDIA_DRIVER_PROP);
         INFO_FLAG = Boolean.getBoolean(INFO_FLAG_PROP);
         EXCLUSIVE_PUBLICATIONS = Boolean.getBoolean(EXCLUSIVE_PUBLICATIONS_PROP);
+        SEND_BATCH_LENGTH = Integer.getInteger(SEND_BATCH_LENGTH_PROP, 1);
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import org.agrona.CloseHelper;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+public class AsyncLogAllocationTest
+{
+    private static final int STREAM_ID = 1005;
+    private static final int CLIENT_COUNT = 10;
+    private static final int PUBLICATIONS_PER_CLIENT = 10;
+    private static final int TERM_LENGTH = 16 * 1024 * 1024;
+    private static final int COUNTER_TYPE_ID = 1101;
+
+    private final MediaDriver driver = MediaDriver.launch(new MediaDriver.Context()
+        .errorHandler(Throwable::printStackTrace)
+        .dirDeleteOnStart(true)
+        .threadingMode(ThreadingMode.SHARED)
+        .termBufferSparseFile(false)
+        .ipcTermBufferLength(TERM_LENGTH)
+        .asyncLogAllocation(true));
+
+    private final Aeron aeron = Aeron.connect();
+    private final Aeron[] publisherClients = new Aeron[CLIENT_COUNT];
+    private final ExecutorService executor = Executors.newFixedThreadPool(CLIENT_COUNT);
+
+    @After
+    public void after() throws InterruptedException
+    {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        CloseHelper.close(aeron);
+        for (final Aeron client : publisherClients)
+        {
+            CloseHelper.close(client);
+        }
+        CloseHelper.close(driver);
+        driver.context().deleteAeronDirectory();
+    }
+
+    @Test(timeout = 60_000)
+    public void shouldNotHoldUpUnrelatedCommandsWhileAddingPublicationsInParallel() throws Exception
+    {
+        for (int i = 0; i < CLIENT_COUNT; i++)
+        {
+            publisherClients[i] = Aeron.connect();
+        }
+
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final Future<?>[] futures = new Future<?>[CLIENT_COUNT];
+        for (int i = 0; i < CLIENT_COUNT; i++)
+        {
+            final Aeron client = publisherClients[i];
+            futures[i] = executor.submit(
+                () ->
+                {
+                    startLatch.await();
+                    for (int j = 0; j < PUBLICATIONS_PER_CLIENT; j++)
+                    {
+                        client.addExclusivePublication(CommonContext.IPC_CHANNEL, STREAM_ID).close();
+                    }
+
+                    return null;
+                });
+        }
+
+        long maxCommandLatencyNs = 0;
+        long commandCount = 0;
+        final long startNs = System.nanoTime();
+        startLatch.countDown();
+
+        while (!isDone(futures))
+        {
+            final long commandStartNs = System.nanoTime();
+            aeron.addCounter(COUNTER_TYPE_ID, "unrelated command").close();
+            maxCommandLatencyNs = Math.max(maxCommandLatencyNs, System.nanoTime() - commandStartNs);
+            commandCount++;
+        }
+
+        final long publicationsDurationNs = System.nanoTime() - startNs;
+        for (final Future<?> future : futures)
+        {
+            future.get();
+        }
+
+        assertThat(commandCount, greaterThan(0L));
+        assertThat(maxCommandLatencyNs, lessThan(publicationsDurationNs / (CLIENT_COUNT * 2)));
+    }
+
+    private static boolean isDone(final Future<?>[] futures)
+    {
+        for (final Future<?> future : futures)
+        {
+            if (!future.isDone())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.StaticDelayGenerator;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.driver.ext.DebugReceiveChannelEndpoint;
+import io.aeron.driver.ext.LossGenerator;
+import io.aeron.driver.ext.RandomLossGenerator;
+import io.aeron.driver.status.SystemCounterDescriptor;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.status.SystemCounterDescriptor.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class FecLossTest
+{
+    private static final String CHANNEL = "aeron:udp?endpoint=localhost:54344";
+    private static final String FEC_CHANNEL = CHANNEL + "|" + CommonContext.FEC_GROUP_SIZE_PARAM_NAME + "=8";
+    private static final int STREAM_ID = 1002;
+    private static final int MESSAGE_LENGTH = 480;
+    private static final int MESSAGE_COUNT = 5000;
+    private static final int FRAGMENT_COUNT_LIMIT = 10;
+    private static final double DATA_LOSS_RATE = 0.02;
+    private static final long LOSS_SEED = 0xcafebabeL;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(MESSAGE_LENGTH));
+    private final RandomLossGenerator randomLossGenerator = new RandomLossGenerator(DATA_LOSS_RATE, LOSS_SEED);
+
+    private final MediaDriver driver = launchDriver();
+    private final Aeron aeron = Aeron.connect();
+
+    private MediaDriver launchDriver()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .errorHandler(Throwable::printStackTrace)
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .publicationTermBufferLength(LogBufferDescriptor.TERM_MIN_LENGTH)
+            .unicastFeedbackDelayGenerator(new StaticDelayGenerator(TimeUnit.MILLISECONDS.toNanos(10), false));
+
+        final LossGenerator dataLossGenerator = this::shouldDropData;
+        final LossGenerator noLossGenerator = (address, buffer, length) -> false;
+
+        context.receiveChannelEndpointSupplier(
+            (udpChannel, dispatcher, statusIndicator, ctx) -> new DebugReceiveChannelEndpoint(
+            udpChannel, dispatcher, statusIndicator, ctx, dataLossGenerator, noLossGenerator));
+
+        return MediaDriver.launch(context);
+    }
+
+    @After
+    public void after()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(driver);
+        driver.context().deleteAeronDirectory();
+    }
+
+    @Test(timeout = 20_000)
+    public void shouldRecoverLossWithParityFrames()
+    {
+        exchangeMessages(FEC_CHANNEL);
+
+        assertThat(counterValue(FEC_PARITY_SENT), greaterThan(0L));
+        assertThat(counterValue(FEC_RECOVERED), greaterThan(0L));
+    }
+
+    @Test(timeout = 20_000)
+    public void shouldNotSendParityFramesWithoutFecGroup()
+    {
+        exchangeMessages(CHANNEL);
+
+        assertThat(counterValue(FEC_PARITY_SENT), is(0L));
+        assertThat(counterValue(FEC_RECOVERED), is(0L));
+        assertThat(counterValue(RETRANSMIT_RECOVERED), greaterThan(0L));
+    }
+
+    @Test(timeout = 30_000)
+    public void shouldNeedFewerNaksWithFecUnderRandomLoss()
+    {
+        exchangeMessages(CHANNEL);
+        final long naksWithoutFec = counterValue(NAK_MESSAGES_SENT);
+        final long retransmitRecoveredWithoutFec = counterValue(RETRANSMIT_RECOVERED);
+
+        exchangeMessages(FEC_CHANNEL);
+        final long naksWithFec = counterValue(NAK_MESSAGES_SENT) - naksWithoutFec;
+        final long retransmitRecoveredWithFec = counterValue(RETRANSMIT_RECOVERED) - retransmitRecoveredWithoutFec;
+
+        assertThat(naksWithFec, lessThan(naksWithoutFec));
+        assertThat(retransmitRecoveredWithFec, lessThan(retransmitRecoveredWithoutFec));
+    }
+
+    private void exchangeMessages(final String channel)
+    {
+        try (Subscription subscription = aeron.addSubscription(channel, STREAM_ID);
+            Publication publication = aeron.addPublication(channel, STREAM_ID))
+        {
+            while (!publication.isConnected())
+            {
+                SystemTest.checkInterruptedStatus();
+                Thread.yield();
+            }
+
+            final int[] nextValue = new int[1];
+            final FragmentHandler handler =
+                (buffer, offset, length, header) -> assertThat(buffer.getInt(offset), is(nextValue[0]++));
+
+            for (int value = 0; value < MESSAGE_COUNT; value++)
+            {
+                srcBuffer.putInt(0, value);
+                while (publication.offer(srcBuffer) < 0L)
+                {
+                    SystemTest.checkInterruptedStatus();
+                    if (subscription.poll(handler, FRAGMENT_COUNT_LIMIT) == 0)
+                    {
+                        Thread.yield();
+                    }
+                }
+            }
+
+            while (nextValue[0] < MESSAGE_COUNT)
+            {
+                if (subscription.poll(handler, FRAGMENT_COUNT_LIMIT) == 0)
+                {
+                    SystemTest.checkInterruptedStatus();
+                    Thread.yield();
+                }
+            }
+        }
+    }
+
+    private long counterValue(final SystemCounterDescriptor descriptor)
+    {
+        return driver.context().systemCounters().get(descriptor).get();
+    }
+
+    private boolean shouldDropData(final InetSocketAddress address, final UnsafeBuffer buffer, final int length)
+    {
+        return HeaderFlyweight.HDR_TYPE_DATA == buffer.getShort(HeaderFlyweight.TYPE_FIELD_OFFSET, LITTLE_ENDIAN) &&
+            randomLossGenerator.shouldDropFrame(address, buffer, length);
+    }
+}
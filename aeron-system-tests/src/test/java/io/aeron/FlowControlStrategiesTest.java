@@ -16,6 +16,7 @@
 package io.aeron;
 
 import io.aeron.driver.*;
+import io.aeron.driver.status.SystemCounterDescriptor;
 import io.aeron.logbuffer.FragmentHandler;
 import io.aeron.logbuffer.Header;
 import io.aeron.logbuffer.LogBufferDescriptor;
@@ -32,6 +33,8 @@ import java.io.File;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
@@ -439,4 +442,162 @@ public class FlowControlStrategiesTest
             eq(MESSAGE_LENGTH),
             any(Header.class));
     }
+
+    @Test(timeout = 15_000)
+    public void shouldSlowToTaggedGroupWithTaggedFlowControl()
+    {
+        final int numMessagesToSend = NUM_MESSAGES_PER_TERM * 3;
+        int numMessagesLeftToSend = numMessagesToSend;
+        int numFragmentsFromB = 0;
+
+        driverBContext.imageLivenessTimeoutNs(TimeUnit.MILLISECONDS.toNanos(500));
+
+        launch();
+
+        subscriptionA = clientA.addSubscription(MULTICAST_URI, STREAM_ID);
+        subscriptionB = clientB.addSubscription(MULTICAST_URI + "|gtag=2", STREAM_ID);
+        publication = clientA.addPublication(MULTICAST_URI + "|fc=tagged,g:2/1", STREAM_ID);
+
+        while (!subscriptionA.isConnected() || !subscriptionB.isConnected())
+        {
+            SystemTest.checkInterruptedStatus();
+            Thread.yield();
+        }
+
+        for (long i = 0; numFragmentsFromB < numMessagesToSend; i++)
+        {
+            if (numMessagesLeftToSend > 0)
+            {
+                if (publication.offer(buffer, 0, buffer.capacity()) >= 0L)
+                {
+                    numMessagesLeftToSend--;
+                }
+            }
+
+            SystemTest.checkInterruptedStatus();
+            Thread.yield();
+
+            // A keeps up
+            subscriptionA.poll(fragmentHandlerA, 10);
+
+            // B receives slowly
+            if ((i % 2) == 0)
+            {
+                numFragmentsFromB += subscriptionB.poll(fragmentHandlerB, 1);
+            }
+        }
+
+        verify(fragmentHandlerB, times(numMessagesToSend)).onFragment(
+            any(DirectBuffer.class),
+            anyInt(),
+            eq(MESSAGE_LENGTH),
+            any(Header.class));
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldNotSendUntilTaggedGroupHasMinSize()
+    {
+        launch();
+
+        subscriptionA = clientA.addSubscription(MULTICAST_URI + "|gtag=3", STREAM_ID);
+        subscriptionB = clientB.addSubscription(MULTICAST_URI + "|gtag=3", STREAM_ID);
+        publication = clientA.addPublication(MULTICAST_URI + "|fc=tagged,g:3/3", STREAM_ID);
+
+        while (!subscriptionA.isConnected() || !subscriptionB.isConnected())
+        {
+            SystemTest.checkInterruptedStatus();
+            Thread.yield();
+        }
+
+        while (publication.offer(buffer, 0, buffer.capacity()) < 0L)
+        {
+            SystemTest.checkInterruptedStatus();
+            Thread.yield();
+        }
+
+        final long deadlineNs = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        int fragmentsRead = 0;
+        while (System.nanoTime() < deadlineNs)
+        {
+            fragmentsRead += subscriptionA.poll(fragmentHandlerA, 10) + subscriptionB.poll(fragmentHandlerB, 10);
+            Thread.yield();
+        }
+
+        assertEquals(0, fragmentsRead);
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldDeliverAllWhenReceiversSuppressStatusMessagesByLimit()
+    {
+        shouldDeliverAllWhenReceiversSuppressStatusMessages(StatusMessageSuppression.LIMIT);
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldDeliverAllWhenReceiversSuppressStatusMessagesByDelay()
+    {
+        shouldDeliverAllWhenReceiversSuppressStatusMessages(StatusMessageSuppression.DELAY);
+    }
+
+    private void shouldDeliverAllWhenReceiversSuppressStatusMessages(final StatusMessageSuppression suppression)
+    {
+        final int numMessagesToSend = NUM_MESSAGES_PER_TERM * 3;
+        int numMessagesLeftToSend = numMessagesToSend;
+        int numFragmentsFromA = 0;
+        int numFragmentsFromB = 0;
+
+        driverAContext.statusMessageSuppression(suppression);
+        driverBContext.statusMessageSuppression(suppression);
+        driverAContext.multicastFlowControlSupplier(
+            (udpChannel, streamId, registrationId) -> new MinMulticastFlowControl());
+
+        launch();
+
+        subscriptionA = clientA.addSubscription(MULTICAST_URI, STREAM_ID);
+        subscriptionB = clientB.addSubscription(MULTICAST_URI, STREAM_ID);
+        publication = clientA.addPublication(MULTICAST_URI, STREAM_ID);
+
+        while (!subscriptionA.isConnected() || !subscriptionB.isConnected())
+        {
+            SystemTest.checkInterruptedStatus();
+            Thread.yield();
+        }
+
+        for (long i = 0; numFragmentsFromA < numMessagesToSend || numFragmentsFromB < numMessagesToSend; i++)
+        {
+            if (numMessagesLeftToSend > 0)
+            {
+                if (publication.offer(buffer, 0, buffer.capacity()) >= 0L)
+                {
+                    numMessagesLeftToSend--;
+                }
+            }
+
+            SystemTest.checkInterruptedStatus();
+            Thread.yield();
+
+            numFragmentsFromA += subscriptionA.poll(fragmentHandlerA, 10);
+
+            if ((i % 2) == 0)
+            {
+                numFragmentsFromB += subscriptionB.poll(fragmentHandlerB, 1);
+            }
+        }
+
+        verify(fragmentHandlerA, times(numMessagesToSend)).onFragment(
+            any(DirectBuffer.class),
+            anyInt(),
+            eq(MESSAGE_LENGTH),
+            any(Header.class));
+
+        verify(fragmentHandlerB, times(numMessagesToSend)).onFragment(
+            any(DirectBuffer.class),
+            anyInt(),
+            eq(MESSAGE_LENGTH),
+            any(Header.class));
+
+        final long suppressed =
+            driverAContext.systemCounters().get(SystemCounterDescriptor.STATUS_MESSAGES_SUPPRESSED).get() +
+            driverBContext.systemCounters().get(SystemCounterDescriptor.STATUS_MESSAGES_SUPPRESSED).get();
+        assertTrue(suppressed > 0);
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.driver.status.SystemCounterDescriptor.LOG_BUFFER_POOL_HITS;
+import static io.aeron.driver.status.SystemCounterDescriptor.LOG_BUFFER_POOL_MISSES;
+import static io.aeron.driver.status.SystemCounterDescriptor.LOG_BUFFER_POOL_SIZE;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class LogBufferPoolSystemTest
+{
+    private static final int STREAM_ID = 1004;
+    private static final int POOL_SIZE = 2;
+    private static final int MESSAGE_LENGTH = 128;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(MESSAGE_LENGTH));
+
+    private final MediaDriver driver = MediaDriver.launch(new MediaDriver.Context()
+        .errorHandler(Throwable::printStackTrace)
+        .dirDeleteOnStart(true)
+        .threadingMode(ThreadingMode.SHARED)
+        .ipcTermBufferLength(TERM_MIN_LENGTH)
+        .logBufferPoolSize(POOL_SIZE));
+
+    private final Aeron aeron = Aeron.connect();
+
+    @After
+    public void after()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(driver);
+        driver.context().deleteAeronDirectory();
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldTakeLogsFromWarmPoolAndCreateOnMiss()
+    {
+        final AtomicCounter poolHits = driver.context().systemCounters().get(LOG_BUFFER_POOL_HITS);
+        final AtomicCounter poolMisses = driver.context().systemCounters().get(LOG_BUFFER_POOL_MISSES);
+        final AtomicCounter poolSize = driver.context().systemCounters().get(LOG_BUFFER_POOL_SIZE);
+
+        while (poolSize.get() < POOL_SIZE * 2)
+        {
+            SystemTest.checkInterruptedStatus();
+            Thread.yield();
+        }
+
+        exchangeMessage(CommonContext.IPC_CHANNEL);
+        assertThat(poolHits.get(), is(1L));
+        assertThat(poolMisses.get(), is(0L));
+
+        exchangeMessage("aeron:ipc?term-length=" + (TERM_MIN_LENGTH * 2));
+        assertThat(poolHits.get(), is(1L));
+        assertThat(poolMisses.get(), is(1L));
+    }
+
+    private void exchangeMessage(final String channel)
+    {
+        try (Subscription subscription = aeron.addSubscription(channel, STREAM_ID);
+            Publication publication = aeron.addPublication(channel, STREAM_ID))
+        {
+            srcBuffer.setMemory(0, MESSAGE_LENGTH, (byte)7);
+            while (publication.offer(srcBuffer) < 0L)
+            {
+                SystemTest.checkInterruptedStatus();
+                Thread.yield();
+            }
+
+            final FragmentHandler fragmentHandler =
+                (buffer, offset, length, header) -> assertThat(buffer.getByte(offset), is((byte)7));
+            while (subscription.poll(fragmentHandler, 1) == 0)
+            {
+                SystemTest.checkInterruptedStatus();
+                Thread.yield();
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.StaticDelayGenerator;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.driver.ext.DebugReceiveChannelEndpoint;
+import io.aeron.driver.ext.LossGenerator;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import io.aeron.protocol.NakFlyweight;
+import org.agrona.CloseHelper;
+import org.agrona.collections.IntHashSet;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+public class MultiGapLossTest
+{
+    private static final String CHANNEL = "aeron:udp?endpoint=localhost:54343";
+    private static final int STREAM_ID = 1001;
+    private static final int MESSAGE_LENGTH = 224;
+    private static final int MESSAGE_COUNT = 1000;
+    private static final int FRAGMENT_COUNT_LIMIT = 10;
+    private static final int DROP_EVERY = 4;
+    private static final int MAX_DROPS = 16;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(MESSAGE_LENGTH));
+    private final IntHashSet droppedTermOffsets = new IntHashSet();
+    private int dataFrameCount;
+    private boolean isRetransmitSinceNak = true;
+    private volatile int nakCount;
+    private volatile int nakRangeCount;
+    private volatile int nakRoundTrips;
+
+    private final MediaDriver driver = launchDriver();
+    private final Aeron aeron = Aeron.connect();
+
+    private MediaDriver launchDriver()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .errorHandler(Throwable::printStackTrace)
+            .dirDeleteOnStart(true)
+            .threadingMode(ThreadingMode.SHARED)
+            .publicationTermBufferLength(LogBufferDescriptor.TERM_MIN_LENGTH)
+            .unicastFeedbackDelayGenerator(new StaticDelayGenerator(TimeUnit.MILLISECONDS.toNanos(20), false));
+
+        final LossGenerator dataLossGenerator = this::shouldDropData;
+        final LossGenerator controlLossGenerator = this::onControl;
+
+        context.receiveChannelEndpointSupplier(
+            (udpChannel, dispatcher, statusIndicator, ctx) -> new DebugReceiveChannelEndpoint(
+            udpChannel, dispatcher, statusIndicator, ctx, dataLossGenerator, controlLossGenerator));
+
+        return MediaDriver.launch(context);
+    }
+
+    @After
+    public void after()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(driver);
+        driver.context().deleteAeronDirectory();
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldRecoverMultipleGapsWithRangesInEachNak()
+    {
+        try (Subscription subscription = aeron.addSubscription(CHANNEL, STREAM_ID);
+            Publication publication = aeron.addPublication(CHANNEL, STREAM_ID))
+        {
+            while (!publication.isConnected())
+            {
+                Thread.yield();
+            }
+
+            final int[] nextValue = new int[1];
+            final FragmentHandler handler =
+                (buffer, offset, length, header) -> assertThat(buffer.getInt(offset), is(nextValue[0]++));
+
+            for (int value = 0; value < MESSAGE_COUNT; value++)
+            {
+                srcBuffer.putInt(0, value);
+                while (publication.offer(srcBuffer) < 0L)
+                {
+                    SystemTest.checkInterruptedStatus();
+                    if (subscription.poll(handler, FRAGMENT_COUNT_LIMIT) == 0)
+                    {
+                        Thread.yield();
+                    }
+                }
+            }
+
+            while (nextValue[0] < MESSAGE_COUNT)
+            {
+                if (subscription.poll(handler, FRAGMENT_COUNT_LIMIT) == 0)
+                {
+                    SystemTest.checkInterruptedStatus();
+                    Thread.yield();
+                }
+            }
+        }
+
+        assertThat(nakCount, greaterThan(0));
+        assertThat(nakRangeCount, greaterThan(nakCount));
+        assertThat(nakRoundTrips, lessThan(droppedTermOffsets.size()));
+    }
+
+    private boolean shouldDropData(final InetSocketAddress address, final UnsafeBuffer buffer, final int length)
+    {
+        if (HeaderFlyweight.HDR_TYPE_DATA != buffer.getShort(HeaderFlyweight.TYPE_FIELD_OFFSET, LITTLE_ENDIAN) ||
+            0 == buffer.getInt(HeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN))
+        {
+            return false;
+        }
+
+        final int termOffset = buffer.getInt(DataHeaderFlyweight.TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN);
+        if (droppedTermOffsets.contains(termOffset))
+        {
+            isRetransmitSinceNak = true;
+            return false;
+        }
+
+        if (droppedTermOffsets.size() >= MAX_DROPS || 0 != (++dataFrameCount % DROP_EVERY))
+        {
+            return false;
+        }
+
+        droppedTermOffsets.add(termOffset);
+
+        return true;
+    }
+
+    private boolean onControl(final InetSocketAddress address, final UnsafeBuffer buffer, final int length)
+    {
+        if (HeaderFlyweight.HDR_TYPE_NAK == buffer.getShort(HeaderFlyweight.TYPE_FIELD_OFFSET, LITTLE_ENDIAN))
+        {
+            nakCount++;
+            nakRangeCount += NakFlyweight.rangeCount(length);
+
+            if (isRetransmitSinceNak)
+            {
+                isRetransmitSinceNak = false;
+                nakRoundTrips++;
+            }
+        }
+
+        return false;
+    }
+}
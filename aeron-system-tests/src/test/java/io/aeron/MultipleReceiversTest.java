@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.driver.status.PerAgentCounter;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class MultipleReceiversTest
+{
+    private static final int RECEIVER_COUNT = 2;
+    private static final int STREAM_ID = 1001;
+    private static final int MESSAGE_COUNT = 100;
+    private static final int FRAGMENT_COUNT_LIMIT = 10;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(256));
+
+    private final MediaDriver driver = MediaDriver.launch(new MediaDriver.Context()
+        .errorHandler(Throwable::printStackTrace)
+        .dirDeleteOnStart(true)
+        .receiverCount(RECEIVER_COUNT)
+        .threadingMode(ThreadingMode.DEDICATED));
+
+    private final Aeron aeron = Aeron.connect();
+
+    @After
+    public void after()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(driver);
+        driver.context().deleteAeronDirectory();
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldReceiveInOrderOnEndpointsOwnedByEachReceiver()
+    {
+        final Subscription[] subscriptions = new Subscription[RECEIVER_COUNT];
+        final Publication[] publications = new Publication[RECEIVER_COUNT];
+        final int[] nextValues = new int[RECEIVER_COUNT];
+
+        try
+        {
+            for (int i = 0; i < RECEIVER_COUNT; i++)
+            {
+                final String endpoint = "localhost:" + (54331 + i);
+                subscriptions[i] = aeron.addSubscription(
+                    new ChannelUriStringBuilder().media("udp").endpoint(endpoint).receiverIndex(i).build(), STREAM_ID);
+                publications[i] = aeron.addPublication(
+                    new ChannelUriStringBuilder().media("udp").endpoint(endpoint).build(), STREAM_ID);
+            }
+
+            for (final Publication publication : publications)
+            {
+                while (!publication.isConnected())
+                {
+                    Thread.yield();
+                }
+            }
+
+            for (int value = 0; value < MESSAGE_COUNT; value++)
+            {
+                srcBuffer.putInt(0, value);
+                for (final Publication publication : publications)
+                {
+                    while (publication.offer(srcBuffer, 0, 4) < 0L)
+                    {
+                        Thread.yield();
+                    }
+                }
+            }
+
+            for (int i = 0; i < RECEIVER_COUNT; i++)
+            {
+                final int index = i;
+                final FragmentHandler handler =
+                    (buffer, offset, length, header) -> assertThat(buffer.getInt(offset), is(nextValues[index]++));
+
+                while (nextValues[i] < MESSAGE_COUNT)
+                {
+                    if (subscriptions[i].poll(handler, FRAGMENT_COUNT_LIMIT) == 0)
+                    {
+                        Thread.yield();
+                    }
+                }
+            }
+        }
+        finally
+        {
+            for (int i = 0; i < RECEIVER_COUNT; i++)
+            {
+                CloseHelper.close(publications[i]);
+                CloseHelper.close(subscriptions[i]);
+            }
+        }
+
+        final long[] bytesByReceiver = new long[RECEIVER_COUNT];
+        final CountersReader countersReader = aeron.countersReader();
+        countersReader.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                if (PerAgentCounter.AGENT_BYTES_TYPE_ID == typeId)
+                {
+                    bytesByReceiver[keyBuffer.getInt(0)] = countersReader.getCounterValue(counterId);
+                }
+            });
+
+        for (final long bytes : bytesByReceiver)
+        {
+            assertThat(bytes, greaterThan(0L));
+        }
+    }
+}
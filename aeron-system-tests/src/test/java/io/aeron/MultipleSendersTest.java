@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.driver.ext.DebugChannelEndpointConfiguration;
+import io.aeron.driver.ext.DebugReceiveChannelEndpoint;
+import io.aeron.driver.ext.LossGenerator;
+import io.aeron.driver.status.PerAgentCounter;
+import io.aeron.driver.status.SystemCounterDescriptor;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+public class MultipleSendersTest
+{
+    private static final int SENDER_COUNT = 2;
+    private static final int STREAM_ID = 1001;
+    private static final int MESSAGE_COUNT = 1000;
+    private static final int FRAGMENT_COUNT_LIMIT = 10;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(256));
+    private final LossGenerator dataLossGenerator =
+        DebugChannelEndpointConfiguration.lossGeneratorSupplier(0.10, 0xcafebabeL);
+    private final LossGenerator noLossGenerator =
+        DebugChannelEndpointConfiguration.lossGeneratorSupplier(0, 0);
+
+    private final MediaDriver driver = launchDriver();
+    private final Aeron aeron = Aeron.connect();
+
+    private MediaDriver launchDriver()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .errorHandler(Throwable::printStackTrace)
+            .dirDeleteOnStart(true)
+            .senderCount(SENDER_COUNT)
+            .threadingMode(ThreadingMode.DEDICATED);
+
+        context.receiveChannelEndpointSupplier(
+            (udpChannel, dispatcher, statusIndicator, ctx) -> new DebugReceiveChannelEndpoint(
+            udpChannel, dispatcher, statusIndicator, ctx, dataLossGenerator, noLossGenerator));
+
+        return MediaDriver.launch(context);
+    }
+
+    @After
+    public void after()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(driver);
+        driver.context().deleteAeronDirectory();
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldReceiveInOrderWithRetransmitsFromEndpointsOwnedByEachSender()
+    {
+        final Subscription[] subscriptions = new Subscription[SENDER_COUNT];
+        final Publication[] publications = new Publication[SENDER_COUNT];
+        final int[] nextValues = new int[SENDER_COUNT];
+
+        try
+        {
+            for (int i = 0; i < SENDER_COUNT; i++)
+            {
+                final String endpoint = "localhost:" + (54341 + i);
+                subscriptions[i] = aeron.addSubscription(
+                    new ChannelUriStringBuilder().media("udp").endpoint(endpoint).build(), STREAM_ID);
+                publications[i] = aeron.addPublication(
+                    new ChannelUriStringBuilder().media("udp").endpoint(endpoint).senderIndex(i).build(), STREAM_ID);
+            }
+
+            for (final Publication publication : publications)
+            {
+                while (!publication.isConnected())
+                {
+                    Thread.yield();
+                }
+            }
+
+            for (int value = 0; value < MESSAGE_COUNT; value++)
+            {
+                srcBuffer.putInt(0, value);
+                for (final Publication publication : publications)
+                {
+                    while (publication.offer(srcBuffer, 0, 4) < 0L)
+                    {
+                        Thread.yield();
+                    }
+                }
+            }
+
+            for (int i = 0; i < SENDER_COUNT; i++)
+            {
+                final int index = i;
+                final FragmentHandler handler =
+                    (buffer, offset, length, header) -> assertThat(buffer.getInt(offset), is(nextValues[index]++));
+
+                while (nextValues[i] < MESSAGE_COUNT)
+                {
+                    if (subscriptions[i].poll(handler, FRAGMENT_COUNT_LIMIT) == 0)
+                    {
+                        Thread.yield();
+                    }
+                }
+            }
+        }
+        finally
+        {
+            for (int i = 0; i < SENDER_COUNT; i++)
+            {
+                CloseHelper.close(publications[i]);
+                CloseHelper.close(subscriptions[i]);
+            }
+        }
+
+        final long[] bytesBySender = new long[SENDER_COUNT];
+        final CountersReader countersReader = aeron.countersReader();
+        countersReader.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                if (PerAgentCounter.AGENT_BYTES_TYPE_ID == typeId && label.startsWith("Bytes sent"))
+                {
+                    bytesBySender[keyBuffer.getInt(0)] = countersReader.getCounterValue(counterId);
+                }
+            });
+
+        for (final long bytes : bytesBySender)
+        {
+            assertThat(bytes, greaterThan(0L));
+        }
+
+        final long retransmitsSent = countersReader.getCounterValue(SystemCounterDescriptor.RETRANSMITS_SENT.id());
+        assertThat(retransmitsSent, greaterThan(0L));
+    }
+}
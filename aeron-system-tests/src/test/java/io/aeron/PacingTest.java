@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014-2019 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import io.aeron.driver.status.SenderPacingDelays;
+import io.aeron.driver.status.SystemCounterDescriptor;
+import io.aeron.logbuffer.FragmentHandler;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersReader;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+
+public class PacingTest
+{
+    private static final String CHANNEL = "aeron:udp?endpoint=localhost:54345";
+    private static final int STREAM_ID = 1003;
+    private static final int MESSAGE_LENGTH = 1024;
+    private static final int MESSAGE_COUNT = 1024;
+    private static final int FRAGMENT_COUNT_LIMIT = 10;
+    private static final long PACING_RATE = 2 * 1024 * 1024;
+    private static final int PACING_BURST_LENGTH = 16 * 1024;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(MESSAGE_LENGTH));
+
+    private final MediaDriver driver = MediaDriver.launch(new MediaDriver.Context()
+        .errorHandler(Throwable::printStackTrace)
+        .dirDeleteOnStart(true)
+        .threadingMode(ThreadingMode.SHARED)
+        .pacingBurstLength(PACING_BURST_LENGTH));
+
+    private final Aeron aeron = Aeron.connect();
+
+    @After
+    public void after()
+    {
+        CloseHelper.close(aeron);
+        CloseHelper.close(driver);
+        driver.context().deleteAeronDirectory();
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldPaceSendingToRate()
+    {
+        final String channel = new ChannelUriStringBuilder()
+            .media(CommonContext.UDP_MEDIA)
+            .endpoint("localhost:54345")
+            .pacingRate(PACING_RATE)
+            .build();
+
+        final long durationNs = exchangeMessages(channel, true);
+
+        final long totalBytes = (long)MESSAGE_COUNT * (MESSAGE_LENGTH + 32);
+        final long minDurationNs = ((totalBytes - PACING_BURST_LENGTH) * TimeUnit.SECONDS.toNanos(1)) / PACING_RATE;
+
+        assertThat(durationNs, greaterThanOrEqualTo(minDurationNs));
+        assertThat(driver.context().systemCounters().get(SystemCounterDescriptor.SENDER_PACING_DELAYS).get(),
+            greaterThan(0L));
+    }
+
+    @Test(timeout = 10_000)
+    public void shouldNotPaceWithoutPacingRate()
+    {
+        exchangeMessages(CHANNEL, false);
+
+        assertThat(driver.context().systemCounters().get(SystemCounterDescriptor.SENDER_PACING_DELAYS).get(), is(0L));
+    }
+
+    private long exchangeMessages(final String channel, final boolean isPaced)
+    {
+        try (Subscription subscription = aeron.addSubscription(channel, STREAM_ID);
+            Publication publication = aeron.addPublication(channel, STREAM_ID))
+        {
+            while (!publication.isConnected())
+            {
+                SystemTest.checkInterruptedStatus();
+                Thread.yield();
+            }
+
+            final int[] nextValue = new int[1];
+            final FragmentHandler handler =
+                (buffer, offset, length, header) -> assertThat(buffer.getInt(offset), is(nextValue[0]++));
+
+            final long startNs = System.nanoTime();
+            for (int value = 0; value < MESSAGE_COUNT; value++)
+            {
+                srcBuffer.putInt(0, value);
+                while (publication.offer(srcBuffer) < 0L)
+                {
+                    SystemTest.checkInterruptedStatus();
+                    if (subscription.poll(handler, FRAGMENT_COUNT_LIMIT) == 0)
+                    {
+                        Thread.yield();
+                    }
+                }
+            }
+
+            while (nextValue[0] < MESSAGE_COUNT)
+            {
+                if (subscription.poll(handler, FRAGMENT_COUNT_LIMIT) == 0)
+                {
+                    SystemTest.checkInterruptedStatus();
+                    Thread.yield();
+                }
+            }
+
+            final long durationNs = System.nanoTime() - startNs;
+            assertThat(hasPacingCounter(aeron.countersReader()), is(isPaced));
+
+            return durationNs;
+        }
+    }
+
+    private static boolean hasPacingCounter(final CountersReader countersReader)
+    {
+        final boolean[] found = new boolean[1];
+        countersReader.forEach(
+            (counterId, typeId, keyBuffer, label) ->
+            {
+                if (SenderPacingDelays.SENDER_PACING_DELAYS_TYPE_ID == typeId)
+                {
+                    found[0] = true;
+                }
+            });
+
+        return found[0];
+    }
+}